@@ -2,12 +2,10 @@ package org.recap;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 
 import brave.sampler.Sampler;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * The type SCSB Circulation Application.
@@ -29,9 +27,4 @@ public class ScsbCircApplication {
     public Sampler defaultSampler() {
           return Sampler.ALWAYS_SAMPLE;
     }
-
-	@Bean()
-	public RestTemplate restTemplate(RestTemplateBuilder builder) {
-		return builder.build();
-	}
 }
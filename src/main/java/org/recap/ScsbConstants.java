@@ -73,6 +73,7 @@ public final class ScsbConstants {
     public static final String SCSB_LAS_OUTGOING_QUEUE_PREFIX = "scsbactivemq:queue:scsb";
     public static final String LAS_OUTGOING_QUEUE_PREFIX = "scsbactivemq:queue:las";
     public static final String OUTGOING_QUEUE_SUFFIX = "OutgoingQ";
+    public static final String PARKED_QUEUE_SUFFIX = "ParkedQ";
     public static final String SCSB_OUTGOING_QUEUE = "scsbactivemq:queue:scsbOutgoingQ";
     public static final String LAS_OUTGOING_QUEUE = "scsbactivemq:queue:lasOutgoingQ";
     public static final String LAS_INCOMING_QUEUE = "scsbactivemq:queue:lasIncomingQ";
@@ -226,6 +227,8 @@ public final class ScsbConstants {
     public static final String SUBMIT_COLLECTION_EMAIL_BODY_VM = "submit_collection_email_body.vm";
     public static final String SUBMIT_COLLECTION_EMAIL_BODY_FOR_EMPTY_DIRECTORY_VM = "submit_collection_email_body_for_emptyDirectory.vm";
     public static final String PROCESS_INPUT = "processInput";
+    public static final String PROCESS_CHUNK = "processChunk";
+    public static final String COMPLETE_INITIAL_LOAD = "completeInitialLoad";
     public static final String SUBMIT_COLLECTION_SFTP_OPTIONS = "&sendEmptyMessageWhenIdle=true&move=.done&sortBy=file:modified&localWorkDirectory=";
     public static final String SUBMIT_COLLECTION_COMPLETE_RECORD_UPDATE = "Complete item record info updated through submit collection";
     public static final String SUBMIT_COLLECTION_DUMMY_RECORD_UPDATE = "Dummy item record removed and actual record added through submit collection";
@@ -310,6 +313,7 @@ public final class ScsbConstants {
     public static final String STATUS_RECONCILIATION_FAILURE = "StatusReconciliationFailure";
     public static final String CAMEL_SPLIT_INDEX = "CamelSplitIndex";
     public static final String REQUEST_INITIAL_LOAD_HEADER = "Barcodes Not Exist In SCSB";
+    public static final String REQUEST_INITIAL_LOAD_BARCODES = "requestInitialLoadBarcodes";
     public static final String EMAIL_HEADER_REQUEST_PENDING = "Request_Pending";
     public static final String REQUEST_PENDING_EMAIL_BODY_VM = "requestPendingEmailBody.vm";
 
@@ -373,14 +377,6 @@ public final class ScsbConstants {
     public static final String EMAIL_SUBJECT_FOR_LAS_PENDING_STATUS = "Requests in LAS ITEM STATUS PENDING status";
     public static final String EMAIL_SUBJECT_FOR_PENDING_AND_LAS_STATUS = "Requests in PENDING and LAS ITEM STATUS PENDING status";
 
-    /**
-     * 0 = Initialise Polling Processess
-     * 1 = Started Polling Processess
-     * 2 = Finish Polling Processess
-     *
-     */
-    public static int LAS_ITEM_STATUS_REST_SERVICE_STATUS = 0;
-
     public static final String BULK_REQUEST_ID_TEXT = "Bulk Request Id : ";
 
     public static final String ITEM_STATUS_NOT_AVAILABLE = "Not Available";
@@ -436,5 +432,35 @@ public final class ScsbConstants {
     public static final String RECAP_DEPOSITORY = "RD";
     public static final String NCIP_REMOTE_STORAGE = "NCIP_REMOTE_STORAGE";
     public static final String ILS_SOURCE_FOR_ITEM = "ils.source.for.item.";
+    public static final String BULK_REQUEST_CONCURRENCY_LIMIT = "bulk.request.concurrency.limit";
+    public static final String BULK_REQUEST_RATE_LIMIT = "bulk.request.rate.limit";
+    public static final String REQUEST_ITEM_RESPONSE = "requestItemResponse";
+
+    /* Metrics */
+    public static final String ILS_REST_JOBS_IN_FLIGHT = "ils.rest.jobs.in.flight";
+    public static final String ILS_REST_JOB_POLL_CALLS = "ils.rest.job.poll.calls";
+    public static final String ILS_REST_JOB_POLL_CALLS_SAVED = "ils.rest.job.poll.calls.saved";
+    public static final String LAS_ITEM_STATUS_CHECK_PENDING_BARCODES = "las.item.status.check.pending.barcodes";
+    public static final String LAS_HEARTBEAT_LOCATIONS_DOWN = "las.heartbeat.locations.down";
+    public static final String LAS_ORDER_BATCH_SIZE = "las.order.batch.size";
+    public static final String REFERENCE_DATA_CACHE_REQUESTS = "reference.data.cache.requests";
+    public static final String BULK_REQUEST_PARTITION_ITEMS = "bulk.request.partition.items";
+    public static final String BULK_REQUEST_PARTITION_IN_FLIGHT = "bulk.request.partition.in.flight";
+    public static final String BULK_REQUEST_PARTITION_QUEUED = "bulk.request.partition.queued";
+    public static final String SOLR_INDEX_UPDATE_PENDING = "solr.index.update.pending";
+    public static final String SOLR_INDEX_UPDATE_LAG = "solr.index.update.lag";
+    public static final String SOLR_INDEX_UPDATE_DELAY = "solr.index.update.delay";
+    public static final String SOLR_INDEX_UPDATE_COALESCED = "solr.index.update.coalesced";
+    public static final String SOLR_INDEX_UPDATE_FAILURES = "solr.index.update.failures";
+    public static final String SEARCH_RESULT_ROW_CACHE_REQUESTS = "search.result.row.cache.requests";
+    public static final String NCIP_TRANSLATOR_POOL_AVAILABLE = "ncip.translator.pool.available";
+    public static final String NCIP_TRANSLATOR_POOL_WAIT = "ncip.translator.pool.wait";
+    public static final String NCIP_TRANSLATOR_POOL_EXHAUSTED = "ncip.translator.pool.exhausted";
+    public static final String PATRON_CACHE_REQUESTS = "patron.cache.requests";
+    public static final String REQUEST_ITEM_BULKHEAD_REQUESTS = "request.item.bulkhead.requests";
+    public static final String REQUEST_ITEM_BULKHEAD_LIMIT = "request.item.bulkhead.limit";
+    public static final String REQUEST_ITEM_BULKHEAD_IN_FLIGHT = "request.item.bulkhead.in.flight";
+    public static final String REQUEST_ITEM_BULKHEAD_QUEUE_DEPTH = "request.item.bulkhead.queue.depth";
+    public static final String REQUEST_ITEM_BULKHEAD_REJECTED = "request.item.bulkhead.rejected";
 
 }
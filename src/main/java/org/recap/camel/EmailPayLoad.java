@@ -8,6 +8,9 @@ import java.io.Serializable;
  */
 @Data
 public class EmailPayLoad implements Serializable {
+    /* The id the payload had before the bulk request report data fields, so that queued payloads of either version can be read */
+    private static final long serialVersionUID = -8529581718674962472L;
+
     private String to;
     private String cc;
     private String subject;
@@ -28,4 +31,7 @@ public class EmailPayLoad implements Serializable {
     private String bulkRequestFileName;
     private String bulkRequestStatus;
     private String bulkRequestCsvFileData;
+    private byte[] bulkRequestReportData;
+    private String bulkRequestReportFileName;
+    private String bulkRequestReportContentType;
 }
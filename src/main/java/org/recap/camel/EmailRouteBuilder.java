@@ -16,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.activation.DataHandler;
+import javax.mail.util.ByteArrayDataSource;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 
@@ -177,7 +178,12 @@ public class EmailRouteBuilder {
                                             AttachmentMessage in = exchange.getMessage(AttachmentMessage.class);
 
                                             EmailPayLoad emailPayLoad = (EmailPayLoad) in.getHeader("emailPayLoad");
-                                            in.addAttachment("Results_" + emailPayLoad.getBulkRequestFileName(), new DataHandler(emailPayLoad.getBulkRequestCsvFileData(), "text/csv"));
+                                            if (emailPayLoad.getBulkRequestReportData() != null) {
+                                                in.addAttachment(emailPayLoad.getBulkRequestReportFileName(), new DataHandler(new ByteArrayDataSource(emailPayLoad.getBulkRequestReportData(), emailPayLoad.getBulkRequestReportContentType())));
+                                            } else {
+                                                // Payload queued before the report was sent as bytes
+                                                in.addAttachment("Results_" + emailPayLoad.getBulkRequestFileName(), new DataHandler(emailPayLoad.getBulkRequestCsvFileData(), "text/csv"));
+                                            }
                                         } catch (Exception ex) {
                                             logger.info(ScsbCommonConstants.LOG_ERROR , ex);
                                         }
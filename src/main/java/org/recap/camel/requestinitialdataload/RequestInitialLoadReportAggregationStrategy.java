@@ -0,0 +1,45 @@
+package org.recap.camel.requestinitialdataload;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.recap.ScsbConstants;
+import org.recap.camel.requestinitialdataload.processor.RequestInitialDataLoadProcessor;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes the barcodes not in scsb of the chunks loaded in parallel to the report in the order of the chunks in the
+ * file. Chunks completed ahead of their turn are held until the chunks before them are written.
+ */
+public class RequestInitialLoadReportAggregationStrategy implements AggregationStrategy {
+
+    private static final String PENDING_CHUNKS = "requestInitialLoadPendingChunks";
+    private static final String NEXT_CHUNK_INDEX = "requestInitialLoadNextChunkIndex";
+
+    private final RequestInitialDataLoadProcessor requestInitialDataLoadProcessor;
+
+    public RequestInitialLoadReportAggregationStrategy(RequestInitialDataLoadProcessor requestInitialDataLoadProcessor) {
+        this.requestInitialDataLoadProcessor = requestInitialDataLoadProcessor;
+    }
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+        Exchange reportExchange = oldExchange != null ? oldExchange : newExchange;
+        TreeMap<Integer, Set<String>> pendingChunks = reportExchange.getProperty(PENDING_CHUNKS, TreeMap.class);
+        if (pendingChunks == null) {
+            pendingChunks = new TreeMap<>();
+            reportExchange.setProperty(PENDING_CHUNKS, pendingChunks);
+        }
+        Set<String> barcodesNotInScsb = newExchange.getIn().getBody(Set.class);
+        pendingChunks.put(newExchange.getProperty(ScsbConstants.CAMEL_SPLIT_INDEX, Integer.class), barcodesNotInScsb != null ? barcodesNotInScsb : Collections.emptySet());
+        int nextChunkIndex = reportExchange.getProperty(NEXT_CHUNK_INDEX, 0, Integer.class);
+        while (pendingChunks.containsKey(nextChunkIndex)) {
+            requestInitialDataLoadProcessor.writeBarcodesNotInScsb(nextChunkIndex, pendingChunks.remove(nextChunkIndex));
+            nextChunkIndex++;
+        }
+        reportExchange.setProperty(NEXT_CHUNK_INDEX, nextChunkIndex);
+        return reportExchange;
+    }
+}
@@ -3,6 +3,8 @@ package org.recap.camel.requestinitialdataload;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ThreadPoolBuilder;
+import org.apache.camel.model.ChoiceDefinition;
 import org.apache.camel.model.dataformat.BindyType;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -13,6 +15,12 @@ import org.recap.camel.route.StopRouteProcessor;
 import org.recap.util.CommonUtil;
 import org.springframework.context.ApplicationContext;
 import org.apache.camel.component.aws.s3.S3Constants;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
 
 public class RequestInitialLoadRouteBuilder extends RouteBuilder {
 
@@ -22,8 +30,14 @@ public class RequestInitialLoadRouteBuilder extends RouteBuilder {
     String requestInitialAccessionS3Dir;
     String requestInitialLoadFilepath;
     String requestInitialAccessionErrorFileS3Dir;
+    boolean streamingEnabled;
+    int streamingThreadCount;
 
-    public RequestInitialLoadRouteBuilder(CamelContext camelContext, ApplicationContext applicationContext, CommonUtil commonUtil, String institution, String requestInitialAccessionS3Dir, String requestInitialLoadFilepath, String requestInitialAccessionErrorFileS3Dir){
+    /**
+     * Instantiates the request initial load routes, in streaming mode the file is unzipped and split as it is read and
+     * the chunks are loaded in parallel by streaming thread count threads.
+     */
+    public RequestInitialLoadRouteBuilder(CamelContext camelContext, ApplicationContext applicationContext, CommonUtil commonUtil, String institution, String requestInitialAccessionS3Dir, String requestInitialLoadFilepath, String requestInitialAccessionErrorFileS3Dir, boolean streamingEnabled, int streamingThreadCount){
         super(camelContext);
         this.applicationContext=applicationContext;
         this.commonUtil=commonUtil;
@@ -31,6 +45,8 @@ public class RequestInitialLoadRouteBuilder extends RouteBuilder {
         this.requestInitialAccessionS3Dir=requestInitialAccessionS3Dir;
         this.requestInitialLoadFilepath=requestInitialLoadFilepath;
         this.requestInitialAccessionErrorFileS3Dir=requestInitialAccessionErrorFileS3Dir;
+        this.streamingEnabled=streamingEnabled;
+        this.streamingThreadCount=streamingThreadCount;
     }
 
     @Override
@@ -47,13 +63,17 @@ public class RequestInitialLoadRouteBuilder extends RouteBuilder {
                 return false;
         };
 
-        from("aws-s3://{{scsbBucketName}}?prefix="+requestInitialAccessionS3Dir + institution + "/{{s3DataFeedFileNamePrefix}}&deleteAfterRead=false&sendEmptyMessageWhenIdle=true&autocloseBody=false&region={{awsRegion}}&accessKey=RAW({{awsAccessKey}})&secretKey=RAW({{awsAccessSecretKey}})")
+        ChoiceDefinition s3Route = from("aws-s3://{{scsbBucketName}}?prefix="+requestInitialAccessionS3Dir + institution + "/{{s3DataFeedFileNamePrefix}}&deleteAfterRead=false&sendEmptyMessageWhenIdle=true&autocloseBody=false&region={{awsRegion}}&accessKey=RAW({{awsAccessKey}})&secretKey=RAW({{awsAccessSecretKey}})")
                 .routeId(ScsbConstants.REQUEST_INITIAL_LOAD_FTP_ROUTE+institution)
                 .noAutoStartup()
                 .choice()
-                .when(gzipFile)
-                .unmarshal()
-                .gzipDeflater()
+                .when(gzipFile);
+        if (streamingEnabled) {
+            s3Route.process(exchange -> exchange.getIn().setBody(new GZIPInputStream(exchange.getIn().getMandatoryBody(InputStream.class))));
+        } else {
+            s3Route.unmarshal().gzipDeflater();
+        }
+        s3Route
                 .log(institution+" - Request Initial load S3 Route Unzip Complete")
                 .process(new StartRouteProcessor(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution))
                 .to(ScsbConstants.DIRECT+ ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
@@ -65,16 +85,36 @@ public class RequestInitialLoadRouteBuilder extends RouteBuilder {
                 .to(ScsbConstants.DIRECT+ ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
                 .endChoice();
 
-        from(ScsbConstants.DIRECT+ ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
-                .routeId(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
-                .noAutoStartup()
-                .log("Request data load started for "+institution)
-                .split(body().tokenize("\n",1000,true))
-                .unmarshal().bindy(BindyType.Csv, RequestDataLoadCSVRecord.class)
-                .bean(applicationContext.getBean(RequestInitialDataLoadProcessor.class, institution), ScsbConstants.PROCESS_INPUT)
-                .end()
-                .onCompletion()
-                .process(new StopRouteProcessor(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution));
+        if (streamingEnabled) {
+            RequestInitialDataLoadProcessor requestInitialDataLoadProcessor = applicationContext.getBean(RequestInitialDataLoadProcessor.class, institution);
+            String chunkExecutorServiceRef = getChunkExecutorServiceRef();
+            from(ScsbConstants.DIRECT+ ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
+                    .routeId(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
+                    .noAutoStartup()
+                    .log("Request data load started for "+institution)
+                    .process(exchange -> exchange.setProperty(ScsbConstants.REQUEST_INITIAL_LOAD_BARCODES, ConcurrentHashMap.newKeySet()))
+                    .split(body().tokenize("\n",1000,true), new RequestInitialLoadReportAggregationStrategy(requestInitialDataLoadProcessor))
+                    .streaming()
+                    .parallelProcessing()
+                    .executorServiceRef(chunkExecutorServiceRef)
+                    .unmarshal().bindy(BindyType.Csv, RequestDataLoadCSVRecord.class)
+                    .bean(requestInitialDataLoadProcessor, ScsbConstants.PROCESS_CHUNK)
+                    .end()
+                    .bean(requestInitialDataLoadProcessor, ScsbConstants.COMPLETE_INITIAL_LOAD)
+                    .onCompletion()
+                    .process(new StopRouteProcessor(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution));
+        } else {
+            from(ScsbConstants.DIRECT+ ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
+                    .routeId(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution)
+                    .noAutoStartup()
+                    .log("Request data load started for "+institution)
+                    .split(body().tokenize("\n",1000,true))
+                    .unmarshal().bindy(BindyType.Csv, RequestDataLoadCSVRecord.class)
+                    .bean(applicationContext.getBean(RequestInitialDataLoadProcessor.class, institution), ScsbConstants.PROCESS_INPUT)
+                    .end()
+                    .onCompletion()
+                    .process(new StopRouteProcessor(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution));
+        }
 
 
         from(ScsbConstants.REQUEST_INITIAL_LOAD_FS_FILE+ requestInitialLoadFilepath + "/" + institution +"?delete=true")
@@ -87,4 +127,23 @@ public class RequestInitialLoadRouteBuilder extends RouteBuilder {
                 .process(new StopRouteProcessor(ScsbConstants.REQUEST_INITIAL_LOAD_FS_ROUTE+institution))
                 .log("Request data load completed for "+institution);
     }
+
+    /**
+     * The routes are added again on every start of the request initial load, so the chunk thread pool is created once
+     * per institution and kept in the registry, the camel context shuts it down when it stops.
+     */
+    private String getChunkExecutorServiceRef() throws Exception {
+        String chunkExecutorServiceRef = ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution+"ExecutorService";
+        if (getContext().getRegistry().lookupByNameAndType(chunkExecutorServiceRef, ExecutorService.class) == null) {
+            // Bounded queue running the overflow on the splitting thread, so the file is read only as fast as the chunks are loaded.
+            ExecutorService chunkExecutorService = new ThreadPoolBuilder(getContext())
+                    .poolSize(streamingThreadCount)
+                    .maxPoolSize(streamingThreadCount)
+                    .maxQueueSize(streamingThreadCount)
+                    .rejectedPolicy(ThreadPoolRejectedPolicy.CallerRuns)
+                    .build(this, ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE+institution);
+            getContext().getRegistry().bind(chunkExecutorServiceRef, chunkExecutorService);
+        }
+        return chunkExecutorServiceRef;
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -73,6 +74,64 @@ public class RequestInitialDataLoadProcessor {
         logger.info("count from ftp {}", requestDataLoadCSVRecordList.size());
         try {
             Set<String> barcodesNotInScsb = requestDataLoadService.process(requestDataLoadCSVRecordList,barcodeSet);
+            writeBarcodesNotInScsb(index, barcodesNotInScsb);
+        }
+        catch (Exception e){
+            barcodeSet.clear();
+            totalCount=0;
+            logger.error(ScsbCommonConstants.LOG_ERROR,e);
+        }
+        barcodeSet.clear();
+        totalCount = totalCount + requestDataLoadCSVRecordList.size();
+        logger.info("Total count from las report---->{}",totalCount);
+        totalCount = 0;
+
+        startFileSystemRoutesForAccessionReconciliation(exchange,index);
+        moveProcessedFile(exchange);
+    }
+
+    /**
+     * To load a chunk of the request initial data in scsb when the chunks are processed in parallel. The barcodes
+     * already loaded are shared by all the chunks of the file through the exchange property, everything else is
+     * local to the chunk. The barcodes not in scsb are set as the body, to be written to the report in chunk order.
+     *
+     * @param exchange the exchange
+     */
+    public void processChunk(Exchange exchange) {
+        List<RequestDataLoadCSVRecord> requestDataLoadCSVRecordList = (List<RequestDataLoadCSVRecord>)exchange.getIn().getBody();
+        Set<String> loadedBarcodes = exchange.getProperty(ScsbConstants.REQUEST_INITIAL_LOAD_BARCODES, Set.class);
+        Set<String> barcodesNotInScsb = new HashSet<>();
+        try {
+            barcodesNotInScsb = requestDataLoadService.process(requestDataLoadCSVRecordList, loadedBarcodes != null ? loadedBarcodes : new HashSet<>());
+        } catch (Exception e) {
+            logger.error(ScsbCommonConstants.LOG_ERROR, e);
+        }
+        logger.info("Count from las report chunk {} : {}", exchange.getProperty(ScsbConstants.CAMEL_SPLIT_INDEX), requestDataLoadCSVRecordList.size());
+        exchange.getIn().setBody(barcodesNotInScsb);
+    }
+
+    /**
+     * To send the barcodes not in scsb report and move the processed file once all the chunks are loaded.
+     *
+     * @param exchange the exchange
+     */
+    public void completeInitialLoad(Exchange exchange) {
+        if (exchange.getProperty(ScsbConstants.CAMEL_SPLIT_INDEX) == null) {
+            logger.info("No records to load for {}", institutionCode);
+            return;
+        }
+        startFileSystemRoute();
+        moveProcessedFile(exchange);
+    }
+
+    /**
+     * To append the barcodes not in scsb to the report of the institution, the header is written for the first chunk.
+     *
+     * @param index             the split index of the chunk
+     * @param barcodesNotInScsb the barcodes not in scsb
+     */
+    public void writeBarcodesNotInScsb(Integer index, Set<String> barcodesNotInScsb) {
+        try {
             SimpleDateFormat simpleDateFormat = new SimpleDateFormat("ddMMMyyyy");
             Path filePath = Paths.get(requestInitialLoadFilePath+ScsbCommonConstants.PATH_SEPARATOR+institutionCode+ScsbCommonConstants.PATH_SEPARATOR+ ScsbConstants.REQUEST_INITIAL_FILE_NAME+institutionCode+simpleDateFormat.format(new Date())+".csv");
             if (!filePath.toFile().exists()) {
@@ -87,18 +146,12 @@ public class RequestInitialDataLoadProcessor {
             }
 
             Files.write(filePath,barcodesNotInScsb, StandardOpenOption.APPEND);
-        }
-        catch (Exception e){
-            barcodeSet.clear();
-            totalCount=0;
+        } catch (IOException e) {
             logger.error(ScsbCommonConstants.LOG_ERROR,e);
         }
-        barcodeSet.clear();
-        totalCount = totalCount + requestDataLoadCSVRecordList.size();
-        logger.info("Total count from las report---->{}",totalCount);
-        totalCount = 0;
+    }
 
-        startFileSystemRoutesForAccessionReconciliation(exchange,index);
+    private void moveProcessedFile(Exchange exchange) {
         String xmlFileName = exchange.getIn().getHeader("CamelAwsS3Key").toString();
         String bucketName = exchange.getIn().getHeader("CamelAwsS3BucketName").toString();
         if (awsS3Client.doesObjectExist(bucketName, xmlFileName)) {
@@ -113,12 +166,16 @@ public class RequestInitialDataLoadProcessor {
     private void startFileSystemRoutesForAccessionReconciliation(Exchange exchange, Integer index) {
         if ((boolean)exchange.getProperty(ScsbConstants.CAMEL_SPLIT_COMPLETE)){
             logger.info("split last index-->{}",index);
-            try {
-                    logger.info("{}{}{}", ScsbConstants.STARTING, ScsbConstants.REQUEST_INITIAL_LOAD_FS_ROUTE, institutionCode);
-                    camelContext.getRouteController().startRoute(ScsbConstants.REQUEST_INITIAL_LOAD_FS_ROUTE+institutionCode);
-            } catch (Exception e) {
-                logger.error(ScsbCommonConstants.LOG_ERROR, e);
-            }
+            startFileSystemRoute();
+        }
+    }
+
+    private void startFileSystemRoute() {
+        try {
+                logger.info("{}{}{}", ScsbConstants.STARTING, ScsbConstants.REQUEST_INITIAL_LOAD_FS_ROUTE, institutionCode);
+                camelContext.getRouteController().startRoute(ScsbConstants.REQUEST_INITIAL_LOAD_FS_ROUTE+institutionCode);
+        } catch (Exception e) {
+            logger.error(ScsbCommonConstants.LOG_ERROR, e);
         }
     }
 
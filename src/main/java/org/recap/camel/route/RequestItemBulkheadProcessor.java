@@ -0,0 +1,73 @@
+package org.recap.camel.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.commons.lang3.StringUtils;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.recap.model.request.ItemRequestInformation;
+import org.recap.model.response.ItemInformationResponse;
+import org.recap.request.service.RequestItemBulkheadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Hands the rest of the request item route over to the bulkhead of the owning institution of the item, in place of a
+ * threads pool shared by all the institutions. While the bulkhead is full the consumer thread backs off before handing
+ * the request item over, so that a slow ILS only slows down its own request items once its queue is full.
+ */
+public class RequestItemBulkheadProcessor extends AsyncProcessorSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestItemBulkheadProcessor.class);
+
+    private final RequestItemBulkheadService requestItemBulkheadService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RequestItemBulkheadProcessor(RequestItemBulkheadService requestItemBulkheadService) {
+        this.requestItemBulkheadService = requestItemBulkheadService;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        String owningInstitution = getOwningInstitution(exchange);
+        try {
+            requestItemBulkheadService.execute(owningInstitution, () -> {
+                // The rest of the route runs within done, on the bulkhead thread.
+                callback.done(false);
+                return !isIlsFailure(exchange);
+            });
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+        } catch (RejectedExecutionException e) {
+            exchange.setException(e);
+        }
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * The request item services catch their exceptions, so the exchange does not fail: the ILS failures are told by
+     * the screen message of the response. A request item failed for another reason does not cut the concurrency.
+     */
+    private boolean isIlsFailure(Exchange exchange) {
+        ItemInformationResponse itemInformationResponse = exchange.getProperty(ScsbConstants.REQUEST_ITEM_RESPONSE, ItemInformationResponse.class);
+        return itemInformationResponse != null && !itemInformationResponse.isSuccess() && StringUtils.startsWith(itemInformationResponse.getScreenMessage(), ScsbConstants.REQUEST_ILS_EXCEPTION);
+    }
+
+    private String getOwningInstitution(Exchange exchange) {
+        try {
+            String body = exchange.getIn().getBody(String.class);
+            return body != null ? objectMapper.readValue(body, ItemRequestInformation.class).getItemOwningInstitution() : null;
+        } catch (IOException e) {
+            logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.recap.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the pooled http client shared by all outbound http calls to the ILS, IMS, solr client and ActiveMQ endpoints,
+ * so that connections and TLS sessions are reused per host instead of being opened for every request.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.max.total.connections:200}")
+    private int maxTotalConnections;
+
+    @Value("${http.client.max.connections.per.route:0}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${request.item.bulkhead.max.concurrency:30}")
+    private int requestItemBulkheadMaxConcurrency;
+
+    @Value("${bulk.request.concurrent.consumer.count:20}")
+    private int bulkRequestConsumerCount;
+
+    @Value("${http.client.connect.timeout.millis:10000}")
+    private int connectTimeoutMillis;
+
+    @Value("${http.client.connection.request.timeout.millis:10000}")
+    private int connectionRequestTimeoutMillis;
+
+    @Value("${http.client.socket.timeout.millis:0}")
+    private int socketTimeoutMillis;
+
+    @Value("${http.client.keep.alive.millis:30000}")
+    private long keepAliveMillis;
+
+    @Value("${http.client.idle.connection.timeout.millis:60000}")
+    private long idleConnectionTimeoutMillis;
+
+    @Value("${http.client.validate.after.inactivity.millis:2000}")
+    private int validateAfterInactivityMillis;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+        int maxPerRoute = getMaxConnectionsPerRoute();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Math.max(maxTotalConnections, maxPerRoute));
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setConnectionRequestTimeout(connectionRequestTimeoutMillis)
+                .setSocketTimeout(socketTimeoutMillis)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(getKeepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleConnectionTimeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder.requestFactory(() -> getRequestFactory(httpClient, connectionRequestTimeoutMillis)).build();
+    }
+
+    /**
+     * Builds a request factory on the shared http client, which waits for a pooled connection no longer than the given
+     * connection request timeout.
+     *
+     * @param httpClient                     the shared http client
+     * @param connectionRequestTimeoutMillis the connection request timeout in milliseconds
+     * @return the request factory
+     */
+    public static HttpComponentsClientHttpRequestFactory getRequestFactory(CloseableHttpClient httpClient, int connectionRequestTimeoutMillis) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectionRequestTimeout(connectionRequestTimeoutMillis);
+        return requestFactory;
+    }
+
+    @Bean
+    public MeterBinder httpClientConnectionPoolMetrics(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, "scsb-circ");
+    }
+
+    /**
+     * Each ILS or IMS host is called by up to the max concurrency of a request item bulkhead plus the bulk request
+     * consumers at once, so unless configured the connections per route are sized to that.
+     *
+     * @return the max connections per route
+     */
+    private int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : requestItemBulkheadMaxConcurrency + bulkRequestConsumerCount;
+    }
+
+    /**
+     * Keeps a connection alive for as long as the server allows, but never longer than the configured keep alive.
+     *
+     * @return the keep alive strategy
+     */
+    private ConnectionKeepAliveStrategy getKeepAliveStrategy() {
+        return (response, context) -> {
+            long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAliveMillis > 0 ? Math.min(serverKeepAliveMillis, keepAliveMillis) : keepAliveMillis;
+        };
+    }
+}
@@ -9,8 +9,12 @@ import org.recap.ScsbConstants;
 import org.recap.ims.service.GFALasService;
 import org.recap.mqconsumer.RequestItemQueueConsumer;
 import org.recap.ims.processor.LasHeartBeatCheckPollingProcessor;
+import org.recap.request.service.BulkRequestExecutionService;
 import org.recap.request.service.ItemEDDRequestService;
 import org.recap.request.service.ItemRequestService;
+import org.recap.routebuilder.RequestItemRouteBuilder;
+import org.recap.service.common.ReferenceDataCacheService;
+import org.recap.service.common.SetupDataService;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -43,6 +47,15 @@ public class OnboardingInstitutionController {
     @Autowired
     private ItemEDDRequestService itemEDDRequestService;
 
+    @Autowired
+    private SetupDataService setupDataService;
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    private BulkRequestExecutionService bulkRequestExecutionService;
+
     @GetMapping(value = "/createTopicsForNewInstitution")
     public String createTopicsForNewInstitution(@RequestParam String institutionCode) {
         String responseStatus = ScsbCommonConstants.SUCCESS;
@@ -77,6 +90,7 @@ public class OnboardingInstitutionController {
                             .bean(new RequestItemQueueConsumer(institutionCode, itemRequestService, itemEDDRequestService), "recallTopicOnMessage");
                 }
             });
+            referenceDataCacheService.invalidateAll();
         } catch (Exception e) {
             log.error("Failed to create Topics for institution - {} : {}", institutionCode, e);
             responseStatus = ScsbCommonConstants.FAILURE;
@@ -98,16 +112,8 @@ public class OnboardingInstitutionController {
                 }
             });
 
-            camelContext.addRoutes(new RouteBuilder() {
-                @Override
-                public void configure() throws Exception {
-                    from(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + imsLocationCode + ScsbConstants.OUTGOING_QUEUE_SUFFIX)
-                            .routeId(ScsbConstants.LAS_OUTGOING_ROUTE_ID)
-                            .log("Message Received in LAS OUTGOING QUEUE for " + imsLocationCode)
-                            .bean(applicationContext.getBean(GFALasService.class), "gfaItemRequestProcessor");
-
-                }
-            });
+            RequestItemRouteBuilder.addLasOutgoingRoute(camelContext, applicationContext.getBean(GFALasService.class), imsLocationCode);
+            referenceDataCacheService.invalidateAll();
         } catch (Exception e) {
             log.error("Failed to create Queues for IMS Location - {} : {}", imsLocationCode, e);
             responseStatus = ScsbCommonConstants.FAILURE;
@@ -115,4 +121,12 @@ public class OnboardingInstitutionController {
         return responseStatus;
     }
 
+    @GetMapping(value = "/refreshSetupData")
+    public String refreshSetupData() {
+        setupDataService.refresh();
+        referenceDataCacheService.invalidateAll();
+        bulkRequestExecutionService.invalidateAll();
+        return ScsbCommonConstants.SUCCESS;
+    }
+
 }
@@ -47,13 +47,20 @@ public class RequestDataLoadController {
     @Value("${request.initial.accession.error.file}")
     String requestInitialAccessionErrorFileS3Dir;
 
+    @Value("${request.initial.load.streaming.enabled:false}")
+    boolean requestInitialLoadStreamingEnabled;
+
+    @Value("${request.initial.load.streaming.thread.count:4}")
+    int requestInitialLoadStreamingThreadCount;
+
     @PostMapping(value = "/startRequestInitialLoad")
     public String startAccessionReconciliation() throws Exception{
         logger.info("Request Initial DataLoad Starting.....");
         List<String> allInstitutionCodesExceptSupportInstitution = commonUtil.findAllInstitutionCodesExceptSupportInstitution();
         for (String institution : allInstitutionCodesExceptSupportInstitution) {
             camelContext.addRoutes(new RequestInitialLoadRouteBuilder(camelContext, applicationContext, commonUtil,
-                    institution, requestInitialAccessionS3Dir, requestInitialLoadFilepath, requestInitialAccessionErrorFileS3Dir));
+                    institution, requestInitialAccessionS3Dir, requestInitialLoadFilepath, requestInitialAccessionErrorFileS3Dir,
+                    requestInitialLoadStreamingEnabled, requestInitialLoadStreamingThreadCount));
         }
         for (String institution : allInstitutionCodesExceptSupportInstitution) {
             camelContext.getRouteController().startRoute(ScsbConstants.REQUEST_INITIAL_LOAD_FTP_ROUTE+institution);
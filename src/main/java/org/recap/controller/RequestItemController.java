@@ -20,6 +20,7 @@ import org.recap.model.response.ItemRefileResponse;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.model.request.ReplaceRequest;
 import org.recap.request.service.ItemRequestService;
+import org.recap.service.common.PatronCacheService;
 import org.recap.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,9 @@ public class RequestItemController {
     @Autowired
     private PropertyUtil propertyUtil;
 
+    @Autowired
+    private PatronCacheService patronCacheService;
+
     /**
      * Gets ItemRequestService object.
      *
@@ -86,6 +90,10 @@ public class RequestItemController {
             if (!itemRequestInformation.getItemBarcodes().isEmpty()) {
                 itemBarcode = itemRequestInformation.getItemBarcodes().get(0);
                 itemCheckoutResponse = (ItemCheckoutResponse) ilsProtocolConnectorFactory.getIlsProtocolConnector(callInst).checkOutItem(itemBarcode, itemRequestInformation.getRequestId(), itemRequestInformation.getPatronBarcode());
+                if (itemCheckoutResponse != null && !itemCheckoutResponse.isSuccess()) {
+                    // The patron may have been blocked since it was cached, so the next validation asks the ILS.
+                    patronCacheService.invalidate(callInst, itemRequestInformation.getPatronBarcode());
+                }
             } else {
                 itemCheckoutResponse.setSuccess(false);
                 itemCheckoutResponse.setScreenMessage("Item Id not found");
@@ -262,7 +270,8 @@ public class RequestItemController {
     public AbstractResponseItem patronInformation(@RequestBody ItemRequestInformation itemRequestInformation, String callInstitution) {
         PatronInformationResponse patronInformationResponse;
         String callInst = callingInstitution(callInstitution, itemRequestInformation);
-        patronInformationResponse = (PatronInformationResponse) ilsProtocolConnectorFactory.getIlsProtocolConnector(callInst).lookupPatron(itemRequestInformation.getPatronBarcode());
+        String patronBarcode = itemRequestInformation.getPatronBarcode();
+        patronInformationResponse = (PatronInformationResponse) patronCacheService.lookupPatron(callInst, patronBarcode, () -> ilsProtocolConnectorFactory.getIlsProtocolConnector(callInst).lookupPatron(patronBarcode));
         return patronInformationResponse;
     }
 
@@ -291,7 +300,9 @@ public class RequestItemController {
 
     @PostMapping("/patronValidationBulkRequest")
     public Boolean patronValidationBulkRequest(@RequestBody BulkRequestInformation bulkRequestInformation) {
-        return ilsProtocolConnectorFactory.getIlsProtocolConnector(bulkRequestInformation.getRequestingInstitution()).patronValidation(bulkRequestInformation.getRequestingInstitution(), bulkRequestInformation.getPatronBarcode());
+        String requestingInstitution = bulkRequestInformation.getRequestingInstitution();
+        String patronBarcode = bulkRequestInformation.getPatronBarcode();
+        return patronCacheService.patronValidation(requestingInstitution, patronBarcode, () -> ilsProtocolConnectorFactory.getIlsProtocolConnector(requestingInstitution).patronValidation(requestingInstitution, patronBarcode));
     }
 
     /**
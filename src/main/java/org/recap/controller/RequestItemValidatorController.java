@@ -5,6 +5,7 @@ import org.recap.ils.connector.factory.ILSProtocolConnectorFactory;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.request.service.ItemValidatorService;
 import org.recap.request.service.RequestParamaterValidatorService;
+import org.recap.service.common.PatronCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +43,12 @@ public class RequestItemValidatorController {
     @Autowired
     ItemValidatorService itemValidatorService;
 
+    /**
+     * The Patron cache service.
+     */
+    @Autowired
+    PatronCacheService patronCacheService;
+
     /**
      * Validate item request informations response entity.
      *
@@ -54,7 +61,9 @@ public class RequestItemValidatorController {
         responseEntity = requestParamaterValidatorService.validateItemRequestParameters(itemRequestInformation);
         if (responseEntity == null) {
             responseEntity = itemValidatorService.itemValidation(itemRequestInformation);
-            if (responseEntity.getStatusCode() == HttpStatus.OK && !ilsProtocolConnectorFactory.getIlsProtocolConnector(itemRequestInformation.getRequestingInstitution()).patronValidation(itemRequestInformation.getRequestingInstitution(), itemRequestInformation.getPatronBarcode())) {
+            String requestingInstitution = itemRequestInformation.getRequestingInstitution();
+            String patronBarcode = itemRequestInformation.getPatronBarcode();
+            if (responseEntity.getStatusCode() == HttpStatus.OK && !patronCacheService.patronValidation(requestingInstitution, patronBarcode, () -> ilsProtocolConnectorFactory.getIlsProtocolConnector(requestingInstitution).patronValidation(requestingInstitution, patronBarcode))) {
                     responseEntity = new ResponseEntity<>(ScsbConstants.INVALID_PATRON, requestParamaterValidatorService.getHttpHeaders(), HttpStatus.BAD_REQUEST);
                 }
         }
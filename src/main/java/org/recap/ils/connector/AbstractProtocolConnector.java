@@ -15,6 +15,10 @@ public abstract class AbstractProtocolConnector {
 
     public abstract void setIlsConfigProperties(ILSConfigProperties ilsConfigProperties);
 
+    public String getInstitutionCode() {
+        return institutionCode;
+    }
+
     public String getHost() {
         return ilsConfigProperties.getHost();
     }
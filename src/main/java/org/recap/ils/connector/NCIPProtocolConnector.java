@@ -7,10 +7,12 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
+import org.extensiblecatalog.ncip.v2.common.Translator;
 import org.extensiblecatalog.ncip.v2.service.AcceptItemInitiationData;
 import org.extensiblecatalog.ncip.v2.service.AcceptItemResponseData;
 import org.extensiblecatalog.ncip.v2.service.CancelRequestItemInitiationData;
@@ -21,13 +23,18 @@ import org.extensiblecatalog.ncip.v2.service.CheckOutItemInitiationData;
 import org.extensiblecatalog.ncip.v2.service.CheckOutItemResponseData;
 import org.extensiblecatalog.ncip.v2.service.LookupUserInitiationData;
 import org.extensiblecatalog.ncip.v2.service.LookupUserResponseData;
+import org.extensiblecatalog.ncip.v2.service.NCIPInitiationData;
 import org.extensiblecatalog.ncip.v2.service.NCIPResponseData;
 import org.extensiblecatalog.ncip.v2.service.RecallItemInitiationData;
 import org.extensiblecatalog.ncip.v2.service.RecallItemResponseData;
+import org.extensiblecatalog.ncip.v2.service.ServiceException;
+import org.extensiblecatalog.ncip.v2.service.ToolkitException;
+import org.extensiblecatalog.ncip.v2.service.ValidationException;
 import org.json.JSONObject;
 
 import org.recap.PropertyKeyConstants;
 import org.recap.ils.protocol.ncip.util.NCIPToolKitUtil;
+import org.recap.ils.protocol.ncip.util.NCIPTranslatorPool;
 import org.recap.model.jpa.ItemEntity;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.ils.protocol.ncip.AcceptItem;
@@ -54,6 +61,7 @@ import org.recap.model.AbstractResponseItem;
 import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -62,6 +70,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
@@ -69,12 +78,15 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @Slf4j
 @RefreshScope
 public class NCIPProtocolConnector extends AbstractProtocolConnector {
 
+    private static final ContentType NCIP_REQUEST_CONTENT_TYPE = ContentType.create("application/xml", StandardCharsets.UTF_8);
+
     private String ncipRequest = "NCIP2 request sent: ";
     private String ncipResponse = "NCIP2 response received: ";
     private String httpCallTo = "Http call to ";
@@ -88,12 +100,23 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     @Autowired
     RestTemplate restTemplate;
 
+    @Autowired
+    CloseableHttpClient httpClient;
+
     @Autowired
     ItemDetailsRepository itemDetailsRepository;
 
     @Autowired
     PropertyUtil propertyUtil;
 
+    @Autowired
+    NCIPTranslatorPool ncipTranslatorPool;
+
+    @Value("${ncip.message.log.sample.rate:100}")
+    private int ncipMessageLogSampleRate;
+
+    private final AtomicLong ncipMessageCount = new AtomicLong();
+
     @Override
     public boolean supports(String protocol) {
         return ScsbConstants.NCIP_PROTOCOL.equalsIgnoreCase(protocol);
@@ -131,7 +154,7 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
      * @return the rest template
      */
     public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+        return restTemplate;
     }
 
 
@@ -173,7 +196,7 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     }
 
     public CloseableHttpClient buildCloseableHttpClient(){
-        return HttpClients.custom().build();
+        return httpClient;
     }
 
     @Override
@@ -192,40 +215,11 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     public ItemCheckoutResponse checkOutItem(String itemIdentifier, Integer requestId, String patronIdentifier) {
         log.info("Item barcode {} received for a checkout in " + getInstitution() + "for patron {}", itemIdentifier, patronIdentifier);
         ItemCheckoutResponse itemCheckoutResponse = new ItemCheckoutResponse();
-        String responseString = null;
-        JSONObject responseObject = new JSONObject();
         try {
             CheckoutItem checkoutItem = new CheckoutItem();
 
             CheckOutItemInitiationData checkOutItemInitiationData = checkoutItem.getCheckOutItemInitiationData(itemIdentifier, requestId, patronIdentifier, getNcipAgencyId());
-            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
-            InputStream requestMessageStream = ncipToolkitUtil.translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, checkOutItemInitiationData);
-            String requestBody = IOUtils.toString(requestMessageStream, StandardCharsets.UTF_8);
-            CloseableHttpClient client = buildCloseableHttpClient();
-
-            HttpUriRequest request = getHttpRequest(requestBody);
-
-            HttpResponse response = client.execute(request);
-
-            HttpEntity entity = response.getEntity();
-            responseString = EntityUtils.toString( entity, StandardCharsets.UTF_8);
-
-            log.info(ncipRequest);
-            log.info(requestBody);
-            log.info(ncipResponse);
-            log.info(responseString);
-            int responseCode = response.getStatusLine().getStatusCode();
-            if (responseCode > 399) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST , httpCallTo + getEndPointUrl() + returnedResponseCode + responseCode + responseBody + responseString);
-            }
-
-            InputStream stream = new ByteArrayInputStream(responseString.getBytes(StandardCharsets.UTF_8));
-            NCIPResponseData responseData = ncipToolkitUtil.translator.createResponseData(ncipToolkitUtil.serviceContext, stream);
-
-            //transforms the NCIP Objects into a JSON response object
-            CheckOutItemResponseData checkoutItemResponse = (CheckOutItemResponseData) responseData;
-
-            responseObject = checkoutItem.getCheckoutResponse(checkoutItemResponse);
+            CheckOutItemResponseData checkoutItemResponse = (CheckOutItemResponseData) getNcipResponseData(checkOutItemInitiationData);
 
             if (!checkoutItemResponse.getProblems().isEmpty()) {
                 itemCheckoutResponse.setSuccess(Boolean.FALSE);
@@ -235,15 +229,13 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
 
                 return itemCheckoutResponse;
             } else {
-                log.info(responseObject.toString());
-
                 itemCheckoutResponse.setItemBarcode(checkoutItemResponse.getItemId().getItemIdentifierValue());
                 itemCheckoutResponse.setPatronIdentifier(checkoutItemResponse.getUserId().getUserIdentifierValue());
                 if (checkoutItemResponse.getItemOptionalFields() != null) {
                     itemCheckoutResponse.setTitleIdentifier(checkoutItemResponse.getItemOptionalFields().getBibliographicDescription().getTitle());
                 }
                 itemCheckoutResponse.setPatronIdentifier(checkoutItemResponse.getUserId().getUserIdentifierValue());
-                itemCheckoutResponse.setDueDate(responseObject.getString("dueDate"));
+                itemCheckoutResponse.setDueDate(checkoutItem.getDueDate(checkoutItemResponse));
                 itemCheckoutResponse.setSuccess(Boolean.TRUE);
                 itemCheckoutResponse.setScreenMessage(ScsbCommonConstants.SUCCESS);
             log.info("checkOutItem Response >>> " + checkoutItemResponse.getProblems());
@@ -271,35 +263,8 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
         ItemCheckinResponse itemCheckinResponse = new ItemCheckinResponse();
         CheckInItemResponseData checkinItemResponse = new CheckInItemResponseData();
         try {
-            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
-            String requestBody = checkInItem.getRequestBody(ncipToolkitUtil, checkInItemInitiationData);
-            HttpUriRequest request = getHttpRequest(requestBody);
-            CloseableHttpClient client = buildCloseableHttpClient();
-
-            String responseString = null;
-
-            HttpResponse response = client.execute(request);
-
-            HttpEntity entity = response.getEntity();
-            responseString = EntityUtils.toString(entity, StandardCharsets.UTF_8);
-
-            log.info(ncipRequest);
-            log.info(requestBody);
-            log.info(ncipResponse);
-            log.info(responseString);
-            int responseCode = response.getStatusLine().getStatusCode();
-            if (responseCode > 399) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, httpCallTo + getEndPointUrl() + returnedResponseCode + responseCode + responseBody + responseString);
-            }
-
-            //transforms the NCIP xml response into NCIP Objects
-            InputStream stream = new ByteArrayInputStream(responseString.getBytes(StandardCharsets.UTF_8));
-            NCIPResponseData responseData = ncipToolkitUtil.translator.createResponseData(ncipToolkitUtil.serviceContext, stream);
-
-            //transforms the NCIP Objects into a JSON response object
-            checkinItemResponse = (CheckInItemResponseData) responseData;
-            checkInItem.getCheckInResponse(checkinItemResponse);
-                   }
+            checkinItemResponse = (CheckInItemResponseData) getNcipResponseData(checkInItemInitiationData);
+        }
         catch (HttpClientErrorException httpException) {
             log.error(ScsbCommonConstants.LOG_ERROR, httpException);
             itemCheckinResponse.setSuccess(false);
@@ -408,41 +373,11 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     @Override
     public Object cancelHold(String itemIdentifier, Integer requestId, String patronIdentifier, String institutionId, String expirationDate, String bibId, String pickupLocation, String trackingId) {
         ItemHoldResponse itemHoldResponse = new ItemHoldResponse();
-        String responseString = null;
-        JSONObject responseObject = new JSONObject();
 
         try {
             CancelRequestItem cancelRequestItem = new CancelRequestItem();
             CancelRequestItemInitiationData cancelRequestItemInitiationData = cancelRequestItem.getCancelRequestItemInitiationData(requestId, patronIdentifier, getNcipAgencyId(), getNcipScheme());
-
-            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
-            InputStream requestMessageStream = ncipToolkitUtil.translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, cancelRequestItemInitiationData);
-            String requestBody = IOUtils.toString(requestMessageStream, StandardCharsets.UTF_8);
-
-            CloseableHttpClient client = buildCloseableHttpClient();
-            HttpUriRequest request = getHttpRequest(requestBody);
-            HttpResponse response = client.execute(request);
-
-            HttpEntity entity = response.getEntity();
-            responseString = EntityUtils.toString(entity, StandardCharsets.UTF_8);
-
-            log.info(ncipRequest);
-            log.info(requestBody);
-            log.info(ncipResponse);
-            log.info(responseString);
-            int responseCode = response.getStatusLine().getStatusCode();
-            if (responseCode > 399) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, httpCallTo + getEndPointUrl() + returnedResponseCode + responseCode + responseBody + responseString);
-            }
-            //transforms the NCIP xml response into NCIP Objects
-            InputStream stream = new ByteArrayInputStream(responseString.getBytes(StandardCharsets.UTF_8));
-            NCIPResponseData responseData = ncipToolkitUtil.translator.createResponseData(ncipToolkitUtil.serviceContext, stream);
-
-            //transforms the NCIP Objects into a JSON response object
-            CancelRequestItemResponseData cancelItemResponse = (CancelRequestItemResponseData) responseData;
-            responseObject = cancelRequestItem.getCancelRequestItemResponse(cancelItemResponse);
-
-            log.info(responseObject.toString());
+            CancelRequestItemResponseData cancelItemResponse = (CancelRequestItemResponseData) getNcipResponseData(cancelRequestItemInitiationData);
 
             if (!cancelItemResponse.getProblems().isEmpty()) {
                 itemHoldResponse.setSuccess(Boolean.FALSE);
@@ -488,38 +423,11 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     public AbstractResponseItem lookupPatron(String patronIdentifier) {
         log.info("Lookup for patron {}", patronIdentifier);
         PatronInformationResponse patronInformationResponse = new PatronInformationResponse();
-        String responseString;
-        JSONObject responseObject;
 
         try {
             LookupUser lookupUser = new LookupUser();
             LookupUserInitiationData lookupUserInitiationData = lookupUser.getLookupUserInitiationData(patronIdentifier, getNcipAgencyId());
-            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
-            InputStream requestMessageStream = ncipToolkitUtil.translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, lookupUserInitiationData);
-            String requestBody = IOUtils.toString(requestMessageStream, StandardCharsets.UTF_8);
-            CloseableHttpClient client = buildCloseableHttpClient();
-
-            HttpUriRequest request = getHttpRequest(requestBody);
-            HttpResponse response = client.execute(request);
-
-            HttpEntity entity = response.getEntity();
-            responseString = EntityUtils.toString(entity, StandardCharsets.UTF_8);
-
-            log.info(ncipRequest);
-            log.info(requestBody);
-            log.info(ncipResponse);
-            log.info(responseString);
-            int responseCode = response.getStatusLine().getStatusCode();
-            if (responseCode > 399) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, httpCallTo + getEndPointUrl() + returnedResponseCode + responseCode + responseBody + responseString);
-            }
-            //transforms the NCIP xml response into  NCIP Objects
-            InputStream stream = new ByteArrayInputStream(responseString.getBytes(StandardCharsets.UTF_8));
-            NCIPResponseData responseData = ncipToolkitUtil.translator.createResponseData(ncipToolkitUtil.serviceContext, stream);
-            //transforms the  NCIP Objects into a JSON response object
-            LookupUserResponseData lookupUserResponseData = (LookupUserResponseData) responseData;
-
-            responseObject = lookupUser.getLookupUserResponse(lookupUserResponseData);
+            LookupUserResponseData lookupUserResponseData = (LookupUserResponseData) getNcipResponseData(lookupUserInitiationData);
 
             if (!lookupUserResponseData.getProblems().isEmpty()) {
                 patronInformationResponse.setSuccess(Boolean.FALSE);
@@ -529,7 +437,7 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
 
                 return patronInformationResponse;
             } else {
-                patronInformationResponse.setPatronName(responseObject.getString("name"));
+                patronInformationResponse.setPatronName(lookupUser.getName(lookupUserResponseData));
                 patronInformationResponse.setSuccess(Boolean.TRUE);
                 patronInformationResponse.setScreenMessage(ScsbCommonConstants.SUCCESS);
                 patronInformationResponse.setHomeAddress(lookupUserResponseData.getUserOptionalFields().getUserAddressInformation(0).getPhysicalAddress().getStructuredAddress().getStreet().concat(",").concat(
@@ -562,36 +470,11 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     public Object recallItem(String itemIdentifier, String patronIdentifier, String institutionId, String expirationDate, String bibId, String pickupLocation) {
         log.info("recallItem for Item {}", itemIdentifier);
         ItemRecallResponse itemRecallResponse = new ItemRecallResponse();
-        String responseString;
-        JSONObject responseObject;
 
         try {
             RecallItem recallItem = new RecallItem();
             RecallItemInitiationData recallItemInitiationData = recallItem.getRecallItemInitiationData(itemIdentifier, patronIdentifier, getNcipAgencyId());
-            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
-            InputStream requestMessageStream = ncipToolkitUtil.translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, recallItemInitiationData);
-            String requestBody = IOUtils.toString(requestMessageStream, StandardCharsets.UTF_8);
-            CloseableHttpClient client = buildCloseableHttpClient();
-
-            HttpUriRequest request = getHttpRequest(requestBody);
-            HttpResponse response = client.execute(request);
-            HttpEntity entity = response.getEntity();
-            responseString = EntityUtils.toString(entity, StandardCharsets.UTF_8);
-
-            log.info(ncipRequest);
-            log.info(requestBody);
-            log.info(ncipResponse);
-            log.info(responseString);
-            int responseCode = response.getStatusLine().getStatusCode();
-            if (responseCode > 399) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, httpCallTo + getEndPointUrl() + returnedResponseCode + responseCode + responseBody + responseString);
-            }
-            //transforms the NCIP xml response into NCIP Objects
-            InputStream stream = new ByteArrayInputStream(responseString.getBytes(StandardCharsets.UTF_8));
-            NCIPResponseData responseData = ncipToolkitUtil.translator.createResponseData(ncipToolkitUtil.serviceContext, stream);
-            //transforms the NCIP Objects into a JSON response object
-            RecallItemResponseData recallItemResponse = (RecallItemResponseData) responseData;
-            responseObject = recallItem.getRecallItemResponse(recallItemResponse);
+            RecallItemResponseData recallItemResponse = (RecallItemResponseData) getNcipResponseData(recallItemInitiationData);
 
             if (!recallItemResponse.getProblems().isEmpty()) {
                 itemRecallResponse.setSuccess(false);
@@ -600,7 +483,6 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
                 log.error("recallItem Response message >>> " + itemRecallResponse.getScreenMessage());
                 return itemRecallResponse;
             }
-            log.info(responseObject.toString());
 
             itemRecallResponse.setPatronIdentifier(recallItemResponse.getUserId() != null ? recallItemResponse.getUserId().getUserIdentifierValue() : "");
             itemRecallResponse.setItemBarcode(recallItemResponse.getItemId().getItemIdentifierValue());
@@ -634,13 +516,60 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     }
 
     public HttpUriRequest getHttpRequest(String requestBody) {
+        return getHttpRequest(new StringEntity(requestBody, StandardCharsets.UTF_8));
+    }
+
+    public HttpUriRequest getHttpRequest(HttpEntity requestEntity) {
         return RequestBuilder.post()
                 .setUri(getEndPointUrl())
-                .setEntity(new StringEntity(requestBody, StandardCharsets.UTF_8))
+                .setEntity(requestEntity)
                 .setHeader("Content-Type", "application/xml")
                 .build();
     }
 
+    /**
+     * Sends the NCIP message to the ILS and gets the response, using a translator from the pool. The message is sent
+     * as a sized xml entity rather than chunked, and the response is parsed as it is read. The full xml of one in
+     * every ncip.message.log.sample.rate messages is logged at debug level.
+     *
+     * @param initiationData the NCIP initiation data
+     * @return the NCIP response data
+     */
+    public NCIPResponseData getNcipResponseData(NCIPInitiationData initiationData) throws IOException, ToolkitException, ServiceException, ValidationException {
+        NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
+        Translator translator = ncipTranslatorPool.borrowTranslator();
+        try {
+            boolean logMessage = isNcipMessageLogged();
+            byte[] requestBody = IOUtils.toByteArray(translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, initiationData));
+            if (logMessage) {
+                log.debug(ncipRequest + new String(requestBody, StandardCharsets.UTF_8));
+            }
+            HttpResponse response = buildCloseableHttpClient().execute(getHttpRequest(new ByteArrayEntity(requestBody, NCIP_REQUEST_CONTENT_TYPE)));
+            HttpEntity entity = response.getEntity();
+            try {
+                int responseCode = response.getStatusLine().getStatusCode();
+                if (responseCode > 399) {
+                    throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, httpCallTo + getEndPointUrl() + returnedResponseCode + responseCode + responseBody + EntityUtils.toString(entity, StandardCharsets.UTF_8));
+                }
+                InputStream responseStream = entity.getContent();
+                if (logMessage) {
+                    byte[] responseBytes = IOUtils.toByteArray(responseStream);
+                    log.debug(ncipResponse + new String(responseBytes, StandardCharsets.UTF_8));
+                    responseStream = new ByteArrayInputStream(responseBytes);
+                }
+                return translator.createResponseData(ncipToolkitUtil.serviceContext, responseStream);
+            } finally {
+                EntityUtils.consumeQuietly(entity);
+            }
+        } finally {
+            ncipTranslatorPool.releaseTranslator(translator);
+        }
+    }
+
+    private boolean isNcipMessageLogged() {
+        return ncipMessageLogSampleRate > 0 && log.isDebugEnabled() && ncipMessageCount.getAndIncrement() % ncipMessageLogSampleRate == 0;
+    }
+
     public String getEndPointUrl() {
         return ilsConfigProperties.getHost();
     }
@@ -663,35 +592,9 @@ public class NCIPProtocolConnector extends AbstractProtocolConnector {
     private ItemHoldResponse acceptItem(String itemIdentifier, Integer requestId, String patronIdentifier, String itemInstitutionId,  String pickupLocation, String title, String author, String callNumber) {
         AcceptItem acceptItem = new AcceptItem();
         ItemHoldResponse itemHoldResponse = new ItemHoldResponse();
-        String responseString = null;
-        JSONObject responseObject;
         try {
-            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
-            CloseableHttpClient client = buildCloseableHttpClient();
             AcceptItemInitiationData acceptItemInitiationData = acceptItem.getAcceptItemInitiationData(itemIdentifier, requestId, patronIdentifier, title, author, pickupLocation,callNumber, getNcipAgencyId(), getNcipScheme());
-            String requestBody = acceptItem.getRequestBody(ncipToolkitUtil, acceptItemInitiationData);
-            HttpUriRequest request = getHttpRequest(requestBody);
-            HttpResponse response = client.execute(request);
-            HttpEntity entity = response.getEntity();
-            responseString = EntityUtils.toString(entity, StandardCharsets.UTF_8);
-
-
-            log.info(ncipRequest);
-            log.info(requestBody);
-            log.info(ncipResponse);
-            log.info(responseString);
-            int responseCode = response.getStatusLine().getStatusCode();
-            if (responseCode > 399) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, getEndPointUrl() + returnedResponseCode + responseCode + responseBody + responseString);
-            }
-            //transforms the NCIP xml response into NCIP Objects
-            InputStream stream = new ByteArrayInputStream(responseString.getBytes(StandardCharsets.UTF_8));
-            NCIPResponseData responseData = ncipToolkitUtil.translator.createResponseData(ncipToolkitUtil.serviceContext, stream);
-
-            //transforms the  NCIP Objects into a JSON response object
-            AcceptItemResponseData acceptItemResponse = (AcceptItemResponseData) responseData;
-            responseObject = acceptItem.getAcceptItemResponse(acceptItemResponse);
-            log.info(responseObject.toString());
+            AcceptItemResponseData acceptItemResponse = (AcceptItemResponseData) getNcipResponseData(acceptItemInitiationData);
 
             if (!acceptItemResponse.getProblems().isEmpty()) {
                 itemHoldResponse.setSuccess(Boolean.FALSE);
@@ -1,5 +1,6 @@
 package org.recap.ils.connector;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -23,7 +24,12 @@ import org.springframework.web.client.RestTemplate;
 
 import java.text.MessageFormat;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 @Slf4j
@@ -41,6 +47,8 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
     @Autowired
     RestProtocolJobResponsePollingProcessor restProtocolJobResponsePollingProcessor;
 
+    private volatile boolean bulkJobQuerySupported = true;
+
 
     /**
      * Gets rest data api url.
@@ -66,7 +74,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
      * @return the rest template
      */
     public RestTemplate getRestTemplate(){
-        return new RestTemplate();
+        return restTemplate;
     }
 
     /**
@@ -238,8 +246,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
             checkoutRequest.setItemBarcode(itemIdentifier);
             checkoutRequest.setDesiredDateDue(getRestApiResponseUtil().getExpirationDateForRest());
 
-            HttpEntity<CheckoutRequest> requestEntity = new HttpEntity<>(checkoutRequest, getHttpHeaders());
-            ResponseEntity<CheckoutResponse> responseEntity = restTemplate.exchange(apiUrl, HttpMethod.POST, requestEntity, CheckoutResponse.class);
+            ResponseEntity<CheckoutResponse> responseEntity = exchange(apiUrl, HttpMethod.POST, checkoutRequest, CheckoutResponse.class);
             CheckoutResponse checkoutResponse = responseEntity.getBody();
             itemCheckoutResponse = getRestApiResponseUtil().buildItemCheckoutResponse(checkoutResponse);
             CheckoutData checkoutData = checkoutResponse != null ? checkoutResponse.getData() : null;
@@ -248,7 +255,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
                 itemCheckoutResponse.setJobId(jobId);
                 log.info("Initiated checkout on {}", this.institutionCode);
                 log.info("{} checkout job id -> {} " , this.institutionCode, jobId);
-                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemCheckoutResponse.getJobId(), institutionCode);
+                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemCheckoutResponse.getJobId(), this);
                 String statusMessage = jobResponse.getStatusMessage();
                 itemCheckoutResponse.setScreenMessage(statusMessage);
                 JobData jobData = jobResponse.getData();
@@ -293,8 +300,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
             CheckinRequest checkinRequest = getCheckInRequest();
             checkinRequest.setItemBarcode(itemRequestInformation.getItemBarcodes().get(0));
 
-            HttpEntity<CheckinRequest> requestEntity = new HttpEntity<>(checkinRequest, getHttpHeaders());
-            ResponseEntity<CheckinResponse> responseEntity = restTemplate.exchange(apiUrl, HttpMethod.POST, requestEntity, CheckinResponse.class);
+            ResponseEntity<CheckinResponse> responseEntity = exchange(apiUrl, HttpMethod.POST, checkinRequest, CheckinResponse.class);
             CheckinResponse checkinResponse = responseEntity.getBody();
             itemCheckinResponse = getRestApiResponseUtil().buildItemCheckinResponse(checkinResponse);
             CheckinData checkinData = checkinResponse != null ? checkinResponse.getData() : null;
@@ -303,7 +309,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
                 itemCheckinResponse.setJobId(jobId);
                 log.info("Initiated checkin on {}", this.institutionCode);
                 log.info("{} checkin job id -> {} " , this.institutionCode, jobId);
-                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemCheckinResponse.getJobId(), institutionCode);
+                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemCheckinResponse.getJobId(), this);
                 String statusMessage = jobResponse.getStatusMessage();
                 itemCheckinResponse.setScreenMessage(statusMessage);
                 JobData jobData = jobResponse.getData();
@@ -369,8 +375,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
             description.setCallNumber(callNumber);
             createHoldRequest.setDescription(description);
 
-            HttpEntity<CreateHoldRequest> requestEntity = new HttpEntity<>(createHoldRequest, getHttpHeaders());
-            ResponseEntity<CreateHoldResponse> responseEntity = restTemplate.exchange(recapHoldApiUrl, HttpMethod.POST, requestEntity, CreateHoldResponse.class);
+            ResponseEntity<CreateHoldResponse> responseEntity = exchange(recapHoldApiUrl, HttpMethod.POST, createHoldRequest, CreateHoldResponse.class);
             CreateHoldResponse createHoldResponse = responseEntity.getBody();
             itemHoldResponse = getRestApiResponseUtil().buildItemHoldResponse(createHoldResponse);
             CreateHoldData createHoldData = createHoldResponse != null ? createHoldResponse.getData() : null;
@@ -383,7 +388,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
                     itemHoldResponse.setJobId(jobId);
                     log.info("Initiated recap hold request on {}", this.institutionCode);
                     log.info("{} Hold request job id -> {} " , this.institutionCode, jobId);
-                    JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemHoldResponse.getJobId(), institutionCode);
+                    JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemHoldResponse.getJobId(), this);
                     String statusMessage = jobResponse.getStatusMessage();
                     itemHoldResponse.setScreenMessage(statusMessage);
                     JobData jobData = jobResponse.getData();
@@ -437,8 +442,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
             cancelHoldRequest.setItemBarcode(itemIdentifier);
             cancelHoldRequest.setPatronBarcode(patronIdentifier);
 
-            HttpEntity<CancelHoldRequest> requestEntity = new HttpEntity<>(cancelHoldRequest, getHttpHeaders());
-            ResponseEntity<CancelHoldResponse> responseEntity = restTemplate.exchange(apiUrl, HttpMethod.POST, requestEntity, CancelHoldResponse.class);
+            ResponseEntity<CancelHoldResponse> responseEntity = exchange(apiUrl, HttpMethod.POST, cancelHoldRequest, CancelHoldResponse.class);
             CancelHoldResponse cancelHoldResponse = responseEntity.getBody();
             itemHoldResponse = getRestApiResponseUtil().buildItemCancelHoldResponse(cancelHoldResponse);
             CancelHoldData cancelHoldData = cancelHoldResponse!= null ? cancelHoldResponse.getData() : null;
@@ -447,7 +451,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
                 itemHoldResponse.setJobId(jobId);
                 log.info("Initiated cancel hold request on {}", this.institutionCode);
                 log.info("{} cancel hold request job id -> {}" , this.institutionCode, jobId);
-                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemHoldResponse.getJobId(), institutionCode);
+                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemHoldResponse.getJobId(), this);
                 String statusMessage = jobResponse.getStatusMessage();
                 itemHoldResponse.setScreenMessage(statusMessage);
                 JobData jobData = jobResponse.getData();
@@ -484,11 +488,79 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
      */
     public JobResponse queryForJob(String jobId) throws Exception {
         String apiUrl = getRestDataApiUrl() + "/jobs/" + jobId;
-        HttpEntity requestEntity = new HttpEntity<>(getHttpHeaders());
-        ResponseEntity<JobResponse> jobResponseEntity = restTemplate.exchange(apiUrl, HttpMethod.GET, requestEntity, JobResponse.class);
+        ResponseEntity<JobResponse> jobResponseEntity = exchange(apiUrl, HttpMethod.GET, null, JobResponse.class);
         return jobResponseEntity.getBody();
     }
 
+    /**
+     * Queries the status of several jobs. The jobs are queried with a single bulk request when the ILS supports it,
+     * otherwise and for jobs missing from the bulk response or when the bulk request fails the individual job queries run
+     * in parallel on the executor.
+     *
+     * @param jobIds   the job ids
+     * @param executor the executor for the individual job queries
+     * @return the job responses by job id, completed exceptionally when the query of a job failed
+     * @throws Exception the exception
+     */
+    public Map<String, CompletableFuture<JobResponse>> queryForJobs(List<String> jobIds, Executor executor) throws Exception {
+        Map<String, CompletableFuture<JobResponse>> jobResponses = new HashMap<>();
+        if (bulkJobQuerySupported && jobIds.size() > 1) {
+            try {
+                JobsResponse jobsResponse = queryForJobsInBulk(jobIds);
+                Metrics.counter(ScsbConstants.ILS_REST_JOB_POLL_CALLS, "institution", String.valueOf(institutionCode), "type", "bulk").increment();
+                if (jobsResponse != null && jobsResponse.getData() != null) {
+                    for (JobData jobData : jobsResponse.getData()) {
+                        if (jobIds.contains(jobData.getId())) {
+                            JobResponse jobResponse = new JobResponse();
+                            jobResponse.setData(jobData);
+                            jobResponse.setStatusCode(jobsResponse.getStatusCode());
+                            jobResponses.put(jobData.getId(), CompletableFuture.completedFuture(jobResponse));
+                        }
+                    }
+                }
+                if (jobResponses.size() > 1) {
+                    Metrics.counter(ScsbConstants.ILS_REST_JOB_POLL_CALLS_SAVED, "institution", String.valueOf(institutionCode)).increment(jobResponses.size() - 1d);
+                }
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED || e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                    log.info("{} does not support bulk job queries ({}), querying jobs individually", institutionCode, e.getStatusCode());
+                    bulkJobQuerySupported = false;
+                } else {
+                    log.error("{} bulk job query failed ({}), querying jobs individually", institutionCode, e.getStatusCode());
+                }
+            } catch (Exception e) {
+                // Any other failure of the bulk query only falls back to individual queries for this poll.
+                log.error(ScsbCommonConstants.LOG_ERROR, e);
+            }
+        }
+        for (String jobId : jobIds) {
+            jobResponses.computeIfAbsent(jobId, id -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    Metrics.counter(ScsbConstants.ILS_REST_JOB_POLL_CALLS, "institution", String.valueOf(institutionCode), "type", "single").increment();
+                    return queryForJob(id);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        return jobResponses;
+    }
+
+    /**
+     * Query for the job responses of several jobs with a single request.
+     *
+     * @param jobIds the job ids
+     * @return the jobs response
+     * @throws Exception the exception
+     */
+    private JobsResponse queryForJobsInBulk(List<String> jobIds) throws Exception {
+        String apiUrl = getRestDataApiUrl() + "/jobs?id=" + String.join(",", jobIds);
+        ResponseEntity<JobsResponse> jobsResponseEntity = exchange(apiUrl, HttpMethod.GET, null, JobsResponse.class);
+        return jobsResponseEntity.getBody();
+    }
+
     /**
      * Gets the hold response information by the tracking id.
      *
@@ -498,20 +570,44 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
      */
     private RestHoldResponse queryHoldResponseByTrackingId(String trackingId) throws Exception {
         String apiUrl = getRestDataApiUrl() + "/hold-requests/" + trackingId;
-        HttpHeaders headers = getHttpHeaders();
-        HttpEntity requestEntity = getHttpEntity(headers);
-        ResponseEntity<RestHoldResponse> jobResponseEntity = restTemplate.exchange(apiUrl, HttpMethod.GET, requestEntity, RestHoldResponse.class);
+        ResponseEntity<RestHoldResponse> jobResponseEntity = exchange(apiUrl, HttpMethod.GET, null, RestHoldResponse.class);
         return jobResponseEntity.getBody();
     }
 
+    /**
+     * Sends the request to the REST API with the cached access token. When the token is rejected it is invalidated and
+     * the request is sent once more with a new token.
+     *
+     * @param apiUrl       the api url
+     * @param method       the http method
+     * @param body         the request body
+     * @param responseType the response type
+     * @return the response entity
+     * @throws Exception the exception
+     */
+    private <T> ResponseEntity<T> exchange(String apiUrl, HttpMethod method, Object body, Class<T> responseType) throws Exception {
+        String accessToken = getRestOauthTokenApiService().generateAccessTokenForRestApi(getOauthTokenApiUrl(), getOperatorUserId(), getOperatorPassword());
+        try {
+            return restTemplate.exchange(apiUrl, method, new HttpEntity<>(body, getHttpHeaders(accessToken)), responseType);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() != HttpStatus.UNAUTHORIZED) {
+                throw e;
+            }
+            log.info("Access token rejected by {}, retrying with a new token", institutionCode);
+            getRestOauthTokenApiService().invalidateAccessToken(getOauthTokenApiUrl(), getOperatorUserId(), getOperatorPassword(), accessToken);
+            accessToken = getRestOauthTokenApiService().generateAccessTokenForRestApi(getOauthTokenApiUrl(), getOperatorUserId(), getOperatorPassword());
+            return restTemplate.exchange(apiUrl, method, new HttpEntity<>(body, getHttpHeaders(accessToken)), responseType);
+        }
+    }
+
     /**
      * Build Http headers to access REST API.
      *
+     * @param accessToken the access token
      * @return
-     * @throws Exception
      */
-    private HttpHeaders getHttpHeaders() throws Exception {
-        String authorization = "Bearer " + getRestOauthTokenApiService().generateAccessTokenForRestApi(getOauthTokenApiUrl(), getOperatorUserId(), getOperatorPassword());
+    private HttpHeaders getHttpHeaders(String accessToken) {
+        String authorization = "Bearer " + accessToken;
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
@@ -543,8 +639,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
         restHoldRequest.setNumberOfCopies(1);
         restHoldRequest.setNeededBy(restApiResponseUtil.getExpirationDateForRest());
 
-        HttpEntity<RestHoldRequest> requestEntity = new HttpEntity<>(restHoldRequest, getHttpHeaders());
-        ResponseEntity<RestHoldResponse> responseEntity = restTemplate.exchange(restHoldApiUrl, HttpMethod.POST, requestEntity, RestHoldResponse.class);
+        ResponseEntity<RestHoldResponse> responseEntity = exchange(restHoldApiUrl, HttpMethod.POST, restHoldRequest, RestHoldResponse.class);
         RestHoldResponse restHoldResponse = responseEntity.getBody();
         RestHoldData restHoldData = restHoldResponse != null ? restHoldResponse.getData() : null;
         if (null != restHoldData) {
@@ -581,8 +676,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
     private RestPatronResponse queryForPatronResponse(String patronIdentifier) throws Exception {
         String apiUrl = getRestDataApiUrl() + ScsbConstants.REST_PATRON_BY_BARCODE_URL + patronIdentifier;
         log.info("{} patron response url : {}" , this.institutionCode, apiUrl);
-        HttpEntity requestEntity = new HttpEntity<>(getHttpHeaders());
-        ResponseEntity<RestPatronResponse> jobResponseEntity = restTemplate.exchange(apiUrl, HttpMethod.GET, requestEntity, RestPatronResponse.class);
+        ResponseEntity<RestPatronResponse> jobResponseEntity = exchange(apiUrl, HttpMethod.GET, null, RestPatronResponse.class);
         return jobResponseEntity.getBody();
     }
 
@@ -623,8 +717,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
             recallRequest.setOwningInstitutionId(restApiResponseUtil.getItemOwningInstitutionByItemBarcode(itemIdentifier));
             recallRequest.setItemBarcode(itemIdentifier);
 
-            HttpEntity<RecallRequest> requestEntity = new HttpEntity(recallRequest, getHttpHeaders());
-            ResponseEntity<RecallResponse> responseEntity = getRestTemplate().exchange(apiUrl, HttpMethod.POST, requestEntity, RecallResponse.class);
+            ResponseEntity<RecallResponse> responseEntity = exchange(apiUrl, HttpMethod.POST, recallRequest, RecallResponse.class);
             RecallResponse recallResponse = responseEntity.getBody();
             itemRecallResponse = getNyplApiResponseUtil().buildItemRecallResponse(recallResponse);
             RecallData recallData = recallResponse.getData();
@@ -680,8 +773,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
             RefileRequest refileRequest = new RefileRequest();
             refileRequest.setItemBarcode(itemIdentifier);
 
-            HttpEntity<RefileRequest> requestEntity = new HttpEntity<>(refileRequest, getHttpHeaders());
-            ResponseEntity<RefileResponse> responseEntity = restTemplate.exchange(apiUrl, HttpMethod.POST, requestEntity, RefileResponse.class);
+            ResponseEntity<RefileResponse> responseEntity = exchange(apiUrl, HttpMethod.POST, refileRequest, RefileResponse.class);
             RefileResponse refileResponse = responseEntity.getBody();
             itemRefileResponse = getRestApiResponseUtil().buildItemRefileResponse(refileResponse, this.institutionCode);
             RefileData refileData = refileResponse != null ? refileResponse.getData() : null;
@@ -690,7 +782,7 @@ public class RestProtocolConnector extends AbstractProtocolConnector {
                 itemRefileResponse.setJobId(jobId);
                 log.info("Initiated refile request on {}", this.institutionCode);
                 log.info("{} refile request job id -> {}" , this.institutionCode, jobId);
-                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemRefileResponse.getJobId(), institutionCode);
+                JobResponse jobResponse = getRestProtocolJobResponsePollingProcessor().pollRestApiRequestItemJobResponse(itemRefileResponse.getJobId(), this);
                 String statusMessage = jobResponse.getStatusMessage();
                 itemRefileResponse.setScreenMessage(statusMessage);
                 JobData jobData = jobResponse.getData();
@@ -10,10 +10,12 @@ import com.pkrete.jsip2.variables.HoldMode;
 import lombok.extern.slf4j.Slf4j;
 import org.recap.ScsbCommonConstants;
 import org.recap.ScsbConstants;
+import org.recap.ils.protocol.sip.SIP2SessionPoolManager;
 import org.recap.model.AbstractResponseItem;
 import org.recap.model.ILSConfigProperties;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.model.response.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.text.ParseException;
@@ -25,6 +27,9 @@ import java.util.List;
 @Slf4j
 public class SIPProtocolConnector extends AbstractProtocolConnector {
 
+    @Autowired
+    SIP2SessionPoolManager sip2SessionPoolManager;
+
     @Override
     public boolean supports(String protocol) {
         return ScsbConstants.SIP2_PROTOCOL.equalsIgnoreCase(protocol);
@@ -56,6 +61,54 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
         return getSocketConnection().connected();
     }
 
+    /**
+     * Borrows a logged-in session from the SIP2 session pool of the institution. When no pool is available a new
+     * connection is opened and logged in, and it is closed again on release.
+     *
+     * @return the connection, or null if the connection or the login failed
+     */
+    private SIP2SocketConnection borrowSession() {
+        if (sip2SessionPoolManager != null) {
+            return sip2SessionPoolManager.borrowSession(institutionCode, ilsConfigProperties);
+        }
+        SIP2SocketConnection connection = getSocketConnection();
+        try {
+            SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
+            SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
+            if (loginResponse.isOk()) {
+                return connection;
+            }
+        } catch (InvalidSIP2ResponseException e) {
+            log.error(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE, e);
+        } catch (InvalidSIP2ResponseValueException e) {
+            log.error(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE_VALUE, e);
+        }
+        connection.close();
+        return null;
+    }
+
+    /**
+     * Returns the session to the SIP2 session pool, or closes it if it is not reusable.
+     *
+     * @param connection the connection
+     * @param reusable   whether the message exchange on the session completed normally
+     */
+    private void releaseSession(SIP2SocketConnection connection, boolean reusable) {
+        if (connection == null) {
+            return;
+        }
+        if (sip2SessionPoolManager != null) {
+            sip2SessionPoolManager.releaseSession(connection, reusable);
+        } else {
+            connection.close();
+        }
+    }
+
+    private boolean validatePatron(SIP2SocketConnection connection, SIP2PatronInformationRequest request) throws InvalidSIP2ResponseException, InvalidSIP2ResponseValueException {
+        SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
+        return response.isValidPatron() && response.isValidPatronPassword();
+    }
+
     /**
      * Jsip login boolean.
      *
@@ -92,33 +145,32 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
     @Override
     public boolean patronValidation(String institutionId, String patronIdentifier) {
         boolean loginPatronStatus = false;
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         try {
-            SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
-            SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
-            SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
-            SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
-            loginPatronStatus = loginResponse.isOk() && response.isValidPatron() && response.isValidPatronPassword();
+            connection = borrowSession();
+            if (connection != null) {
+                SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
+                loginPatronStatus = validatePatron(connection, request);
+                reusable = true;
+            }
         } catch (Exception ex) {
             log.error(ScsbCommonConstants.LOG_ERROR, ex);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return loginPatronStatus;
     }
 
     @Override
     public AbstractResponseItem lookupItem(String itemIdentifier) {
-        SIP2LoginRequest login;
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2ItemInformationResponse sip2ItemInformationResponse;
         ItemInformationResponse itemInformationResponse = new ItemInformationResponse();
         try {
-            login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
-            log.info(login.getData());
-            SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
-            if (loginResponse.isOk()) {
-                sendAcsStatus(connection);
+            connection = borrowSession();
+            if (connection != null) {
                 SIP2ItemInformationRequest itemRequest = new SIP2ItemInformationRequest(itemIdentifier);
                 itemInformationResponse.setEsipDataIn(itemRequest.getData());
                 sip2ItemInformationResponse = (SIP2ItemInformationResponse) connection.send(itemRequest);
@@ -147,6 +199,7 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
                 }
                 itemInformationResponse.setCurrencyType((sip2ItemInformationResponse.getCurrencyType() != null) ? sip2ItemInformationResponse.getCurrencyType().name() : "");
                 itemInformationResponse.setBibID(sip2ItemInformationResponse.getBibId());
+                reusable = true;
             } else {
                 itemInformationResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
                 itemInformationResponse.setSuccess(false);
@@ -166,17 +219,11 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
             itemInformationResponse.setSuccess(false);
             itemInformationResponse.setScreenMessage("SCSB Exception: {}" + ScsbConstants.ILS_CONNECTION_FAILED);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return itemInformationResponse;
     }
 
-    private void sendAcsStatus(SIP2SocketConnection connection) throws InvalidSIP2ResponseException, InvalidSIP2ResponseValueException {
-        SIP2SCStatusRequest sip2SCStatusRequest = new SIP2SCStatusRequest();
-        log.info(sip2SCStatusRequest.getData());
-        connection.send(sip2SCStatusRequest);
-    }
-
     /**
      * Lookup user sip 2 patron status response.
      *
@@ -185,13 +232,16 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
      * @return the sip 2 patron status response
      */
     public SIP2PatronStatusResponse lookupUser(String institutionId, String patronIdentifier) {
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2PatronStatusResponse patronStatusResponse = null;
         try {
-            if (connection.connect()) {
+            connection = borrowSession();
+            if (connection != null) {
                 SIP2PatronStatusRequest patronStatusRequest = new SIP2PatronStatusRequest(institutionId, patronIdentifier);
                 log.info(patronStatusRequest.getData());
                 patronStatusResponse = (SIP2PatronStatusResponse) connection.send(patronStatusRequest);
+                reusable = true;
             } else {
                 log.info(ScsbConstants.ITEM_REQUEST_FAILED);
             }
@@ -202,24 +252,24 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
         } catch (Exception e) {
             log.error(ScsbCommonConstants.LOG_ERROR, e);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return patronStatusResponse;
     }
 
     @Override
     public AbstractResponseItem checkOutItem(String itemIdentifier, Integer requestId, String patronIdentifier) {
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2CheckoutResponse checkoutResponse = null;
         ItemCheckoutResponse itemCheckoutResponse = new ItemCheckoutResponse();
         try {
-            if (connection.connect()) {
-                if (jSIPLogin(connection, patronIdentifier)) {
+            connection = borrowSession();
+            if (connection != null) {
+                if (validatePatron(connection, new SIP2PatronInformationRequest(patronIdentifier))) {
                     SIP2SCStatusRequest status = new SIP2SCStatusRequest();
                     SIP2ACSStatusResponse statusResponse = (SIP2ACSStatusResponse) connection.send(status);
                     if (statusResponse.getSupportedMessages().isCheckout()) {
-                        sendAcsStatus(connection);
-
                         SIP2CheckoutRequest checkoutRequest = new SIP2CheckoutRequest(patronIdentifier, itemIdentifier);
                         checkoutRequest.setCurrentLocation("");
 
@@ -244,11 +294,17 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
                         itemCheckoutResponse.setSuccess(checkoutResponse.isOk());
 
                     }
+                    reusable = true;
                 } else {
                     itemCheckoutResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
                     itemCheckoutResponse.setSuccess(false);
                     log.info(itemCheckoutResponse.getScreenMessage());
+                    reusable = true;
                 }
+            } else {
+                itemCheckoutResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
+                itemCheckoutResponse.setSuccess(false);
+                log.info(itemCheckoutResponse.getScreenMessage());
             }
         } catch (InvalidSIP2ResponseException e) {
             log.error(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE, e);
@@ -263,70 +319,68 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
             itemCheckoutResponse.setScreenMessage(e.getMessage());
             itemCheckoutResponse.setSuccess(false);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return itemCheckoutResponse;
     }
 
     @Override
     public AbstractResponseItem checkInItem(ItemRequestInformation itemRequestInformation, String patronIdentifier) {
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2CheckinResponse checkinResponse = null;
         ItemCheckinResponse itemCheckinResponse = new ItemCheckinResponse();
         try {
-            if (connection.connect()) { // Connect to the SIP Server - Princton, Voyager, ILS
-                SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
-                SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
-                if (loginResponse.isOk()) {
-                    SIP2SCStatusRequest status = new SIP2SCStatusRequest();
-                    SIP2ACSStatusResponse statusResponse = (SIP2ACSStatusResponse) connection.send(status);
-                    if (statusResponse.getSupportedMessages().isCheckin()) {
-                        sendAcsStatus(connection);
-                        SIP2CheckinRequest checkinRequest = new SIP2CheckinRequest(itemRequestInformation.getItemBarcodes().get(0));
-
-                        itemCheckinResponse.setEsipDataIn(checkinRequest.getData());
-                        checkinResponse = (SIP2CheckinResponse) connection.send(checkinRequest);
-                        itemCheckinResponse.setEsipDataOut(checkinResponse.getData());
-
-                        if (checkinResponse.isOk()) {
-                            log.info(ScsbConstants.CHECK_IN_REQUEST_SUCCESSFUL);
-                            itemCheckinResponse.setItemBarcode(checkinResponse.getItemIdentifier());
-                            itemCheckinResponse.setTitleIdentifier(checkinResponse.getTitleIdentifier());
-                            itemCheckinResponse.setDueDate(formatFromSipDate(checkinResponse.getDueDate()));
-                            itemCheckinResponse.setResensitize(checkinResponse.isResensitize());
-                            itemCheckinResponse.setAlert(checkinResponse.isAlert());
-                            itemCheckinResponse.setMagneticMedia(checkinResponse.isMagneticMedia());
-                            itemCheckinResponse.setTransactionDate(formatFromSipDate(checkinResponse.getTransactionDate()));
-                            itemCheckinResponse.setInstitutionID(checkinResponse.getInstitutionId());
-                            itemCheckinResponse.setItemOwningInstitution(checkinResponse.getInstitutionId());
-                            itemCheckinResponse.setPatronIdentifier(checkinResponse.getPatronIdentifier());
-                            itemCheckinResponse.setMediaType((checkinResponse.getMediaType() != null) ? checkinResponse.getMediaType().name() : "");
-                            itemCheckinResponse.setBibId(checkinResponse.getBibId());
-                            itemCheckinResponse.setPermanentLocation(checkinResponse.getPermanentLocation());
-                            itemCheckinResponse.setCollectionCode(checkinResponse.getCollectionCode());
-                            itemCheckinResponse.setSortBin(checkinResponse.getSortBin());
-                            itemCheckinResponse.setCallNumber(checkinResponse.getCallNumber());
-                            itemCheckinResponse.setDestinationLocation(checkinResponse.getDestinationLocation());
-                            itemCheckinResponse.setAlertType((checkinResponse.getAlertType() != null) ? checkinResponse.getAlertType().name() : "");
-                            itemCheckinResponse.setHoldPatronId(checkinResponse.getHoldPatronId());
-                            itemCheckinResponse.setHoldPatronName(checkinResponse.getHoldPatronName());
-                        } else {
-                            log.info(ScsbConstants.CHECK_IN_REQUEST_FAILED);
-                            log.info("Response -> {}", checkinResponse.getData());
-                        }
-                        itemCheckinResponse.setScreenMessage((!checkinResponse.getScreenMessage().isEmpty()) ? checkinResponse.getScreenMessage().get(0) : "");
-                        itemCheckinResponse.setSuccess(checkinResponse.isOk());
+            connection = borrowSession(); // Logged-in session to the SIP Server - Princton, Voyager, ILS
+            if (connection != null) {
+                SIP2SCStatusRequest status = new SIP2SCStatusRequest();
+                SIP2ACSStatusResponse statusResponse = (SIP2ACSStatusResponse) connection.send(status);
+                if (statusResponse.getSupportedMessages().isCheckin()) {
+                    SIP2CheckinRequest checkinRequest = new SIP2CheckinRequest(itemRequestInformation.getItemBarcodes().get(0));
+
+                    itemCheckinResponse.setEsipDataIn(checkinRequest.getData());
+                    checkinResponse = (SIP2CheckinResponse) connection.send(checkinRequest);
+                    itemCheckinResponse.setEsipDataOut(checkinResponse.getData());
+
+                    if (checkinResponse.isOk()) {
+                        log.info(ScsbConstants.CHECK_IN_REQUEST_SUCCESSFUL);
+                        itemCheckinResponse.setItemBarcode(checkinResponse.getItemIdentifier());
+                        itemCheckinResponse.setTitleIdentifier(checkinResponse.getTitleIdentifier());
+                        itemCheckinResponse.setDueDate(formatFromSipDate(checkinResponse.getDueDate()));
+                        itemCheckinResponse.setResensitize(checkinResponse.isResensitize());
+                        itemCheckinResponse.setAlert(checkinResponse.isAlert());
+                        itemCheckinResponse.setMagneticMedia(checkinResponse.isMagneticMedia());
+                        itemCheckinResponse.setTransactionDate(formatFromSipDate(checkinResponse.getTransactionDate()));
+                        itemCheckinResponse.setInstitutionID(checkinResponse.getInstitutionId());
+                        itemCheckinResponse.setItemOwningInstitution(checkinResponse.getInstitutionId());
+                        itemCheckinResponse.setPatronIdentifier(checkinResponse.getPatronIdentifier());
+                        itemCheckinResponse.setMediaType((checkinResponse.getMediaType() != null) ? checkinResponse.getMediaType().name() : "");
+                        itemCheckinResponse.setBibId(checkinResponse.getBibId());
+                        itemCheckinResponse.setPermanentLocation(checkinResponse.getPermanentLocation());
+                        itemCheckinResponse.setCollectionCode(checkinResponse.getCollectionCode());
+                        itemCheckinResponse.setSortBin(checkinResponse.getSortBin());
+                        itemCheckinResponse.setCallNumber(checkinResponse.getCallNumber());
+                        itemCheckinResponse.setDestinationLocation(checkinResponse.getDestinationLocation());
+                        itemCheckinResponse.setAlertType((checkinResponse.getAlertType() != null) ? checkinResponse.getAlertType().name() : "");
+                        itemCheckinResponse.setHoldPatronId(checkinResponse.getHoldPatronId());
+                        itemCheckinResponse.setHoldPatronName(checkinResponse.getHoldPatronName());
+                    } else {
+                        log.info(ScsbConstants.CHECK_IN_REQUEST_FAILED);
+                        log.info("Response -> {}", checkinResponse.getData());
                     }
-                } else {
-                    log.info(ScsbConstants.ILS_LOGIN_FAILED);
+                    itemCheckinResponse.setScreenMessage((!checkinResponse.getScreenMessage().isEmpty()) ? checkinResponse.getScreenMessage().get(0) : "");
+                    itemCheckinResponse.setSuccess(checkinResponse.isOk());
                 }
+                reusable = true;
+            } else {
+                log.info(ScsbConstants.ILS_LOGIN_FAILED);
             }
         } catch (InvalidSIP2ResponseException e) {
             log.error(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE, e);
         } catch (InvalidSIP2ResponseValueException e) {
             log.error(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE_VALUE, e);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return itemCheckinResponse;
     }
@@ -342,60 +396,53 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
     }
 
     private AbstractResponseItem hold(HoldMode holdMode, String itemIdentifier, String patronIdentifier, String institutionId, String bibId, String pickupLocation) {
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2HoldResponse holdResponse = null;
         ItemHoldResponse itemHoldResponse = new ItemHoldResponse();
         try {
-            if (connection.connect()) { // Connect to the SIP Server - Princton, Voyager, ILS
-                SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
-                SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
+            connection = borrowSession(); // Logged-in session to the SIP Server - Princton, Voyager, ILS
+            if (connection != null) {
+                /* The patron must be validated before placing a hold */
+                SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
+                SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
 
-                /* Check the response*/
-                if (loginResponse.isOk()) {
-                    /* The patron must be validated before placing a hold */
-                    SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
-                    SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
-
-                    /* Check if the patron and patron password are valid */
-                    if (response.isValidPatron() && response.isValidPatronPassword()) {
-                        log.info(bibId);
-                        SIP2HoldRequest holdRequest = new SIP2HoldRequest(patronIdentifier, itemIdentifier);
-                        holdRequest.setHoldMode(holdMode);
-                        holdRequest.setExpirationDate(MessageUtil.createFutureDate(ScsbConstants.ESIPEXPIRATION_DATE_DAY, ScsbConstants.ESIPEXPIRATION_DATE_MONTH));
-                        holdRequest.setBibId(bibId);
-                        holdRequest.setPickupLocation(pickupLocation);
-
-                        log.info("Request Hold -> {}", holdRequest.getData());
-                        itemHoldResponse.setEsipDataIn(holdRequest.getData());
-                        holdResponse = (SIP2HoldResponse) connection.send(holdRequest);
-                        itemHoldResponse.setEsipDataOut(holdResponse.getData());
-
-                        itemHoldResponse.setItemBarcode(holdResponse.getItemIdentifier());
-                        itemHoldResponse.setScreenMessage(getScreenMessage(holdResponse.getScreenMessage()));
-                        itemHoldResponse.setSuccess(holdResponse.isOk());
-                        itemHoldResponse.setTitleIdentifier(holdResponse.getTitleIdentifier());
-                        itemHoldResponse.setExpirationDate(formatFromSipDate(holdResponse.getExpirationDate()));
-                        itemHoldResponse.setTransactionDate(formatFromSipDate(holdResponse.getTransactionDate()));
-                        itemHoldResponse.setInstitutionID(holdResponse.getInstitutionId());
-                        itemHoldResponse.setPatronIdentifier(holdResponse.getPatronIdentifier());
-                        itemHoldResponse.setBibId(holdResponse.getBibId());
-                        itemHoldResponse.setQueuePosition(holdResponse.getQueuePosition());
-                        itemHoldResponse.setLccn(holdResponse.getLccn());
-                        itemHoldResponse.setIsbn(holdResponse.getIsbn());
-                        itemHoldResponse.setAvailable(holdResponse.isAvailable());
-                    } else {
-                        itemHoldResponse.setSuccess(false);
-                        itemHoldResponse.setScreenMessage(ScsbConstants.PATRON_VALIDATION_FAILED + ((!response.getScreenMessage().isEmpty()) ? response.getScreenMessage().get(0) : ""));
-                        log.error(itemHoldResponse.getScreenMessage());
-                    }
+                /* Check if the patron and patron password are valid */
+                if (response.isValidPatron() && response.isValidPatronPassword()) {
+                    log.info(bibId);
+                    SIP2HoldRequest holdRequest = new SIP2HoldRequest(patronIdentifier, itemIdentifier);
+                    holdRequest.setHoldMode(holdMode);
+                    holdRequest.setExpirationDate(MessageUtil.createFutureDate(ScsbConstants.ESIPEXPIRATION_DATE_DAY, ScsbConstants.ESIPEXPIRATION_DATE_MONTH));
+                    holdRequest.setBibId(bibId);
+                    holdRequest.setPickupLocation(pickupLocation);
+
+                    log.info("Request Hold -> {}", holdRequest.getData());
+                    itemHoldResponse.setEsipDataIn(holdRequest.getData());
+                    holdResponse = (SIP2HoldResponse) connection.send(holdRequest);
+                    itemHoldResponse.setEsipDataOut(holdResponse.getData());
+
+                    itemHoldResponse.setItemBarcode(holdResponse.getItemIdentifier());
+                    itemHoldResponse.setScreenMessage(getScreenMessage(holdResponse.getScreenMessage()));
+                    itemHoldResponse.setSuccess(holdResponse.isOk());
+                    itemHoldResponse.setTitleIdentifier(holdResponse.getTitleIdentifier());
+                    itemHoldResponse.setExpirationDate(formatFromSipDate(holdResponse.getExpirationDate()));
+                    itemHoldResponse.setTransactionDate(formatFromSipDate(holdResponse.getTransactionDate()));
+                    itemHoldResponse.setInstitutionID(holdResponse.getInstitutionId());
+                    itemHoldResponse.setPatronIdentifier(holdResponse.getPatronIdentifier());
+                    itemHoldResponse.setBibId(holdResponse.getBibId());
+                    itemHoldResponse.setQueuePosition(holdResponse.getQueuePosition());
+                    itemHoldResponse.setLccn(holdResponse.getLccn());
+                    itemHoldResponse.setIsbn(holdResponse.getIsbn());
+                    itemHoldResponse.setAvailable(holdResponse.isAvailable());
                 } else {
                     itemHoldResponse.setSuccess(false);
-                    itemHoldResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
+                    itemHoldResponse.setScreenMessage(ScsbConstants.PATRON_VALIDATION_FAILED + ((!response.getScreenMessage().isEmpty()) ? response.getScreenMessage().get(0) : ""));
                     log.error(itemHoldResponse.getScreenMessage());
                 }
+                reusable = true;
             } else {
                 itemHoldResponse.setSuccess(false);
-                itemHoldResponse.setScreenMessage(ScsbConstants.ILS_CONNECTION_FAILED);
+                itemHoldResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
                 log.error(itemHoldResponse.getScreenMessage());
             }
         } catch (InvalidSIP2ResponseException e) {
@@ -407,50 +454,43 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
             holdResponse = new SIP2HoldResponse("");
             holdResponse.setScreenMessage(Collections.singletonList(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE_VALUE));
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return itemHoldResponse;
     }
 
     @Override
     public ItemCreateBibResponse createBib(String itemIdentifier, String patronIdentifier, String institutionId, String titleIdentifier) {
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2CreateBibResponse createBibResponse = null;
         ItemCreateBibResponse itemCreateBibResponse = new ItemCreateBibResponse();
         try {
-            if (connection.connect()) {
-                SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
-                SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
-                if (loginResponse.isOk()) {
-                    SIP2SCStatusRequest status = new SIP2SCStatusRequest();
-                    connection.send(status);
-                    SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
-                    SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
-                    if (response.isValidPatron() && response.isValidPatronPassword()) {
-                        SIP2CreateBibRequest createBibRequest = new SIP2CreateBibRequest(patronIdentifier, titleIdentifier, itemIdentifier);
-                        log.info("Request Create -> {} ", createBibRequest.getData());
-                        itemCreateBibResponse.setEsipDataIn(createBibRequest.getData());
-                        createBibResponse = (SIP2CreateBibResponse) connection.send(createBibRequest);
-                        itemCreateBibResponse.setEsipDataOut(createBibResponse.getData());
-
-                        itemCreateBibResponse.setItemBarcode(createBibResponse.getItemIdentifier());
-                        itemCreateBibResponse.setScreenMessage((!createBibResponse.getScreenMessage().isEmpty()) ? createBibResponse.getScreenMessage().get(0) : "");
-                        itemCreateBibResponse.setSuccess(createBibResponse.isOk());
-                        itemCreateBibResponse.setBibId(createBibResponse.getBibId());
-                        itemCreateBibResponse.setItemId(createBibResponse.getItemIdentifier());
-                    } else {
-                        itemCreateBibResponse.setSuccess(false);
-                        itemCreateBibResponse.setScreenMessage(ScsbConstants.PATRON_VALIDATION_FAILED + ((!response.getScreenMessage().isEmpty()) ? response.getScreenMessage().get(0) : ""));
-                        log.error(itemCreateBibResponse.getScreenMessage());
-                    }
+            connection = borrowSession(); // Logged-in session to the SIP Server - Princton, Voyager, ILS
+            if (connection != null) {
+                SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
+                SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
+                if (response.isValidPatron() && response.isValidPatronPassword()) {
+                    SIP2CreateBibRequest createBibRequest = new SIP2CreateBibRequest(patronIdentifier, titleIdentifier, itemIdentifier);
+                    log.info("Request Create -> {} ", createBibRequest.getData());
+                    itemCreateBibResponse.setEsipDataIn(createBibRequest.getData());
+                    createBibResponse = (SIP2CreateBibResponse) connection.send(createBibRequest);
+                    itemCreateBibResponse.setEsipDataOut(createBibResponse.getData());
+
+                    itemCreateBibResponse.setItemBarcode(createBibResponse.getItemIdentifier());
+                    itemCreateBibResponse.setScreenMessage((!createBibResponse.getScreenMessage().isEmpty()) ? createBibResponse.getScreenMessage().get(0) : "");
+                    itemCreateBibResponse.setSuccess(createBibResponse.isOk());
+                    itemCreateBibResponse.setBibId(createBibResponse.getBibId());
+                    itemCreateBibResponse.setItemId(createBibResponse.getItemIdentifier());
                 } else {
                     itemCreateBibResponse.setSuccess(false);
-                    itemCreateBibResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
+                    itemCreateBibResponse.setScreenMessage(ScsbConstants.PATRON_VALIDATION_FAILED + ((!response.getScreenMessage().isEmpty()) ? response.getScreenMessage().get(0) : ""));
                     log.error(itemCreateBibResponse.getScreenMessage());
                 }
+                reusable = true;
             } else {
                 itemCreateBibResponse.setSuccess(false);
-                itemCreateBibResponse.setScreenMessage(ScsbConstants.ILS_CONNECTION_FAILED);
+                itemCreateBibResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
                 log.error(itemCreateBibResponse.getScreenMessage());
             }
         } catch (InvalidSIP2ResponseException e) {
@@ -462,7 +502,7 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
             itemCreateBibResponse.setSuccess(false);
             itemCreateBibResponse.setScreenMessage(e.getMessage());
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return itemCreateBibResponse;
 
@@ -470,64 +510,59 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
 
     @Override
     public AbstractResponseItem lookupPatron(String patronIdentifier) {
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         SIP2PatronInformationRequest sip2PatronInformationRequest;
         SIP2PatronInformationResponse sip2PatronInformationResponse;
         PatronInformationResponse patronInformationResponse = new PatronInformationResponse();
         try {
-            if (connection.connect()) {
-                SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
+            connection = borrowSession(); // Logged-in session to the SIP Server - Princton, Voyager, ILS
+            if (connection != null) {
+                sip2PatronInformationRequest = new SIP2PatronInformationRequest(patronIdentifier);
+                patronInformationResponse.setEsipDataIn(sip2PatronInformationRequest.getData());
+                sip2PatronInformationResponse = (SIP2PatronInformationResponse) connection.send(sip2PatronInformationRequest);
+                patronInformationResponse.setEsipDataOut(sip2PatronInformationResponse.getData());
+                patronInformationResponse.setSuccess(true);
 
-                SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
-                if (loginResponse.isOk()) {
-                    sip2PatronInformationRequest = new SIP2PatronInformationRequest(patronIdentifier);
-                    patronInformationResponse.setEsipDataIn(sip2PatronInformationRequest.getData());
-                    sip2PatronInformationResponse = (SIP2PatronInformationResponse) connection.send(sip2PatronInformationRequest);
-                    patronInformationResponse.setEsipDataOut(sip2PatronInformationResponse.getData());
-                    patronInformationResponse.setSuccess(true);
-
-                    patronInformationResponse.setScreenMessage(sip2PatronInformationResponse.getStatus().isChargePrivilegesDenied()
-                            + "" + sip2PatronInformationResponse.getStatus().isRenewalPrivilegesDenied()
-                            + "" + sip2PatronInformationResponse.getStatus().isRecallPrivilegesDenied()
-                            + "" + sip2PatronInformationResponse.getStatus().isHoldPrivilegesDenied()
-                            + " - "
-                            + ((sip2PatronInformationResponse.getScreenMessage() != null) ? sip2PatronInformationResponse.getScreenMessage().get(0) : ""));
-                    patronInformationResponse.setPatronName(sip2PatronInformationResponse.getPersonalName());
-                    patronInformationResponse.setPatronIdentifier(sip2PatronInformationResponse.getPatronIdentifier());
-                    patronInformationResponse.setEmail(sip2PatronInformationResponse.getEmail());
-                    patronInformationResponse.setBirthDate(sip2PatronInformationResponse.getBirthDate());
-                    patronInformationResponse.setPhone(sip2PatronInformationResponse.getPhone());
-                    patronInformationResponse.setPermanentLocation(sip2PatronInformationResponse.getPermanentLocation());
-                    patronInformationResponse.setPickupLocation(sip2PatronInformationResponse.getPickupLocation());
-
-                    patronInformationResponse.setChargedItemsCount(sip2PatronInformationResponse.getChargedItemsCount());
-                    patronInformationResponse.setChargedItemsLimit(sip2PatronInformationResponse.getChargedItemsLimit());
-
-                    patronInformationResponse.setFeeLimit(sip2PatronInformationResponse.getFeeLimit());
-                    patronInformationResponse.setFeeType((sip2PatronInformationResponse.getFeeType() != null) ? sip2PatronInformationResponse.getFeeType().name() : "");
-
-                    patronInformationResponse.setHoldItemsCount(sip2PatronInformationResponse.getHoldItemsCount());
-                    patronInformationResponse.setHoldItemsLimit(sip2PatronInformationResponse.getHoldItemsLimit());
-                    patronInformationResponse.setUnavailableHoldsCount(sip2PatronInformationResponse.getUnavailableHoldsCount());
-
-                    patronInformationResponse.setFineItemsCount(sip2PatronInformationResponse.getFineItemsCount());
-                    patronInformationResponse.setFeeAmount(sip2PatronInformationResponse.getFeeAmount());
-                    patronInformationResponse.setHomeAddress(sip2PatronInformationResponse.getHomeAddress());
-                    patronInformationResponse.setItems(sip2PatronInformationResponse.getItems());
-                    patronInformationResponse.setItemType((sip2PatronInformationResponse.getItemType() != null) ? sip2PatronInformationResponse.getItemType().name() : "");
-
-                    patronInformationResponse.setOverdueItemsCount(sip2PatronInformationResponse.getOverdueItemsCount());
-                    patronInformationResponse.setOverdueItemsLimit(sip2PatronInformationResponse.getOverdueItemsLimit());
-                    patronInformationResponse.setPacAccessType(sip2PatronInformationResponse.getPacAccessType());
-                    patronInformationResponse.setPatronGroup(sip2PatronInformationResponse.getPatronGroup());
-                    patronInformationResponse.setPatronType(sip2PatronInformationResponse.getPatronType());
-                    patronInformationResponse.setDueDate(sip2PatronInformationResponse.getDueDate());
-                    patronInformationResponse.setExpirationDate(sip2PatronInformationResponse.getExpirationDate());
-                    patronInformationResponse.setStatus(sip2PatronInformationResponse.getStatus().toString());
-                } else {
-                    patronInformationResponse.setSuccess(true);
-                    patronInformationResponse.setScreenMessage(loginResponse.getScreenMessage().get(0));
-                }
+                patronInformationResponse.setScreenMessage(sip2PatronInformationResponse.getStatus().isChargePrivilegesDenied()
+                        + "" + sip2PatronInformationResponse.getStatus().isRenewalPrivilegesDenied()
+                        + "" + sip2PatronInformationResponse.getStatus().isRecallPrivilegesDenied()
+                        + "" + sip2PatronInformationResponse.getStatus().isHoldPrivilegesDenied()
+                        + " - "
+                        + ((sip2PatronInformationResponse.getScreenMessage() != null) ? sip2PatronInformationResponse.getScreenMessage().get(0) : ""));
+                patronInformationResponse.setPatronName(sip2PatronInformationResponse.getPersonalName());
+                patronInformationResponse.setPatronIdentifier(sip2PatronInformationResponse.getPatronIdentifier());
+                patronInformationResponse.setEmail(sip2PatronInformationResponse.getEmail());
+                patronInformationResponse.setBirthDate(sip2PatronInformationResponse.getBirthDate());
+                patronInformationResponse.setPhone(sip2PatronInformationResponse.getPhone());
+                patronInformationResponse.setPermanentLocation(sip2PatronInformationResponse.getPermanentLocation());
+                patronInformationResponse.setPickupLocation(sip2PatronInformationResponse.getPickupLocation());
+
+                patronInformationResponse.setChargedItemsCount(sip2PatronInformationResponse.getChargedItemsCount());
+                patronInformationResponse.setChargedItemsLimit(sip2PatronInformationResponse.getChargedItemsLimit());
+
+                patronInformationResponse.setFeeLimit(sip2PatronInformationResponse.getFeeLimit());
+                patronInformationResponse.setFeeType((sip2PatronInformationResponse.getFeeType() != null) ? sip2PatronInformationResponse.getFeeType().name() : "");
+
+                patronInformationResponse.setHoldItemsCount(sip2PatronInformationResponse.getHoldItemsCount());
+                patronInformationResponse.setHoldItemsLimit(sip2PatronInformationResponse.getHoldItemsLimit());
+                patronInformationResponse.setUnavailableHoldsCount(sip2PatronInformationResponse.getUnavailableHoldsCount());
+
+                patronInformationResponse.setFineItemsCount(sip2PatronInformationResponse.getFineItemsCount());
+                patronInformationResponse.setFeeAmount(sip2PatronInformationResponse.getFeeAmount());
+                patronInformationResponse.setHomeAddress(sip2PatronInformationResponse.getHomeAddress());
+                patronInformationResponse.setItems(sip2PatronInformationResponse.getItems());
+                patronInformationResponse.setItemType((sip2PatronInformationResponse.getItemType() != null) ? sip2PatronInformationResponse.getItemType().name() : "");
+
+                patronInformationResponse.setOverdueItemsCount(sip2PatronInformationResponse.getOverdueItemsCount());
+                patronInformationResponse.setOverdueItemsLimit(sip2PatronInformationResponse.getOverdueItemsLimit());
+                patronInformationResponse.setPacAccessType(sip2PatronInformationResponse.getPacAccessType());
+                patronInformationResponse.setPatronGroup(sip2PatronInformationResponse.getPatronGroup());
+                patronInformationResponse.setPatronType(sip2PatronInformationResponse.getPatronType());
+                patronInformationResponse.setDueDate(sip2PatronInformationResponse.getDueDate());
+                patronInformationResponse.setExpirationDate(sip2PatronInformationResponse.getExpirationDate());
+                patronInformationResponse.setStatus(sip2PatronInformationResponse.getStatus().toString());
+                reusable = true;
             } else {
                 patronInformationResponse.setSuccess(true);
                 patronInformationResponse.setScreenMessage(ScsbConstants.ILS_CONNECTION_FAILED);
@@ -535,7 +570,7 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
         } catch (Exception ex) {
             log.error("", ex);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return patronInformationResponse;
     }
@@ -543,62 +578,48 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
     @Override
     public ItemRecallResponse recallItem(String itemIdentifier, String patronIdentifier, String institutionId, String expirationDate, String bibId, String pickupLocation) {
         SIP2RecallResponse sip2RecallResponse = null;
-        SIP2SocketConnection connection = getSocketConnection();
+        boolean reusable = false;
+        SIP2SocketConnection connection = null;
         ItemRecallResponse itemRecallResponse = new ItemRecallResponse();
         try {
-            if (connection.connect()) { // Connect to the SIP Server - Princton, Voyager, ILS
-                /* Login to the ILS */
-                /* Create a login request */
-                SIP2LoginRequest login = new SIP2LoginRequest(getOperatorUserId(), getOperatorPassword(), getOperatorLocation());
-                /* Send the request */
-                SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
+            connection = borrowSession(); // Logged-in session to the SIP Server - Princton, Voyager, ILS
+            if (connection != null) {
+                /* The patron must be validated before placing a hold */
+                SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
+                SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
 
-                /* Check the response*/
-                if (loginResponse.isOk()) {
-                    /* Send SCStatusRequest */
-                    SIP2SCStatusRequest status = new SIP2SCStatusRequest();
-                    connection.send(status);
-
-                    /* The patron must be validated before placing a hold */
-                    SIP2PatronInformationRequest request = new SIP2PatronInformationRequest(institutionId, patronIdentifier, getOperatorPassword());
-                    SIP2PatronInformationResponse response = (SIP2PatronInformationResponse) connection.send(request);
-
-                    /* Check if the patron and patron password are valid */
-                    if (response.isValidPatron() && response.isValidPatronPassword()) {
-                        SIP2RecallRequest recallRequest = new SIP2RecallRequest(patronIdentifier, itemIdentifier);
-                        recallRequest.setHoldMode(HoldMode.ADD);
-                        recallRequest.setInstitutionId(institutionId);
-                        recallRequest.setExpirationDate(MessageUtil.createFutureDate(ScsbConstants.ESIPEXPIRATION_DATE_DAY, ScsbConstants.ESIPEXPIRATION_DATE_MONTH));
-                        recallRequest.setBibId(bibId);
-                        recallRequest.setPickupLocation(pickupLocation);
-
-                        log.info("Request Recall -> {} ", recallRequest.getData());
-                        itemRecallResponse.setEsipDataIn(recallRequest.getData());
-                        sip2RecallResponse = (SIP2RecallResponse) connection.send(recallRequest);
-                        itemRecallResponse.setEsipDataOut(sip2RecallResponse.getData());
-
-                        itemRecallResponse.setItemBarcode(sip2RecallResponse.getItemIdentifier());
-                        itemRecallResponse.setScreenMessage((!sip2RecallResponse.getScreenMessage().isEmpty()) ? sip2RecallResponse.getScreenMessage().get(0) : "");
-                        itemRecallResponse.setSuccess(sip2RecallResponse.isOk());
-                        itemRecallResponse.setTitleIdentifier(sip2RecallResponse.getTitleIdentifier());
-                        itemRecallResponse.setTransactionDate(formatFromSipDate(sip2RecallResponse.getDueDate()));
-                        itemRecallResponse.setExpirationDate(formatFromSipDate(sip2RecallResponse.getExpirationDate()));
-                        itemRecallResponse.setInstitutionID(sip2RecallResponse.getInstitutionId());
-                        itemRecallResponse.setPickupLocation(sip2RecallResponse.getPickupLocation());
-                        itemRecallResponse.setPatronIdentifier(sip2RecallResponse.getPatronIdentifier());
-                    } else {
-                        itemRecallResponse.setSuccess(false);
-                        itemRecallResponse.setScreenMessage(ScsbConstants.PATRON_VALIDATION_FAILED + ((!response.getScreenMessage().isEmpty()) ? response.getScreenMessage().get(0) : ""));
-                        log.error(itemRecallResponse.getScreenMessage());
-                    }
+                /* Check if the patron and patron password are valid */
+                if (response.isValidPatron() && response.isValidPatronPassword()) {
+                    SIP2RecallRequest recallRequest = new SIP2RecallRequest(patronIdentifier, itemIdentifier);
+                    recallRequest.setHoldMode(HoldMode.ADD);
+                    recallRequest.setInstitutionId(institutionId);
+                    recallRequest.setExpirationDate(MessageUtil.createFutureDate(ScsbConstants.ESIPEXPIRATION_DATE_DAY, ScsbConstants.ESIPEXPIRATION_DATE_MONTH));
+                    recallRequest.setBibId(bibId);
+                    recallRequest.setPickupLocation(pickupLocation);
+
+                    log.info("Request Recall -> {} ", recallRequest.getData());
+                    itemRecallResponse.setEsipDataIn(recallRequest.getData());
+                    sip2RecallResponse = (SIP2RecallResponse) connection.send(recallRequest);
+                    itemRecallResponse.setEsipDataOut(sip2RecallResponse.getData());
+
+                    itemRecallResponse.setItemBarcode(sip2RecallResponse.getItemIdentifier());
+                    itemRecallResponse.setScreenMessage((!sip2RecallResponse.getScreenMessage().isEmpty()) ? sip2RecallResponse.getScreenMessage().get(0) : "");
+                    itemRecallResponse.setSuccess(sip2RecallResponse.isOk());
+                    itemRecallResponse.setTitleIdentifier(sip2RecallResponse.getTitleIdentifier());
+                    itemRecallResponse.setTransactionDate(formatFromSipDate(sip2RecallResponse.getDueDate()));
+                    itemRecallResponse.setExpirationDate(formatFromSipDate(sip2RecallResponse.getExpirationDate()));
+                    itemRecallResponse.setInstitutionID(sip2RecallResponse.getInstitutionId());
+                    itemRecallResponse.setPickupLocation(sip2RecallResponse.getPickupLocation());
+                    itemRecallResponse.setPatronIdentifier(sip2RecallResponse.getPatronIdentifier());
                 } else {
                     itemRecallResponse.setSuccess(false);
-                    itemRecallResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
+                    itemRecallResponse.setScreenMessage(ScsbConstants.PATRON_VALIDATION_FAILED + ((!response.getScreenMessage().isEmpty()) ? response.getScreenMessage().get(0) : ""));
                     log.error(itemRecallResponse.getScreenMessage());
                 }
+                reusable = true;
             } else {
                 itemRecallResponse.setSuccess(false);
-                itemRecallResponse.setScreenMessage(ScsbConstants.ILS_CONNECTION_FAILED);
+                itemRecallResponse.setScreenMessage(ScsbConstants.ILS_LOGIN_FAILED);
                 log.error(itemRecallResponse.getScreenMessage());
             }
         } catch (InvalidSIP2ResponseException e) {
@@ -606,7 +627,7 @@ public class SIPProtocolConnector extends AbstractProtocolConnector {
         } catch (InvalidSIP2ResponseValueException e) {
             log.error(ScsbConstants.REQUEST_INVALID_SIP2_RESPONSE_VALUE, e);
         } finally {
-            connection.close();
+            releaseSession(connection, reusable);
         }
         return itemRecallResponse;
     }
@@ -1,36 +1,89 @@
 package org.recap.ils.connector.factory;
 
+import lombok.extern.slf4j.Slf4j;
 import org.recap.ils.connector.AbstractProtocolConnector;
 import org.recap.model.ILSConfigProperties;
 import org.recap.util.PropertyUtil;
+import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Builds one connector instance per institution and caches it together with the ILS config it was built with.
+ * The shared protocol connector beans are only used to find the connector type supporting the institution's protocol,
+ * they are never configured for a particular institution.
+ */
+@Slf4j
 @Component
 public class ILSProtocolConnectorFactory extends BaseILSProtocolConnectorFactory {
 
     private final List<AbstractProtocolConnector> protocolConnectors;
     private final PropertyUtil propertyUtil;
+    private final AutowireCapableBeanFactory beanFactory;
+    private final Map<String, InstitutionConnector> institutionConnectors = new ConcurrentHashMap<>();
 
     @Autowired
-    public ILSProtocolConnectorFactory(List<AbstractProtocolConnector> protocolConnectors, PropertyUtil propertyUtil) {
+    public ILSProtocolConnectorFactory(List<AbstractProtocolConnector> protocolConnectors, PropertyUtil propertyUtil, AutowireCapableBeanFactory beanFactory) {
         this.protocolConnectors = protocolConnectors;
         this.propertyUtil = propertyUtil;
+        this.beanFactory = beanFactory;
     }
 
+    /**
+     * Gets the connector of the institution, building a new one when the institution's ILS config has changed.
+     *
+     * @param institution the institution
+     * @return the protocol connector
+     */
     public AbstractProtocolConnector getIlsProtocolConnector(String institution) {
         ILSConfigProperties ilsConfigProperties = propertyUtil.getILSConfigProperties(institution);
+        return institutionConnectors.compute(institution, (institutionCode, institutionConnector) -> {
+            if (institutionConnector != null && Objects.equals(institutionConnector.ilsConfigProperties, ilsConfigProperties)) {
+                return institutionConnector;
+            }
+            return new InstitutionConnector(ilsConfigProperties, createConnector(institutionCode, ilsConfigProperties));
+        }).connector;
+    }
+
+    /**
+     * Drops the cached connectors so that they are rebuilt with the refreshed config on next use.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void refresh() {
+        log.info("Configuration changed, clearing {} cached ILS protocol connectors", institutionConnectors.size());
+        institutionConnectors.clear();
+    }
+
+    private AbstractProtocolConnector createConnector(String institution, ILSConfigProperties ilsConfigProperties) {
         String protocol = ilsConfigProperties.getProtocol();
-        AbstractProtocolConnector connector = protocolConnectors
+        AbstractProtocolConnector protocolConnector = protocolConnectors
                 .stream()
                 .filter(service -> service.supports(protocol))
                 .findFirst()
                 .orElseThrow(IllegalArgumentException::new);
+        AbstractProtocolConnector connector = (AbstractProtocolConnector) beanFactory.createBean(AopProxyUtils.ultimateTargetClass(protocolConnector));
         connector.setInstitution(institution);
         connector.setIlsConfigProperties(ilsConfigProperties);
+        log.info("Created {} connector for {}", protocol, institution);
         return connector;
     }
 
-}
\ No newline at end of file
+    private static class InstitutionConnector {
+        private final ILSConfigProperties ilsConfigProperties;
+        private final AbstractProtocolConnector connector;
+
+        private InstitutionConnector(ILSConfigProperties ilsConfigProperties, AbstractProtocolConnector connector) {
+            this.ilsConfigProperties = ilsConfigProperties;
+            this.connector = connector;
+        }
+    }
+
+}
@@ -60,15 +60,19 @@ public class CheckoutItem extends ScsbNCIP {
             return generateNcipProblems(checkoutItemResponse);
         }
 
+        returnJson.put(ScsbConstants.ITEM_BARCODE, checkoutItemResponse.getItemId().getItemIdentifierValue());
+        returnJson.put(ScsbConstants.PATRON_IDENTIFIER, checkoutItemResponse.getUserId().getUserIdentifierValue());
+        returnJson.put(ScsbConstants.DUE_DATE, getDueDate(checkoutItemResponse));
+        return returnJson;
+    }
+
+    public String getDueDate(CheckOutItemResponseData checkoutItemResponse) {
         String dueDateString = "";
         if (checkoutItemResponse.getDateDue() != null) {
             SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
             formatter.setCalendar(checkoutItemResponse.getDateDue());
             dueDateString = formatter.format(checkoutItemResponse.getDateDue().getTime());
         }
-        returnJson.put(ScsbConstants.ITEM_BARCODE, checkoutItemResponse.getItemId().getItemIdentifierValue());
-        returnJson.put(ScsbConstants.PATRON_IDENTIFIER, checkoutItemResponse.getUserId().getUserIdentifierValue());
-        returnJson.put(ScsbConstants.DUE_DATE, dueDateString);
-        return returnJson;
+        return dueDateString;
     }
 }
@@ -66,6 +66,19 @@ public class LookupUser extends ScsbNCIP {
         return returnJson;
     }
 
+    public String getName(LookupUserResponseData lookupUserResponse) {
+        String firstName = "";
+        String lastName = "";
+        try {
+            firstName = lookupUserResponse.getUserOptionalFields().getNameInformation().getPersonalNameInformation().getStructuredPersonalUserName().getGivenName();
+            lastName = lookupUserResponse.getUserOptionalFields().getNameInformation().getPersonalNameInformation().getStructuredPersonalUserName().getSurname();
+        }
+        catch(Exception e) {
+            log.info("Name not provided in response");
+        }
+        return firstName + " " + lastName;
+    }
+
 
     private JSONObject gatherName(LookupUserResponseData lookupUserResponse,JSONObject returnJson) {
 
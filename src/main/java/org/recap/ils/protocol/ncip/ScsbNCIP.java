@@ -2,6 +2,7 @@ package org.recap.ils.protocol.ncip;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
+import org.extensiblecatalog.ncip.v2.common.Translator;
 import org.extensiblecatalog.ncip.v2.service.AgencyId;
 import org.extensiblecatalog.ncip.v2.service.ApplicationProfileType;
 import org.extensiblecatalog.ncip.v2.service.FromAgencyId;
@@ -11,11 +12,13 @@ import org.extensiblecatalog.ncip.v2.service.NCIPResponseData;
 import org.extensiblecatalog.ncip.v2.service.Problem;
 import org.extensiblecatalog.ncip.v2.service.ServiceException;
 import org.extensiblecatalog.ncip.v2.service.ToAgencyId;
+import org.extensiblecatalog.ncip.v2.service.ToolkitException;
 import org.extensiblecatalog.ncip.v2.service.ValidationException;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.recap.ScsbConstants;
 import org.recap.ils.protocol.ncip.util.NCIPToolKitUtil;
+import org.recap.ils.protocol.ncip.util.NCIPTranslatorPool;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,11 +45,16 @@ public class ScsbNCIP {
         returnJson.put("problems", array);
         return returnJson;
     }
-    public String getRequestBody(NCIPToolKitUtil ncipToolkitUtil, NCIPInitiationData ncipInitiationData) throws ServiceException, ValidationException, IOException
+    public String getRequestBody(NCIPTranslatorPool ncipTranslatorPool, NCIPToolKitUtil ncipToolkitUtil, NCIPInitiationData ncipInitiationData) throws ServiceException, ValidationException, IOException, ToolkitException
     {
         String requestBody = "";
-            InputStream requestMessageStream = ncipToolkitUtil.translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, ncipInitiationData);
+        Translator translator = ncipTranslatorPool.borrowTranslator();
+        try {
+            InputStream requestMessageStream = translator.createInitiationMessageStream(ncipToolkitUtil.serviceContext, ncipInitiationData);
             requestBody = IOUtils.toString(requestMessageStream, StandardCharsets.UTF_8);
+        } finally {
+            ncipTranslatorPool.releaseTranslator(translator);
+        }
         return requestBody;
     }
 
@@ -1,6 +1,6 @@
 package org.recap.ils.protocol.ncip.util;
 
-  
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
@@ -16,9 +16,9 @@ import org.recap.ScsbConstants;
 @Slf4j
 public class NCIPToolKitUtil {
 
-        private static NCIPToolKitUtil ncipToolkitUtilInstance;
-        public Translator translator;
+        private static volatile NCIPToolKitUtil ncipToolkitUtilInstance;
         public ServiceContext serviceContext;
+        private Properties properties;
 
         private NCIPToolKitUtil() {
             if (ncipToolkitUtilInstance != null){
@@ -27,20 +27,37 @@ public class NCIPToolKitUtil {
    }
 
         public static NCIPToolKitUtil getInstance() throws IOException, ToolkitException {
-            if (ncipToolkitUtilInstance == null) {
-                    ncipToolkitUtilInstance = new NCIPToolKitUtil();
-                    InputStream inputStream = NCIPToolKitUtil.class.getClassLoader().getResourceAsStream(ScsbConstants.TOOLKIT_PROP_FILE);
-                    log.info("initializing the NCIP Toolkit Property File...");log.info("initializing the NCIP Toolkit Property File...");
-                    Properties properties = new Properties();
-                    properties.load(inputStream);
-                    if (properties.isEmpty()) {
-                        log.error("Unable to initialize the default toolkit properties.");
-                        throw new RuntimeException("Unable to initialize the NCIP Toolkit property file.");
+            NCIPToolKitUtil instance = ncipToolkitUtilInstance;
+            if (instance == null) {
+                synchronized (NCIPToolKitUtil.class) {
+                    instance = ncipToolkitUtilInstance;
+                    if (instance == null) {
+                        instance = new NCIPToolKitUtil();
+                        InputStream inputStream = NCIPToolKitUtil.class.getClassLoader().getResourceAsStream(ScsbConstants.TOOLKIT_PROP_FILE);
+                        log.info("initializing the NCIP Toolkit Property File...");
+                        Properties properties = new Properties();
+                        properties.load(inputStream);
+                        if (properties.isEmpty()) {
+                            log.error("Unable to initialize the default toolkit properties.");
+                            throw new RuntimeException("Unable to initialize the NCIP Toolkit property file.");
+                        }
+                        instance.properties = properties;
+                        instance.serviceContext = ServiceValidatorFactory.buildServiceValidator(properties).getInitialServiceContext();
+                        // Published only once fully initialized, so no caller sees the properties or service context unset.
+                        ncipToolkitUtilInstance = instance;
                     }
-                    ncipToolkitUtilInstance.serviceContext = ServiceValidatorFactory.buildServiceValidator(properties).getInitialServiceContext();
-                    ncipToolkitUtilInstance.translator = TranslatorFactory.buildTranslator(null,properties);
-                    return ncipToolkitUtilInstance;
+                }
             }
-            return ncipToolkitUtilInstance;
+            return instance;
+        }
+
+        /**
+         * Builds a translator of its own from the toolkit properties, the translators are not shared between threads and
+         * are handed out by the NCIP translator pool.
+         *
+         * @return the translator
+         */
+        public Translator newTranslator() throws ToolkitException {
+            return TranslatorFactory.buildTranslator(null, properties);
         }
     }
@@ -0,0 +1,101 @@
+package org.recap.ils.protocol.ncip.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.extensiblecatalog.ncip.v2.common.Translator;
+import org.extensiblecatalog.ncip.v2.service.ToolkitException;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of NCIP toolkit translators, built at startup so that the first NCIP call does not pay for the toolkit
+ * initialization and concurrent NCIP calls each get a translator of their own. When all the translators are in use
+ * for longer than the borrow timeout, a translator is built for the call and not kept. The pool holds at least one
+ * translator.
+ */
+@Slf4j
+@Component
+public class NCIPTranslatorPool {
+
+    @Value("${ncip.translator.pool.size:8}")
+    private int poolSize;
+
+    @Value("${ncip.translator.pool.borrow.timeout.millis:5000}")
+    private long borrowTimeoutMillis;
+
+    private BlockingQueue<Translator> translators;
+    private final AtomicInteger translatorCount = new AtomicInteger();
+    private Timer borrowTimer;
+
+    @PostConstruct
+    public void init() {
+        if (poolSize < 1) {
+            // Without a translator in the pool every borrow would wait the full timeout.
+            log.warn("NCIP translator pool size {} is not valid, using 1", poolSize);
+            poolSize = 1;
+        }
+        translators = new ArrayBlockingQueue<>(poolSize);
+        Metrics.gauge(ScsbConstants.NCIP_TRANSLATOR_POOL_AVAILABLE, translators, BlockingQueue::size);
+        borrowTimer = Metrics.timer(ScsbConstants.NCIP_TRANSLATOR_POOL_WAIT);
+        try {
+            NCIPToolKitUtil ncipToolkitUtil = NCIPToolKitUtil.getInstance();
+            while (translatorCount.get() < poolSize) {
+                translators.add(ncipToolkitUtil.newTranslator());
+                translatorCount.incrementAndGet();
+            }
+            log.info("NCIP translator pool initialized with {} translators", translatorCount.get());
+        } catch (Exception e) {
+            // The translators not built here are built on first use.
+            log.error(ScsbCommonConstants.LOG_ERROR, e);
+        }
+    }
+
+    /**
+     * Takes a translator from the pool, waiting up to the borrow timeout when all of them are in use. The translator
+     * has to be given back with {@link #releaseTranslator(Translator)}.
+     *
+     * @return the translator
+     */
+    public Translator borrowTranslator() throws IOException, ToolkitException {
+        long start = System.nanoTime();
+        Translator translator = translators.poll();
+        if (translator == null && translatorCount.incrementAndGet() <= poolSize) {
+            try {
+                translator = NCIPToolKitUtil.getInstance().newTranslator();
+            } catch (IOException | ToolkitException | RuntimeException e) {
+                translatorCount.decrementAndGet();
+                throw e;
+            }
+        } else if (translator == null) {
+            translatorCount.decrementAndGet();
+            try {
+                translator = translators.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                log.error(ScsbCommonConstants.LOG_ERROR, e);
+                Thread.currentThread().interrupt();
+            }
+            if (translator == null) {
+                Metrics.counter(ScsbConstants.NCIP_TRANSLATOR_POOL_EXHAUSTED).increment();
+                translator = NCIPToolKitUtil.getInstance().newTranslator();
+            }
+        }
+        borrowTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return translator;
+    }
+
+    public void releaseTranslator(Translator translator) {
+        if (translator != null) {
+            translators.offer(translator);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.recap.ils.protocol.rest.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+import lombok.Setter;
+import org.recap.ils.protocol.rest.model.DebugInfo;
+import org.recap.ils.protocol.rest.model.JobData;
+
+import java.util.List;
+
+/**
+ * The type Jobs response.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "data",
+        "count",
+        "statusCode",
+        "debugInfo"
+})
+@Getter
+@Setter
+public class JobsResponse {
+
+    @JsonProperty("data")
+    private List<JobData> data = null;
+    @JsonProperty("count")
+    private Integer count;
+    @JsonProperty("statusCode")
+    private Integer statusCode;
+    @JsonProperty("debugInfo")
+    private List<DebugInfo> debugInfo = null;
+}
@@ -1,37 +1,60 @@
 package org.recap.ils.protocol.rest.processor;
 
+import io.micrometer.core.instrument.Metrics;
 import org.recap.PropertyKeyConstants;
 import org.recap.ScsbCommonConstants;
-import org.recap.ils.protocol.rest.callable.RestJobResponsePollingCallable;
+import org.recap.ScsbConstants;
 import org.recap.ils.connector.RestProtocolConnector;
 import org.recap.ils.protocol.rest.model.JobData;
 import org.recap.ils.protocol.rest.model.response.JobResponse;
 import org.recap.ils.protocol.rest.util.RestApiResponseUtil;
-import org.recap.model.ILSConfigProperties;
 import org.recap.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
-import java.util.concurrent.*;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * Created by rajeshbabuk on 08/Jan/2021
+ * <p>
+ * Tracks all outstanding REST ILS jobs in one map and polls them from a shared scheduler. Each job completes a
+ * {@link CompletableFuture} once the ILS reports it finished or its polling timeout has elapsed, so no thread is
+ * held for the duration of a job. The jobs due on a tick are queried in one batch per connector, and polling of an
+ * institution backs off while its ILS responds with server errors.
  */
 @Component
 public class RestProtocolJobResponsePollingProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(RestProtocolJobResponsePollingProcessor.class);
 
-    private Integer pollingMaxTimeOut;
-    private Integer pollingTimeInterval;
+    @Value("${ils.rest.job.polling.tick.interval.millis:250}")
+    private long pollingTickInterval;
 
-    /**
-     * The Rest api service connector.
-     */
-    @Autowired
-    RestProtocolConnector restProtocolConnector;
+    @Value("${ils.rest.job.polling.thread.count:4}")
+    private int pollingThreadCount;
+
+    @Value("${ils.rest.job.polling.max.backoff.multiplier:8}")
+    private int maxBackoffMultiplier;
 
     /**
      * The Rest api response util.
@@ -42,59 +65,178 @@ public class RestProtocolJobResponsePollingProcessor {
     @Autowired
     PropertyUtil propertyUtil;
 
+    private final Map<String, PendingJob> pendingJobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> institutionBackoffMultipliers = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService pollingScheduler;
+    private ExecutorService pollingExecutor;
+
+    @PostConstruct
+    public void startPolling() {
+        Metrics.gauge(ScsbConstants.ILS_REST_JOBS_IN_FLIGHT, pendingJobs, Map::size);
+        pollingExecutor = Executors.newFixedThreadPool(pollingThreadCount);
+        pollingScheduler = Executors.newSingleThreadScheduledExecutor();
+        pollingScheduler.scheduleWithFixedDelay(this::pollPendingJobs, pollingTickInterval, pollingTickInterval, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Poll rest request item job response job response.
      *
-     * @param jobId the job id
+     * @param jobId                 the job id
+     * @param restProtocolConnector the connector of the institution which created the job
      * @return the job response
      */
-    public JobResponse pollRestApiRequestItemJobResponse(String jobId, String institution) {
+    public JobResponse pollRestApiRequestItemJobResponse(String jobId, RestProtocolConnector restProtocolConnector) {
+        String institution = restProtocolConnector.getInstitutionCode();
         JobResponse jobResponse = new JobResponse();
-        ExecutorService executor = Executors.newSingleThreadExecutor();
         try {
-            ILSConfigProperties ilsConfigProperties = new ILSConfigProperties();
-            ilsConfigProperties.setIlsRestDataApi(propertyUtil.getPropertyByInstitutionAndKey(institution,PropertyKeyConstants.ILS.ILS_REST_DATA_API));
-            ilsConfigProperties.setOauthTokenApiUrl(propertyUtil.getPropertyByInstitutionAndKey(institution,PropertyKeyConstants.ILS.ILS_OAUTH_TOKEN_API_URL));
-            ilsConfigProperties.setOperatorUserId(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_SERVER_OPERATOR_USER_ID));
-            ilsConfigProperties.setOperatorPassword(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_SERVER_OPERATOR_PASSWORD));
-            pollingMaxTimeOut = Integer.valueOf(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT));
-            pollingTimeInterval = Integer.valueOf(propertyUtil.getPropertyByInstitutionAndKey(institution,PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL));
-            restProtocolConnector.setInstitution(institution);
-            restProtocolConnector.setIlsConfigProperties(ilsConfigProperties);
-            Future<JobResponse> future = executor.submit(new RestJobResponsePollingCallable(jobId, pollingTimeInterval, restProtocolConnector));
-            logger.info("Polling on job id {} started", jobId);
-            jobResponse = future.get(pollingMaxTimeOut, TimeUnit.SECONDS);
-            JobData jobData = jobResponse.getData();
-            if (null != jobData) {
-                jobResponse.setStatusMessage(restApiResponseUtil.getJobStatusMessage(jobData));
-            }
-            executor.shutdown();
-            return jobResponse;
+            return pollJobResponse(jobId, restProtocolConnector).get();
         } catch (InterruptedException e) {
             logger.error("{} job response interrupted for job id -> {} ", institution, jobId);
             logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
             Thread.currentThread().interrupt();
-            executor.shutdownNow();
             jobResponse.setStatusMessage(institution + " job response interrupted : " + e.getMessage());
             return jobResponse;
         } catch (ExecutionException e) {
-            logger.error("{} job response execution failed for job id -> {} ", institution, jobId);
-            logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
-            executor.shutdownNow();
-            jobResponse.setStatusMessage(institution + " job response execution failed : " + e.getMessage());
-            return jobResponse;
-        } catch (TimeoutException e) {
-            logger.error("{} job response polling timed out for job id -> {} ",institution, jobId);
+            logger.error("{} job response polling failed for job id -> {} ", institution, jobId);
             logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
-            executor.shutdownNow();
-            jobResponse.setStatusMessage(institution + " job response polling timed out : " + e.getMessage());
+            jobResponse.setStatusMessage(institution + " job response polling failed : " + e.getMessage());
             return jobResponse;
+        }
+    }
+
+    /**
+     * Registers the job for polling.
+     *
+     * @param jobId                 the job id
+     * @param restProtocolConnector the connector of the institution which created the job
+     * @return the future completed with the job response once the job has finished, failed or timed out
+     */
+    public CompletableFuture<JobResponse> pollJobResponse(String jobId, RestProtocolConnector restProtocolConnector) {
+        String institution = restProtocolConnector.getInstitutionCode();
+        try {
+            Integer pollingMaxTimeOut = Integer.valueOf(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT));
+            Integer pollingTimeInterval = Integer.valueOf(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL));
+            PendingJob pendingJob = pendingJobs.computeIfAbsent(institution + "-" + jobId, jobKey -> new PendingJob(jobKey, jobId, institution, restProtocolConnector, pollingTimeInterval, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(pollingMaxTimeOut)));
+            logger.info("Polling on job id {} started", jobId);
+            return pendingJob.future;
         } catch (Exception e) {
             logger.error("{} job response polling failed for job id -> {} ", institution, jobId);
             logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
-            executor.shutdownNow();
+            JobResponse jobResponse = new JobResponse();
             jobResponse.setStatusMessage(institution + " job response polling failed : " + e.getMessage());
-            return jobResponse;
+            return CompletableFuture.completedFuture(jobResponse);
+        }
+    }
+
+    /**
+     * Times out the expired jobs and hands the jobs due for polling to the polling threads, one batch per connector.
+     */
+    public void pollPendingJobs() {
+        try {
+            long now = System.currentTimeMillis();
+            Map<RestProtocolConnector, List<PendingJob>> dueJobsByConnector = new HashMap<>();
+            for (PendingJob pendingJob : pendingJobs.values()) {
+                if (pendingJob.future.isDone()) {
+                    pendingJobs.remove(pendingJob.key, pendingJob);
+                } else if (now >= pendingJob.deadline) {
+                    logger.error("{} job response polling timed out for job id -> {} ", pendingJob.institution, pendingJob.jobId);
+                    completeJob(pendingJob, pendingJob.institution + " job response polling timed out");
+                } else if (now >= pendingJob.nextPollTime && pendingJob.polling.compareAndSet(false, true)) {
+                    dueJobsByConnector.computeIfAbsent(pendingJob.restProtocolConnector, connector -> new ArrayList<>()).add(pendingJob);
+                }
+            }
+            dueJobsByConnector.forEach((restProtocolConnector, dueJobs) -> pollingExecutor.execute(() -> pollJobs(restProtocolConnector, dueJobs)));
+        } catch (Exception e) {
+            logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    public int getPendingJobCount() {
+        return pendingJobs.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pollingScheduler != null) {
+            pollingScheduler.shutdownNow();
+        }
+        if (pollingExecutor != null) {
+            pollingExecutor.shutdownNow();
+        }
+        pendingJobs.values().forEach(pendingJob -> completeJob(pendingJob, pendingJob.institution + " job response polling stopped"));
+    }
+
+    private void pollJobs(RestProtocolConnector restProtocolConnector, List<PendingJob> dueJobs) {
+        AtomicBoolean backedOff = new AtomicBoolean();
+        Map<String, CompletableFuture<JobResponse>> jobResponses;
+        try {
+            jobResponses = restProtocolConnector.queryForJobs(dueJobs.stream().map(pendingJob -> pendingJob.jobId).collect(Collectors.toList()), pollingExecutor);
+        } catch (Exception e) {
+            dueJobs.forEach(pendingJob -> handleJobResponse(pendingJob, null, e, backedOff));
+            return;
+        }
+        for (PendingJob pendingJob : dueJobs) {
+            jobResponses.get(pendingJob.jobId).whenComplete((jobResponse, throwable) -> handleJobResponse(pendingJob, jobResponse, throwable, backedOff));
+        }
+    }
+
+    private void handleJobResponse(PendingJob pendingJob, JobResponse jobResponse, Throwable throwable, AtomicBoolean backedOff) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        try {
+            if (cause != null) {
+                throw cause;
+            }
+            institutionBackoffMultipliers.remove(pendingJob.institution);
+            JobData jobData = jobResponse.getData();
+            if (Boolean.TRUE.equals(jobData.getFinished())) {
+                jobResponse.setStatusMessage(restApiResponseUtil.getJobStatusMessage(jobData));
+                pendingJobs.remove(pendingJob.key, pendingJob);
+                pendingJob.future.complete(jobResponse);
+            } else {
+                pendingJob.nextPollTime = System.currentTimeMillis() + pendingJob.pollingTimeInterval;
+            }
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            int backoffMultiplier = backedOff.compareAndSet(false, true)
+                    ? institutionBackoffMultipliers.merge(pendingJob.institution, 2, (current, factor) -> Math.min(current * factor, maxBackoffMultiplier))
+                    : institutionBackoffMultipliers.getOrDefault(pendingJob.institution, 2);
+            logger.error("{} job response query failed for job id -> {}, backing off {}x : {}", pendingJob.institution, pendingJob.jobId, backoffMultiplier, e.getMessage());
+            pendingJob.nextPollTime = System.currentTimeMillis() + (long) pendingJob.pollingTimeInterval * backoffMultiplier;
+        } catch (Throwable e) {
+            logger.error("{} job response execution failed for job id -> {} ", pendingJob.institution, pendingJob.jobId);
+            logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            completeJob(pendingJob, pendingJob.institution + " job response execution failed : " + e.getMessage());
+        } finally {
+            pendingJob.polling.set(false);
+        }
+    }
+
+    private void completeJob(PendingJob pendingJob, String statusMessage) {
+        JobResponse jobResponse = new JobResponse();
+        jobResponse.setStatusMessage(statusMessage);
+        pendingJobs.remove(pendingJob.key, pendingJob);
+        pendingJob.future.complete(jobResponse);
+    }
+
+    private static class PendingJob {
+        private final String key;
+        private final String jobId;
+        private final String institution;
+        private final RestProtocolConnector restProtocolConnector;
+        private final int pollingTimeInterval;
+        private final long deadline;
+        private final AtomicBoolean polling = new AtomicBoolean();
+        private final CompletableFuture<JobResponse> future = new CompletableFuture<>();
+        private volatile long nextPollTime;
+
+        private PendingJob(String key, String jobId, String institution, RestProtocolConnector restProtocolConnector, int pollingTimeInterval, long deadline) {
+            this.key = key;
+            this.jobId = jobId;
+            this.institution = institution;
+            this.restProtocolConnector = restProtocolConnector;
+            this.pollingTimeInterval = pollingTimeInterval;
+            this.deadline = deadline;
+            this.nextPollTime = System.currentTimeMillis();
         }
     }
 }
@@ -1,22 +1,114 @@
 package org.recap.ils.protocol.rest.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.codehaus.jettison.json.JSONObject;
+import org.recap.ScsbCommonConstants;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Base64Utils;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created by rajeshbabuk on 08/Jan/2021
+ * <p>
+ * Access tokens are cached per token api url and operator until they expire. A token is refreshed in the background
+ * once it is about to expire, and only one token request per operator is in flight at any time.
  */
+@Slf4j
 @Service
 public class RestOauthTokenApiService {
 
     @Autowired
     RestTemplate restTemplate;
 
+    @Value("${ils.rest.oauth.token.refresh.before.expiry.seconds:60}")
+    private long refreshBeforeExpirySeconds;
+
+    @Value("${ils.rest.oauth.token.default.expiry.seconds:300}")
+    private long defaultExpirySeconds;
+
+    private final Map<String, AccessToken> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<AccessToken>> tokenRequests = new ConcurrentHashMap<>();
+    private final ExecutorService tokenRefreshExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Gets an access token for the rest api, requesting a new one only when there is no valid cached token.
+     *
+     * @param oauthTokenApiUrl the oauth token api url
+     * @param operatorUserId   the operator user id
+     * @param operatorPassword the operator password
+     * @return the access token
+     * @throws Exception the exception
+     */
     public String generateAccessTokenForRestApi(String oauthTokenApiUrl, String operatorUserId, String operatorPassword) throws Exception {
+        String tokenKey = getTokenKey(oauthTokenApiUrl, operatorUserId, operatorPassword);
+        AccessToken accessToken = accessTokens.get(tokenKey);
+        long now = System.currentTimeMillis();
+        if (accessToken != null && now < accessToken.expiresAt) {
+            if (now >= accessToken.refreshAt) {
+                requestAccessToken(tokenKey, oauthTokenApiUrl, operatorUserId, operatorPassword, tokenRefreshExecutor);
+            }
+            return accessToken.token;
+        }
+        try {
+            return requestAccessToken(tokenKey, oauthTokenApiUrl, operatorUserId, operatorPassword, Runnable::run).get().token;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Drops the cached access token after it was rejected by the rest api, unless it has already been replaced.
+     *
+     * @param oauthTokenApiUrl    the oauth token api url
+     * @param operatorUserId      the operator user id
+     * @param operatorPassword    the operator password
+     * @param rejectedAccessToken the rejected access token
+     */
+    public void invalidateAccessToken(String oauthTokenApiUrl, String operatorUserId, String operatorPassword, String rejectedAccessToken) {
+        accessTokens.computeIfPresent(getTokenKey(oauthTokenApiUrl, operatorUserId, operatorPassword),
+                (tokenKey, accessToken) -> accessToken.token.equals(rejectedAccessToken) ? null : accessToken);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tokenRefreshExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<AccessToken> requestAccessToken(String tokenKey, String oauthTokenApiUrl, String operatorUserId, String operatorPassword, Executor executor) {
+        CompletableFuture<AccessToken> tokenRequest = new CompletableFuture<>();
+        CompletableFuture<AccessToken> inFlightTokenRequest = tokenRequests.putIfAbsent(tokenKey, tokenRequest);
+        if (inFlightTokenRequest != null) {
+            return inFlightTokenRequest;
+        }
+        executor.execute(() -> {
+            try {
+                AccessToken accessToken = fetchAccessToken(oauthTokenApiUrl, operatorUserId, operatorPassword);
+                accessTokens.put(tokenKey, accessToken);
+                tokenRequest.complete(accessToken);
+            } catch (Exception e) {
+                log.error(ScsbCommonConstants.LOG_ERROR, e);
+                tokenRequest.completeExceptionally(e);
+            } finally {
+                tokenRequests.remove(tokenKey, tokenRequest);
+            }
+        });
+        return tokenRequest;
+    }
+
+    private AccessToken fetchAccessToken(String oauthTokenApiUrl, String operatorUserId, String operatorPassword) throws Exception {
         String authorization = "Basic " + new String(Base64Utils.encode((operatorUserId + ":" + operatorPassword).getBytes()));
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -25,6 +117,26 @@ public class RestOauthTokenApiService {
         HttpEntity<String> requestEntity = new HttpEntity<>("grant_type=client_credentials", headers);
         ResponseEntity<String> responseEntity = restTemplate.exchange(oauthTokenApiUrl, HttpMethod.POST, requestEntity, String.class);
         JSONObject jsonObject = new JSONObject(responseEntity.getBody());
-        return (String) jsonObject.get("access_token");
+        long expiresIn = jsonObject.optLong("expires_in", defaultExpirySeconds);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.SECONDS.toMillis(expiresIn);
+        long refreshAt = Math.max(now, expiresAt - TimeUnit.SECONDS.toMillis(refreshBeforeExpirySeconds));
+        return new AccessToken((String) jsonObject.get("access_token"), expiresAt, refreshAt);
+    }
+
+    private String getTokenKey(String oauthTokenApiUrl, String operatorUserId, String operatorPassword) {
+        return oauthTokenApiUrl + "|" + operatorUserId + "|" + operatorPassword;
+    }
+
+    private static class AccessToken {
+        private final String token;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        private AccessToken(String token, long expiresAt, long refreshAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
     }
 }
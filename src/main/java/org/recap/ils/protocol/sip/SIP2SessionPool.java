@@ -0,0 +1,221 @@
+package org.recap.ils.protocol.sip;
+
+import com.pkrete.jsip2.connection.SIP2SocketConnection;
+import com.pkrete.jsip2.messages.requests.SIP2LoginRequest;
+import com.pkrete.jsip2.messages.requests.SIP2SCStatusRequest;
+import com.pkrete.jsip2.messages.responses.SIP2LoginResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.recap.ScsbCommonConstants;
+import org.recap.model.ILSConfigProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of logged-in SIP2 sessions for a single institution.
+ * <p>
+ * Sessions are connected and logged in once, handed out by {@link #borrowSession()} and returned with
+ * {@link #releaseSession(SIP2SocketConnection, boolean)}. The number of open sessions never exceeds the
+ * configured max size, idle sessions are kept alive with SC status requests and closed once they have been
+ * idle longer than the idle timeout.
+ */
+@Slf4j
+public class SIP2SessionPool {
+
+    private final String institutionCode;
+    private final ILSConfigProperties ilsConfigProperties;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final Semaphore permits;
+    private final BlockingDeque<IdleSession> idleSessions = new LinkedBlockingDeque<>();
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new SIP2 session pool.
+     *
+     * @param institutionCode     the institution code
+     * @param ilsConfigProperties the ils config properties
+     * @param maxSize             the maximum number of open sessions
+     * @param borrowTimeoutMillis the maximum time to wait for a free session
+     * @param idleTimeoutMillis   the time after which an idle session is closed
+     */
+    public SIP2SessionPool(String institutionCode, ILSConfigProperties ilsConfigProperties, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis) {
+        this.institutionCode = institutionCode;
+        this.ilsConfigProperties = ilsConfigProperties;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a logged-in session, reusing an idle one when available.
+     *
+     * @return the connection, or null if no session could be obtained within the borrow timeout or the login failed
+     */
+    public SIP2SocketConnection borrowSession() {
+        if (closed) {
+            log.info("SIP2 session pool for {} is closed", institutionCode);
+            return null;
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.error("Timed out after {} ms waiting for a SIP2 session for {}", borrowTimeoutMillis, institutionCode);
+                return null;
+            }
+        } catch (InterruptedException e) {
+            log.error(ScsbCommonConstants.LOG_ERROR, e);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        IdleSession idleSession;
+        while ((idleSession = idleSessions.pollFirst()) != null) {
+            if (idleSession.connection.connected()) {
+                return idleSession.connection;
+            }
+            idleSession.connection.close();
+        }
+        SIP2SocketConnection connection = openSession();
+        if (connection == null) {
+            permits.release();
+        }
+        return connection;
+    }
+
+    /**
+     * Returns a borrowed session to the pool.
+     *
+     * @param connection the connection
+     * @param reusable   false if the session is in an unknown state and must be closed
+     */
+    public void releaseSession(SIP2SocketConnection connection, boolean reusable) {
+        if (connection == null) {
+            return;
+        }
+        if (reusable && !closed && connection.connected()) {
+            idleSessions.offerFirst(new IdleSession(connection, System.currentTimeMillis()));
+        } else {
+            connection.close();
+        }
+        permits.release();
+    }
+
+    /**
+     * Closes sessions idle beyond the idle timeout and sends an SC status request on the remaining idle sessions,
+     * closing those which no longer respond.
+     */
+    public void keepAlive() {
+        long now = System.currentTimeMillis();
+        // Take the idle sessions out once, so that each of them is checked exactly once. A session being checked holds
+        // a permit, so that borrowers do not open sessions beyond the max size meanwhile.
+        List<IdleSession> checkedSessions = new ArrayList<>();
+        while (permits.tryAcquire()) {
+            IdleSession idleSession = idleSessions.pollLast();
+            if (idleSession == null) {
+                permits.release();
+                break;
+            }
+            checkedSessions.add(idleSession);
+        }
+        List<IdleSession> aliveSessions = new ArrayList<>();
+        for (IdleSession idleSession : checkedSessions) {
+            if (now - idleSession.idleSince > idleTimeoutMillis) {
+                log.info("Closing SIP2 session for {} idle for {} ms", institutionCode, now - idleSession.idleSince);
+                idleSession.connection.close();
+            } else if (sendScStatus(idleSession.connection)) {
+                aliveSessions.add(idleSession);
+            } else {
+                idleSession.connection.close();
+            }
+        }
+        // Put back the oldest sessions last, as they were taken from the tail oldest first.
+        Collections.reverse(aliveSessions);
+        for (IdleSession idleSession : aliveSessions) {
+            if (closed) {
+                idleSession.connection.close();
+            } else {
+                idleSessions.offerLast(idleSession);
+            }
+        }
+        permits.release(checkedSessions.size());
+    }
+
+    /**
+     * Checks whether the pool was created for the given config properties.
+     *
+     * @param ilsConfigProperties the ils config properties
+     * @return true if host, port and operator credentials are unchanged
+     */
+    public boolean matches(ILSConfigProperties ilsConfigProperties) {
+        return StringUtils.equals(this.ilsConfigProperties.getHost(), ilsConfigProperties.getHost())
+                && Objects.equals(this.ilsConfigProperties.getPort(), ilsConfigProperties.getPort())
+                && StringUtils.equals(this.ilsConfigProperties.getOperatorUserId(), ilsConfigProperties.getOperatorUserId())
+                && StringUtils.equals(this.ilsConfigProperties.getOperatorPassword(), ilsConfigProperties.getOperatorPassword())
+                && StringUtils.equals(this.ilsConfigProperties.getOperatorLocation(), ilsConfigProperties.getOperatorLocation());
+    }
+
+    /**
+     * Closes all idle sessions. Borrowed sessions are closed when they are released.
+     */
+    public void close() {
+        closed = true;
+        IdleSession idleSession;
+        while ((idleSession = idleSessions.pollFirst()) != null) {
+            idleSession.connection.close();
+        }
+    }
+
+    public int getIdleSessionCount() {
+        return idleSessions.size();
+    }
+
+    SIP2SocketConnection createConnection() {
+        return new SIP2SocketConnection(ilsConfigProperties.getHost(), ilsConfigProperties.getPort());
+    }
+
+    private SIP2SocketConnection openSession() {
+        SIP2SocketConnection connection = createConnection();
+        try {
+            if (connection.connect()) {
+                SIP2LoginRequest login = new SIP2LoginRequest(ilsConfigProperties.getOperatorUserId(), ilsConfigProperties.getOperatorPassword(), ilsConfigProperties.getOperatorLocation());
+                SIP2LoginResponse loginResponse = (SIP2LoginResponse) connection.send(login);
+                if (loginResponse.isOk() && sendScStatus(connection)) {
+                    log.info("Opened SIP2 session for {} on {}:{}", institutionCode, ilsConfigProperties.getHost(), ilsConfigProperties.getPort());
+                    return connection;
+                }
+                log.error("SIP2 login failed for {}", institutionCode);
+            } else {
+                log.error("SIP2 connection failed for {} on {}:{}", institutionCode, ilsConfigProperties.getHost(), ilsConfigProperties.getPort());
+            }
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.LOG_ERROR, e);
+        }
+        connection.close();
+        return null;
+    }
+
+    private boolean sendScStatus(SIP2SocketConnection connection) {
+        try {
+            return connection.send(new SIP2SCStatusRequest()) != null;
+        } catch (Exception e) {
+            log.error("SIP2 SC status failed for {} : {}", institutionCode, e.getMessage());
+            return false;
+        }
+    }
+
+    private static class IdleSession {
+        private final SIP2SocketConnection connection;
+        private final long idleSince;
+
+        private IdleSession(SIP2SocketConnection connection, long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.recap.ils.protocol.sip;
+
+import com.pkrete.jsip2.connection.SIP2SocketConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.recap.ScsbCommonConstants;
+import org.recap.model.ILSConfigProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds one {@link SIP2SessionPool} per institution and runs the keep-alive and idle eviction of the pooled sessions.
+ */
+@Slf4j
+@Component
+public class SIP2SessionPoolManager {
+
+    @Value("${ils.sip2.session.pool.max.size:10}")
+    private int maxSize;
+
+    @Value("${ils.sip2.session.pool.borrow.timeout.millis:10000}")
+    private long borrowTimeoutMillis;
+
+    @Value("${ils.sip2.session.pool.idle.timeout.millis:300000}")
+    private long idleTimeoutMillis;
+
+    @Value("${ils.sip2.session.pool.keep.alive.interval.millis:60000}")
+    private long keepAliveIntervalMillis;
+
+    private final Map<String, SIP2SessionPool> sessionPools = new ConcurrentHashMap<>();
+    private final Map<SIP2SocketConnection, SIP2SessionPool> borrowedSessions = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService keepAliveExecutor;
+
+    @PostConstruct
+    public void startKeepAlive() {
+        keepAliveExecutor = Executors.newSingleThreadScheduledExecutor();
+        keepAliveExecutor.scheduleWithFixedDelay(this::keepAlive, keepAliveIntervalMillis, keepAliveIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a logged-in session from the session pool of the institution.
+     *
+     * @param institutionCode     the institution code
+     * @param ilsConfigProperties the ils config properties
+     * @return the connection, or null if no session could be obtained
+     */
+    public SIP2SocketConnection borrowSession(String institutionCode, ILSConfigProperties ilsConfigProperties) {
+        SIP2SessionPool sessionPool = getSessionPool(institutionCode, ilsConfigProperties);
+        SIP2SocketConnection connection = sessionPool.borrowSession();
+        if (connection != null) {
+            borrowedSessions.put(connection, sessionPool);
+        }
+        return connection;
+    }
+
+    /**
+     * Returns a borrowed session to the pool it was borrowed from.
+     *
+     * @param connection the connection
+     * @param reusable   false if the session must be closed instead of being returned to the pool
+     */
+    public void releaseSession(SIP2SocketConnection connection, boolean reusable) {
+        if (connection == null) {
+            return;
+        }
+        SIP2SessionPool sessionPool = borrowedSessions.remove(connection);
+        if (sessionPool != null) {
+            sessionPool.releaseSession(connection, reusable);
+        } else {
+            connection.close();
+        }
+    }
+
+    /**
+     * Gets the session pool of the institution, replacing it when the SIP2 server or operator settings have changed.
+     *
+     * @param institutionCode     the institution code
+     * @param ilsConfigProperties the ils config properties
+     * @return the session pool
+     */
+    public SIP2SessionPool getSessionPool(String institutionCode, ILSConfigProperties ilsConfigProperties) {
+        return sessionPools.compute(institutionCode, (institution, sessionPool) -> {
+            if (sessionPool != null && sessionPool.matches(ilsConfigProperties)) {
+                return sessionPool;
+            }
+            if (sessionPool != null) {
+                log.info("SIP2 configuration changed for {}, recreating session pool", institution);
+                sessionPool.close();
+            }
+            return new SIP2SessionPool(institution, ilsConfigProperties, maxSize, borrowTimeoutMillis, idleTimeoutMillis);
+        });
+    }
+
+    /**
+     * Runs the keep-alive of all session pools.
+     */
+    public void keepAlive() {
+        for (SIP2SessionPool sessionPool : sessionPools.values()) {
+            try {
+                sessionPool.keepAlive();
+            } catch (Exception e) {
+                log.error(ScsbCommonConstants.LOG_ERROR, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (keepAliveExecutor != null) {
+            keepAliveExecutor.shutdownNow();
+        }
+        sessionPools.values().forEach(SIP2SessionPool::close);
+        sessionPools.clear();
+    }
+}
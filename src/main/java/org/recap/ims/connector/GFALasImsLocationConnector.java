@@ -9,9 +9,9 @@ import org.recap.ims.util.GFALasServiceUtil;
 import org.recap.ims.model.*;
 import org.recap.model.IMSConfigProperties;
 import org.recap.model.gfa.GFAItemStatusCheckResponse;
+import org.recap.util.RestTemplateUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
@@ -28,6 +28,9 @@ public class GFALasImsLocationConnector extends AbstractLASImsLocationConnector
     @Autowired
     private GFALasServiceUtil gfaLasServiceUtil;
 
+    @Autowired
+    private RestTemplateUtil restTemplateUtil;
+
     @Override
     public boolean supports(String imsLocationCode) {
         return true;
@@ -49,7 +52,17 @@ public class GFALasImsLocationConnector extends AbstractLASImsLocationConnector
      * @return the rest template
      */
     public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+        return restTemplateUtil.getRestTemplate();
+    }
+
+    /**
+     * Gets rest template with the given connect and read timeout.
+     *
+     * @param timeoutMillis the timeout in milliseconds
+     * @return the rest template
+     */
+    public RestTemplate getRestTemplate(int timeoutMillis) {
+        return restTemplateUtil.getRestTemplate(timeoutMillis);
     }
 
     /**
@@ -78,11 +91,9 @@ public class GFALasImsLocationConnector extends AbstractLASImsLocationConnector
             filterParamValue = objectMapper.writeValueAsString(gfaLasStatusCheckRequest);
             log.info("Las Heart Beat Request at {} : {}", this.imsLocationCode, filterParamValue);
 
-            RestTemplate restTemplate = getRestTemplate();
+            RestTemplate restTemplate = getRestTemplate(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
             HttpEntity<HttpHeaders> requestEntity = new HttpEntity<>(new HttpHeaders());
             UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(this.imsConfigProperties.getImsServerStatusEndpoint()).queryParam(ScsbConstants.GFA_SERVICE_PARAM, filterParamValue);
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setConnectTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setReadTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
             ResponseEntity<GFALasStatusCheckResponse> responseEntity = restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, GFALasStatusCheckResponse.class);
             if (responseEntity.getBody() != null) {
                 gfaLasStatusCheckResponse = responseEntity.getBody();
@@ -111,11 +122,9 @@ public class GFALasImsLocationConnector extends AbstractLASImsLocationConnector
             filterParamValue = objectMapper.writeValueAsString(gfaItemStatusCheckRequest);
             log.info("Las Item Status Request at {} : {}", this.imsLocationCode, filterParamValue);
 
-            RestTemplate restTemplate = getRestTemplate();
+            RestTemplate restTemplate = getRestTemplate(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
             HttpEntity<HttpHeaders> requestEntity = new HttpEntity<>(new HttpHeaders());
             UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(this.imsConfigProperties.getImsItemStatusEndpoint()).queryParam(ScsbConstants.GFA_SERVICE_PARAM, filterParamValue);
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setConnectTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setReadTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
             ResponseEntity<GFAItemStatusCheckResponse> responseEntity = restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, GFAItemStatusCheckResponse.class);
             if (responseEntity.getBody() != null) {
                 gfaItemStatusCheckResponse = responseEntity.getBody();
@@ -212,9 +221,7 @@ public class GFALasImsLocationConnector extends AbstractLASImsLocationConnector
         try {
             HttpEntity<GFAPwdRequest> requestEntity = new HttpEntity<>(gfaPwdRequest, getHttpHeaders());
             log.info("GFA PWD Request at {} : {}", this.imsLocationCode, gfaLasServiceUtil.convertJsonToString(requestEntity.getBody()));
-            RestTemplate restTemplate = getRestTemplate();
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setConnectTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setReadTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
+            RestTemplate restTemplate = getRestTemplate(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
             ResponseEntity<GFAPwdResponse> responseEntity = restTemplate.exchange(this.imsConfigProperties.getImsPermanentWithdrawalDirectEndpoint(), HttpMethod.POST, requestEntity, GFAPwdResponse.class);
             gfaPwdResponse = responseEntity.getBody();
             log.info("GFA PWD Response Status Code at {} : {}", this.imsLocationCode, responseEntity.getStatusCode());
@@ -238,9 +245,7 @@ public class GFALasImsLocationConnector extends AbstractLASImsLocationConnector
         try {
             HttpEntity<GFAPwiRequest> requestEntity = new HttpEntity<>(gfaPwiRequest, getHttpHeaders());
             log.info("GFA PWI Request at {} : {}", this.imsLocationCode, gfaLasServiceUtil.convertJsonToString(requestEntity.getBody()));
-            RestTemplate restTemplate = getRestTemplate();
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setConnectTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
-            ((SimpleClientHttpRequestFactory) restTemplate.getRequestFactory()).setReadTimeout(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
+            RestTemplate restTemplate = getRestTemplate(Integer.parseInt(this.imsConfigProperties.getImsServerResponseTimeoutMillis()));
             ResponseEntity<GFAPwiResponse> responseEntity = restTemplate.exchange(this.imsConfigProperties.getImsPermanentWithdrawalIndirectEndpoint(), HttpMethod.POST, requestEntity, GFAPwiResponse.class);
             gfaPwiResponse = responseEntity.getBody();
             log.info("GFA PWI Response Status Code at {} : {}", this.imsLocationCode, responseEntity.getStatusCode());
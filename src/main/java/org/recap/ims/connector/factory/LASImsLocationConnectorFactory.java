@@ -1,38 +1,83 @@
 package org.recap.ims.connector.factory;
 
+import lombok.extern.slf4j.Slf4j;
 import org.recap.ims.connector.AbstractLASImsLocationConnector;
 import org.recap.model.IMSConfigProperties;
 import org.recap.util.PropertyUtil;
+import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created by rajeshbabuk on 20/Jan/2021
+ * <p>
+ * Builds one connector instance per IMS location and caches it together with the IMS config it was built with, so
+ * that calls to different IMS locations can run concurrently without reconfiguring a shared connector.
  */
+@Slf4j
 @Component
 public class LASImsLocationConnectorFactory extends BaseLASImsLocationConnectorFactory {
 
     private final List<AbstractLASImsLocationConnector> imsLocationConnectors;
     private final PropertyUtil propertyUtil;
+    private final AutowireCapableBeanFactory beanFactory;
+    private final Map<String, ImsLocationConnector> locationConnectors = new ConcurrentHashMap<>();
 
     @Autowired
-    public LASImsLocationConnectorFactory(List<AbstractLASImsLocationConnector> imsLocationConnectors, PropertyUtil propertyUtil) {
+    public LASImsLocationConnectorFactory(List<AbstractLASImsLocationConnector> imsLocationConnectors, PropertyUtil propertyUtil, AutowireCapableBeanFactory beanFactory) {
         this.imsLocationConnectors = imsLocationConnectors;
         this.propertyUtil = propertyUtil;
+        this.beanFactory = beanFactory;
     }
 
     @Override
     public AbstractLASImsLocationConnector getLasImsLocationConnector(String imsLocationCode) {
         IMSConfigProperties imsConfigProperties = propertyUtil.getIMSConfigProperties(imsLocationCode);
-        AbstractLASImsLocationConnector connector = imsLocationConnectors
+        return locationConnectors.compute(imsLocationCode, (locationCode, locationConnector) -> {
+            if (locationConnector != null && Objects.equals(locationConnector.imsConfigProperties, imsConfigProperties)) {
+                return locationConnector;
+            }
+            return new ImsLocationConnector(imsConfigProperties, createConnector(locationCode, imsConfigProperties));
+        }).connector;
+    }
+
+    /**
+     * Drops the cached connectors so that they are rebuilt with the refreshed config on next use.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void refresh() {
+        log.info("Configuration changed, clearing {} cached IMS location connectors", locationConnectors.size());
+        locationConnectors.clear();
+    }
+
+    private AbstractLASImsLocationConnector createConnector(String imsLocationCode, IMSConfigProperties imsConfigProperties) {
+        AbstractLASImsLocationConnector imsLocationConnector = imsLocationConnectors
                 .stream()
                 .filter(service -> service.supports(imsLocationCode))
                 .findFirst()
                 .orElseThrow(IllegalArgumentException::new);
+        AbstractLASImsLocationConnector connector = (AbstractLASImsLocationConnector) beanFactory.createBean(AopProxyUtils.ultimateTargetClass(imsLocationConnector));
         connector.setImsLocationCode(imsLocationCode);
         connector.setImsConfigProperties(imsConfigProperties);
+        log.info("Created IMS connector for {}", imsLocationCode);
         return connector;
     }
+
+    private static class ImsLocationConnector {
+        private final IMSConfigProperties imsConfigProperties;
+        private final AbstractLASImsLocationConnector connector;
+
+        private ImsLocationConnector(IMSConfigProperties imsConfigProperties, AbstractLASImsLocationConnector connector) {
+            this.imsConfigProperties = imsConfigProperties;
+            this.connector = connector;
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package org.recap.ims.processor;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.commons.lang3.BooleanUtils;
@@ -8,27 +10,52 @@ import org.apache.commons.lang3.StringUtils;
 import org.recap.PropertyKeyConstants;
 import org.recap.ScsbCommonConstants;
 import org.recap.ScsbConstants;
-import org.recap.ims.callable.LasHeartBeatCheckPollingCallable;
 import org.recap.ims.connector.factory.LASImsLocationConnectorFactory;
+import org.recap.ims.model.GFALasStatus;
+import org.recap.ims.model.GFALasStatusCheckRequest;
 import org.recap.ims.model.GFALasStatusCheckResponse;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Scope;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.util.concurrent.ExecutionException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by rajeshbabuk on 25/Nov/2020
+ * <p>
+ * Keeps the LAS heartbeat state of each IMS location, checked from a shared scheduler. Messages on the SCSB LAS outgoing
+ * queue of a healthy location go straight through to the LAS outgoing queue. While a location is down its messages are
+ * parked on its SCSB LAS parked queue and its route is stopped. Once the heartbeat succeeds the parked messages are moved
+ * to the LAS outgoing queue in their order, and the route is started again. The route is stopped and started from its
+ * own thread, so a slow stop does not hold up the heartbeat checks.
  */
 @Service
-@Scope("prototype")
 @Slf4j
 public class LasHeartBeatCheckPollingProcessor {
 
+    @Value("${las.heartbeat.check.tick.interval.millis:1000}")
+    private long pollingTickInterval;
+
+    @Value("${las.heartbeat.check.healthy.interval.millis:30000}")
+    private long healthyCheckInterval;
+
+    @Value("${las.heartbeat.check.thread.count:2}")
+    private int pollingThreadCount;
+
+    @Value("${las.heartbeat.route.stop.timeout.seconds:10}")
+    private long routeStopTimeoutSeconds;
+
     @Autowired
     private LASImsLocationConnectorFactory lasImsLocationConnectorFactory;
 
@@ -38,38 +65,205 @@ public class LasHeartBeatCheckPollingProcessor {
     @Autowired
     PropertyUtil propertyUtil;
 
+    private final Map<String, LocationHeartBeat> locationHeartBeats = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService pollingScheduler;
+    private ExecutorService pollingExecutor;
+    private ExecutorService routeControlExecutor;
+
+    @PostConstruct
+    public void startPolling() {
+        Metrics.gauge(ScsbConstants.LAS_HEARTBEAT_LOCATIONS_DOWN, this, LasHeartBeatCheckPollingProcessor::getDownLocationCount);
+        pollingExecutor = Executors.newFixedThreadPool(pollingThreadCount);
+        routeControlExecutor = Executors.newSingleThreadExecutor();
+        pollingScheduler = Executors.newSingleThreadScheduledExecutor();
+        pollingScheduler.scheduleWithFixedDelay(this::pollLocations, pollingTickInterval, pollingTickInterval, TimeUnit.MILLISECONDS);
+    }
+
     public void pollLasHeartBeatResponse(Exchange exchange) {
         ItemRequestInformation itemRequestInformation = (ItemRequestInformation) exchange.getIn().getBody();
-        if (StringUtils.isNotBlank(itemRequestInformation.getImsLocationCode())) {
-            GFALasStatusCheckResponse gfaLasStatusCheckResponse = null;
-            ExecutorService executor = Executors.newSingleThreadExecutor();
-            Integer pollingTimeInterval = Integer.parseInt(propertyUtil.getPropertyByImsLocationAndKey(itemRequestInformation.getImsLocationCode(), PropertyKeyConstants.IMS.IMS_POLLING_TIME_INTERVAL));
-            try {
-                log.info("Polling Started on LAS Heart Beat Check for IMS Location : {}", itemRequestInformation.getImsLocationCode());
-                Future<GFALasStatusCheckResponse> future = executor.submit(new LasHeartBeatCheckPollingCallable(pollingTimeInterval, lasImsLocationConnectorFactory, itemRequestInformation.getImsLocationCode()));
-                gfaLasStatusCheckResponse = future.get();
-                log.info("Polling Ended on LAS Heart Beat Check for IMS Location : {}", itemRequestInformation.getImsLocationCode());
-                if (null != gfaLasStatusCheckResponse
-                        && null != gfaLasStatusCheckResponse.getDsitem()
-                        && null != gfaLasStatusCheckResponse.getDsitem().getTtitem()
-                        && !gfaLasStatusCheckResponse.getDsitem().getTtitem().isEmpty()
-                        && BooleanUtils.toBoolean(gfaLasStatusCheckResponse.getDsitem().getTtitem().get(0).getSuccess())) {
-                    log.info("Sending to Outgoing Queue at {}", itemRequestInformation.getImsLocationCode());
-                    producerTemplate.sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + itemRequestInformation.getImsLocationCode() + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        String imsLocationCode = itemRequestInformation.getImsLocationCode();
+        try {
+            if (StringUtils.isBlank(imsLocationCode) || (isLasAvailable(imsLocationCode) && !locationHeartBeats.get(imsLocationCode).parked.get())) {
+                log.info("Sending to Outgoing Queue at {}", imsLocationCode);
+                sendToLasOutgoingQueue(imsLocationCode, itemRequestInformation);
+            } else {
+                park(locationHeartBeats.get(imsLocationCode), itemRequestInformation);
+            }
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Checks the last known LAS heartbeat of the IMS location, the first call for a location checks it right away.
+     *
+     * @param imsLocationCode the ims location code
+     * @return true if LAS is available at the IMS location
+     */
+    public boolean isLasAvailable(String imsLocationCode) {
+        LocationHeartBeat locationHeartBeat = locationHeartBeats.computeIfAbsent(imsLocationCode, LocationHeartBeat::new);
+        if (!locationHeartBeat.checked) {
+            synchronized (locationHeartBeat) {
+                if (!locationHeartBeat.checked) {
+                    checkHeartBeat(locationHeartBeat);
+                }
+            }
+        }
+        return locationHeartBeat.up;
+    }
+
+    /**
+     * Hands the IMS locations due for a heartbeat check to the polling threads.
+     */
+    public void pollLocations() {
+        try {
+            long now = System.currentTimeMillis();
+            for (LocationHeartBeat locationHeartBeat : locationHeartBeats.values()) {
+                if (now >= locationHeartBeat.nextCheckTime && locationHeartBeat.checking.compareAndSet(false, true)) {
+                    pollingExecutor.execute(() -> pollLocation(locationHeartBeat));
                 }
-                executor.shutdown();
-            } catch (InterruptedException e) {
-                log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
-                Thread.currentThread().interrupt();
-                executor.shutdown();
-            } catch (ExecutionException e) {
-                log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
-            } catch (Exception e) {
-                log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
             }
-        } else {
-            log.info("");
-            producerTemplate.sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + itemRequestInformation.getImsLocationCode() + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    public int getDownLocationCount() {
+        return (int) locationHeartBeats.values().stream().filter(locationHeartBeat -> locationHeartBeat.checked && !locationHeartBeat.up).count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pollingScheduler != null) {
+            pollingScheduler.shutdownNow();
+        }
+        if (pollingExecutor != null) {
+            pollingExecutor.shutdownNow();
+        }
+        if (routeControlExecutor != null) {
+            routeControlExecutor.shutdownNow();
+        }
+    }
+
+    private void pollLocation(LocationHeartBeat locationHeartBeat) {
+        try {
+            synchronized (locationHeartBeat) {
+                checkHeartBeat(locationHeartBeat);
+            }
+            if (locationHeartBeat.up && locationHeartBeat.parked.get()) {
+                routeControlExecutor.execute(() -> resumeRoute(locationHeartBeat));
+            }
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        } finally {
+            locationHeartBeat.checking.set(false);
+        }
+    }
+
+    private void checkHeartBeat(LocationHeartBeat locationHeartBeat) {
+        boolean up = false;
+        try {
+            GFALasStatusCheckRequest gfaLasStatusCheckRequest = new GFALasStatusCheckRequest();
+            GFALasStatus lasStatus = new GFALasStatus();
+            lasStatus.setImsLocationCode(locationHeartBeat.imsLocationCode);
+            gfaLasStatusCheckRequest.setLasStatus(Collections.singletonList(lasStatus));
+            GFALasStatusCheckResponse gfaLasStatusCheckResponse = lasImsLocationConnectorFactory.getLasImsLocationConnector(locationHeartBeat.imsLocationCode).heartBeatCheck(gfaLasStatusCheckRequest);
+            up = null != gfaLasStatusCheckResponse
+                    && null != gfaLasStatusCheckResponse.getDsitem()
+                    && null != gfaLasStatusCheckResponse.getDsitem().getTtitem()
+                    && !gfaLasStatusCheckResponse.getDsitem().getTtitem().isEmpty()
+                    && BooleanUtils.toBoolean(gfaLasStatusCheckResponse.getDsitem().getTtitem().get(0).getSuccess());
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+        if (up != locationHeartBeat.up || !locationHeartBeat.checked) {
+            log.info("LAS Heart Beat at {} -> {}", locationHeartBeat.imsLocationCode, up ? "UP" : "DOWN");
+        }
+        locationHeartBeat.up = up;
+        locationHeartBeat.checked = true;
+        locationHeartBeat.nextCheckTime = System.currentTimeMillis() + (up ? healthyCheckInterval : getPollingTimeInterval(locationHeartBeat.imsLocationCode));
+    }
+
+    private void park(LocationHeartBeat locationHeartBeat, ItemRequestInformation itemRequestInformation) {
+        producerTemplate.sendBodyAndHeader(getParkedQueue(locationHeartBeat.imsLocationCode), itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        if (locationHeartBeat.parked.compareAndSet(false, true)) {
+            log.info("LAS not available at {}, stopping route", locationHeartBeat.imsLocationCode);
+            // The route cannot be stopped from its own exchange, the stop has to wait for this message to complete.
+            routeControlExecutor.execute(() -> stopRoute(locationHeartBeat));
+        }
+    }
+
+    private void stopRoute(LocationHeartBeat locationHeartBeat) {
+        try {
+            if (locationHeartBeat.parked.get()) {
+                producerTemplate.getCamelContext().getRouteController().stopRoute(locationHeartBeat.imsLocationCode + ScsbConstants.SCSB_OUTGOING_ROUTE_ID, routeStopTimeoutSeconds, TimeUnit.SECONDS);
+            }
+        } catch (Exception e) {
+            // The messages of the location keep being parked while the route is running.
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    private void resumeRoute(LocationHeartBeat locationHeartBeat) {
+        if (!locationHeartBeat.parked.get()) {
+            return;
+        }
+        log.info("LAS available at {}, starting route", locationHeartBeat.imsLocationCode);
+        try {
+            ConsumerTemplate consumerTemplate = producerTemplate.getCamelContext().createConsumerTemplate();
+            try {
+                moveParkedMessages(consumerTemplate, locationHeartBeat.imsLocationCode);
+                locationHeartBeat.parked.set(false);
+                // Messages parked by the route before it stopped.
+                moveParkedMessages(consumerTemplate, locationHeartBeat.imsLocationCode);
+            } finally {
+                consumerTemplate.stop();
+            }
+            producerTemplate.getCamelContext().getRouteController().startRoute(locationHeartBeat.imsLocationCode + ScsbConstants.SCSB_OUTGOING_ROUTE_ID);
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    private void moveParkedMessages(ConsumerTemplate consumerTemplate, String imsLocationCode) {
+        Exchange exchange;
+        while ((exchange = consumerTemplate.receiveNoWait(getParkedQueue(imsLocationCode))) != null) {
+            try {
+                sendToLasOutgoingQueue(imsLocationCode, exchange.getIn().getBody(ItemRequestInformation.class));
+            } finally {
+                consumerTemplate.doneUoW(exchange);
+            }
+        }
+    }
+
+    private void sendToLasOutgoingQueue(String imsLocationCode, ItemRequestInformation itemRequestInformation) {
+        producerTemplate.sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + imsLocationCode + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+    }
+
+    private String getParkedQueue(String imsLocationCode) {
+        return ScsbConstants.SCSB_LAS_OUTGOING_QUEUE_PREFIX + imsLocationCode + ScsbConstants.PARKED_QUEUE_SUFFIX;
+    }
+
+    private long getPollingTimeInterval(String imsLocationCode) {
+        try {
+            return Long.parseLong(propertyUtil.getPropertyByImsLocationAndKey(imsLocationCode, PropertyKeyConstants.IMS.IMS_POLLING_TIME_INTERVAL));
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            return healthyCheckInterval;
+        }
+    }
+
+    private static class LocationHeartBeat {
+        private final String imsLocationCode;
+        private final AtomicBoolean checking = new AtomicBoolean();
+        private final AtomicBoolean parked = new AtomicBoolean();
+        private volatile boolean checked;
+        private volatile boolean up;
+        private volatile long nextCheckTime;
+
+        private LocationHeartBeat(String imsLocationCode) {
+            this.imsLocationCode = imsLocationCode;
         }
     }
 }
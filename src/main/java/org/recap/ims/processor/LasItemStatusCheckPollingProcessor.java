@@ -1,55 +1,189 @@
 package org.recap.ims.processor;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
 import org.recap.PropertyKeyConstants;
 import org.recap.ScsbConstants;
 import org.recap.ScsbCommonConstants;
-import org.recap.ims.callable.LasItemStatusCheckPollingCallable;
 import org.recap.ims.connector.factory.LASImsLocationConnectorFactory;
+import org.recap.ims.model.GFAItemStatus;
+import org.recap.ims.model.GFAItemStatusCheckRequest;
 import org.recap.model.gfa.GFAItemStatusCheckResponse;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.util.concurrent.ExecutionException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+/**
+ * Collects the barcodes of the requests parked on the LAS status check queue while LAS was not reachable, and polls
+ * the item status of each IMS location with one batched request from a shared scheduler. Polling of a location backs
+ * off while LAS does not answer, and the LAS status check route is resumed as soon as LAS reports the items again.
+ */
 @Component
 @Slf4j
 public class LasItemStatusCheckPollingProcessor {
-    
+
+    @Value("${las.item.status.check.polling.tick.interval.millis:1000}")
+    private long pollingTickInterval;
+
+    @Value("${las.item.status.check.polling.thread.count:2}")
+    private int pollingThreadCount;
+
+    @Value("${las.item.status.check.polling.batch.size:50}")
+    private int pollingBatchSize;
+
+    @Value("${las.item.status.check.polling.max.backoff.multiplier:8}")
+    private int maxBackoffMultiplier;
+
     @Autowired
     private LASImsLocationConnectorFactory lasImsLocationConnectorFactory;
 
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
     @Autowired
     PropertyUtil propertyUtil;
 
-    public GFAItemStatusCheckResponse pollLasItemStatusJobResponse(String barcode, String imsLocationCode, CamelContext camelContext) {
-        GFAItemStatusCheckResponse gfaItemStatusCheckResponse = null;
-        ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Map<String, PendingLocation> pendingLocations = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService pollingScheduler;
+    private ExecutorService pollingExecutor;
+
+    @PostConstruct
+    public void startPolling() {
+        Metrics.gauge(ScsbConstants.LAS_ITEM_STATUS_CHECK_PENDING_BARCODES, this, LasItemStatusCheckPollingProcessor::getPendingBarcodeCount);
+        pollingExecutor = Executors.newFixedThreadPool(pollingThreadCount);
+        pollingScheduler = Executors.newSingleThreadScheduledExecutor();
+        pollingScheduler.scheduleWithFixedDelay(this::pollPendingLocations, pollingTickInterval, pollingTickInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds the barcode to the item status polling of its IMS location.
+     *
+     * @param barcode         the barcode
+     * @param imsLocationCode the ims location code
+     */
+    public void pollLasItemStatus(String barcode, String imsLocationCode) {
         Integer pollingTimeInterval = Integer.parseInt(propertyUtil.getPropertyByImsLocationAndKey(imsLocationCode, PropertyKeyConstants.IMS.IMS_POLLING_TIME_INTERVAL));
+        pendingLocations.compute(imsLocationCode, (location, pendingLocation) -> {
+            PendingLocation locationToPoll = pendingLocation != null ? pendingLocation : new PendingLocation(location, pollingTimeInterval);
+            locationToPoll.barcodes.add(barcode);
+            return locationToPoll;
+        });
+        log.info("LAS item status polling registered for barcode {} at {}", barcode, imsLocationCode);
+    }
+
+    /**
+     * Hands the IMS locations due for polling to the polling threads.
+     */
+    public void pollPendingLocations() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PendingLocation pendingLocation : pendingLocations.values()) {
+                if (now >= pendingLocation.nextPollTime && pendingLocation.polling.compareAndSet(false, true)) {
+                    pollingExecutor.execute(() -> pollLocation(pendingLocation));
+                }
+            }
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Checks whether any barcode is waiting for LAS.
+     *
+     * @return true if item status polling is in progress
+     */
+    public boolean isPolling() {
+        return !pendingLocations.isEmpty();
+    }
+
+    public int getPendingBarcodeCount() {
+        return pendingLocations.values().stream().mapToInt(pendingLocation -> pendingLocation.barcodes.size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pollingScheduler != null) {
+            pollingScheduler.shutdownNow();
+        }
+        if (pollingExecutor != null) {
+            pollingExecutor.shutdownNow();
+        }
+    }
+
+    private void pollLocation(PendingLocation pendingLocation) {
+        List<String> barcodes = pendingLocation.barcodes.stream().limit(pollingBatchSize).collect(Collectors.toList());
         try {
-            Future<GFAItemStatusCheckResponse> future = executor.submit(new LasItemStatusCheckPollingCallable(pollingTimeInterval, lasImsLocationConnectorFactory, barcode, imsLocationCode));
-            gfaItemStatusCheckResponse = future.get();
-            log.info("Process -1 -> {}" , gfaItemStatusCheckResponse);
+            GFAItemStatusCheckResponse gfaItemStatusCheckResponse = lasImsLocationConnectorFactory.getLasImsLocationConnector(pendingLocation.imsLocationCode).itemStatusCheck(getItemStatusCheckRequest(barcodes));
+            log.info("Item Status Check Polling at {} -> {}", pendingLocation.imsLocationCode, gfaItemStatusCheckResponse);
             if (gfaItemStatusCheckResponse != null
                     && gfaItemStatusCheckResponse.getDsitem() != null
                     && gfaItemStatusCheckResponse.getDsitem().getTtitem() != null && !gfaItemStatusCheckResponse.getDsitem().getTtitem().isEmpty()) {
-                log.info("Start Route");
-                camelContext.getRouteController().startRoute(ScsbConstants.REQUEST_ITEM_LAS_STATUS_CHECK_QUEUE_ROUTEID);
+                pendingLocations.computeIfPresent(pendingLocation.imsLocationCode, (location, locationToPoll) -> {
+                    locationToPoll.barcodes.removeAll(barcodes);
+                    locationToPoll.backoffMultiplier = 1;
+                    return locationToPoll.barcodes.isEmpty() ? null : locationToPoll;
+                });
+                log.info("LAS available at {}, starting route", pendingLocation.imsLocationCode);
+                producerTemplate.getCamelContext().getRouteController().startRoute(ScsbConstants.REQUEST_ITEM_LAS_STATUS_CHECK_QUEUE_ROUTEID);
+                pendingLocation.nextPollTime = System.currentTimeMillis() + pendingLocation.pollingTimeInterval;
+            } else {
+                backoff(pendingLocation);
             }
-            executor.shutdown();
-        } catch (InterruptedException e) {
-            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
-            Thread.currentThread().interrupt();
-            executor.shutdown();
-        }  catch(ExecutionException e) {
-            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
         } catch (Exception e) {
             log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            backoff(pendingLocation);
+        } finally {
+            pendingLocation.polling.set(false);
+        }
+    }
+
+    private void backoff(PendingLocation pendingLocation) {
+        pendingLocation.backoffMultiplier = Math.min(pendingLocation.backoffMultiplier * 2, maxBackoffMultiplier);
+        log.info("LAS item status check at {} not available, backing off {}x", pendingLocation.imsLocationCode, pendingLocation.backoffMultiplier);
+        pendingLocation.nextPollTime = System.currentTimeMillis() + (long) pendingLocation.pollingTimeInterval * pendingLocation.backoffMultiplier;
+    }
+
+    private GFAItemStatusCheckRequest getItemStatusCheckRequest(List<String> barcodes) {
+        List<GFAItemStatus> gfaItemStatuses = new ArrayList<>();
+        for (String barcode : barcodes) {
+            GFAItemStatus gfaItemStatus = new GFAItemStatus();
+            gfaItemStatus.setItemBarCode(barcode);
+            gfaItemStatuses.add(gfaItemStatus);
+        }
+        GFAItemStatusCheckRequest gfaItemStatusCheckRequest = new GFAItemStatusCheckRequest();
+        gfaItemStatusCheckRequest.setItemStatus(gfaItemStatuses);
+        return gfaItemStatusCheckRequest;
+    }
+
+    private static class PendingLocation {
+        private final String imsLocationCode;
+        private final int pollingTimeInterval;
+        private final Set<String> barcodes = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean polling = new AtomicBoolean();
+        private volatile int backoffMultiplier = 1;
+        private volatile long nextPollTime;
+
+        private PendingLocation(String imsLocationCode, int pollingTimeInterval) {
+            this.imsLocationCode = imsLocationCode;
+            this.pollingTimeInterval = pollingTimeInterval;
+            this.nextPollTime = System.currentTimeMillis() + pollingTimeInterval;
         }
-        return gfaItemStatusCheckResponse;
     }
 }
@@ -2,6 +2,7 @@ package org.recap.ims.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
@@ -18,6 +19,7 @@ import org.recap.ims.model.GFAItemStatusCheckRequest;
 import org.recap.ims.model.GFARetrieveEDDItemRequest;
 import org.recap.ims.model.GFARetrieveItemRequest;
 import org.recap.ims.model.GFARetrieveItemResponse;
+import org.recap.ims.model.RetrieveItem;
 import org.recap.ims.model.RetrieveItemEDDRequest;
 import org.recap.ims.model.RetrieveItemRequest;
 import org.recap.ims.model.TtitemEDDResponse;
@@ -42,16 +44,27 @@ import org.recap.util.CommonUtil;
 import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.BufferedReader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Created by sudhishk on 27/1/17.
@@ -93,13 +106,38 @@ public class GFALasService {
     @Autowired
     private CommonUtil commonUtil;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${las.item.status.check.batch.size:100}")
+    private int itemStatusCheckBatchSize;
+
+    @Value("${las.item.status.check.thread.count:8}")
+    private int itemStatusCheckThreadCount;
+
+    @Value("${las.item.status.check.chunk.timeout.millis:60000}")
+    private long itemStatusCheckTimeoutMillis;
+
+    @Value("${las.order.batch.size:1}")
+    private int lasOrderBatchSize;
+
+    @Value("${las.order.batch.window.millis:500}")
+    private long lasOrderBatchWindowMillis;
+
+    private ExecutorService itemStatusCheckExecutor;
+
+    @PostConstruct
+    public void startItemStatusCheckExecutor() {
+        itemStatusCheckExecutor = Executors.newFixedThreadPool(itemStatusCheckThreadCount);
+    }
+
     /**
      * Gets rest template.
      *
      * @return the rest template
      */
     public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+        return restTemplate;
     }
 
     /**
@@ -111,6 +149,19 @@ public class GFALasService {
         return new ObjectMapper();
     }
 
+    /**
+     * Gets the max number of orders sent to LAS in one request from the LAS outgoing queue, 1 turns batching off.
+     *
+     * @return the las order batch size
+     */
+    public int getLasOrderBatchSize() {
+        return lasOrderBatchSize;
+    }
+
+    public long getLasOrderBatchWindowMillis() {
+        return lasOrderBatchWindowMillis;
+    }
+
     /**
      * Is use queue las call boolean.
      *
@@ -185,16 +236,9 @@ public class GFALasService {
     private ItemInformationResponse callItemRetrievable(ItemRequestInformation itemRequestInfo, ItemInformationResponse itemResponseInformation) {
         itemRequestInfo.setRequestId(itemResponseInformation.getRequestId());
         GFARetrieveItemRequest gfaRetrieveItemRequest = new GFARetrieveItemRequest();
-        TtitemRequest ttitem001 = new TtitemRequest();
         try {
-            ttitem001.setCustomerCode(itemRequestInfo.getCustomerCode());
-            ttitem001.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
-            ttitem001.setDestination(itemRequestInfo.getTranslatedDeliveryLocation());
-            ttitem001.setRequestId(itemRequestInfo.getRequestId().toString());
-            ttitem001.setRequestor(itemRequestInfo.getPatronBarcode());
-
             List<TtitemRequest> ttitems = new ArrayList<>();
-            ttitems.add(ttitem001);
+            ttitems.add(buildTtitemRequest(itemRequestInfo));
             RetrieveItemRequest retrieveItem = new RetrieveItemRequest();
             retrieveItem.setTtitem(ttitems);
             gfaRetrieveItemRequest.setDsitem(retrieveItem);
@@ -233,20 +277,185 @@ public class GFALasService {
         return itemInformationResponse;
     }
 
-    private ItemInformationResponse callItemRetrieveApi(ItemRequestInformation itemRequestInfo) {
-        ItemInformationResponse itemResponseInformation = new ItemInformationResponse();
+    /**
+     * Sends the orders gathered from the LAS outgoing queue of an IMS location as one retrieval and one EDD request to
+     * LAS, and sends the result of each order to the LAS incoming queue.
+     *
+     * @param exchange the exchange with the list of item request information as body
+     */
+    public void gfaItemRequestBatchProcessor(Exchange exchange) {
+        List<ItemRequestInformation> itemRequestInfos = exchange.getIn().getBody(List.class);
+        List<ItemRequestInformation> retrievalRequestInfos = new ArrayList<>();
+        List<ItemRequestInformation> eddRequestInfos = new ArrayList<>();
+        for (ItemRequestInformation itemRequestInfo : itemRequestInfos) {
+            if (ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL.equalsIgnoreCase(itemRequestInfo.getRequestType())) {
+                retrievalRequestInfos.add(itemRequestInfo);
+            } else if (ScsbCommonConstants.REQUEST_TYPE_EDD.equalsIgnoreCase(itemRequestInfo.getRequestType())) {
+                eddRequestInfos.add(itemRequestInfo);
+            }
+        }
+        if (retrievalRequestInfos.size() == 1) {
+            callItemRetrieveApi(retrievalRequestInfos.get(0));
+        } else if (!retrievalRequestInfos.isEmpty()) {
+            callItemRetrieveApi(retrievalRequestInfos);
+        }
+        if (eddRequestInfos.size() == 1) {
+            callItemEDDRetrieveApi(eddRequestInfos.get(0));
+        } else if (!eddRequestInfos.isEmpty()) {
+            callItemEDDRetrieveApi(eddRequestInfos);
+        }
+    }
+
+    private void callItemRetrieveApi(List<ItemRequestInformation> itemRequestInfos) {
+        String imsLocationCode = itemRequestInfos.get(0).getImsLocationCode();
         GFARetrieveItemRequest gfaRetrieveItemRequest = new GFARetrieveItemRequest();
-        TtitemRequest ttitem001 = new TtitemRequest();
+        GFARetrieveItemResponse gfaRetrieveItemResponse;
         try {
-            ttitem001.setCustomerCode(itemRequestInfo.getCustomerCode());
-            ttitem001.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
-            ttitem001.setDestination(itemRequestInfo.getTranslatedDeliveryLocation());
+            List<TtitemRequest> ttitems = new ArrayList<>();
+            for (ItemRequestInformation itemRequestInfo : itemRequestInfos) {
+                ttitems.add(buildTtitemRequest(itemRequestInfo));
+            }
+            RetrieveItemRequest retrieveItem = new RetrieveItemRequest();
+            retrieveItem.setTtitem(ttitems);
+            gfaRetrieveItemRequest.setDsitem(retrieveItem);
+            Metrics.summary(ScsbConstants.LAS_ORDER_BATCH_SIZE, "imsLocation", imsLocationCode, "requestType", ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL).record(ttitems.size());
+            gfaRetrieveItemResponse = lasImsLocationConnectorFactory.getLasImsLocationConnector(imsLocationCode).itemRetrieval(gfaRetrieveItemRequest);
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            gfaRetrieveItemResponse = new GFARetrieveItemResponse();
+            gfaRetrieveItemResponse.setSuccess(false);
+            gfaRetrieveItemResponse.setScreenMessage(ScsbConstants.SCSB_REQUEST_EXCEPTION + e.getMessage());
+        }
+        if (!isUseQueueLasCall(imsLocationCode)) {
+            return;
+        }
+        Map<Integer, Ttitem> ttitemsByRequestId = new HashMap<>();
+        if (gfaRetrieveItemResponse.getDsitem() != null && gfaRetrieveItemResponse.getDsitem().getTtitem() != null) {
+            gfaRetrieveItemResponse.getDsitem().getTtitem().forEach(ttitem -> ttitemsByRequestId.put(ttitem.getRequestId(), ttitem));
+        }
+        for (ItemRequestInformation itemRequestInfo : itemRequestInfos) {
+            Ttitem ttitem = ttitemsByRequestId.get(itemRequestInfo.getRequestId());
+            GFARetrieveItemResponse itemRetrieveResponse = new GFARetrieveItemResponse();
+            if (ttitem != null) {
+                itemRetrieveResponse.setSuccess(StringUtils.isBlank(ttitem.getErrorCode()));
+                itemRetrieveResponse.setScreenMessage(ttitem.getErrorNote());
+            } else {
+                // LAS did not answer for the order, so the result of the whole request applies to it. The error code
+                // is set as the LAS incoming queue takes the result of the order from it.
+                ttitem = new Ttitem();
+                ttitem.setRequestId(itemRequestInfo.getRequestId());
+                ttitem.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
+                ttitem.setErrorCode(gfaRetrieveItemResponse.isSuccess() ? "" : ScsbCommonConstants.FAILURE);
+                ttitem.setErrorNote(gfaRetrieveItemResponse.getScreenMessage());
+                itemRetrieveResponse.setSuccess(gfaRetrieveItemResponse.isSuccess());
+                itemRetrieveResponse.setScreenMessage(gfaRetrieveItemResponse.getScreenMessage());
+            }
+            RetrieveItem retrieveItem = new RetrieveItem();
+            retrieveItem.setTtitem(Collections.singletonList(ttitem));
+            itemRetrieveResponse.setDsitem(retrieveItem);
+            sendToLasIncomingQueue(itemRequestInfo, itemRetrieveResponse);
+        }
+    }
 
-            ttitem001.setRequestId(itemRequestInfo.getRequestId().toString());
-            ttitem001.setRequestor(itemRequestInfo.getPatronBarcode());
+    private void callItemEDDRetrieveApi(List<ItemRequestInformation> itemRequestInfos) {
+        String imsLocationCode = itemRequestInfos.get(0).getImsLocationCode();
+        GFARetrieveEDDItemRequest gfaRetrieveEDDItemRequest = new GFARetrieveEDDItemRequest();
+        GFAEddItemResponse gfaEddItemResponse;
+        try {
+            List<TtitemEDDResponse> ttitems = new ArrayList<>();
+            for (ItemRequestInformation itemRequestInfo : itemRequestInfos) {
+                ttitems.add(buildTtitemEDDRequest(itemRequestInfo));
+            }
+            RetrieveItemEDDRequest retrieveItemEDDRequest = new RetrieveItemEDDRequest();
+            retrieveItemEDDRequest.setTtitem(ttitems);
+            gfaRetrieveEDDItemRequest.setDsitem(retrieveItemEDDRequest);
+            Metrics.summary(ScsbConstants.LAS_ORDER_BATCH_SIZE, "imsLocation", imsLocationCode, "requestType", ScsbCommonConstants.REQUEST_TYPE_EDD).record(ttitems.size());
+            gfaEddItemResponse = lasImsLocationConnectorFactory.getLasImsLocationConnector(imsLocationCode).itemEDDRetrieval(gfaRetrieveEDDItemRequest);
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            gfaEddItemResponse = new GFAEddItemResponse();
+            gfaEddItemResponse.setSuccess(false);
+            gfaEddItemResponse.setScreenMessage(ScsbConstants.SCSB_REQUEST_EXCEPTION + e.getMessage());
+        }
+        if (!isUseQueueLasCall(imsLocationCode)) {
+            return;
+        }
+        Map<Integer, TtitemEDDResponse> ttitemsByRequestId = new HashMap<>();
+        if (gfaEddItemResponse.getDsitem() != null && gfaEddItemResponse.getDsitem().getTtitem() != null) {
+            gfaEddItemResponse.getDsitem().getTtitem().forEach(ttitem -> ttitemsByRequestId.put(ttitem.getRequestId(), ttitem));
+        }
+        for (ItemRequestInformation itemRequestInfo : itemRequestInfos) {
+            TtitemEDDResponse ttitem = ttitemsByRequestId.get(itemRequestInfo.getRequestId());
+            GFAEddItemResponse itemEddResponse = new GFAEddItemResponse();
+            if (ttitem != null) {
+                itemEddResponse.setSuccess(StringUtils.isBlank(ttitem.getErrorCode()));
+                itemEddResponse.setScreenMessage(ttitem.getErrorNote());
+            } else {
+                ttitem = new TtitemEDDResponse();
+                ttitem.setRequestId(itemRequestInfo.getRequestId());
+                ttitem.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
+                ttitem.setErrorCode(gfaEddItemResponse.isSuccess() ? "" : ScsbCommonConstants.FAILURE);
+                ttitem.setErrorNote(gfaEddItemResponse.getScreenMessage());
+                itemEddResponse.setSuccess(gfaEddItemResponse.isSuccess());
+                itemEddResponse.setScreenMessage(gfaEddItemResponse.getScreenMessage());
+            }
+            RetrieveItemEDDRequest retrieveItemEDDRequest = new RetrieveItemEDDRequest();
+            retrieveItemEDDRequest.setTtitem(Collections.singletonList(ttitem));
+            itemEddResponse.setDsitem(retrieveItemEDDRequest);
+            sendToLasIncomingQueue(itemRequestInfo, itemEddResponse);
+        }
+    }
 
+    private void sendToLasIncomingQueue(ItemRequestInformation itemRequestInfo, Object lasResponse) {
+        try {
+            String json = getObjectMapper().writeValueAsString(lasResponse);
+            producerTemplate.sendBodyAndHeader(ScsbConstants.LAS_INCOMING_QUEUE, json, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInfo.getRequestType());
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    private TtitemRequest buildTtitemRequest(ItemRequestInformation itemRequestInfo) {
+        TtitemRequest ttitem001 = new TtitemRequest();
+        ttitem001.setCustomerCode(itemRequestInfo.getCustomerCode());
+        ttitem001.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
+        ttitem001.setDestination(itemRequestInfo.getTranslatedDeliveryLocation());
+        ttitem001.setRequestId(itemRequestInfo.getRequestId().toString());
+        ttitem001.setRequestor(itemRequestInfo.getPatronBarcode());
+        return ttitem001;
+    }
+
+    private TtitemEDDResponse buildTtitemEDDRequest(ItemRequestInformation itemRequestInfo) {
+        TtitemEDDResponse ttitem001 = new TtitemEDDResponse();
+        ttitem001.setCustomerCode(itemRequestInfo.getCustomerCode());
+        ttitem001.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
+        ttitem001.setRequestId(itemRequestInfo.getRequestId());
+        ttitem001.setRequestor(itemRequestInfo.getPatronBarcode());
+        ttitem001.setRequestorEmail(itemRequestInfo.getEmailAddress());
+
+        ttitem001.setStartPage(itemRequestInfo.getStartPage());
+        ttitem001.setEndPage(itemRequestInfo.getEndPage());
+
+        ttitem001.setArticleTitle(itemRequestInfo.getChapterTitle());
+        ttitem001.setArticleAuthor(itemRequestInfo.getAuthor());
+        ttitem001.setArticleVolume(itemRequestInfo.getVolume() + ", " + itemRequestInfo.getIssue());
+        ttitem001.setArticleIssue(itemRequestInfo.getIssue());
+
+        ttitem001.setNotes(itemRequestInfo.getEddNotes());
+
+        ttitem001.setBiblioTitle(itemRequestInfo.getTitleIdentifier());
+        ttitem001.setBiblioAuthor(itemRequestInfo.getItemAuthor());
+        ttitem001.setBiblioVolume(itemRequestInfo.getItemVolume());
+        ttitem001.setBiblioLocation(itemRequestInfo.getCallNumber());
+        return ttitem001;
+    }
+
+    private ItemInformationResponse callItemRetrieveApi(ItemRequestInformation itemRequestInfo) {
+        ItemInformationResponse itemResponseInformation = new ItemInformationResponse();
+        GFARetrieveItemRequest gfaRetrieveItemRequest = new GFARetrieveItemRequest();
+        try {
             List<TtitemRequest> ttitems = new ArrayList<>();
-            ttitems.add(ttitem001);
+            ttitems.add(buildTtitemRequest(itemRequestInfo));
             RetrieveItemRequest retrieveItem = new RetrieveItemRequest();
             retrieveItem.setTtitem(ttitems);
             gfaRetrieveItemRequest.setDsitem(retrieveItem);
@@ -283,31 +492,9 @@ public class GFALasService {
     public ItemInformationResponse callItemEDDRetrievable(ItemRequestInformation itemRequestInfo, ItemInformationResponse itemResponseInformation) {
         GFARetrieveEDDItemRequest gfaRetrieveEDDItemRequest = new GFARetrieveEDDItemRequest();
         GFAEddItemResponse gfaEddItemResponse;
-        TtitemEDDResponse ttitem001 = new TtitemEDDResponse();
         try {
-            ttitem001.setCustomerCode(itemRequestInfo.getCustomerCode());
-            ttitem001.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
-            ttitem001.setRequestId(itemRequestInfo.getRequestId());
-            ttitem001.setRequestor(itemRequestInfo.getPatronBarcode());
-            ttitem001.setRequestorEmail(itemRequestInfo.getEmailAddress());
-
-            ttitem001.setStartPage(itemRequestInfo.getStartPage());
-            ttitem001.setEndPage(itemRequestInfo.getEndPage());
-
-            ttitem001.setArticleTitle(itemRequestInfo.getChapterTitle());
-            ttitem001.setArticleAuthor(itemRequestInfo.getAuthor());
-            ttitem001.setArticleVolume(itemRequestInfo.getVolume() + ", " + itemRequestInfo.getIssue());
-            ttitem001.setArticleIssue(itemRequestInfo.getIssue());
-
-            ttitem001.setNotes(itemRequestInfo.getEddNotes());
-
-            ttitem001.setBiblioTitle(itemRequestInfo.getTitleIdentifier());
-            ttitem001.setBiblioAuthor(itemRequestInfo.getItemAuthor());
-            ttitem001.setBiblioVolume(itemRequestInfo.getItemVolume());
-            ttitem001.setBiblioLocation(itemRequestInfo.getCallNumber());
-
             List<TtitemEDDResponse> ttitems = new ArrayList<>();
-            ttitems.add(ttitem001);
+            ttitems.add(buildTtitemEDDRequest(itemRequestInfo));
             RetrieveItemEDDRequest retrieveItemEDDRequest = new RetrieveItemEDDRequest();
             retrieveItemEDDRequest.setTtitem(ttitems);
             gfaRetrieveEDDItemRequest.setDsitem(retrieveItemEDDRequest);
@@ -337,31 +524,9 @@ public class GFALasService {
         ItemInformationResponse itemResponseInformation = new ItemInformationResponse();
         GFARetrieveEDDItemRequest gfaRetrieveEDDItemRequest = new GFARetrieveEDDItemRequest();
         GFAEddItemResponse gfaEddItemResponse;
-        TtitemEDDResponse ttitem001 = new TtitemEDDResponse();
         try {
-            ttitem001.setCustomerCode(itemRequestInfo.getCustomerCode());
-            ttitem001.setItemBarcode(itemRequestInfo.getItemBarcodes().get(0));
-            ttitem001.setRequestId(itemRequestInfo.getRequestId());
-            ttitem001.setRequestor(itemRequestInfo.getPatronBarcode());
-            ttitem001.setRequestorEmail(itemRequestInfo.getEmailAddress());
-
-            ttitem001.setStartPage(itemRequestInfo.getStartPage());
-            ttitem001.setEndPage(itemRequestInfo.getEndPage());
-
-            ttitem001.setArticleTitle(itemRequestInfo.getChapterTitle());
-            ttitem001.setArticleAuthor(itemRequestInfo.getAuthor());
-            ttitem001.setArticleVolume(itemRequestInfo.getVolume() + ", " + itemRequestInfo.getIssue());
-            ttitem001.setArticleIssue(itemRequestInfo.getIssue());
-
-            ttitem001.setNotes(itemRequestInfo.getEddNotes());
-
-            ttitem001.setBiblioTitle(itemRequestInfo.getTitleIdentifier());
-            ttitem001.setBiblioAuthor(itemRequestInfo.getItemAuthor());
-            ttitem001.setBiblioVolume(itemRequestInfo.getItemVolume());
-            ttitem001.setBiblioLocation(itemRequestInfo.getCallNumber());
-
             List<TtitemEDDResponse> ttitems = new ArrayList<>();
-            ttitems.add(ttitem001);
+            ttitems.add(buildTtitemEDDRequest(itemRequestInfo));
             RetrieveItemEDDRequest retrieveItemEDDRequest = new RetrieveItemEDDRequest();
             retrieveItemEDDRequest.setTtitem(ttitems);
             gfaRetrieveEDDItemRequest.setDsitem(retrieveItemEDDRequest);
@@ -478,16 +643,13 @@ public class GFALasService {
             requestInformation.setItemResponseInformation(itemResponseInformation);
             json = objectMapper.writeValueAsString(requestInformation);
             log.info(json);
-            log.info("Rest Service Status -> {}", ScsbConstants.LAS_ITEM_STATUS_REST_SERVICE_STATUS);
-            if (ScsbConstants.LAS_ITEM_STATUS_REST_SERVICE_STATUS == 0) {
+            log.info("LAS Item Status Polling In Progress -> {}", lasItemStatusCheckPollingProcessor.isPolling());
+            if (!lasItemStatusCheckPollingProcessor.isPolling()) {
                 producerTemplate.getCamelContext().getRouteController().stopRoute(ScsbConstants.REQUEST_ITEM_LAS_STATUS_CHECK_QUEUE_ROUTEID);
             }
             producerTemplate.sendBodyAndHeader(ScsbConstants.REQUEST_ITEM_LAS_STATUS_CHECK_QUEUE, json, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInfo.getRequestType());
             itemRequestServiceUtil.updateSolrIndex(requestItemEntity.getItemEntity());
-            if (ScsbConstants.LAS_ITEM_STATUS_REST_SERVICE_STATUS == 0) {
-                // Start Polling program - Once
-                startPolling(itemRequestInfo.getItemBarcodes().get(0), itemRequestInfo.getImsLocationCode());
-            }
+            startPolling(itemRequestInfo.getItemBarcodes().get(0), itemRequestInfo.getImsLocationCode());
         } catch (JsonProcessingException e) {
             log.error("JsonProcessingException ", e);
         } catch (Exception e) {
@@ -497,9 +659,8 @@ public class GFALasService {
 
     public void startPolling(String barcode, String imsLocationCode) {
         try {
-            log.info("Start Polling Process Once");
-            ScsbConstants.LAS_ITEM_STATUS_REST_SERVICE_STATUS = 1;
-            lasItemStatusCheckPollingProcessor.pollLasItemStatusJobResponse(barcode, imsLocationCode, producerTemplate.getCamelContext());
+            log.info("Start Polling Process");
+            lasItemStatusCheckPollingProcessor.pollLasItemStatus(barcode, imsLocationCode);
         } catch (Exception e) {
             log.error("Exception ", e);
         }
@@ -620,37 +781,75 @@ public class GFALasService {
     public List<ScsbLasItemStatusCheckModel> getGFAItemStatusCheckResponseByBarcodesAndImsLocationList(List<ScsbLasItemStatusCheckModel> itemsStatusCheckModel) {
         List<ScsbLasItemStatusCheckModel> itemsStatusCheckModelResponse = new ArrayList<>();
         if (itemsStatusCheckModel != null) {
-            Map<String, List<GFAItemStatus>> itemStatusCheckRequestMap = new HashMap<>();
+            Map<String, List<GFAItemStatus>> itemStatusCheckRequestMap = new LinkedHashMap<>();
             for (ScsbLasItemStatusCheckModel itemsStatusCheckModelObj : itemsStatusCheckModel) {
-                String imsLocation = itemsStatusCheckModelObj.getImsLocation();
                 GFAItemStatus gfaItemStatusRequest = new GFAItemStatus();
                 gfaItemStatusRequest.setItemBarCode(itemsStatusCheckModelObj.getItemBarcode());
-                if (itemStatusCheckRequestMap.containsKey(imsLocation)) {
-                    itemStatusCheckRequestMap.get(imsLocation).add(gfaItemStatusRequest);
-                } else {
-                    List<GFAItemStatus> gfaItemStatusList = new ArrayList<>();
-                    gfaItemStatusList.add(gfaItemStatusRequest);
-                    itemStatusCheckRequestMap.put(imsLocation, gfaItemStatusList);
-                }
+                itemStatusCheckRequestMap.computeIfAbsent(itemsStatusCheckModelObj.getImsLocation(), imsLocation -> new ArrayList<>()).add(gfaItemStatusRequest);
             }
+            Map<String, List<Future<GFAItemStatusCheckResponse>>> itemStatusCheckResponseFutures = new LinkedHashMap<>();
+            int batchSize = Math.max(itemStatusCheckBatchSize, 1);
             for (Map.Entry<String, List<GFAItemStatus>> mapEntry : itemStatusCheckRequestMap.entrySet()) {
                 String imsLocation = mapEntry.getKey();
-                GFAItemStatusCheckRequest gfaItemStatusCheckRequest = new GFAItemStatusCheckRequest();
-                gfaItemStatusCheckRequest.setItemStatus(mapEntry.getValue());
-                GFAItemStatusCheckResponse gfaItemStatusCheckResponse = lasImsLocationConnectorFactory.getLasImsLocationConnector(imsLocation).itemStatusCheck(gfaItemStatusCheckRequest);
-                if (gfaItemStatusCheckResponse != null && gfaItemStatusCheckResponse.getDsitem() != null && gfaItemStatusCheckResponse.getDsitem().getTtitem() != null) {
-                    List<Ttitem> ttitemList = gfaItemStatusCheckResponse.getDsitem().getTtitem();
-                    for (Ttitem ttitem : ttitemList) {
-                        ScsbLasItemStatusCheckModel itemStatusCheckModelResponseItem = new ScsbLasItemStatusCheckModel();
-                        itemStatusCheckModelResponseItem.setItemBarcode(ttitem.getItemBarcode());
-                        itemStatusCheckModelResponseItem.setImsLocation(imsLocation);
-                        itemStatusCheckModelResponseItem.setItemStatus(ttitem.getItemStatus());
-                        itemsStatusCheckModelResponse.add(itemStatusCheckModelResponseItem);
+                List<GFAItemStatus> gfaItemStatuses = mapEntry.getValue();
+                for (int fromIndex = 0; fromIndex < gfaItemStatuses.size(); fromIndex += batchSize) {
+                    GFAItemStatusCheckRequest gfaItemStatusCheckRequest = new GFAItemStatusCheckRequest();
+                    gfaItemStatusCheckRequest.setItemStatus(gfaItemStatuses.subList(fromIndex, Math.min(fromIndex + batchSize, gfaItemStatuses.size())));
+                    itemStatusCheckResponseFutures.computeIfAbsent(imsLocation, location -> new ArrayList<>())
+                            .add(itemStatusCheckExecutor.submit(() -> lasImsLocationConnectorFactory.getLasImsLocationConnector(imsLocation).itemStatusCheck(gfaItemStatusCheckRequest)));
+                }
+            }
+            Map<String, List<ScsbLasItemStatusCheckModel>> itemStatusesByLocationAndBarcode = new HashMap<>();
+            List<ScsbLasItemStatusCheckModel> unrequestedItemStatuses = new ArrayList<>();
+            // All the chunks share one deadline, so the check takes at most the timeout however many chunks there are.
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(itemStatusCheckTimeoutMillis);
+            for (Map.Entry<String, List<Future<GFAItemStatusCheckResponse>>> futureEntry : itemStatusCheckResponseFutures.entrySet()) {
+                String imsLocation = futureEntry.getKey();
+                for (Future<GFAItemStatusCheckResponse> itemStatusCheckResponseFuture : futureEntry.getValue()) {
+                    GFAItemStatusCheckResponse gfaItemStatusCheckResponse = getItemStatusCheckResponse(imsLocation, itemStatusCheckResponseFuture, deadline);
+                    if (gfaItemStatusCheckResponse != null && gfaItemStatusCheckResponse.getDsitem() != null && gfaItemStatusCheckResponse.getDsitem().getTtitem() != null) {
+                        for (Ttitem ttitem : gfaItemStatusCheckResponse.getDsitem().getTtitem()) {
+                            ScsbLasItemStatusCheckModel itemStatusCheckModelResponseItem = new ScsbLasItemStatusCheckModel();
+                            itemStatusCheckModelResponseItem.setItemBarcode(ttitem.getItemBarcode());
+                            itemStatusCheckModelResponseItem.setImsLocation(imsLocation);
+                            itemStatusCheckModelResponseItem.setItemStatus(ttitem.getItemStatus());
+                            itemStatusesByLocationAndBarcode.computeIfAbsent(imsLocation + "-" + ttitem.getItemBarcode(), key -> new ArrayList<>()).add(itemStatusCheckModelResponseItem);
+                        }
                     }
                 }
             }
+            for (ScsbLasItemStatusCheckModel itemsStatusCheckModelObj : itemsStatusCheckModel) {
+                List<ScsbLasItemStatusCheckModel> itemStatuses = itemStatusesByLocationAndBarcode.get(itemsStatusCheckModelObj.getImsLocation() + "-" + itemsStatusCheckModelObj.getItemBarcode());
+                if (itemStatuses != null && !itemStatuses.isEmpty()) {
+                    itemsStatusCheckModelResponse.add(itemStatuses.remove(0));
+                }
+            }
+            itemStatusesByLocationAndBarcode.values().forEach(unrequestedItemStatuses::addAll);
+            itemsStatusCheckModelResponse.addAll(unrequestedItemStatuses);
         }
         return itemsStatusCheckModelResponse;
     }
 
+    private GFAItemStatusCheckResponse getItemStatusCheckResponse(String imsLocation, Future<GFAItemStatusCheckResponse> itemStatusCheckResponseFuture, long deadline) {
+        try {
+            return itemStatusCheckResponseFuture.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.error("LAS item status check at {} timed out", imsLocation);
+            itemStatusCheckResponseFuture.cancel(true);
+        } catch (ExecutionException e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (itemStatusCheckExecutor != null) {
+            itemStatusCheckExecutor.shutdownNow();
+        }
+    }
+
 }
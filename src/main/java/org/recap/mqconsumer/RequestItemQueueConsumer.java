@@ -166,7 +166,7 @@ public class RequestItemQueueConsumer {
         ObjectMapper om = getObjectMapper();
         ItemRequestInformation itemRequestInformation = om.readValue(body, ItemRequestInformation.class);
         getLogger().info("Item Barcode Received for Processing Request -> {}", itemRequestInformation.getItemBarcodes().get(0));
-        getItemRequestService().requestItem(itemRequestInformation, exchange);
+        exchange.setProperty(ScsbConstants.REQUEST_ITEM_RESPONSE, getItemRequestService().requestItem(itemRequestInformation, exchange));
     }
 
     /**
@@ -180,7 +180,7 @@ public class RequestItemQueueConsumer {
         ObjectMapper om = getObjectMapper();
         ItemRequestInformation itemRequestInformation = om.readValue(body, ItemRequestInformation.class);
         getLogger().info("Item Barcode Received for Processing EDD -> {}", itemRequestInformation.getItemBarcodes().get(0));
-        getItemEDDRequestService().eddRequestItem(itemRequestInformation, exchange);
+        exchange.setProperty(ScsbConstants.REQUEST_ITEM_RESPONSE, getItemEDDRequestService().eddRequestItem(itemRequestInformation, exchange));
     }
 
     /**
@@ -249,7 +249,7 @@ public class RequestItemQueueConsumer {
         ObjectMapper om = getObjectMapper();
         ItemRequestInformation itemRequestInformation = om.readValue(body, ItemRequestInformation.class);
         getLogger().info("Item Barcode Received for Processing Recall -> {}", itemRequestInformation.getItemBarcodes().get(0));
-        getItemRequestService().recallItem(itemRequestInformation, exchange);
+        exchange.setProperty(ScsbConstants.REQUEST_ITEM_RESPONSE, getItemRequestService().recallItem(itemRequestInformation, exchange));
     }
 
     /**
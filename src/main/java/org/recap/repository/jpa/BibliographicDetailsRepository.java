@@ -35,6 +35,17 @@ public interface BibliographicDetailsRepository extends BaseRepository<Bibliogra
             "BIBLIOGRAPHIC_T.OWNING_INST_BIB_ID = :owningInstitutionBibId AND BIBLIOGRAPHIC_T.OWNING_INST_ID = :owningInstitutionId", nativeQuery = true)
     Long getNonDeletedItemsCount(@Param("owningInstitutionId") Integer owningInstitutionId, @Param("owningInstitutionBibId") String owningInstitutionBibId);
 
+    /**
+     * Finds the bibs among the given ids which have no non deleted items left.
+     *
+     * @param bibliographicIds the bibliographic ids
+     * @return the bibliographic ids without non deleted items
+     */
+    @Query(value = "SELECT BIBLIOGRAPHIC_T.BIBLIOGRAPHIC_ID FROM BIBLIOGRAPHIC_T WHERE BIBLIOGRAPHIC_T.BIBLIOGRAPHIC_ID IN (:bibliographicIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM ITEM_T, BIBLIOGRAPHIC_ITEM_T WHERE BIBLIOGRAPHIC_ITEM_T.BIBLIOGRAPHIC_ID = BIBLIOGRAPHIC_T.BIBLIOGRAPHIC_ID " +
+            "AND ITEM_T.ITEM_ID = BIBLIOGRAPHIC_ITEM_T.ITEM_ID AND ITEM_T.IS_DELETED = 0)", nativeQuery = true)
+    List<Integer> findBibIdsWithoutNonDeletedItems(@Param("bibliographicIds") List<Integer> bibliographicIds);
+
     /**
      * Mark bibs as deleted int.
      *
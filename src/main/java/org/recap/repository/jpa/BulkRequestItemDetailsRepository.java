@@ -1,9 +1,46 @@
 package org.recap.repository.jpa;
 
 import org.recap.model.jpa.BulkRequestItemEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Created by rajeshbabuk on 10/10/17.
  */
 public interface BulkRequestItemDetailsRepository extends BaseRepository<BulkRequestItemEntity> {
+
+    /**
+     * Sets the number of items queued for the bulk request and resets the processed and failed item counts. The progress
+     * counter columns are not mapped by BulkRequestItemEntity, so these queries are native and only run once the columns
+     * are added (see BulkRequestProgressService).
+     *
+     * @param bulkRequestId     the bulk request id
+     * @param expectedItemCount the expected item count
+     * @return the int
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE bulk_request_item_t SET EXPECTED_ITEM_COUNT = :expectedItemCount, PROCESSED_ITEM_COUNT = 0, FAILED_ITEM_COUNT = 0 WHERE BULK_REQUEST_ID = :bulkRequestId", nativeQuery = true)
+    int startItemProgress(@Param("bulkRequestId") Integer bulkRequestId, @Param("expectedItemCount") Integer expectedItemCount);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE bulk_request_item_t SET PROCESSED_ITEM_COUNT = PROCESSED_ITEM_COUNT + 1 WHERE BULK_REQUEST_ID = :bulkRequestId", nativeQuery = true)
+    int incrementProcessedItemCount(@Param("bulkRequestId") Integer bulkRequestId);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE bulk_request_item_t SET FAILED_ITEM_COUNT = FAILED_ITEM_COUNT + 1 WHERE BULK_REQUEST_ID = :bulkRequestId", nativeQuery = true)
+    int incrementFailedItemCount(@Param("bulkRequestId") Integer bulkRequestId);
+
+    /**
+     * Counts the bulk request if the processed and failed items add up to exactly the expected item count.
+     *
+     * @param bulkRequestId the bulk request id
+     * @return 1 if all the items are completed else 0
+     */
+    @Query(value = "SELECT COUNT(*) FROM bulk_request_item_t WHERE BULK_REQUEST_ID = :bulkRequestId AND PROCESSED_ITEM_COUNT + FAILED_ITEM_COUNT = EXPECTED_ITEM_COUNT", nativeQuery = true)
+    long countCompletedBulkRequest(@Param("bulkRequestId") Integer bulkRequestId);
 }
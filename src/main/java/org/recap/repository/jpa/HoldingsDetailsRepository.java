@@ -36,6 +36,17 @@ public interface HoldingsDetailsRepository extends BaseRepository<HoldingsEntity
             "HOLDINGS_T.OWNING_INST_HOLDINGS_ID = :owningInstitutionHoldingsId AND HOLDINGS_T.OWNING_INST_ID = :owningInstitutionId", nativeQuery = true)
     Long getNonDeletedItemsCount(@Param("owningInstitutionId") Integer owningInstitutionId, @Param("owningInstitutionHoldingsId") String owningInstitutionHoldingsId);
 
+    /**
+     * Finds the holdings among the given ids which have no non deleted items left.
+     *
+     * @param holdingIds the holding ids
+     * @return the holding ids without non deleted items
+     */
+    @Query(value = "SELECT HOLDINGS_T.HOLDINGS_ID FROM HOLDINGS_T WHERE HOLDINGS_T.HOLDINGS_ID IN (:holdingIds) AND NOT EXISTS " +
+            "(SELECT 1 FROM ITEM_T, ITEM_HOLDINGS_T WHERE ITEM_HOLDINGS_T.HOLDINGS_ID = HOLDINGS_T.HOLDINGS_ID " +
+            "AND ITEM_T.ITEM_ID = ITEM_HOLDINGS_T.ITEM_ID AND ITEM_T.IS_DELETED = 0)", nativeQuery = true)
+    List<Integer> findHoldingIdsWithoutNonDeletedItems(@Param("holdingIds") List<Integer> holdingIds);
+
     /**
      * Mark holdings as deleted int.
      *
@@ -112,6 +112,19 @@ public interface ItemDetailsRepository extends BaseRepository<ItemEntity> {
     @Query("UPDATE ItemEntity item SET item.isDeleted = true, item.lastUpdatedBy = :lastUpdatedBy, item.lastUpdatedDate = :lastUpdatedDate WHERE item.id = :itemId")
     int markItemAsDeleted(@Param("itemId") Integer itemId, @Param("lastUpdatedBy") String lastUpdatedBy, @Param("lastUpdatedDate") Date lastUpdatedDate);
 
+    /**
+     * Mark items as deleted int.
+     *
+     * @param itemIds         the item ids
+     * @param lastUpdatedBy   the last updated by
+     * @param lastUpdatedDate the last updated date
+     * @return the int
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ItemEntity item SET item.isDeleted = true, item.lastUpdatedBy = :lastUpdatedBy, item.lastUpdatedDate = :lastUpdatedDate WHERE item.id IN :itemIds")
+    int markItemsAsDeleted(@Param("itemIds") List<Integer> itemIds, @Param("lastUpdatedBy") String lastUpdatedBy, @Param("lastUpdatedDate") Date lastUpdatedDate);
+
     /**
      * Mark item as not deleted int.
      *
@@ -194,6 +207,16 @@ public interface ItemDetailsRepository extends BaseRepository<ItemEntity> {
      */
     List<ItemEntity> findByBarcodeAndItemStatusEntity_StatusCode(@Param("barcode") String barcode,@Param("statusCode") String statusCode);
 
+    /**
+     * Gets the barcode, item id and owning institution id of the items with the given barcodes and status code.
+     *
+     * @param barcodes   the barcodes
+     * @param statusCode the status code
+     * @return the list of barcode, item id and owning institution id
+     */
+    @Query(value = "select item.barcode, item.id, item.owningInstitutionId from ItemEntity item inner join item.itemStatusEntity status where item.barcode in (:barcodes) and status.statusCode = :statusCode")
+    List<Object[]> findItemInfoByBarcodesAndStatusCode(@Param("barcodes") List<String> barcodes, @Param("statusCode") String statusCode);
+
 
     /**
      * Gets list of itementity based on list of owning institution item id and owning institution id.
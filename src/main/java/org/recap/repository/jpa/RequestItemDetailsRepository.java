@@ -78,6 +78,9 @@ public interface RequestItemDetailsRepository extends BaseRepository<RequestItem
     @Query(value = "select request from RequestItemEntity request inner join request.requestStatusEntity status where request.itemId= :itemId and status.requestStatusCode in (:requestStatusCodes)")
     List<RequestItemEntity> findByitemId(@Param("itemId") Integer itemId, @Param("requestStatusCodes") List<String> requestStatusCodes);
 
+    @Query(value = "select distinct request.itemId from RequestItemEntity request inner join request.requestStatusEntity status where request.itemId in (:itemIds) and status.requestStatusCode in (:requestStatusCodes)")
+    List<Integer> findItemIdsByRequestStatusCodes(@Param("itemIds") List<Integer> itemIds, @Param("requestStatusCodes") List<String> requestStatusCodes);
+
     /**
      * Gets requests based on the given request id range.
      * @param requestIdFrom
@@ -116,4 +119,16 @@ public interface RequestItemDetailsRepository extends BaseRepository<RequestItem
 
     @Query(value =  "SELECT request FROM RequestItemEntity as request inner join request.requestStatusEntity as rse WHERE rse.requestStatusCode in :pendingLASStatusList AND request.id not in (select requestId from PendingRequestEntity)")
     List<RequestItemEntity> findPendingAndLASReqNotNotified(@Param("pendingLASStatusList")List<String> pendingLASStatusList);
+
+    /**
+     * Finds a page of the bulk request report rows: item barcode, customer code, request id, request status code,
+     * request status description and request notes of each request placed for the bulk request.
+     *
+     * @param bulkRequestId the bulk request id
+     * @param pageable      the pageable
+     * @return the report rows
+     */
+    @Query(value = "SELECT item.barcode, item.customerCode, request.id, rse.requestStatusCode, rse.requestStatusDescription, request.notes FROM RequestItemEntity request " +
+            "inner join request.itemEntity item inner join request.requestStatusEntity rse WHERE request.bulkRequestItemEntity.id = :bulkRequestId ORDER BY request.id")
+    List<Object[]> findBulkRequestReportRows(@Param("bulkRequestId") Integer bulkRequestId, Pageable pageable);
 }
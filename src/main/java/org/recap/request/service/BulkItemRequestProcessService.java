@@ -1,18 +1,14 @@
 package org.recap.request.service;
 
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.recap.ScsbConstants;
 import org.recap.ScsbCommonConstants;
 import org.recap.controller.RequestItemController;
 import org.recap.model.response.ItemCheckoutResponse;
 import org.recap.model.response.ItemInformationResponse;
 import org.recap.ims.service.GFALasService;
-import org.recap.model.request.BulkRequestItem;
 import org.recap.model.jpa.BulkRequestItemEntity;
 import org.recap.model.jpa.ItemEntity;
 import org.recap.model.request.ItemRequestInformation;
-import org.recap.model.jpa.RequestItemEntity;
 import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
 import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.util.CommonUtil;
@@ -22,11 +18,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by rajeshbabuk on 10/10/17.
@@ -57,50 +56,103 @@ public class BulkItemRequestProcessService {
     @Autowired
     private CommonUtil commonUtil;
 
+    @Autowired
+    private BulkRequestProgressService bulkRequestProgressService;
+
+    @Autowired
+    private BulkRequestExecutionService bulkRequestExecutionService;
+
+    @Autowired
+    private BulkRequestReportService bulkRequestReportService;
+
+    /* Items of each bulk request handed over to the partitions and not yet run, when the item counts are not tracked */
+    private final Map<Integer, AtomicInteger> pendingItemCounts = new ConcurrentHashMap<>();
+
     /**
-     * Process bulk request item.
+     * Process bulk request item, the item is run on the partition of its IMS location and owning institution. The bulk
+     * request is completed once its last item is processed, or on its COMPLETE message when the item counts are not
+     * tracked.
      *
      * @param itemBarcode   the item barcode
      * @param bulkRequestId the bulk request id
      */
     public void processBulkRequestItem(String itemBarcode, Integer bulkRequestId) {
-        Optional<BulkRequestItemEntity> bulkRequestItemEntity = bulkRequestItemDetailsRepository.findById(bulkRequestId);
         if (ScsbConstants.COMPLETE.equals(itemBarcode)) {
             try {
                 Thread.sleep(5000);
+                awaitPendingItems(bulkRequestId);
             } catch (InterruptedException e) {
                 logger.error("Interrupted Exception {0}", e);
                 Thread.currentThread().interrupt();
             }
-            bulkRequestItemEntity = bulkRequestItemDetailsRepository.findById(bulkRequestId);
-            if (bulkRequestItemEntity.isPresent()) {
-                bulkRequestItemEntity.get().setBulkRequestStatus(ScsbConstants.PROCESSED);
-                bulkRequestItemEntity.get().setLastUpdatedDate(new Date());
-                BulkRequestItemEntity savedBulkRequestItemEntity = bulkRequestItemDetailsRepository.save(bulkRequestItemEntity.get());
-                List<RequestItemEntity> requestItemEntities = savedBulkRequestItemEntity.getRequestItemEntities();
-                if (CollectionUtils.isNotEmpty(requestItemEntities)) {
-                    List<BulkRequestItem> bulkRequestItems = new ArrayList<>();
-                    for (RequestItemEntity requestItemEntity : requestItemEntities) {
-                        BulkRequestItem bulkRequestItem = new BulkRequestItem();
-                        bulkRequestItem.setItemBarcode(requestItemEntity.getItemEntity().getBarcode());
-                        bulkRequestItem.setCustomerCode(requestItemEntity.getItemEntity().getCustomerCode());
-                        bulkRequestItem.setRequestId(String.valueOf(requestItemEntity.getId()));
-                        bulkRequestItem.setRequestStatus(requestItemEntity.getRequestStatusEntity().getRequestStatusDescription());
-                        if (requestItemEntity.getRequestStatusEntity().getRequestStatusCode().equals(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)
-                                || requestItemEntity.getRequestStatusEntity().getRequestStatusCode().equals(ScsbConstants.REQUEST_STATUS_PENDING)) {
-                            bulkRequestItem.setStatus(ScsbCommonConstants.SUCCESS);
-                        } else {
-                            bulkRequestItem.setStatus(StringUtils.substringAfter(requestItemEntity.getNotes(), "Exception : "));
-                        }
-                        bulkRequestItems.add(bulkRequestItem);
+            completeBulkRequest(bulkRequestId);
+            return;
+        }
+        Optional<BulkRequestItemEntity> bulkRequestItemEntity = bulkRequestItemDetailsRepository.findById(bulkRequestId);
+        if (bulkRequestItemEntity.isPresent()) {
+            AtomicInteger pendingItemCount = bulkRequestProgressService.isEnabled() ? new AtomicInteger() : pendingItemCounts.computeIfAbsent(bulkRequestId, id -> new AtomicInteger());
+            pendingItemCount.incrementAndGet();
+            try {
+                List<ItemEntity> itemEntities = itemDetailsRepository.findByBarcode(itemBarcode);
+                String imsLocationCode = itemEntities.get(0).getImsLocationEntity().getImsLocationCode();
+                String institutionCode = bulkRequestItemEntity.get().getInstitutionEntity().getInstitutionCode();
+                bulkRequestExecutionService.execute(imsLocationCode, institutionCode, () -> {
+                    try {
+                        completeBulkRequestItem(bulkRequestId, processBulkRequestForBarcode(itemBarcode, itemEntities, bulkRequestItemEntity.get()));
+                    } finally {
+                        pendingItemCount.decrementAndGet();
                     }
-                    itemRequestServiceUtil.updateStatusToBarcodes(bulkRequestItems, savedBulkRequestItemEntity);
-                }
-                itemRequestServiceUtil.generateReportAndSendEmail(bulkRequestId);
-                logger.info("Bulk request processing completed for bulk request id : {}", bulkRequestId);
+                });
+                return;
+            } catch (InterruptedException e) {
+                logger.error(ScsbCommonConstants.LOG_ERROR, itemBarcode);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error(ScsbCommonConstants.LOG_ERROR, itemBarcode);
+            }
+            pendingItemCount.decrementAndGet();
+            completeBulkRequestItem(bulkRequestId, false);
+        }
+    }
+
+    private void completeBulkRequestItem(Integer bulkRequestId, boolean success) {
+        if (bulkRequestProgressService.itemCompleted(bulkRequestId, success)) {
+            completeBulkRequest(bulkRequestId);
+        }
+    }
+
+    /**
+     * Waits for the items of the bulk request handed over to the partitions by this instance to be run.
+     *
+     * @param bulkRequestId the bulk request id
+     */
+    private void awaitPendingItems(Integer bulkRequestId) throws InterruptedException {
+        AtomicInteger pendingItemCount = pendingItemCounts.get(bulkRequestId);
+        while (pendingItemCount != null && pendingItemCount.get() > 0) {
+            TimeUnit.SECONDS.sleep(1);
+        }
+        pendingItemCounts.remove(bulkRequestId);
+    }
+
+    /**
+     * Marks the bulk request as processed, updates the status of each requested barcode and sends the report.
+     *
+     * @param bulkRequestId the bulk request id
+     */
+    public void completeBulkRequest(Integer bulkRequestId) {
+        Optional<BulkRequestItemEntity> bulkRequestItemEntity = bulkRequestItemDetailsRepository.findById(bulkRequestId);
+        if (bulkRequestItemEntity.isPresent()) {
+            bulkRequestItemEntity.get().setBulkRequestStatus(ScsbConstants.PROCESSED);
+            bulkRequestItemEntity.get().setLastUpdatedDate(new Date());
+            byte[] gzippedReport = null;
+            try {
+                gzippedReport = bulkRequestReportService.writeRequestStatusToReport(bulkRequestItemEntity.get());
+            } catch (Exception e) {
+                logger.error(ScsbCommonConstants.LOG_ERROR, e);
+                bulkRequestItemDetailsRepository.save(bulkRequestItemEntity.get());
             }
-        } else {
-            bulkRequestItemEntity.ifPresent(requestItemEntity -> processBulkRequestForBarcode(itemBarcode, requestItemEntity));
+            itemRequestServiceUtil.generateReportAndSendEmail(bulkRequestId, gzippedReport);
+            logger.info("Bulk request processing completed for bulk request id : {}", bulkRequestId);
         }
     }
 
@@ -108,11 +160,13 @@ public class BulkItemRequestProcessService {
      * Process request for each barcode.
      *
      * @param itemBarcode
+     * @param itemEntities
      * @param bulkRequestItemEntity
+     * @return true if the request was placed
      */
-    private void processBulkRequestForBarcode(String itemBarcode, BulkRequestItemEntity bulkRequestItemEntity) {
+    private boolean processBulkRequestForBarcode(String itemBarcode, List<ItemEntity> itemEntities, BulkRequestItemEntity bulkRequestItemEntity) {
+        boolean success = false;
         try {
-            List<ItemEntity> itemEntities = itemDetailsRepository.findByBarcode(itemBarcode);
             ItemEntity itemEntity = itemEntities.get(0);
             ItemRequestInformation itemRequestInformation = buildItemRequestInformation(bulkRequestItemEntity);
             itemRequestDBService.updateItemAvailabilityStatus(itemEntities, bulkRequestItemEntity.getCreatedBy());
@@ -133,7 +187,9 @@ public class BulkItemRequestProcessService {
                 if (itemInformationResponse.isRequestTypeForScheduledOnWO()) {
                     logger.info("Bulk Request : Request received on first scan");
                     itemRequestDBService.updateRecapRequestItem(itemRequestInformation, itemEntity, ScsbConstants.LAS_REFILE_REQUEST_PLACED, bulkRequestItemEntity);
+                    success = true;
                 } else if (itemInformationResponse.isSuccess()) {
+                    success = true;
                     itemInformationResponse.setScreenMessage(ScsbConstants.SUCCESSFULLY_PROCESSED_REQUEST_ITEM);
                     itemRequestInformation.setRequestNotes(itemRequestInformation.getRequestNotes() + "\n" + ScsbConstants.BULK_REQUEST_ID_TEXT + bulkRequestItemEntity.getId());
                     if (!gfaLasService.isUseQueueLasCall(itemRequestInformation.getImsLocationCode())) {
@@ -155,6 +211,7 @@ public class BulkItemRequestProcessService {
         } catch (Exception ex) {
             logger.error(ScsbCommonConstants.LOG_ERROR, itemBarcode);
         }
+        return success;
     }
 
     /**
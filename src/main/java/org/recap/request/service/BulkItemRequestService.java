@@ -23,8 +23,10 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Created by rajeshbabuk on 10/10/17.
@@ -37,6 +39,12 @@ public class BulkItemRequestService {
     @Value("${" + PropertyKeyConstants.BULK_REQUEST_ITEM_COUNT_LIMIT + "}")
     private Integer bulkRequestItemCountLimit;
 
+    @Value("${bulk.request.item.lookup.batch.size:1000}")
+    private int bulkRequestItemLookupBatchSize;
+
+    @Value("${bulk.request.item.processing.batch.size:10}")
+    private int bulkRequestItemProcessingBatchSize;
+
     @Autowired
     private BulkRequestItemDetailsRepository bulkRequestItemDetailsRepository;
 
@@ -49,6 +57,12 @@ public class BulkItemRequestService {
     @Autowired
     private ProducerTemplate producerTemplate;
 
+    @Autowired
+    private BulkRequestProgressService bulkRequestProgressService;
+
+    @Autowired
+    private BulkItemRequestProcessService bulkItemRequestProcessService;
+
     /**
      * Bulk request items.
      *
@@ -78,10 +92,11 @@ public class BulkItemRequestService {
             bulkRequestItemBarcodeList.clear();
         }
         List<BulkRequestItem> exceptionBulkRequestItems = new ArrayList<>();
+        List<String> processingItemBarcodes = new ArrayList<>();
+        Map<String, ItemEntity> itemEntityMap = findItemsByBarcodes(bulkRequestItemBarcodeLimitedList);
         for (String itemBarcode : bulkRequestItemBarcodeLimitedList) {
-            List<ItemEntity> itemEntities = itemDetailsRepository.findByBarcode(itemBarcode);
-            if (CollectionUtils.isNotEmpty(itemEntities)) {
-                ItemEntity itemEntity = itemEntities.get(0);
+            ItemEntity itemEntity = itemEntityMap.get(itemBarcode);
+            if (itemEntity != null) {
                 if (itemEntity.getItemStatusEntity().getStatusCode().equalsIgnoreCase(ScsbCommonConstants.NOT_AVAILABLE)) {
                     exceptionBulkRequestItems.add(buildBulkRequestItem(itemBarcode, itemEntity.getCustomerCode(), ScsbConstants.RETRIEVAL_NOT_FOR_UNAVAILABLE_ITEM));
                 } else if (!itemEntity.getOwningInstitutionId().equals(bulkRequestItemEntity.get().getRequestingInstitutionId())) {
@@ -90,7 +105,7 @@ public class BulkItemRequestService {
                     exceptionBulkRequestItems.add(buildBulkRequestItem(itemBarcode, itemEntity.getCustomerCode(), "Item doesn't belong to the requesting storage location."));
                 }
                 else {
-                    producerTemplate.sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, itemBarcode, ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+                    processingItemBarcodes.add(itemBarcode);
                 }
             } else {
                 exceptionBulkRequestItems.add(buildBulkRequestItem(itemBarcode, null, ScsbConstants.WRONG_ITEM_BARCODE));
@@ -103,7 +118,37 @@ public class BulkItemRequestService {
         bulkRequestItemBarcodeLimitedList.clear();
         bulkRequestItemBarcodeExcessList.clear();
         updateStatusToBarcodes(exceptionBulkRequestItems, bulkRequestId);
-        producerTemplate.sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, ScsbConstants.COMPLETE, ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+        if (bulkRequestProgressService.isEnabled()) {
+            bulkRequestProgressService.startProgress(bulkRequestId, processingItemBarcodes.size());
+            if (processingItemBarcodes.isEmpty()) {
+                bulkItemRequestProcessService.completeBulkRequest(bulkRequestId);
+            }
+        }
+        int batchSize = Math.max(bulkRequestItemProcessingBatchSize, 1);
+        for (int fromIndex = 0; fromIndex < processingItemBarcodes.size(); fromIndex += batchSize) {
+            List<String> itemBarcodes = processingItemBarcodes.subList(fromIndex, Math.min(fromIndex + batchSize, processingItemBarcodes.size()));
+            producerTemplate.sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, String.join("\n", itemBarcodes), ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+        }
+        if (!bulkRequestProgressService.isEnabled()) {
+            producerTemplate.sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, ScsbConstants.COMPLETE, ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+        }
+    }
+
+    /**
+     * Finds the items of the barcodes in chunks of bulk.request.item.lookup.batch.size barcodes.
+     * @param itemBarcodes
+     * @return the first item found for each barcode
+     */
+    private Map<String, ItemEntity> findItemsByBarcodes(List<String> itemBarcodes) {
+        Map<String, ItemEntity> itemEntityMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int batchSize = Math.max(bulkRequestItemLookupBatchSize, 1);
+        for (int fromIndex = 0; fromIndex < itemBarcodes.size(); fromIndex += batchSize) {
+            List<ItemEntity> itemEntities = itemDetailsRepository.findByBarcodeIn(itemBarcodes.subList(fromIndex, Math.min(fromIndex + batchSize, itemBarcodes.size())));
+            if (CollectionUtils.isNotEmpty(itemEntities)) {
+                itemEntities.forEach(itemEntity -> itemEntityMap.putIfAbsent(itemEntity.getBarcode(), itemEntity));
+            }
+        }
+        return itemEntityMap;
     }
 
     /**
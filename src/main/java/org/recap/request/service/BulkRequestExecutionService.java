@@ -0,0 +1,220 @@
+package org.recap.request.service;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.recap.util.PropertyUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk request items partitioned by IMS location and owning institution, each partition on threads of its own.
+ * Each partition has its own concurrency limit (threads) and token bucket rate limit (items per second), read from the
+ * bulk.request.concurrency.limit and bulk.request.rate.limit properties of the IMS location and of the institution, the
+ * lower of the two is used, else the bulk.request.partition.* defaults. A rate limit of zero or less does not limit.
+ * The caller hands the item over and returns, it only waits while bulk.request.partition.queue.capacity items of the
+ * partition are already waiting, so that the items stay on the broker rather than in memory. The waiting items are run
+ * before shutdown. Throughput of each partition is published as the bulk.request.partition.items timer.
+ */
+@Slf4j
+@Component
+public class BulkRequestExecutionService {
+
+    @Value("${bulk.request.partition.concurrency.limit:4}")
+    private int defaultConcurrencyLimit;
+
+    @Value("${bulk.request.partition.rate.limit:10}")
+    private double defaultRateLimit;
+
+    @Value("${bulk.request.partition.queue.capacity:10}")
+    private int queueCapacity;
+
+    @Value("${bulk.request.partition.shutdown.timeout.seconds:60}")
+    private long shutdownTimeoutSeconds;
+
+    @Autowired
+    private PropertyUtil propertyUtil;
+
+    private final Map<List<String>, Partition> partitions = new ConcurrentHashMap<>();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Hands the bulk request item over to its partition, waiting only while the queue of the partition is full.
+     *
+     * @param imsLocationCode the ims location code of the item
+     * @param institutionCode the owning institution code of the item
+     * @param task            the bulk request item processing
+     * @throws InterruptedException if interrupted while waiting for room in the partition
+     */
+    public void execute(String imsLocationCode, String institutionCode, Runnable task) throws InterruptedException {
+        List<String> key = Arrays.asList(imsLocationCode, institutionCode);
+        while (true) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Bulk request execution is shut down");
+            }
+            Partition partition = partitions.computeIfAbsent(key, k -> createPartition(imsLocationCode, institutionCode));
+            if (partition.submit(task)) {
+                return;
+            }
+            // The partition was dropped by invalidateAll meanwhile, the item goes to the new one.
+            partitions.remove(key, partition);
+        }
+    }
+
+    /**
+     * Drops the partitions, so that their limits are read again on next use. The items already handed over to them are
+     * still run.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void invalidateAll() {
+        List<Partition> droppedPartitions = new ArrayList<>(partitions.values());
+        partitions.clear();
+        droppedPartitions.forEach(partition -> partition.executor.shutdown());
+    }
+
+    /**
+     * Runs the items handed over to the partitions before the application stops, for up to the shutdown timeout.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        partitions.values().forEach(partition -> partition.executor.shutdown());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+        try {
+            for (Partition partition : partitions.values()) {
+                if (!partition.executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warn("Bulk request partition {} : {} items not run before shutdown", partition.name, partition.executor.getQueue().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Partition createPartition(String imsLocationCode, String institutionCode) {
+        int concurrencyLimit = Math.max(1, (int) getLimit(imsLocationCode, institutionCode, ScsbConstants.BULK_REQUEST_CONCURRENCY_LIMIT, defaultConcurrencyLimit));
+        double rateLimit = getLimit(imsLocationCode, institutionCode, ScsbConstants.BULK_REQUEST_RATE_LIMIT, defaultRateLimit);
+        Tags tags = Tags.of("imsLocation", String.valueOf(imsLocationCode), "institution", String.valueOf(institutionCode));
+        Partition partition = new Partition(imsLocationCode + "-" + institutionCode, concurrencyLimit, Math.max(0, queueCapacity), rateLimit,
+                Metrics.timer(ScsbConstants.BULK_REQUEST_PARTITION_ITEMS, tags));
+        Metrics.gauge(ScsbConstants.BULK_REQUEST_PARTITION_IN_FLIGHT, tags, partition.executor, ThreadPoolExecutor::getActiveCount);
+        Metrics.gauge(ScsbConstants.BULK_REQUEST_PARTITION_QUEUED, tags, partition.executor, executor -> executor.getQueue().size());
+        log.info("Bulk request partition {}-{} : concurrency limit {}, rate limit {}/s", imsLocationCode, institutionCode, concurrencyLimit, rateLimit);
+        return partition;
+    }
+
+    private double getLimit(String imsLocationCode, String institutionCode, String key, double defaultLimit) {
+        double limit = Double.MAX_VALUE;
+        String imsLocationLimit = StringUtils.isNotBlank(imsLocationCode) ? propertyUtil.getPropertyByImsLocationAndKey(imsLocationCode, key) : null;
+        if (NumberUtils.isCreatable(imsLocationLimit) && Double.parseDouble(imsLocationLimit) > 0) {
+            limit = Double.parseDouble(imsLocationLimit);
+        }
+        String institutionLimit = StringUtils.isNotBlank(institutionCode) ? propertyUtil.getPropertyByInstitutionAndKey(institutionCode, key) : null;
+        if (NumberUtils.isCreatable(institutionLimit) && Double.parseDouble(institutionLimit) > 0) {
+            limit = Math.min(limit, Double.parseDouble(institutionLimit));
+        }
+        return limit == Double.MAX_VALUE ? defaultLimit : limit;
+    }
+
+    private static class Partition {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final Semaphore permits;
+        private final double tokensPerNano;
+        private final double capacity;
+        private final Timer timer;
+        private double tokens;
+        private long lastRefillTime;
+
+        private Partition(String name, int concurrencyLimit, int queueCapacity, double rateLimit, Timer timer) {
+            this.name = name;
+            this.executor = new ThreadPoolExecutor(concurrencyLimit, concurrencyLimit, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new CustomizableThreadFactory("BulkRequestPartition-" + name + "-"));
+            this.executor.allowCoreThreadTimeOut(true);
+            this.permits = new Semaphore(concurrencyLimit + queueCapacity);
+            this.tokensPerNano = rateLimit > 0 ? rateLimit / TimeUnit.SECONDS.toNanos(1) : 0;
+            this.capacity = Math.max(1, rateLimit);
+            this.tokens = capacity;
+            this.lastRefillTime = System.nanoTime();
+            this.timer = timer;
+        }
+
+        /**
+         * Queues the item once a running or queued slot of the partition is free.
+         *
+         * @return false if the partition is shut down
+         */
+        private boolean submit(Runnable task) throws InterruptedException {
+            permits.acquire();
+            try {
+                executor.execute(() -> run(task));
+                return true;
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                return false;
+            }
+        }
+
+        private void run(Runnable task) {
+            try {
+                awaitToken();
+                long startTime = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                }
+            } catch (RuntimeException e) {
+                log.error(ScsbCommonConstants.LOG_ERROR, e);
+            } finally {
+                permits.release();
+            }
+        }
+
+        /**
+         * Takes a token, waiting on the partition thread until it is refilled. A token taken ahead of the refill makes
+         * the next callers wait longer, so that the items are spread at the rate limit.
+         */
+        private void awaitToken() {
+            if (tokensPerNano <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - lastRefillTime) * tokensPerNano) - 1;
+                lastRefillTime = now;
+                waitNanos = tokens < 0 ? (long) (-tokens / tokensPerNano) : 0;
+            }
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.recap.request.service;
+
+import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tracks the progress of a bulk request with the expected, processed and failed item counts persisted on the bulk request,
+ * so that completion is detected by exactly one of the concurrent bulk request item consumers.
+ * The counts need these columns, so the tracking is only on with bulk.request.item.counters.enabled once they are added:
+ * <pre>
+ * ALTER TABLE bulk_request_item_t ADD COLUMN EXPECTED_ITEM_COUNT INT NULL, ADD COLUMN PROCESSED_ITEM_COUNT INT NULL, ADD COLUMN FAILED_ITEM_COUNT INT NULL;
+ * </pre>
+ * Until then a bulk request is completed by the COMPLETE message queued after its items.
+ */
+@Component
+public class BulkRequestProgressService {
+
+    private final Logger logger = LoggerFactory.getLogger(BulkRequestProgressService.class);
+
+    @Autowired
+    private BulkRequestItemDetailsRepository bulkRequestItemDetailsRepository;
+
+    @Value("${bulk.request.item.counters.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Whether the item counts of the bulk requests are tracked.
+     *
+     * @return true if the counter columns are in place
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts tracking the bulk request, this has to be done before its items are queued.
+     *
+     * @param bulkRequestId     the bulk request id
+     * @param expectedItemCount the number of items queued for processing
+     */
+    public void startProgress(Integer bulkRequestId, int expectedItemCount) {
+        if (!enabled) {
+            return;
+        }
+        bulkRequestItemDetailsRepository.startItemProgress(bulkRequestId, expectedItemCount);
+        logger.info("Bulk request id {} expects {} items to be processed", bulkRequestId, expectedItemCount);
+    }
+
+    /**
+     * Counts a processed or failed item of the bulk request.
+     * The increment locks the bulk request row until commit, so the completion check sees the counts of all the other
+     * consumers and only the last item of the bulk request gets true.
+     *
+     * @param bulkRequestId the bulk request id
+     * @param success       whether the item was processed successfully
+     * @return true if this was the last item of the bulk request, always false when the counts are not tracked
+     */
+    @Transactional
+    public boolean itemCompleted(Integer bulkRequestId, boolean success) {
+        if (!enabled) {
+            return false;
+        }
+        if (success) {
+            bulkRequestItemDetailsRepository.incrementProcessedItemCount(bulkRequestId);
+        } else {
+            bulkRequestItemDetailsRepository.incrementFailedItemCount(bulkRequestId);
+        }
+        return bulkRequestItemDetailsRepository.countCompletedBulkRequest(bulkRequestId) > 0;
+    }
+}
@@ -0,0 +1,100 @@
+package org.recap.request.service;
+
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.recap.model.jpa.BulkRequestItemEntity;
+import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
+import org.recap.repository.jpa.RequestItemDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the status of each request placed for a bulk request to the bulk request report. The requests are read a page
+ * at a time with a projection query and written straight to the report bytes instead of loading the request, item and
+ * status entities of the whole bulk request and building the csv as a string. If bulk.request.report.gzip is set, the
+ * rows are gzipped for the email as they are written, instead of gzipping the whole report again when it is emailed.
+ */
+@Component
+public class BulkRequestReportService {
+
+    private final Logger logger = LoggerFactory.getLogger(BulkRequestReportService.class);
+
+    @Value("${bulk.request.report.page.size:500}")
+    private int reportPageSize;
+
+    @Value("${bulk.request.report.gzip:false}")
+    private boolean gzipReport;
+
+    @Autowired
+    private BulkRequestItemDetailsRepository bulkRequestItemDetailsRepository;
+
+    @Autowired
+    private RequestItemDetailsRepository requestItemDetailsRepository;
+
+    /**
+     * Appends a row for each request of the bulk request to its report and saves it.
+     *
+     * @param bulkRequestItemEntity the bulk request item entity
+     * @return the gzipped report, or null if bulk.request.report.gzip is not set
+     * @throws IOException the io exception
+     */
+    public byte[] writeRequestStatusToReport(BulkRequestItemEntity bulkRequestItemEntity) throws IOException {
+        byte[] reportData = bulkRequestItemEntity.getBulkRequestFileData();
+        ByteArrayOutputStream reportOutputStream = new ByteArrayOutputStream(reportData.length * 2);
+        ByteArrayOutputStream gzippedReportOutputStream = gzipReport ? new ByteArrayOutputStream(reportData.length) : null;
+        OutputStream outputStream = gzipReport ? new TeeOutputStream(reportOutputStream, new GZIPOutputStream(gzippedReportOutputStream)) : reportOutputStream;
+        int rowCount = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, Charset.defaultCharset()))) {
+            outputStream.write(reportData);
+            List<Object[]> reportRows;
+            int page = 0;
+            do {
+                reportRows = requestItemDetailsRepository.findBulkRequestReportRows(bulkRequestItemEntity.getId(), PageRequest.of(page++, reportPageSize));
+                for (Object[] reportRow : reportRows) {
+                    writeReportRow(writer, reportRow);
+                }
+                rowCount += reportRows.size();
+            } while (reportRows.size() == reportPageSize);
+        }
+        logger.info("Bulk request id {} report updated with {} requests", bulkRequestItemEntity.getId(), rowCount);
+        bulkRequestItemEntity.setBulkRequestFileData(reportOutputStream.toByteArray());
+        bulkRequestItemDetailsRepository.save(bulkRequestItemEntity);
+        return gzippedReportOutputStream != null ? gzippedReportOutputStream.toByteArray() : null;
+    }
+
+    /**
+     * Writes the item barcode, customer code, request id, request status and status of a request.
+     * @param writer
+     * @param reportRow
+     * @throws IOException
+     */
+    private void writeReportRow(Writer writer, Object[] reportRow) throws IOException {
+        String requestStatusCode = (String) reportRow[3];
+        String status;
+        if (ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED.equals(requestStatusCode) || ScsbConstants.REQUEST_STATUS_PENDING.equals(requestStatusCode)) {
+            status = ScsbCommonConstants.SUCCESS;
+        } else {
+            status = StringUtils.substringAfter((String) reportRow[5], "Exception : ");
+        }
+        writer.write("\n");
+        writer.write(reportRow[0] + "," + reportRow[1] + "," + reportRow[2] + "," + reportRow[4] + ",");
+        writer.write(String.valueOf(StringEscapeUtils.escapeCsv(status)));
+    }
+}
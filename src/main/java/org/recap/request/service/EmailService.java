@@ -59,22 +59,31 @@ public class EmailService {
     }
 
     /**
-     * Send email for bulk request process.
+     * Send email for bulk request process, the report is attached as csv or as gzipped csv.
      *
      * @param bulkRequestId
      * @param bulkRequestName
      * @param bulkRequestFileName
      * @param bulkRequestStatus
+     * @param bulkRequestReportData
+     * @param bulkRequestReportGzipped
      * @param subject
      */
-    public void sendBulkRequestEmail(String bulkRequestId, String bulkRequestName, String bulkRequestFileName, String bulkRequestStatus, String bulkRequestCsvFileData, String subject) {
+    public void sendBulkRequestEmail(String bulkRequestId, String bulkRequestName, String bulkRequestFileName, String bulkRequestStatus, byte[] bulkRequestReportData, boolean bulkRequestReportGzipped, String subject) {
         EmailPayLoad emailPayLoad = new EmailPayLoad();
         emailPayLoad.setTo(bulkRequestEmailTo);
         emailPayLoad.setBulkRequestId(bulkRequestId);
         emailPayLoad.setBulkRequestName(bulkRequestName);
         emailPayLoad.setBulkRequestFileName(bulkRequestFileName);
         emailPayLoad.setBulkRequestStatus(bulkRequestStatus);
-        emailPayLoad.setBulkRequestCsvFileData(bulkRequestCsvFileData);
+        emailPayLoad.setBulkRequestReportData(bulkRequestReportData);
+        if (bulkRequestReportGzipped) {
+            emailPayLoad.setBulkRequestReportFileName("Results_" + bulkRequestFileName + ".gz");
+            emailPayLoad.setBulkRequestReportContentType("application/gzip");
+        } else {
+            emailPayLoad.setBulkRequestReportFileName("Results_" + bulkRequestFileName);
+            emailPayLoad.setBulkRequestReportContentType("text/csv");
+        }
         emailPayLoad.setSubject(subject);
         producer.sendBodyAndHeader(ScsbConstants.EMAIL_Q, emailPayLoad, ScsbConstants.EMAIL_BODY_FOR, ScsbConstants.BULK_REQUEST_EMAIL_QUEUE);
     }
@@ -7,6 +7,7 @@ import org.recap.model.request.ItemRequestInformation;
 import org.recap.model.response.ItemInformationResponse;
 import org.recap.model.jpa.*;
 import org.recap.repository.jpa.*;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.recap.util.CommonUtil;
 import org.recap.util.SecurityUtil;
 import org.slf4j.Logger;
@@ -41,20 +42,11 @@ public class ItemRequestDBService {
     ItemChangeLogDetailsRepository itemChangeLogDetailsRepository;
 
     @Autowired
-    private RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
-
-    @Autowired
-    private InstitutionDetailsRepository institutionDetailsRepository;
-
-    @Autowired
-    private RequestTypeDetailsRepository requestTypeDetailsRepository;
+    private ReferenceDataCacheService referenceDataCacheService;
 
     @Autowired
     private OwnerCodeDetailsRepository ownerCodeDetailsRepository;
 
-    @Autowired
-    private DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
     @Autowired
     private ItemStatusDetailsRepository itemStatusDetailsRepository;
 
@@ -82,9 +74,9 @@ public class ItemRequestDBService {
         RequestItemEntity savedItemRequest;
         Integer requestId = 0;
         try {
-            RequestStatusEntity requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(requestStatusCode);
-            InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution());
-            RequestTypeEntity requestTypeEntity = requestTypeDetailsRepository.findByrequestTypeCode(itemRequestInformation.getRequestType());
+            RequestStatusEntity requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(requestStatusCode);
+            InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution());
+            RequestTypeEntity requestTypeEntity = referenceDataCacheService.getRequestTypeByCode(itemRequestInformation.getRequestType());
             //Request Item
             if (itemRequestInformation.getRequestId() != null && itemRequestInformation.getRequestId() > 0) {
                 requestItemEntity = requestItemDetailsRepository.findById(itemRequestInformation.getRequestId()).orElse(requestItemEntity);
@@ -135,14 +127,14 @@ public class ItemRequestDBService {
         Integer requestId = 0;
         try {
             if (!itemInformationResponse.isSuccess()) {
-                requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.REQUEST_STATUS_EXCEPTION);
+                requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbConstants.REQUEST_STATUS_EXCEPTION);
             }else {
                 if (itemInformationResponse.getRequestType().equalsIgnoreCase(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL)){
-                    requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED);
+                    requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED);
                 }else if (itemInformationResponse.getRequestType().equalsIgnoreCase(ScsbCommonConstants.REQUEST_TYPE_EDD)){
-                    requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_EDD);
+                    requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_EDD);
                 }else if (itemInformationResponse.getRequestType().equalsIgnoreCase(ScsbCommonConstants.REQUEST_TYPE_RECALL)){
-                    requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RECALLED);
+                    requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RECALLED);
                 }
             }
 
@@ -158,8 +150,8 @@ public class ItemRequestDBService {
                 }
             } else {
                 requestItemEntity = new RequestItemEntity();
-                RequestTypeEntity requestTypeEntity = requestTypeDetailsRepository.findByrequestTypeCode(itemInformationResponse.getRequestType());
-                InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemInformationResponse.getRequestingInstitution());
+                RequestTypeEntity requestTypeEntity = referenceDataCacheService.getRequestTypeByCode(itemInformationResponse.getRequestType());
+                InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemInformationResponse.getRequestingInstitution());
 
                 //Request Item
                 requestItemEntity.setItemId(itemInformationResponse.getItemId());
@@ -215,15 +207,15 @@ public class ItemRequestDBService {
             requestItemEntity.get().setNotes(notes);
             if (itemInformationResponse.isSuccess()) {
                 if (requestItemEntity.get().getRequestTypeEntity().getRequestTypeCode().equalsIgnoreCase(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL)) {
-                    requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED);
+                    requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED);
                 } else if (requestItemEntity.get().getRequestTypeEntity().getRequestTypeCode().equalsIgnoreCase(ScsbCommonConstants.REQUEST_TYPE_EDD)) {
-                    requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_EDD);
+                    requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_EDD);
                 } else if (requestItemEntity.get().getRequestTypeEntity().getRequestTypeCode().equalsIgnoreCase(ScsbCommonConstants.REQUEST_TYPE_RECALL)) {
                     // This change is to update the Recall order to Retrieval order upon refile of the existing retrieval order from LAS.
-                    requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED);
+                    requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED);
                 }
             } else {
-                requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.REQUEST_STATUS_EXCEPTION);
+                requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbConstants.REQUEST_STATUS_EXCEPTION);
                 if (itemInformationResponse.isBulk()) {
                     if (null != bulkRequestItemEntity) {
                         requestItemEntity.get().setNotes(notes + "\n" + ScsbConstants.REQUEST_LAS_EXCEPTION + ScsbConstants.REQUEST_ITEM_GFA_FAILURE + errorNote + itemInformationResponse.getScreenMessage() + "\n" + ScsbConstants.BULK_REQUEST_ID_TEXT + bulkRequestItemEntity.getId());
@@ -283,7 +275,7 @@ public class ItemRequestDBService {
         ItemRequestInformation itemRequestInformation = new ItemRequestInformation();
         Optional<RequestItemEntity> requestItemEntity = requestItemDetailsRepository.findById(itemInformationResponse.getRequestId());
         if(requestItemEntity.isPresent()) {
-            DeliveryCodeEntity deliveryCodeEntity= deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive( requestItemEntity.get().getStopCode(), requestItemEntity.get().getRequestingInstitutionId(),'Y');
+            DeliveryCodeEntity deliveryCodeEntity= referenceDataCacheService.getActiveDeliveryCode(requestItemEntity.get().getStopCode(), requestItemEntity.get().getRequestingInstitutionId());
             commonUtil.rollbackUpdateItemAvailabilityStatus(requestItemEntity.get().getItemEntity(), ScsbConstants.GUEST_USER);
             commonUtil.saveItemChangeLogEntity(itemInformationResponse.getRequestId(), requestItemEntity.get().getCreatedBy(), ScsbConstants.REQUEST_ITEM_GFA_FAILURE, ScsbConstants.REQUEST_ITEM_GFA_FAILURE + itemInformationResponse.getScreenMessage());
             itemRequestInformation.setBibId(requestItemEntity.get().getItemEntity().getBibliographicEntities().get(0).getOwningInstitutionBibId());
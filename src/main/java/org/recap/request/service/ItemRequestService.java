@@ -25,9 +25,12 @@ import org.recap.model.response.ItemRefileResponse;
 import org.recap.model.search.SearchResultRow;
 import org.recap.repository.jpa.*;
 import org.recap.service.RestHeaderService;
+import org.recap.service.common.ReferenceDataCacheService;
+import org.recap.service.common.SearchResultRowCacheService;
 import org.recap.util.CommonUtil;
 import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
+import org.recap.util.RestTemplateUtil;
 import org.recap.util.SecurityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +72,12 @@ public class ItemRequestService {
     @Value("${" + PropertyKeyConstants.SCSB_SOLR_DOC_URL + "}")
     private String scsbSolrClientUrl;
 
+    @Value("${search.records.solr.timeout.millis:0}")
+    private int searchRecordsTimeoutMillis;
+
+    @Value("${search.records.local.fallback.enabled:false}")
+    private boolean searchRecordsLocalFallbackEnabled;
+
     @Autowired
     private ItemDetailsRepository itemDetailsRepository;
 
@@ -78,9 +87,6 @@ public class ItemRequestService {
     @Autowired
     private RequestItemDetailsRepository requestItemDetailsRepository;
 
-    @Autowired
-    private DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
 
     @Autowired
     RestTemplate restTemplate;
@@ -88,9 +94,6 @@ public class ItemRequestService {
     @Autowired
     private EmailService emailService;
 
-    @Autowired
-    private RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
-
     @Autowired
     private GFALasService gfaLasService;
 
@@ -101,7 +104,13 @@ public class ItemRequestService {
     private OwnerCodeDetailsRepository ownerCodeDetailsRepository;
 
     @Autowired
-    private InstitutionDetailsRepository institutionDetailsRepository;
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    private SearchResultRowCacheService searchResultRowCacheService;
+
+    @Autowired
+    private RestTemplateUtil restTemplateUtil;
 
 
     @Autowired
@@ -119,9 +128,6 @@ public class ItemRequestService {
     @Autowired
     private RequestParamaterValidatorService requestParamaterValidatorService;
 
-    @Autowired
-    private DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
-
 
     @Autowired
     private ItemValidatorService itemValidatorService;
@@ -185,10 +191,10 @@ public class ItemRequestService {
                 itemRequestInfo.setItemOwningInstitution(itemEntity.getInstitutionEntity().getInstitutionCode());
                 itemRequestInfo.setImsLocationCode(itemEntity.getImsLocationEntity().getImsLocationCode());
 
-                InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInfo.getRequestingInstitution());
-                DeliveryCodeEntity deliveryCodeEntity = deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInfo.getDeliveryLocation(), institutionEntity.getId(), 'Y');
+                InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInfo.getRequestingInstitution());
+                DeliveryCodeEntity deliveryCodeEntity = referenceDataCacheService.getActiveDeliveryCode(itemRequestInfo.getDeliveryLocation(), institutionEntity.getId());
 
-                DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(institutionEntity.getId(), deliveryCodeEntity.getId(), itemEntity.getImsLocationEntity().getId());
+                DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = referenceDataCacheService.getDeliveryCodeTranslation(institutionEntity.getId(), deliveryCodeEntity.getId(), itemEntity.getImsLocationEntity().getId());
                 if(deliveryCodeTranslationEntity != null && deliveryCodeTranslationEntity.getImsLocationDeliveryCode() != null) {
                     logger.info(" Translation Code >>>> {} "  , deliveryCodeTranslationEntity.getImsLocationDeliveryCode());
 
@@ -290,7 +296,7 @@ public class ItemRequestService {
                     itemRequestInfo.setBibId(itemEntity.getBibliographicEntities().get(0).getOwningInstitutionBibId());
                     itemRequestInfo.setItemOwningInstitution(itemEntity.getInstitutionEntity().getInstitutionCode());
                     itemRequestInfo.setImsLocationCode(itemEntity.getImsLocationEntity().getImsLocationCode());
-                    InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInfo.getRequestingInstitution());
+                    InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInfo.getRequestingInstitution());
                     itemRequestInfo.setPickupLocation(getPickupLocation(institutionEntity.getId(), itemRequestInfo.getDeliveryLocation()));
                     itemResponseInformation.setItemId(itemEntity.getId());
                     Integer requestId = updateRecapRequestItem(itemRequestInfo, itemEntity, ScsbConstants.REQUEST_STATUS_PROCESSING);
@@ -350,7 +356,7 @@ public class ItemRequestService {
         if (requestEntities != null && !requestEntities.isEmpty()) {
             for (RequestItemEntity requestItemEntity : requestEntities) {
                 itemEntity = requestItemEntity.getItemEntity();
-                RequestStatusEntity requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_REFILED);
+                RequestStatusEntity requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_REFILED);
                 String gfaItemStatus = gfaLasService.callGfaItemStatus(itemEntity.getBarcode());
                 logger.info("GFA Item Status {} for the barcode {} received on Refile", gfaItemStatus, itemEntity.getBarcode());
                 if (itemEntity.getItemAvailabilityStatusId() == 2) { // Only Item Not Availability, Status is Processed
@@ -824,7 +830,7 @@ public class ItemRequestService {
                     if (Boolean.TRUE.toString().equalsIgnoreCase(useGenericPatronRetrievalForCross)) {
                         try {
                             itemRequestInfo.setPatronBarcode(itemRequestServiceUtil.getPatronIdBorrowingInstitution(itemRequestInfo.getRequestingInstitution(), requestItemEntity.getInstitutionEntity().getInstitutionCode(), ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL));
-                            InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInfo.getRequestingInstitution());
+                            InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInfo.getRequestingInstitution());
                             itemRequestInfo.setPickupLocation(getPickupLocation(institutionEntity.getId(), requestItemEntity.getStopCode()));
                             itemRequestInfo.setBibId(itemInformation.getBibID());
                             itemRecallResponse = (ItemRecallResponse) requestItemController.recallItem(itemRequestInfo, requestItemEntity.getInstitutionEntity().getInstitutionCode());
@@ -898,12 +904,22 @@ public class ItemRequestService {
     }
 
     /**
-     * Search records search result row.
+     * Search records search result row, cached by barcode. If solr does not return the row and the local fallback is
+     * enabled, the row is built from the bib record in db.
      *
      * @param itemEntity the item entity
      * @return the search result row
      */
     public SearchResultRow searchRecords(ItemEntity itemEntity) {
+        SearchResultRow searchResultRow = searchResultRowCacheService.get(itemEntity.getBarcode(), () -> searchRecordsInSolr(itemEntity));
+        if (searchResultRow == null && searchRecordsLocalFallbackEnabled) {
+            logger.info("Search result row of {} taken from the local bib record", itemEntity.getBarcode());
+            searchResultRow = searchResultRowCacheService.getFromLocalRecord(itemEntity);
+        }
+        return searchResultRow;
+    }
+
+    private SearchResultRow searchRecordsInSolr(ItemEntity itemEntity) {
         List<SearchResultRow> statusResponse;
         SearchResultRow searchResultRow = null;
         try {
@@ -911,7 +927,8 @@ public class ItemRequestService {
             UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(scsbSolrClientUrl + ScsbConstants.SEARCH_RECORDS_SOLR)
                     .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_NAME, ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_NAME_VALUE)
                     .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
-            ResponseEntity<List<SearchResultRow>> responseEntity = restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {});
+            RestTemplate searchRestTemplate = searchRecordsTimeoutMillis > 0 ? restTemplateUtil.getRestTemplate(searchRecordsTimeoutMillis) : restTemplate;
+            ResponseEntity<List<SearchResultRow>> responseEntity = searchRestTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {});
             statusResponse = responseEntity.getBody();
             if (statusResponse != null && !statusResponse.isEmpty()) {
                 searchResultRow = statusResponse.get(0);
@@ -1091,7 +1108,7 @@ public class ItemRequestService {
     }
 
     private String getPickupLocation(Integer InstitutionId, String deliveryLocation) {
-        DeliveryCodeEntity deliveryCodeEntity = deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(deliveryLocation, InstitutionId, 'Y');
+        DeliveryCodeEntity deliveryCodeEntity = referenceDataCacheService.getActiveDeliveryCode(deliveryLocation, InstitutionId);
         return deliveryCodeEntity.getPickupLocation();
     }
 
@@ -1110,7 +1127,7 @@ public class ItemRequestService {
         itemResponseInformation = gfaLasService.executeRetrieveOrder(itemRequestInfo, itemResponseInformation);
         logger.info("itemResponseInformation-> {}" , itemResponseInformation.isSuccess());
         if (itemResponseInformation.isSuccess()) {
-            requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.REQUEST_STATUS_PENDING);
+            requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbConstants.REQUEST_STATUS_PENDING);
             if(requestItemEntity.isPresent()) {
                 requestItemEntity.get().setRequestStatusId(requestStatusEntity.getId());
                 requestItemEntity.get().setLastUpdatedDate(new Date());
@@ -1365,7 +1382,7 @@ public class ItemRequestService {
             if (commonUtil.checkIfImsItemStatusIsAvailableOrNotAvailable(requestItemEntity.getItemEntity().getImsLocationEntity().getImsLocationCode(), itemStatus, true)) {
                 producerTemplate.sendBodyAndHeader(ScsbConstants.REQUEST_ITEM_QUEUE, json, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
             } else if (StringUtils.isNotBlank(itemStatus)) {
-                RequestStatusEntity requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.LAS_REFILE_REQUEST_PLACED);
+                RequestStatusEntity requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbConstants.LAS_REFILE_REQUEST_PLACED);
                 requestItemEntity.setRequestStatusEntity(requestStatusEntity);
                 requestItemEntity.setRequestStatusId(requestStatusEntity.getId());
                 requestItemDetailsRepository.save(requestItemEntity);
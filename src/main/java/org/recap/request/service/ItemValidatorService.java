@@ -16,14 +16,12 @@ import org.recap.model.request.ItemRequestInformation;
 import org.recap.model.jpa.ItemStatusEntity;
 import org.recap.model.jpa.OwnerCodeEntity;
 import org.recap.model.jpa.RequestItemEntity;
-import org.recap.repository.jpa.DeliveryCodeDetailsRepository;
-import org.recap.repository.jpa.DeliveryCodeTranslationDetailsRepository;
 import org.recap.repository.jpa.ImsLocationDetailsRepository;
-import org.recap.repository.jpa.InstitutionDetailsRepository;
 import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.repository.jpa.ItemStatusDetailsRepository;
 import org.recap.repository.jpa.OwnerCodeDetailsRepository;
 import org.recap.repository.jpa.RequestItemDetailsRepository;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -62,10 +60,7 @@ public class ItemValidatorService {
     private ImsLocationDetailsRepository imsLocationDetailsRepository;
 
     @Autowired
-    private InstitutionDetailsRepository institutionDetailsRepository;
-
-    @Autowired
-    private DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
+    private ReferenceDataCacheService referenceDataCacheService;
 
 
     /**
@@ -86,9 +81,6 @@ public class ItemValidatorService {
     @Autowired
     private OwnerCodeDetailsRepository ownerCodeDetailsRepository;
 
-    @Autowired
-    private DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
     @Autowired
     private RequestItemDetailsRepository requestItemDetailsRepository;
 
@@ -103,7 +95,7 @@ public class ItemValidatorService {
      */
     public ResponseEntity itemValidation(ItemRequestInformation itemRequestInformation) {
         List<ItemEntity> itemEntityList = getItemEntities(itemRequestInformation.getItemBarcodes());
-        InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution());
+        InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution());
         Map<String, String> frozenInstitutionPropertyMap = propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE);
         Map<String, String> frozenInstitutionMessagesPropertyMap = propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE);
         if (itemRequestInformation.getItemBarcodes().size() == 1) {
@@ -234,7 +226,7 @@ public class ItemValidatorService {
     private ResponseEntity multipleRequestItemValidation(List<ItemEntity> itemEntityList, Set<Integer> bibliographicIds, ItemRequestInformation itemRequestInformation, Map<String, String> frozenInstitutionPropertyMap, Map<String, String> frozenInstitutionMessagesPropertyMap) {
         String status = "";
         List<BibliographicEntity> bibliographicList;
-        InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution());
+        InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution());
 
         for (ItemEntity itemEntity : itemEntityList) {
             if (!checkRequestItemStatus(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)) {
@@ -305,14 +297,12 @@ public class ItemValidatorService {
      */
     public int checkDeliveryLocation(String ownerCode, Integer institutionId, ItemRequestInformation itemRequestInformation) {
         int bSuccess = 0;
-        InstitutionEntity owningInstitutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getItemOwningInstitution());
-        DeliveryCodeEntity deliveryCodeEntity = deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInformation.getDeliveryLocation(), institutionId, 'Y');
+        InstitutionEntity owningInstitutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getItemOwningInstitution());
+        DeliveryCodeEntity deliveryCodeEntity = referenceDataCacheService.getActiveDeliveryCode(itemRequestInformation.getDeliveryLocation(), institutionId);
         if (deliveryCodeEntity != null && deliveryCodeEntity.getDeliveryCode().equalsIgnoreCase(itemRequestInformation.getDeliveryLocation())) {
-                OwnerCodeEntity ownerCodeEntity = ownerCodeDetailsRepository.findByOwnerCodeAndOwningInstitutionCode(ownerCode, owningInstitutionEntity.getInstitutionCode());
-                String requestingInstitution = itemRequestInformation.getRequestingInstitution();
-                institutionDetailsRepository.findByInstitutionCode(requestingInstitution);
+                OwnerCodeEntity ownerCodeEntity = referenceDataCacheService.getOwnerCode(ownerCode, owningInstitutionEntity.getInstitutionCode());
 
-                List<Object[]> deliveryCodeEntityList = ownerCodeDetailsRepository.findByOwnerCodeAndRequestingInstitution(ownerCodeEntity.getId(), institutionId, itemRequestInformation.getDeliveryLocation());
+                List<Object[]> deliveryCodeEntityList = referenceDataCacheService.getOwnerCodeDeliveryCodes(ownerCodeEntity.getId(), institutionId, itemRequestInformation.getDeliveryLocation());
                 if (!deliveryCodeEntityList.isEmpty()) {
                             bSuccess = 1;
                         } else {
@@ -325,9 +315,9 @@ public class ItemValidatorService {
 
     public int checkDeliveryLocationTranslationCode(ItemEntity itemEntity, ItemRequestInformation itemRequestInformation) {
         int bSuccess = -1;
-        InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution());
-        DeliveryCodeEntity deliveryCodeEntity = deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInformation.getDeliveryLocation(), institutionEntity.getId(), 'Y');
-            DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(institutionEntity.getId(), deliveryCodeEntity.getId(), itemEntity.getImsLocationId());
+        InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution());
+        DeliveryCodeEntity deliveryCodeEntity = referenceDataCacheService.getActiveDeliveryCode(itemRequestInformation.getDeliveryLocation(), institutionEntity.getId());
+            DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = referenceDataCacheService.getDeliveryCodeTranslation(institutionEntity.getId(), deliveryCodeEntity.getId(), itemEntity.getImsLocationId());
             if (deliveryCodeTranslationEntity != null) {
                 bSuccess = 1;
             } else {
@@ -0,0 +1,216 @@
+package org.recap.request.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the request items of the RequestItemQ on a bulkhead of their owning institution, so that a slow or failing ILS
+ * only holds the threads of its own bulkhead. The concurrency of each bulkhead adapts to the ILS (AIMD): it grows by
+ * one after as many fast successes as the current limit, and is cut by request.item.bulkhead.backoff.ratio on a failure
+ * or on a request slower than request.item.bulkhead.latency.threshold.millis, within the min and max concurrency.
+ * While the queue of its bulkhead is full, the caller of a request item backs off and tries again, from
+ * request.item.bulkhead.overflow.backoff.millis doubling up to request.item.bulkhead.overflow.max.backoff.millis, so the
+ * request items beyond the queue stay on the broker. The queued request items are run before shutdown.
+ */
+@Slf4j
+@Component
+public class RequestItemBulkheadService {
+
+    @Value("${request.item.bulkhead.initial.concurrency:10}")
+    private int initialConcurrency;
+
+    @Value("${request.item.bulkhead.min.concurrency:2}")
+    private int minConcurrency;
+
+    @Value("${request.item.bulkhead.max.concurrency:30}")
+    private int maxConcurrency;
+
+    @Value("${request.item.bulkhead.queue.capacity:10}")
+    private int queueCapacity;
+
+    @Value("${request.item.bulkhead.latency.threshold.millis:20000}")
+    private long latencyThresholdMillis;
+
+    @Value("${request.item.bulkhead.backoff.ratio:0.75}")
+    private double backoffRatio;
+
+    @Value("${request.item.bulkhead.overflow.backoff.millis:50}")
+    private long overflowBackoffMillis;
+
+    @Value("${request.item.bulkhead.overflow.max.backoff.millis:1000}")
+    private long overflowMaxBackoffMillis;
+
+    @Value("${request.item.bulkhead.shutdown.timeout.seconds:60}")
+    private long shutdownTimeoutSeconds;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the request item on the bulkhead of its owning institution, backing off while the bulkhead is full.
+     *
+     * @param institutionCode the owning institution code of the item
+     * @param task            the request item processing, returns false if the ILS failed the request item
+     * @throws InterruptedException if interrupted while backing off
+     */
+    public void execute(String institutionCode, BooleanSupplier task) throws InterruptedException {
+        long backoffMillis = Math.max(1, overflowBackoffMillis);
+        long maxBackoffMillis = Math.max(backoffMillis, overflowMaxBackoffMillis);
+        while (!tryExecute(institutionCode, task)) {
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+        }
+    }
+
+    /**
+     * Runs the request item on the bulkhead of its owning institution if the bulkhead has room.
+     *
+     * @param institutionCode the owning institution code of the item
+     * @param task            the request item processing, returns false if the ILS failed the request item
+     * @return false if the bulkhead is full and the request item was not accepted
+     * @throws RejectedExecutionException if the bulkhead is shut down
+     */
+    public boolean tryExecute(String institutionCode, BooleanSupplier task) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(String.valueOf(institutionCode), this::createBulkhead);
+        try {
+            bulkhead.executor.execute(() -> bulkhead.run(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (bulkhead.executor.isShutdown()) {
+                throw e;
+            }
+            bulkhead.rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the current concurrency limit of the bulkhead of the institution.
+     *
+     * @param institutionCode the institution code
+     * @return the concurrency limit, 0 if the institution has no bulkhead yet
+     */
+    public int getConcurrencyLimit(String institutionCode) {
+        Bulkhead bulkhead = bulkheads.get(String.valueOf(institutionCode));
+        return bulkhead != null ? bulkhead.getLimit() : 0;
+    }
+
+    /**
+     * Runs the request items queued in the bulkheads before the application stops, for up to the shutdown timeout.
+     */
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.executor.shutdown());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+        try {
+            for (Bulkhead bulkhead : bulkheads.values()) {
+                if (!bulkhead.executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warn("Request item bulkhead {} : {} request items not run before shutdown", bulkhead.institutionCode, bulkhead.executor.getQueue().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Bulkhead createBulkhead(String institutionCode) {
+        int min = Math.max(1, minConcurrency);
+        int max = Math.max(min, maxConcurrency);
+        Tags tags = Tags.of("institution", institutionCode);
+        Bulkhead bulkhead = new Bulkhead(institutionCode, Math.min(max, Math.max(min, initialConcurrency)), min, max, tags);
+        Metrics.gauge(ScsbConstants.REQUEST_ITEM_BULKHEAD_LIMIT, tags, bulkhead, Bulkhead::getLimit);
+        Metrics.gauge(ScsbConstants.REQUEST_ITEM_BULKHEAD_IN_FLIGHT, tags, bulkhead.executor, ThreadPoolExecutor::getActiveCount);
+        Metrics.gauge(ScsbConstants.REQUEST_ITEM_BULKHEAD_QUEUE_DEPTH, tags, bulkhead.executor, executor -> executor.getQueue().size());
+        log.info("Request item bulkhead {} : concurrency limit {} ({}-{}), queue capacity {}", institutionCode, bulkhead.limit, min, max, queueCapacity);
+        return bulkhead;
+    }
+
+    private class Bulkhead {
+        private final String institutionCode;
+        private final int minLimit;
+        private final int maxLimit;
+        private final ThreadPoolExecutor executor;
+        private final Timer timer;
+        private final Counter rejectedCounter;
+        private int limit;
+        private int successCount;
+        private long lastDecreaseTime;
+
+        private Bulkhead(String institutionCode, int limit, int minLimit, int maxLimit, Tags tags) {
+            this.institutionCode = institutionCode;
+            this.limit = limit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.executor = new ThreadPoolExecutor(limit, limit, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                    new CustomizableThreadFactory("RequestItemBulkhead-" + institutionCode + "-"));
+            this.executor.allowCoreThreadTimeOut(true);
+            this.timer = Metrics.timer(ScsbConstants.REQUEST_ITEM_BULKHEAD_REQUESTS, tags);
+            this.rejectedCounter = Metrics.counter(ScsbConstants.REQUEST_ITEM_BULKHEAD_REJECTED, tags);
+            this.lastDecreaseTime = System.nanoTime();
+        }
+
+        private void run(BooleanSupplier task) {
+            long startTime = System.nanoTime();
+            boolean success = false;
+            try {
+                success = task.getAsBoolean();
+            } catch (RuntimeException e) {
+                log.error(ScsbCommonConstants.LOG_ERROR, e);
+            } finally {
+                long endTime = System.nanoTime();
+                timer.record(endTime - startTime, TimeUnit.NANOSECONDS);
+                onComplete(startTime, endTime, success);
+            }
+        }
+
+        /**
+         * Additive increase after as many fast successes as the limit, multiplicative decrease on a failure or slow
+         * request. Request items started before the last decrease do not decrease the limit again, so that a burst of
+         * timeouts of the same ILS outage cuts the limit once.
+         */
+        private synchronized void onComplete(long startTime, long endTime, boolean success) {
+            if (!success || endTime - startTime > TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis)) {
+                successCount = 0;
+                if (startTime - lastDecreaseTime >= 0) {
+                    lastDecreaseTime = endTime;
+                    setLimit(Math.max(minLimit, (int) (limit * backoffRatio)));
+                }
+            } else if (++successCount >= limit) {
+                successCount = 0;
+                setLimit(Math.min(maxLimit, limit + 1));
+            }
+        }
+
+        private void setLimit(int newLimit) {
+            if (newLimit > limit) {
+                executor.setMaximumPoolSize(newLimit);
+                executor.setCorePoolSize(newLimit);
+            } else if (newLimit < limit) {
+                executor.setCorePoolSize(newLimit);
+                executor.setMaximumPoolSize(newLimit);
+                log.info("Request item bulkhead {} : concurrency limit decreased to {}", institutionCode, newLimit);
+            }
+            limit = newLimit;
+        }
+
+        private synchronized int getLimit() {
+            return limit;
+        }
+    }
+}
@@ -2,9 +2,7 @@ package org.recap.request.util;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.text.StringEscapeUtils;
-import org.recap.PropertyKeyConstants;
 import org.recap.ScsbCommonConstants;
-import org.recap.ScsbConstants;
 import org.recap.model.request.BulkRequestItem;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.ims.model.TtitemEDDResponse;
@@ -13,17 +11,12 @@ import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
 import org.recap.repository.jpa.GenericPatronDetailsRepository;
 import org.recap.request.service.EmailService;
 import org.recap.service.RestHeaderService;
+import org.recap.service.common.SearchResultRowCacheService;
 import org.recap.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,9 +29,6 @@ public class ItemRequestServiceUtil {
 
     private final Logger logger = LoggerFactory.getLogger(ItemRequestServiceUtil.class);
 
-    @Value("${" + PropertyKeyConstants.SCSB_SOLR_DOC_URL + "}")
-    private String scsbSolrClientUrl;
-
     @Autowired
     private RestHeaderService restHeaderService;
 
@@ -54,22 +44,26 @@ public class ItemRequestServiceUtil {
     @Autowired
     private PropertyUtil propertyUtil;
 
+    @Autowired
+    private SolrIndexUpdateQueue solrIndexUpdateQueue;
+
+    @Autowired
+    private SearchResultRowCacheService searchResultRowCacheService;
+
     public RestHeaderService getRestHeaderService(){
         return restHeaderService;
     }
 
     /**
-     * Update solr index.
+     * Update solr index, the update is queued and sent to the solr client asynchronously. The cached search result row
+     * of the item is dropped.
      *
      * @param itemEntity the item entity
      */
     public void updateSolrIndex(ItemEntity itemEntity) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            HttpEntity requestEntity = new HttpEntity<>(getRestHeaderService().getHttpHeaders());
-            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(scsbSolrClientUrl + ScsbConstants.UPDATE_ITEM_STATUS_SOLR).queryParam(ScsbConstants.UPDATE_ITEM_STATUS_SOLR_PARAM_ITEM_ID, itemEntity.getBarcode());
-            ResponseEntity<String> responseEntity = restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, String.class);
-            logger.info(responseEntity.getBody());
+            searchResultRowCacheService.invalidate(itemEntity.getBarcode());
+            solrIndexUpdateQueue.enqueue(itemEntity.getBarcode());
         } catch (Exception e) {
             logger.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
         }
@@ -108,14 +102,15 @@ public class ItemRequestServiceUtil {
     /**
      * Generates report for the bulk request items and sends an email.
      * @param bulkRequestId
+     * @param gzippedReport the gzipped report to attach in place of the report of the bulk request, may be null
      */
-    public void generateReportAndSendEmail(Integer bulkRequestId) {
+    public void generateReportAndSendEmail(Integer bulkRequestId, byte[] gzippedReport) {
         Optional<BulkRequestItemEntity> bulkRequestItemEntity = bulkRequestItemDetailsRepository.findById(bulkRequestId);
         if(bulkRequestItemEntity.isPresent()) {
             emailService.sendBulkRequestEmail(String.valueOf(bulkRequestItemEntity.get().getId()),
                     bulkRequestItemEntity.get().getBulkRequestName(), bulkRequestItemEntity.get().getBulkRequestFileName(),
-                    bulkRequestItemEntity.get().getBulkRequestStatus(), new String(bulkRequestItemEntity.get().getBulkRequestFileData()),
-                    "Bulk Request Process Report");
+                    bulkRequestItemEntity.get().getBulkRequestStatus(), gzippedReport != null ? gzippedReport : bulkRequestItemEntity.get().getBulkRequestFileData(),
+                    gzippedReport != null, "Bulk Request Process Report");
         }
     }
 
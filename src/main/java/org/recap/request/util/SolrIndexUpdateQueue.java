@@ -0,0 +1,210 @@
+package org.recap.request.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.recap.PropertyKeyConstants;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.recap.service.RestHeaderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues the item barcodes whose availability has to be updated in solr and sends them to the solr client from a
+ * shared scheduler. Updates of the same barcode within the coalesce window are sent once, and failed updates are
+ * retried with backoff up to the max attempts.
+ */
+@Component
+@Slf4j
+public class SolrIndexUpdateQueue {
+
+    @Value("${" + PropertyKeyConstants.SCSB_SOLR_DOC_URL + "}")
+    private String scsbSolrClientUrl;
+
+    @Value("${solr.index.update.coalesce.window.millis:500}")
+    private long coalesceWindow;
+
+    @Value("${solr.index.update.flush.interval.millis:250}")
+    private long flushInterval;
+
+    @Value("${solr.index.update.batch.size:50}")
+    private int batchSize;
+
+    @Value("${solr.index.update.thread.count:4}")
+    private int threadCount;
+
+    @Value("${solr.index.update.max.attempts:5}")
+    private int maxAttempts;
+
+    @Value("${solr.index.update.retry.backoff.millis:1000}")
+    private long retryBackoff;
+
+    @Value("${solr.index.update.retry.max.backoff.millis:60000}")
+    private long maxRetryBackoff;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private RestHeaderService restHeaderService;
+
+    private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    private Timer updateDelayTimer;
+    private ScheduledExecutorService flushScheduler;
+    private ExecutorService updateExecutor;
+
+    @PostConstruct
+    public void startFlushing() {
+        Metrics.gauge(ScsbConstants.SOLR_INDEX_UPDATE_PENDING, pendingUpdates, Map::size);
+        Metrics.gauge(ScsbConstants.SOLR_INDEX_UPDATE_LAG, this, SolrIndexUpdateQueue::getLagMillis);
+        updateDelayTimer = Metrics.timer(ScsbConstants.SOLR_INDEX_UPDATE_DELAY);
+        updateExecutor = Executors.newFixedThreadPool(threadCount);
+        flushScheduler = Executors.newSingleThreadScheduledExecutor();
+        flushScheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the availability update of the item, an update already waiting for the same item covers this one.
+     *
+     * @param itemBarcode the item barcode
+     */
+    public void enqueue(String itemBarcode) {
+        if (StringUtils.isBlank(itemBarcode)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (pendingUpdates.putIfAbsent(itemBarcode, new PendingUpdate(now, now + coalesceWindow, 0)) != null) {
+            Metrics.counter(ScsbConstants.SOLR_INDEX_UPDATE_COALESCED).increment();
+        }
+    }
+
+    /**
+     * Sends the updates which are due to the solr client, a batch at a time.
+     */
+    public void flush() {
+        try {
+            while (flushBatch(System.currentTimeMillis(), batchSize) >= batchSize) {
+                log.info("Solr index updates pending : {}", pendingUpdates.size());
+            }
+        } catch (InterruptedException e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+    }
+
+    public int getPendingUpdateCount() {
+        return pendingUpdates.size();
+    }
+
+    /**
+     * Gets the time the oldest pending update has been waiting.
+     *
+     * @return the lag in millis
+     */
+    public long getLagMillis() {
+        long now = System.currentTimeMillis();
+        return pendingUpdates.values().stream().mapToLong(pendingUpdate -> now - pendingUpdate.enqueuedTime).max().orElse(0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+        }
+        try {
+            // Send what is still queued once, without waiting for the coalesce window or the retry backoff.
+            flushBatch(Long.MAX_VALUE, Integer.MAX_VALUE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+        }
+        if (!pendingUpdates.isEmpty()) {
+            log.warn("Solr index updates not sent on shutdown : {}", pendingUpdates.keySet());
+        }
+        if (updateExecutor != null) {
+            updateExecutor.shutdownNow();
+        }
+    }
+
+    private int flushBatch(long now, int limit) throws InterruptedException {
+        List<Callable<Boolean>> updates = new ArrayList<>();
+        for (Map.Entry<String, PendingUpdate> pendingUpdateEntry : pendingUpdates.entrySet()) {
+            if (updates.size() >= limit) {
+                break;
+            }
+            String itemBarcode = pendingUpdateEntry.getKey();
+            PendingUpdate pendingUpdate = pendingUpdateEntry.getValue();
+            if (now >= pendingUpdate.nextAttemptTime && pendingUpdates.remove(itemBarcode, pendingUpdate)) {
+                updates.add(() -> update(itemBarcode, pendingUpdate));
+            }
+        }
+        if (!updates.isEmpty()) {
+            updateExecutor.invokeAll(updates);
+        }
+        return updates.size();
+    }
+
+    private boolean update(String itemBarcode, PendingUpdate pendingUpdate) {
+        try {
+            HttpEntity<Void> requestEntity = new HttpEntity<>(restHeaderService.getHttpHeaders());
+            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(scsbSolrClientUrl + ScsbConstants.UPDATE_ITEM_STATUS_SOLR).queryParam(ScsbConstants.UPDATE_ITEM_STATUS_SOLR_PARAM_ITEM_ID, itemBarcode);
+            ResponseEntity<String> responseEntity = restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, String.class);
+            log.info("Solr index update of {} : {}", itemBarcode, responseEntity.getBody());
+            updateDelayTimer.record(System.currentTimeMillis() - pendingUpdate.enqueuedTime, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.REQUEST_EXCEPTION, e);
+            retry(itemBarcode, pendingUpdate);
+            return false;
+        }
+    }
+
+    private void retry(String itemBarcode, PendingUpdate pendingUpdate) {
+        int attempts = pendingUpdate.attempts + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Solr index update of {} failed after {} attempts", itemBarcode, attempts);
+            Metrics.counter(ScsbConstants.SOLR_INDEX_UPDATE_FAILURES, "result", "dropped").increment();
+            return;
+        }
+        Metrics.counter(ScsbConstants.SOLR_INDEX_UPDATE_FAILURES, "result", "retried").increment();
+        long backoff = Math.min(retryBackoff << Math.min(attempts - 1, 20), maxRetryBackoff);
+        // An update queued for the item meanwhile is sent anyway, so it replaces the retry.
+        pendingUpdates.putIfAbsent(itemBarcode, new PendingUpdate(pendingUpdate.enqueuedTime, System.currentTimeMillis() + backoff, attempts));
+    }
+
+    private static class PendingUpdate {
+        private final long enqueuedTime;
+        private final long nextAttemptTime;
+        private final int attempts;
+
+        private PendingUpdate(long enqueuedTime, long nextAttemptTime, int attempts) {
+            this.enqueuedTime = enqueuedTime;
+            this.nextAttemptTime = nextAttemptTime;
+            this.attempts = attempts;
+        }
+    }
+}
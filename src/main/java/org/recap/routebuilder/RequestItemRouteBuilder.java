@@ -2,9 +2,12 @@ package org.recap.routebuilder;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.processor.aggregate.GroupedBodyAggregationStrategy;
 import org.recap.PropertyKeyConstants;
 import org.recap.ScsbCommonConstants;
 import org.recap.ScsbConstants;
+import org.recap.camel.route.RequestItemBulkheadProcessor;
 import org.recap.camel.route.StartRouteProcessor;
 import org.recap.ims.service.GFALasService;
 import org.recap.mqconsumer.RequestItemQueueConsumer;
@@ -13,6 +16,7 @@ import org.recap.request.service.BulkItemRequestProcessService;
 import org.recap.request.service.BulkItemRequestService;
 import org.recap.request.service.ItemEDDRequestService;
 import org.recap.request.service.ItemRequestService;
+import org.recap.request.service.RequestItemBulkheadService;
 import org.recap.util.CommonUtil;
 import org.recap.util.PropertyUtil;
 import org.slf4j.Logger;
@@ -36,16 +40,17 @@ public class RequestItemRouteBuilder {
      * @param camelContext          the camel context
      * @param itemRequestService    the item request service
      * @param itemEDDRequestService the item edd request service
+     * @param requestItemBulkheadService the per owning institution bulkheads of the request item route
      */
     @Autowired
-    public RequestItemRouteBuilder(@Value("${bulk.request.concurrent.consumer.count}") Integer bulkRequestConsumerCount, CamelContext camelContext, ApplicationContext applicationContext, ItemRequestService itemRequestService, ItemEDDRequestService itemEDDRequestService, BulkItemRequestService bulkItemRequestService, BulkItemRequestProcessService bulkItemRequestProcessService, PropertyUtil propertyUtil, CommonUtil commonUtil) {
+    public RequestItemRouteBuilder(@Value("${bulk.request.concurrent.consumer.count}") Integer bulkRequestConsumerCount, CamelContext camelContext, ApplicationContext applicationContext, ItemRequestService itemRequestService, ItemEDDRequestService itemEDDRequestService, BulkItemRequestService bulkItemRequestService, BulkItemRequestProcessService bulkItemRequestProcessService, PropertyUtil propertyUtil, CommonUtil commonUtil, RequestItemBulkheadService requestItemBulkheadService) {
         try {
             camelContext.addRoutes(new RouteBuilder() {
                 @Override
                 public void configure() throws Exception {
                     from(ScsbConstants.REQUEST_ITEM_QUEUE)
                         .routeId(ScsbConstants.REQUEST_ITEM_QUEUE_ROUTEID)
-                        .threads(30,50)
+                        .process(new RequestItemBulkheadProcessor(requestItemBulkheadService))
                         .choice()
                             .when(header(ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER).isEqualTo(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL))
                                 .bean(new RequestItemQueueConsumer(itemRequestService), "requestItemOnMessage")
@@ -67,16 +72,7 @@ public class RequestItemRouteBuilder {
                     }
                 });
 
-                camelContext.addRoutes(new RouteBuilder() {
-                    @Override
-                    public void configure() throws Exception {
-                        from(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + imsLocationCode + ScsbConstants.OUTGOING_QUEUE_SUFFIX)
-                                .routeId(imsLocationCode + ScsbConstants.LAS_OUTGOING_ROUTE_ID)
-                                .log("Message Received in LAS OUTGOING QUEUE for " + imsLocationCode)
-                                .bean(applicationContext.getBean(GFALasService.class), "gfaItemRequestProcessor");
-
-                    }
-                });
+                addLasOutgoingRoute(camelContext, applicationContext.getBean(GFALasService.class), imsLocationCode);
             }
 
             camelContext.addRoutes(new RouteBuilder() {
@@ -110,6 +106,7 @@ public class RequestItemRouteBuilder {
                 public void configure() throws Exception {
                     from(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE + ScsbConstants.ASYNC_CONCURRENT_CONSUMERS + bulkRequestConsumerCount)
                             .routeId(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE_ROUTEID)
+                            .split(body().tokenize("\n"))
                             .bean(new RequestItemQueueConsumer(bulkItemRequestProcessService), "bulkRequestProcessItemOnMessage");
                 }
             });
@@ -169,4 +166,35 @@ public class RequestItemRouteBuilder {
 
     }
 
+
+    /**
+     * Adds the route sending the orders of the LAS outgoing queue of the IMS location to LAS, used at startup and when
+     * a new IMS location is onboarded.
+     *
+     * @param camelContext    the camel context
+     * @param gfaLasService   the gfa las service
+     * @param imsLocationCode the ims location code
+     * @throws Exception the exception
+     */
+    public static void addLasOutgoingRoute(CamelContext camelContext, GFALasService gfaLasService, String imsLocationCode) throws Exception {
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                RouteDefinition lasOutgoingRoute = from(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + imsLocationCode + ScsbConstants.OUTGOING_QUEUE_SUFFIX)
+                        .routeId(imsLocationCode + ScsbConstants.LAS_OUTGOING_ROUTE_ID)
+                        .log("Message Received in LAS OUTGOING QUEUE for " + imsLocationCode);
+                if (gfaLasService.getLasOrderBatchSize() > 1) {
+                    // Orders of the same request type are sent to LAS together, once the batch is full or the window is over.
+                    lasOutgoingRoute
+                            .aggregate(header(ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER), new GroupedBodyAggregationStrategy())
+                            .completionSize(gfaLasService.getLasOrderBatchSize())
+                            .completionTimeout(gfaLasService.getLasOrderBatchWindowMillis())
+                            .completionTimeoutCheckerInterval(gfaLasService.getLasOrderBatchWindowMillis())
+                            .bean(gfaLasService, "gfaItemRequestBatchProcessor");
+                } else {
+                    lasOutgoingRoute.bean(gfaLasService, "gfaItemRequestProcessor");
+                }
+            }
+        });
+    }
 }
@@ -7,6 +7,7 @@ import org.recap.ScsbCommonConstants;
 import org.recap.model.queueinfo.QueueSizeInfoJson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -37,6 +38,9 @@ public class ActiveMqQueuesInfo {
     @Value("${" + PropertyKeyConstants.ACTIVEMQ_CREDENTIALS + "}")
     private String activemqCredentials;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
     public Integer getActivemqQueuesInfo(String queueName){
         Integer queueSizeCount = 0;
         String[] activemqUrls = serviceUrl.split(",");
@@ -46,7 +50,7 @@ public class ActiveMqQueuesInfo {
                 headers.add("Authorization", "Basic " + getEncodedActivemqCredentials());
                 HttpEntity<String> stringHttpEntity = new HttpEntity<>(headers);
                 String searchUrl = String.format(activemqUrl + activeMqApiUrl + "%s" + searchAttribute, queueName);
-                ResponseEntity<String> response = new RestTemplate().exchange(searchUrl, HttpMethod.GET, stringHttpEntity, String.class);
+                ResponseEntity<String> response = restTemplate.exchange(searchUrl, HttpMethod.GET, stringHttpEntity, String.class);
                 QueueSizeInfoJson queueInfo = new ObjectMapper().readValue(response.getBody(), QueueSizeInfoJson.class);
                 queueSizeCount = Integer.valueOf(queueInfo.getValue());
                 break;
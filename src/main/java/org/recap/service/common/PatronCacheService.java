@@ -0,0 +1,111 @@
+package org.recap.service.common;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.recap.ScsbConstants;
+import org.recap.model.AbstractResponseItem;
+import org.recap.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size bounded, least recently used cache of the patron validations and lookups answered by the ILS of each
+ * institution, keyed by institution and patron barcode. Valid patrons and successful lookups are kept for
+ * patron.cache.ttl.millis, invalid patrons for patron.cache.invalid.ttl.millis, and failed lookups are not cached.
+ * Up to patron.cache.max.size validations and as many lookups are kept. Each caller gets its own copy of a cached
+ * lookup. A ttl or max size of 0 turns the respective caching off.
+ */
+@Slf4j
+@Service
+public class PatronCacheService {
+
+    @Value("${patron.cache.ttl.millis:60000}")
+    private long cacheTtlMillis;
+
+    @Value("${patron.cache.invalid.ttl.millis:15000}")
+    private long invalidPatronTtlMillis;
+
+    @Value("${patron.cache.max.size:10000}")
+    private int cacheMaxSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final TtlCache<String, Boolean> validations = new TtlCache<>(() -> cacheMaxSize, UnaryOperator.identity(), ScsbConstants.PATRON_CACHE_REQUESTS, "type", "validation");
+
+    private final TtlCache<String, AbstractResponseItem> lookups = new TtlCache<>(() -> cacheMaxSize, this::copy, ScsbConstants.PATRON_CACHE_REQUESTS, "type", "lookup");
+
+    /**
+     * Gets whether the patron is valid in the ILS of the institution from the cache, or from the validator if it is
+     * not cached or expired.
+     *
+     * @param institution   the institution
+     * @param patronBarcode the patron barcode
+     * @param validator     validates the patron in the ILS
+     * @return true if the patron is valid
+     */
+    public boolean patronValidation(String institution, String patronBarcode, BooleanSupplier validator) {
+        if (StringUtils.isBlank(institution) || StringUtils.isBlank(patronBarcode)) {
+            return validator.getAsBoolean();
+        }
+        Boolean valid = validations.get(getKey(institution, patronBarcode), validator::getAsBoolean,
+                patronValid -> Boolean.TRUE.equals(patronValid) ? cacheTtlMillis : invalidPatronTtlMillis);
+        return Boolean.TRUE.equals(valid);
+    }
+
+    /**
+     * Gets the patron information of the ILS of the institution from the cache, or from the loader if it is not
+     * cached or expired.
+     *
+     * @param institution   the institution
+     * @param patronBarcode the patron barcode
+     * @param loader        looks up the patron in the ILS
+     * @return the patron information response
+     */
+    public AbstractResponseItem lookupPatron(String institution, String patronBarcode, Supplier<AbstractResponseItem> loader) {
+        if (StringUtils.isBlank(institution) || StringUtils.isBlank(patronBarcode)) {
+            return loader.get();
+        }
+        return lookups.get(getKey(institution, patronBarcode), loader,
+                patronInformation -> patronInformation != null && patronInformation.isSuccess() ? cacheTtlMillis : 0);
+    }
+
+    /**
+     * Drops the cached validation and lookup of the patron, so that the next ones go to the ILS.
+     *
+     * @param institution   the institution
+     * @param patronBarcode the patron barcode
+     */
+    public void invalidate(String institution, String patronBarcode) {
+        validations.invalidate(getKey(institution, patronBarcode));
+        lookups.invalidate(getKey(institution, patronBarcode));
+    }
+
+    /**
+     * Drops all the cached patrons.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void invalidateAll() {
+        validations.invalidateAll();
+        lookups.invalidateAll();
+    }
+
+    public int size() {
+        return validations.size() + lookups.size();
+    }
+
+    private AbstractResponseItem copy(AbstractResponseItem patronInformation) {
+        return objectMapper.convertValue(patronInformation, patronInformation.getClass());
+    }
+
+    private String getKey(String institution, String patronBarcode) {
+        return institution + ":" + patronBarcode;
+    }
+}
@@ -0,0 +1,222 @@
+package org.recap.service.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.recap.model.jpa.DeliveryCodeEntity;
+import org.recap.model.jpa.DeliveryCodeTranslationEntity;
+import org.recap.model.jpa.InstitutionEntity;
+import org.recap.model.jpa.OwnerCodeEntity;
+import org.recap.model.jpa.RequestStatusEntity;
+import org.recap.model.jpa.RequestTypeEntity;
+import org.recap.repository.jpa.DeliveryCodeDetailsRepository;
+import org.recap.repository.jpa.DeliveryCodeTranslationDetailsRepository;
+import org.recap.repository.jpa.InstitutionDetailsRepository;
+import org.recap.repository.jpa.OwnerCodeDetailsRepository;
+import org.recap.repository.jpa.RequestItemStatusDetailsRepository;
+import org.recap.repository.jpa.RequestTypeDetailsRepository;
+import org.recap.util.TtlCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of the nearly static reference data looked up while validating and placing requests: institutions,
+ * request statuses, request types, delivery codes, delivery code translations and owner codes. Entries expire after
+ * reference.data.cache.ttl.millis and the whole cache is dropped on {@link #invalidateAll()} or a config refresh. Lookups
+ * which find nothing are not cached. The cache keeps its own copies of the columns of the entities, without their
+ * associations, and hands a new copy to each caller, so that the cached data is neither shared between threads nor tied to
+ * a closed session.
+ */
+@Slf4j
+@Service
+public class ReferenceDataCacheService {
+
+    @Value("${reference.data.cache.ttl.millis:3600000}")
+    private long cacheTtlMillis;
+
+    @Autowired
+    private InstitutionDetailsRepository institutionDetailsRepository;
+
+    @Autowired
+    private RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
+
+    @Autowired
+    private RequestTypeDetailsRepository requestTypeDetailsRepository;
+
+    @Autowired
+    private DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
+
+    @Autowired
+    private DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
+
+    @Autowired
+    private OwnerCodeDetailsRepository ownerCodeDetailsRepository;
+
+    private final TtlCache<String, InstitutionEntity> institutions = createCache(ReferenceDataCacheService::copy, "institution");
+    private final TtlCache<String, RequestStatusEntity> requestStatuses = createCache(ReferenceDataCacheService::copy, "requestStatus");
+    private final TtlCache<String, RequestTypeEntity> requestTypes = createCache(ReferenceDataCacheService::copy, "requestType");
+    private final TtlCache<List<Object>, DeliveryCodeEntity> deliveryCodes = createCache(ReferenceDataCacheService::copy, "deliveryCode");
+    private final TtlCache<List<Object>, DeliveryCodeTranslationEntity> deliveryCodeTranslations = createCache(ReferenceDataCacheService::copy, "deliveryCodeTranslation");
+    private final TtlCache<List<Object>, OwnerCodeEntity> ownerCodes = createCache(ReferenceDataCacheService::copy, "ownerCode");
+    private final TtlCache<List<Object>, List<Object[]>> ownerCodeDeliveryCodes = createCache(ReferenceDataCacheService::copy, "ownerCodeDeliveryCodes");
+
+    /**
+     * Loads the institutions, request statuses and request types up front so that the first requests do not pay for them.
+     */
+    @PostConstruct
+    public void preload() {
+        try {
+            for (InstitutionEntity institutionEntity : institutionDetailsRepository.findAll()) {
+                institutions.put(institutionEntity.getInstitutionCode(), institutionEntity, cacheTtlMillis);
+            }
+            for (RequestStatusEntity requestStatusEntity : requestItemStatusDetailsRepository.findAll()) {
+                requestStatuses.put(requestStatusEntity.getRequestStatusCode(), requestStatusEntity, cacheTtlMillis);
+            }
+            for (RequestTypeEntity requestTypeEntity : requestTypeDetailsRepository.findAll()) {
+                requestTypes.put(requestTypeEntity.getRequestTypeCode(), requestTypeEntity, cacheTtlMillis);
+            }
+            log.info("Preloaded reference data cache");
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.LOG_ERROR, e);
+        }
+    }
+
+    public InstitutionEntity getInstitutionByCode(String institutionCode) {
+        return get(institutions, institutionCode, () -> institutionDetailsRepository.findByInstitutionCode(institutionCode));
+    }
+
+    public RequestStatusEntity getRequestStatusByCode(String requestStatusCode) {
+        return get(requestStatuses, requestStatusCode, () -> requestItemStatusDetailsRepository.findByRequestStatusCode(requestStatusCode));
+    }
+
+    public RequestTypeEntity getRequestTypeByCode(String requestTypeCode) {
+        return get(requestTypes, requestTypeCode, () -> requestTypeDetailsRepository.findByrequestTypeCode(requestTypeCode));
+    }
+
+    /**
+     * Gets the active delivery code of the institution.
+     *
+     * @param deliveryCode        the delivery code
+     * @param owningInstitutionId the owning institution id
+     * @return the delivery code entity or null if the delivery code is unknown or inactive
+     */
+    public DeliveryCodeEntity getActiveDeliveryCode(String deliveryCode, Integer owningInstitutionId) {
+        return get(deliveryCodes, Arrays.asList(deliveryCode, owningInstitutionId), () -> deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(deliveryCode, owningInstitutionId, 'Y'));
+    }
+
+    public DeliveryCodeTranslationEntity getDeliveryCodeTranslation(Integer requestingInstitutionId, Integer deliveryCodeId, Integer imsLocationId) {
+        return get(deliveryCodeTranslations, Arrays.asList(requestingInstitutionId, deliveryCodeId, imsLocationId), () -> deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(requestingInstitutionId, deliveryCodeId, imsLocationId));
+    }
+
+    public OwnerCodeEntity getOwnerCode(String ownerCode, String owningInstitutionCode) {
+        return get(ownerCodes, Arrays.asList(ownerCode, owningInstitutionCode), () -> ownerCodeDetailsRepository.findByOwnerCodeAndOwningInstitutionCode(ownerCode, owningInstitutionCode));
+    }
+
+    /**
+     * Gets the active delivery codes the owner code may deliver to for the requesting institution.
+     *
+     * @param ownerCodeId     the owner code id
+     * @param institutionId   the requesting institution id
+     * @param deliveryLocation the delivery location
+     * @return the matching delivery code rows
+     */
+    public List<Object[]> getOwnerCodeDeliveryCodes(Integer ownerCodeId, Integer institutionId, String deliveryLocation) {
+        List<Object[]> deliveryCodeRows = get(ownerCodeDeliveryCodes, Arrays.asList(ownerCodeId, institutionId, deliveryLocation), () -> ownerCodeDetailsRepository.findByOwnerCodeAndRequestingInstitution(ownerCodeId, institutionId, deliveryLocation));
+        return deliveryCodeRows != null ? deliveryCodeRows : new ArrayList<>();
+    }
+
+    /**
+     * Drops all the cached reference data, it is reloaded on next use.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void invalidateAll() {
+        log.info("Clearing reference data cache");
+        institutions.invalidateAll();
+        requestStatuses.invalidateAll();
+        requestTypes.invalidateAll();
+        deliveryCodes.invalidateAll();
+        deliveryCodeTranslations.invalidateAll();
+        ownerCodes.invalidateAll();
+        ownerCodeDeliveryCodes.invalidateAll();
+    }
+
+    private static <K, V> TtlCache<K, V> createCache(UnaryOperator<V> copier, String cacheName) {
+        return new TtlCache<>(() -> Integer.MAX_VALUE, copier, ScsbConstants.REFERENCE_DATA_CACHE_REQUESTS, "cache", cacheName);
+    }
+
+    private <K, V> V get(TtlCache<K, V> cache, K key, Supplier<V> loader) {
+        // Misses are not cached, so that reference data added after the lookup, such as a newly onboarded institution or
+        // a newly activated delivery code, is found on the next lookup.
+        return cache.get(key, loader, value -> value instanceof Collection && ((Collection<?>) value).isEmpty() ? 0 : cacheTtlMillis);
+    }
+
+    private static InstitutionEntity copy(InstitutionEntity institutionEntity) {
+        InstitutionEntity copy = new InstitutionEntity();
+        copy.setId(institutionEntity.getId());
+        copy.setInstitutionCode(institutionEntity.getInstitutionCode());
+        copy.setInstitutionName(institutionEntity.getInstitutionName());
+        return copy;
+    }
+
+    private static RequestStatusEntity copy(RequestStatusEntity requestStatusEntity) {
+        RequestStatusEntity copy = new RequestStatusEntity();
+        copy.setId(requestStatusEntity.getId());
+        copy.setRequestStatusCode(requestStatusEntity.getRequestStatusCode());
+        copy.setRequestStatusDescription(requestStatusEntity.getRequestStatusDescription());
+        return copy;
+    }
+
+    private static RequestTypeEntity copy(RequestTypeEntity requestTypeEntity) {
+        RequestTypeEntity copy = new RequestTypeEntity();
+        copy.setId(requestTypeEntity.getId());
+        copy.setRequestTypeCode(requestTypeEntity.getRequestTypeCode());
+        copy.setRequestTypeDesc(requestTypeEntity.getRequestTypeDesc());
+        return copy;
+    }
+
+    private static DeliveryCodeEntity copy(DeliveryCodeEntity deliveryCodeEntity) {
+        DeliveryCodeEntity copy = new DeliveryCodeEntity();
+        copy.setId(deliveryCodeEntity.getId());
+        copy.setDeliveryCode(deliveryCodeEntity.getDeliveryCode());
+        copy.setDescription(deliveryCodeEntity.getDescription());
+        copy.setAddress(deliveryCodeEntity.getAddress());
+        copy.setDeliveryCodeTypeId(deliveryCodeEntity.getDeliveryCodeTypeId());
+        copy.setActive(deliveryCodeEntity.getActive());
+        copy.setPickupLocation(deliveryCodeEntity.getPickupLocation());
+        return copy;
+    }
+
+    private static DeliveryCodeTranslationEntity copy(DeliveryCodeTranslationEntity deliveryCodeTranslationEntity) {
+        DeliveryCodeTranslationEntity copy = new DeliveryCodeTranslationEntity();
+        copy.setId(deliveryCodeTranslationEntity.getId());
+        copy.setImsLocationDeliveryCode(deliveryCodeTranslationEntity.getImsLocationDeliveryCode());
+        copy.setRequestingInstitutionId(deliveryCodeTranslationEntity.getRequestingInstitutionId());
+        copy.setRequestingInstitutionDeliveryCodeId(deliveryCodeTranslationEntity.getRequestingInstitutionDeliveryCodeId());
+        return copy;
+    }
+
+    private static OwnerCodeEntity copy(OwnerCodeEntity ownerCodeEntity) {
+        OwnerCodeEntity copy = new OwnerCodeEntity();
+        copy.setId(ownerCodeEntity.getId());
+        copy.setOwnerCode(ownerCodeEntity.getOwnerCode());
+        copy.setDescription(ownerCodeEntity.getDescription());
+        copy.setInstitutionId(ownerCodeEntity.getInstitutionId());
+        return copy;
+    }
+
+    private static List<Object[]> copy(List<Object[]> rows) {
+        return rows.stream().map(Object[]::clone).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,129 @@
+package org.recap.service.common;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.marc4j.MarcReader;
+import org.marc4j.MarcXmlReader;
+import org.marc4j.marc.DataField;
+import org.marc4j.marc.Record;
+import org.marc4j.marc.Subfield;
+import org.recap.ScsbCommonConstants;
+import org.recap.ScsbConstants;
+import org.recap.model.jpa.BibliographicEntity;
+import org.recap.model.jpa.ItemEntity;
+import org.recap.model.search.SearchResultRow;
+import org.recap.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.util.function.Supplier;
+
+/**
+ * Size bounded, least recently used cache of the solr search result rows looked up by item barcode to get the title
+ * and author of the item being requested. Entries expire after search.result.row.cache.ttl.millis and are dropped
+ * whenever the solr index of the item is updated. Each caller gets its own copy of a cached row. A ttl or max size of 0
+ * turns the cache off.
+ */
+@Slf4j
+@Service
+public class SearchResultRowCacheService {
+
+    @Value("${search.result.row.cache.ttl.millis:600000}")
+    private long cacheTtlMillis;
+
+    @Value("${search.result.row.cache.max.size:10000}")
+    private int cacheMaxSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final TtlCache<String, SearchResultRow> cache = new TtlCache<>(() -> cacheMaxSize,
+            searchResultRow -> objectMapper.convertValue(searchResultRow, SearchResultRow.class), ScsbConstants.SEARCH_RESULT_ROW_CACHE_REQUESTS);
+
+    /**
+     * Gets the search result row of the item barcode from the cache, or from the loader if it is not cached or expired.
+     * Rows the loader could not find are not cached.
+     *
+     * @param itemBarcode the item barcode
+     * @param loader      looks up the search result row in solr
+     * @return the search result row
+     */
+    public SearchResultRow get(String itemBarcode, Supplier<SearchResultRow> loader) {
+        if (StringUtils.isBlank(itemBarcode) || cacheTtlMillis <= 0) {
+            return loader.get();
+        }
+        return cache.get(itemBarcode, loader, searchResultRow -> cacheTtlMillis);
+    }
+
+    public void invalidate(String itemBarcode) {
+        if (itemBarcode != null) {
+            cache.invalidate(itemBarcode);
+        }
+    }
+
+    /**
+     * Drops all the cached search result rows.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Builds the search result row of the item from the marc record of its bib in db, to be used when solr does not
+     * answer.
+     *
+     * @param itemEntity the item entity
+     * @return the search result row or null if the bib content can not be read
+     */
+    public SearchResultRow getFromLocalRecord(ItemEntity itemEntity) {
+        try {
+            if (itemEntity == null || CollectionUtils.isEmpty(itemEntity.getBibliographicEntities())) {
+                return null;
+            }
+            BibliographicEntity bibliographicEntity = itemEntity.getBibliographicEntities().get(0);
+            if (bibliographicEntity.getContent() == null) {
+                return null;
+            }
+            MarcReader marcReader = new MarcXmlReader(new ByteArrayInputStream(bibliographicEntity.getContent()));
+            if (!marcReader.hasNext()) {
+                return null;
+            }
+            Record marcRecord = marcReader.next();
+            SearchResultRow searchResultRow = new SearchResultRow();
+            searchResultRow.setBibId(bibliographicEntity.getId());
+            searchResultRow.setItemId(itemEntity.getId());
+            searchResultRow.setBarcode(itemEntity.getBarcode());
+            searchResultRow.setTitle(getSubfields(marcRecord, "245", "ab"));
+            String author = getSubfields(marcRecord, "100", "a");
+            searchResultRow.setAuthor(StringUtils.isNotBlank(author) ? author : getSubfields(marcRecord, "110", "a"));
+            return searchResultRow;
+        } catch (Exception e) {
+            log.error(ScsbCommonConstants.LOG_ERROR, e);
+            return null;
+        }
+    }
+
+    private String getSubfields(Record marcRecord, String tag, String subfieldCodes) {
+        DataField dataField = (DataField) marcRecord.getVariableField(tag);
+        if (dataField == null) {
+            return "";
+        }
+        StringBuilder value = new StringBuilder();
+        for (Subfield subfield : dataField.getSubfields()) {
+            if (subfieldCodes.indexOf(subfield.getCode()) >= 0 && StringUtils.isNotBlank(subfield.getData())) {
+                value.append(value.length() > 0 ? " " : "").append(subfield.getData().trim());
+            }
+        }
+        return value.toString();
+    }
+}
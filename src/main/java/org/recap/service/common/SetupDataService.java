@@ -7,13 +7,23 @@ import org.recap.model.jpa.ItemStatusEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by premkb on 11/6/17.
+ * <p>
+ * Holds the item status, institution and collection group lookups as one immutable snapshot which is loaded at startup,
+ * reloaded every setup.data.refresh.interval.millis or on {@link #refresh()}, and swapped in as a whole.
  */
 @Service
 public class SetupDataService {
@@ -23,15 +33,68 @@ public class SetupDataService {
     @Autowired
     private RepositoryService repositoryService;
 
-    private Map<Integer,String> itemStatusIdCodeMap;
+    @Value("${setup.data.refresh.interval.millis:3600000}")
+    private long refreshIntervalMillis;
 
-    private Map<String,Integer> itemStatusCodeIdMap;
+    private volatile SetupData setupData;
 
-    private Map<Integer,String> institutionEntityMap;
+    private ScheduledExecutorService refreshScheduler;
 
-    private Map<String,Integer> institutionCodeIdMap;
+    @PostConstruct
+    public void startRefresh() {
+        refresh();
+        if (refreshIntervalMillis > 0) {
+            refreshScheduler = Executors.newSingleThreadScheduledExecutor();
+            refreshScheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
 
-    private Map<String,Integer> collectionGroupMap;
+    /**
+     * Reloads the lookups from db and replaces the current snapshot. A lookup which fails to load keeps its previous values.
+     */
+    public synchronized void refresh() {
+        SetupData previousSetupData = setupData != null ? setupData : new SetupData();
+        SetupData refreshedSetupData = new SetupData();
+        try {
+            Map<Integer, String> itemStatusIdCodeMap = new HashMap<>();
+            Map<String, Integer> itemStatusCodeIdMap = new HashMap<>();
+            for (ItemStatusEntity itemStatusEntity : repositoryService.getItemStatusDetailsRepository().findAll()) {
+                itemStatusIdCodeMap.put(itemStatusEntity.getId(), itemStatusEntity.getStatusCode());
+                itemStatusCodeIdMap.put(itemStatusEntity.getStatusCode(), itemStatusEntity.getId());
+            }
+            refreshedSetupData.itemStatusIdCodeMap = Collections.unmodifiableMap(itemStatusIdCodeMap);
+            refreshedSetupData.itemStatusCodeIdMap = Collections.unmodifiableMap(itemStatusCodeIdMap);
+        } catch (Exception e) {
+            logger.error(ScsbCommonConstants.LOG_ERROR,e);
+            refreshedSetupData.itemStatusIdCodeMap = previousSetupData.itemStatusIdCodeMap;
+            refreshedSetupData.itemStatusCodeIdMap = previousSetupData.itemStatusCodeIdMap;
+        }
+        try {
+            Map<Integer, String> institutionIdCodeMap = new HashMap<>();
+            Map<String, Integer> institutionCodeIdMap = new HashMap<>();
+            for (InstitutionEntity institutionEntity : repositoryService.getInstitutionDetailsRepository().findAll()) {
+                institutionIdCodeMap.put(institutionEntity.getId(), institutionEntity.getInstitutionCode());
+                institutionCodeIdMap.put(institutionEntity.getInstitutionCode(), institutionEntity.getId());
+            }
+            refreshedSetupData.institutionIdCodeMap = Collections.unmodifiableMap(institutionIdCodeMap);
+            refreshedSetupData.institutionCodeIdMap = Collections.unmodifiableMap(institutionCodeIdMap);
+        } catch (Exception e) {
+            logger.error(ScsbCommonConstants.LOG_ERROR,e);
+            refreshedSetupData.institutionIdCodeMap = previousSetupData.institutionIdCodeMap;
+            refreshedSetupData.institutionCodeIdMap = previousSetupData.institutionCodeIdMap;
+        }
+        try {
+            Map<String, Integer> collectionGroupMap = new HashMap<>();
+            for (CollectionGroupEntity collectionGroupEntity : repositoryService.getCollectionGroupDetailsRepository().findAll()) {
+                collectionGroupMap.put(collectionGroupEntity.getCollectionGroupCode(), collectionGroupEntity.getId());
+            }
+            refreshedSetupData.collectionGroupMap = Collections.unmodifiableMap(collectionGroupMap);
+        } catch (Exception e) {
+            logger.error(ScsbCommonConstants.LOG_ERROR,e);
+            refreshedSetupData.collectionGroupMap = previousSetupData.collectionGroupMap;
+        }
+        setupData = refreshedSetupData;
+    }
 
     /**
      * Gets item status id and item status code from db and puts it into a map where status id as key and status code as value.
@@ -39,18 +102,7 @@ public class SetupDataService {
      * @return the item status id code map
      */
     public Map<Integer, String> getItemStatusIdCodeMap() {
-        if (null == itemStatusIdCodeMap) {
-            itemStatusIdCodeMap = new HashMap<>();
-            try {
-                Iterable<ItemStatusEntity> itemStatusEntities = repositoryService.getItemStatusDetailsRepository().findAll();
-                for (ItemStatusEntity itemStatusEntity : itemStatusEntities) {
-                    itemStatusIdCodeMap.put(itemStatusEntity.getId(), itemStatusEntity.getStatusCode());
-                }
-            } catch (Exception e) {
-                logger.error(ScsbCommonConstants.LOG_ERROR,e);
-            }
-        }
-        return itemStatusIdCodeMap;
+        return getSetupData().itemStatusIdCodeMap;
     }
 
     /**
@@ -59,18 +111,7 @@ public class SetupDataService {
      * @return the item status code id map
      */
     public Map<String,Integer> getItemStatusCodeIdMap() {
-        if (null == itemStatusCodeIdMap) {
-            itemStatusCodeIdMap = new HashMap<>();
-            try {
-                Iterable<ItemStatusEntity> itemStatusEntities = repositoryService.getItemStatusDetailsRepository().findAll();
-                for (ItemStatusEntity itemStatusEntity : itemStatusEntities) {
-                    itemStatusCodeIdMap.put(itemStatusEntity.getStatusCode(), itemStatusEntity.getId());
-                }
-            } catch (Exception e) {
-                logger.error(ScsbCommonConstants.LOG_ERROR,e);
-            }
-        }
-        return itemStatusCodeIdMap;
+        return getSetupData().itemStatusCodeIdMap;
     }
 
     /**
@@ -79,47 +120,62 @@ public class SetupDataService {
      * @return the institution entity map
      */
     public Map<Integer,String> getInstitutionIdCodeMap() {
-        if (null == institutionEntityMap) {
-            institutionEntityMap = new HashMap<>();
-            try {
-                Iterable<InstitutionEntity> institutionEntities = repositoryService.getInstitutionDetailsRepository().findAll();
-                for (InstitutionEntity institutionEntity : institutionEntities) {
-                    institutionEntityMap.put(institutionEntity.getId(), institutionEntity.getInstitutionCode());
-                }
-            } catch (Exception e) {
-                logger.error(ScsbCommonConstants.LOG_ERROR,e);
-            }
-        }
-        return institutionEntityMap;
+        return getSetupData().institutionIdCodeMap;
     }
 
     public Map<String, Integer> getInstitutionCodeIdMap() {
-        if (null == institutionCodeIdMap) {
-            institutionCodeIdMap = new HashMap<>();
-            try {
-                Iterable<InstitutionEntity> institutionEntities = repositoryService.getInstitutionDetailsRepository().findAll();
-                for (InstitutionEntity institutionEntity : institutionEntities) {
-                    institutionCodeIdMap.put(institutionEntity.getInstitutionCode(), institutionEntity.getId());
-                }
-            } catch (Exception e) {
-                logger.error(ScsbCommonConstants.LOG_ERROR,e);
-            }
-        }
-        return institutionCodeIdMap;
+        return getSetupData().institutionCodeIdMap;
     }
 
     public Map<String, Integer> getCollectionGroupMap() {
-        if (null == collectionGroupMap) {
-            collectionGroupMap = new HashMap<>();
-            try {
-                Iterable<CollectionGroupEntity> collectionGroupEntities = repositoryService.getCollectionGroupDetailsRepository().findAll();
-                for (CollectionGroupEntity collectionGroupEntity : collectionGroupEntities) {
-                    collectionGroupMap.put(collectionGroupEntity.getCollectionGroupCode(), collectionGroupEntity.getId());
+        return getSetupData().collectionGroupMap;
+    }
+
+    public String getItemStatusCode(int itemStatusId) {
+        return getSetupData().itemStatusIdCodeMap.get(itemStatusId);
+    }
+
+    public Integer getItemStatusId(String itemStatusCode) {
+        return getSetupData().itemStatusCodeIdMap.get(itemStatusCode);
+    }
+
+    public String getInstitutionCode(int institutionId) {
+        return getSetupData().institutionIdCodeMap.get(institutionId);
+    }
+
+    public Integer getInstitutionId(String institutionCode) {
+        return getSetupData().institutionCodeIdMap.get(institutionCode);
+    }
+
+    public Integer getCollectionGroupId(String collectionGroupCode) {
+        return getSetupData().collectionGroupMap.get(collectionGroupCode);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+        }
+    }
+
+    private SetupData getSetupData() {
+        SetupData currentSetupData = setupData;
+        if (null == currentSetupData) {
+            synchronized (this) {
+                if (null == setupData) {
+                    refresh();
                 }
-            } catch (Exception e) {
-                logger.error(ScsbCommonConstants.LOG_ERROR,e);
+                currentSetupData = setupData;
             }
         }
-        return collectionGroupMap;
+        return currentSetupData;
+    }
+
+    private static class SetupData {
+        private Map<Integer, String> itemStatusIdCodeMap = Collections.emptyMap();
+        private Map<String, Integer> itemStatusCodeIdMap = Collections.emptyMap();
+        private Map<Integer, String> institutionIdCodeMap = Collections.emptyMap();
+        private Map<String, Integer> institutionCodeIdMap = Collections.emptyMap();
+        private Map<String, Integer> collectionGroupMap = Collections.emptyMap();
     }
 }
@@ -0,0 +1,116 @@
+package org.recap.service.deaccession;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.recap.ScsbConstants;
+import org.recap.model.jpa.BibliographicEntity;
+import org.recap.model.jpa.DeaccessionItemChangeLog;
+import org.recap.model.jpa.HoldingsEntity;
+import org.recap.model.jpa.ItemEntity;
+import org.recap.model.jpa.RequestItemEntity;
+import org.recap.repository.jpa.BibliographicDetailsRepository;
+import org.recap.repository.jpa.DeaccesionItemChangeLogDetailsRepository;
+import org.recap.repository.jpa.HoldingsDetailsRepository;
+import org.recap.repository.jpa.ItemDetailsRepository;
+import org.recap.repository.jpa.RequestItemDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies the db changes of a deaccession a batch of items at a time, each batch in its own short transaction so that
+ * the rows of a large deaccession are not kept locked until all of it is done.
+ */
+@Component
+public class DeAccessionDBService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeAccessionDBService.class);
+
+    @Autowired
+    private ItemDetailsRepository itemDetailsRepository;
+
+    @Autowired
+    private HoldingsDetailsRepository holdingsDetailsRepository;
+
+    @Autowired
+    private BibliographicDetailsRepository bibliographicDetailsRepository;
+
+    @Autowired
+    private RequestItemDetailsRepository requestItemDetailsRepository;
+
+    @Autowired
+    private DeaccesionItemChangeLogDetailsRepository deaccesionItemChangeLogDetailsRepository;
+
+    /**
+     * Marks the items as deleted along with their holdings and bibs which are left without non deleted items.
+     *
+     * @param itemEntities            the item entities
+     * @param username                the username
+     * @param currentDate             the current date
+     * @param deletedHoldingIds       collects the ids of the holdings marked as deleted
+     * @param deletedBibliographicIds collects the ids of the bibs marked as deleted
+     */
+    @Transactional
+    public void deAccessionItems(List<ItemEntity> itemEntities, String username, Date currentDate, Set<Integer> deletedHoldingIds, Set<Integer> deletedBibliographicIds) {
+        List<Integer> itemIds = new ArrayList<>();
+        Set<Integer> holdingIds = new LinkedHashSet<>();
+        Set<Integer> bibliographicIds = new LinkedHashSet<>();
+        for (ItemEntity itemEntity : itemEntities) {
+            itemIds.add(itemEntity.getId());
+            for (HoldingsEntity holdingsEntity : itemEntity.getHoldingsEntities()) {
+                holdingIds.add(holdingsEntity.getId());
+            }
+            for (BibliographicEntity bibliographicEntity : itemEntity.getBibliographicEntities()) {
+                bibliographicIds.add(bibliographicEntity.getId());
+            }
+        }
+        itemDetailsRepository.markItemsAsDeleted(itemIds, username, currentDate);
+        if (!holdingIds.isEmpty()) {
+            List<Integer> holdingIdsToDelete = holdingsDetailsRepository.findHoldingIdsWithoutNonDeletedItems(new ArrayList<>(holdingIds));
+            if (CollectionUtils.isNotEmpty(holdingIdsToDelete)) {
+                holdingsDetailsRepository.markHoldingsAsDeleted(holdingIdsToDelete, username, currentDate);
+                deletedHoldingIds.addAll(holdingIdsToDelete);
+            }
+        }
+        if (!bibliographicIds.isEmpty()) {
+            List<Integer> bibliographicIdsToDelete = bibliographicDetailsRepository.findBibIdsWithoutNonDeletedItems(new ArrayList<>(bibliographicIds));
+            if (CollectionUtils.isNotEmpty(bibliographicIdsToDelete)) {
+                bibliographicDetailsRepository.markBibsAsDeleted(bibliographicIdsToDelete, username, currentDate);
+                deletedBibliographicIds.addAll(bibliographicIdsToDelete);
+            }
+        }
+        logger.info("Deaccessioned {} items in db", itemIds.size());
+    }
+
+    /**
+     * Saves the requests canceled for deaccession along with their change logs.
+     *
+     * @param canceledRequests the canceled request item entities
+     * @param username         the username
+     * @return the saved request item entities
+     */
+    @Transactional
+    public List<RequestItemEntity> saveCanceledRequests(List<RequestItemEntity> canceledRequests, String username) {
+        List<RequestItemEntity> savedRequestItemEntities = requestItemDetailsRepository.saveAll(canceledRequests);
+        List<DeaccessionItemChangeLog> itemChangeLogEntities = new ArrayList<>();
+        Date currentDate = new Date();
+        for (RequestItemEntity savedRequestItemEntity : savedRequestItemEntities) {
+            DeaccessionItemChangeLog itemChangeLogEntity = new DeaccessionItemChangeLog();
+            itemChangeLogEntity.setUpdatedBy(username);
+            itemChangeLogEntity.setCreatedDate(currentDate);
+            itemChangeLogEntity.setOperationType(ScsbConstants.REQUEST_ITEM_CANCEL_DEACCESSION_ITEM);
+            itemChangeLogEntity.setRecordId(savedRequestItemEntity.getId());
+            itemChangeLogEntity.setNotes(ScsbConstants.REQUEST_ITEM_CANCELED_FOR_DEACCESSION + savedRequestItemEntity.getItemId());
+            itemChangeLogEntities.add(itemChangeLogEntity);
+        }
+        deaccesionItemChangeLogDetailsRepository.saveAll(itemChangeLogEntities);
+        return savedRequestItemEntities;
+    }
+}
@@ -45,17 +45,14 @@ import org.recap.model.jpa.DeliveryCodeTranslationEntity;
 import org.recap.repository.jpa.BibliographicDetailsRepository;
 import org.recap.repository.jpa.DeaccesionItemChangeLogDetailsRepository;
 import org.recap.repository.jpa.HoldingsDetailsRepository;
-import org.recap.repository.jpa.InstitutionDetailsRepository;
 import org.recap.repository.jpa.ImsLocationDetailsRepository;
 import org.recap.repository.jpa.ItemChangeLogDetailsRepository;
 import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.repository.jpa.ReportDetailRepository;
 import org.recap.repository.jpa.RequestItemDetailsRepository;
-import org.recap.repository.jpa.RequestItemStatusDetailsRepository;
 import org.recap.repository.jpa.UserDetailRepository;
-import org.recap.repository.jpa.DeliveryCodeDetailsRepository;
-import org.recap.repository.jpa.DeliveryCodeTranslationDetailsRepository;
 import org.recap.service.RestHeaderService;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.recap.util.CommonUtil;
 import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
@@ -75,10 +72,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -122,12 +126,6 @@ public class DeAccessionService {
     @Autowired
     RequestItemDetailsRepository requestItemDetailsRepository;
 
-    /**
-     * The Request item status details repository.
-     */
-    @Autowired
-    RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
-
     /**
      * The Item change log details repository.
      */
@@ -140,24 +138,6 @@ public class DeAccessionService {
     @Autowired
     UserDetailRepository userDetailRepository;
 
-    /**
-     * The Delivery Code Translation Details Repository
-     */
-    @Autowired
-    DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
-
-    /**
-     * The Delivery Code Details Repository
-     */
-    @Autowired
-    DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
-    /**
-     * The Institution Details Repository
-     */
-    @Autowired
-    private InstitutionDetailsRepository institutionDetailsRepository;
-
     /**
      * The Ims Location Details Repository
      */
@@ -203,12 +183,27 @@ public class DeAccessionService {
     @Autowired
     CommonUtil commonUtil;
 
+    @Autowired
+    RestTemplate restTemplate;
+
+    @Autowired
+    DeAccessionDBService deAccessionDBService;
+
+    @Autowired
+    ReferenceDataCacheService referenceDataCacheService;
+
     /**
      * The Scsb solr client url.
      */
     @Value("${scsb.solr.doc.url}")
     String scsbSolrClientUrl;
 
+    @Value("${deaccession.batch.size:500}")
+    int deAccessionBatchSize;
+
+    @Value("${deaccession.hold.cancel.thread.count:4}")
+    int holdCancelThreadCount;
+
     public RestHeaderService getRestHeaderService() {
         return restHeaderService;
     }
@@ -343,20 +338,25 @@ public class DeAccessionService {
 
     private void checkGfaItemStatus(List<DeAccessionItem> deAccessionItems, List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities, Map<String, String> barcodeAndStopCodeMap) {
         try {
+            List<String> itemBarcodes = deAccessionItems.stream().map(DeAccessionItem::getItemBarcode).filter(StringUtils::isNotBlank).map(String::trim).collect(Collectors.toList());
+            Map<String, ItemEntity> itemEntityMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (ItemEntity itemEntity : findItemsByBarcodes(itemBarcodes)) {
+                itemEntityMap.putIfAbsent(itemEntity.getBarcode(), itemEntity);
+            }
+            Map<String, String> recapAssistanceEmailToMap = new HashMap<>();
             for (DeAccessionItem deAccessionItem : deAccessionItems) {
                 logger.info("Deaccession Item Barcode = {} Delivery Location = {}", deAccessionItem.getItemBarcode(), deAccessionItem.getDeliveryLocation());
                 String itemBarcode = deAccessionItem.getItemBarcode();
                 if (StringUtils.isNotBlank(itemBarcode)) {
-                    List<ItemEntity> itemEntities = itemDetailsRepository.findByBarcode(itemBarcode.trim());
-                    if (CollectionUtils.isNotEmpty(itemEntities)) {
-                        ItemEntity itemEntity = itemEntities.get(0);
+                    ItemEntity itemEntity = itemEntityMap.get(itemBarcode.trim());
+                    if (itemEntity != null) {
                         if (itemEntity.isDeleted()) {
                             deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deAccessionItem.getDeliveryLocation(), ScsbCommonConstants.REQUESTED_ITEM_DEACCESSIONED, itemEntity));
                         } else if (!itemEntity.isComplete()) {
                             deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deAccessionItem.getDeliveryLocation(), ScsbCommonConstants.ITEM_BARCDE_DOESNOT_EXIST, itemEntity));
                         } else {
                             String scsbItemStatus = itemEntity.getItemStatusEntity().getStatusCode();
-                            String recapAssistanceEmailTo = getRecapAssistanceEmailTo(itemEntity.getImsLocationEntity().getImsLocationCode());
+                            String recapAssistanceEmailTo = recapAssistanceEmailToMap.computeIfAbsent(itemEntity.getImsLocationEntity().getImsLocationCode(), this::getRecapAssistanceEmailTo);
                             logger.info("SCSB Item Status : {}", scsbItemStatus);
                             String gfaItemStatus = gfaLasService.callGfaItemStatus(itemBarcode);
                             logger.info("GFA Item Status : {}", gfaItemStatus);
@@ -394,10 +394,12 @@ public class DeAccessionService {
     private void callGfaDeaccessionService(List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities, String username) {
         if (CollectionUtils.isNotEmpty(deAccessionDBResponseEntities)) {
             String recapAssistanceEmailTo = null;
+            Map<String, String> recapAssistanceEmailToMap = new HashMap<>();
+            Map<String, ImsLocationEntity> imsLocationEntityMap = new HashMap<>();
             for (DeAccessionDBResponseEntity deAccessionDBResponseEntity : deAccessionDBResponseEntities) {
                 if (!Objects.isNull(deAccessionDBResponseEntity.getImsLocationCode())) {
                     try {
-                        recapAssistanceEmailTo = getRecapAssistanceEmailTo(deAccessionDBResponseEntity.getImsLocationCode());
+                        recapAssistanceEmailTo = recapAssistanceEmailToMap.computeIfAbsent(deAccessionDBResponseEntity.getImsLocationCode(), this::getRecapAssistanceEmailTo);
                     } catch (Exception e) {
                         logger.info("Exception occurred while pulling recap assistance email to: {}", e.getMessage());
                     }
@@ -408,11 +410,11 @@ public class DeAccessionService {
                     GFAPwdTtItemRequest gfaPwdTtItemRequest = new GFAPwdTtItemRequest();
                     gfaPwdTtItemRequest.setCustomerCode(deAccessionDBResponseEntity.getCustomerCode());
                     gfaPwdTtItemRequest.setItemBarcode(deAccessionDBResponseEntity.getBarcode());
-                    InstitutionEntity institutionEntity = institutionDetailsRepository.findByInstitutionCode(deAccessionDBResponseEntity.getInstitutionCode());
-                    DeliveryCodeEntity deliveryCodeEntity = deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(deAccessionDBResponseEntity.getDeliveryLocation(), institutionEntity.getId(), 'Y');
-                    ImsLocationEntity imsLocationEntity = imsLocationDetailsRepository.findByImsLocationCode(deAccessionDBResponseEntity.getImsLocationCode());
+                    InstitutionEntity institutionEntity = referenceDataCacheService.getInstitutionByCode(deAccessionDBResponseEntity.getInstitutionCode());
+                    DeliveryCodeEntity deliveryCodeEntity = institutionEntity != null ? referenceDataCacheService.getActiveDeliveryCode(deAccessionDBResponseEntity.getDeliveryLocation(), institutionEntity.getId()) : null;
+                    ImsLocationEntity imsLocationEntity = imsLocationEntityMap.computeIfAbsent(deAccessionDBResponseEntity.getImsLocationCode(), imsLocationDetailsRepository::findByImsLocationCode);
                     if (deliveryCodeEntity != null && institutionEntity != null && imsLocationEntity != null) {
-                        DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(institutionEntity.getId(), deliveryCodeEntity.getId(), imsLocationEntity.getId());
+                        DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = referenceDataCacheService.getDeliveryCodeTranslation(institutionEntity.getId(), deliveryCodeEntity.getId(), imsLocationEntity.getId());
                         logger.info("Deaccession Process - Translated Code From {} >>>> {} ", deAccessionDBResponseEntity.getDeliveryLocation(), deliveryCodeTranslationEntity.getImsLocationDeliveryCode());
                         gfaPwdTtItemRequest.setDestination(deliveryCodeTranslationEntity.getImsLocationDeliveryCode());
                     } else {
@@ -474,7 +476,8 @@ public class DeAccessionService {
     }
 
     /**
-     * Check and cancel holds.
+     * Check and cancel holds. The requests of all the items are loaded up front, the holds are canceled in parallel for
+     * each requesting institution and the canceled requests are saved in batches.
      *
      * @param barcodeAndStopCodeMap         the barcode and stop code map
      * @param deAccessionDBResponseEntities the de accession db response entities
@@ -483,88 +486,142 @@ public class DeAccessionService {
     public void checkAndCancelHolds(Map<String, String> barcodeAndStopCodeMap, List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities, String username) {
         Set<String> itemBarcodeList = barcodeAndStopCodeMap.keySet();
         if (CollectionUtils.isNotEmpty(itemBarcodeList)) {
-            String deliveryLocation = null;
+            Map<String, List<RequestItemEntity>> itemBarcodeRequestsMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            try {
+                for (List<String> itemBarcodes : partition(new ArrayList<>(itemBarcodeList))) {
+                    for (RequestItemEntity requestItemEntity : requestItemDetailsRepository.findByItemBarcodes(itemBarcodes)) {
+                        itemBarcodeRequestsMap.computeIfAbsent(requestItemEntity.getItemEntity().getBarcode(), itemBarcode -> new ArrayList<>()).add(requestItemEntity);
+                    }
+                }
+            } catch (Exception e) {
+                logger.error(EXCEPTION_CONSTANT, e);
+                for (String itemBarcode : itemBarcodeList) {
+                    deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, barcodeAndStopCodeMap.get(itemBarcode), ScsbCommonConstants.FAILURE + " - " + e, null));
+                }
+                return;
+            }
+            List<RequestItemEntity> canceledRequests = Collections.synchronizedList(new ArrayList<>());
+            Map<String, Map<String, ItemRequests>> institutionItemRequestsMap = new LinkedHashMap<>();
             for (String itemBarcode : itemBarcodeList) {
                 try {
-                    deliveryLocation = barcodeAndStopCodeMap.get(itemBarcode);
-                    List<RequestItemEntity> requestItemEntities = requestItemDetailsRepository.findByItemBarcode(itemBarcode);
+                    List<RequestItemEntity> requestItemEntities = itemBarcodeRequestsMap.get(itemBarcode);
                     if (CollectionUtils.isNotEmpty(requestItemEntities)) {
-                        RequestItemEntity activeRetrievalRequest = null;
-                        RequestItemEntity activeRecallRequest = null;
-                        RequestItemEntity initialLoadRequest = null;
-                        for (RequestItemEntity requestItemEntity : requestItemEntities) { // Get active retrieval and recall requests.
-                            boolean isRequestTypeRetreivalAndFirstScan = ScsbCommonConstants.RETRIEVAL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbConstants.LAS_REFILE_REQUEST_PLACED.equalsIgnoreCase(requestItemEntity.getRequestStatusEntity().getRequestStatusCode());
-                            boolean isRequestTypeRecallAndFirstScan = ScsbCommonConstants.REQUEST_TYPE_RECALL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbConstants.LAS_REFILE_REQUEST_PLACED.equalsIgnoreCase(requestItemEntity.getRequestStatusEntity().getRequestStatusCode());
-                            if ((ScsbCommonConstants.RETRIEVAL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED.equals(requestItemEntity.getRequestStatusEntity().getRequestStatusCode())) || isRequestTypeRetreivalAndFirstScan) {
-                                activeRetrievalRequest = requestItemEntity;
-                            }
-                            if ((ScsbCommonConstants.REQUEST_TYPE_RECALL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbCommonConstants.REQUEST_STATUS_RECALLED.equals(requestItemEntity.getRequestStatusEntity().getRequestStatusCode())) || isRequestTypeRecallAndFirstScan) {
-                                activeRecallRequest = requestItemEntity;
-                            }
-                            if (ScsbCommonConstants.RETRIEVAL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD.equals(requestItemEntity.getRequestStatusEntity().getRequestStatusCode())) {
-                                initialLoadRequest = requestItemEntity;
-                            }
+                        ItemRequests itemRequests = getItemRequests(requestItemEntities);
+                        if (itemRequests.initialLoadRequest != null) {
+                            updateRequestAsCanceled(itemRequests.initialLoadRequest, canceledRequests);
                         }
-                        if (initialLoadRequest != null) {
-                            updateRequestAsCanceled(initialLoadRequest, username);
-                            barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                        }
-                        if (activeRetrievalRequest != null && activeRecallRequest != null) {
-                            String retrievalRequestingInstitution = activeRetrievalRequest.getInstitutionEntity().getInstitutionCode();
-                            String recallRequestingInstitution = activeRecallRequest.getInstitutionEntity().getInstitutionCode();
-                            if (retrievalRequestingInstitution.equals(recallRequestingInstitution)) { // If retrieval order institution and recall order institution are same, cancel recall request.
-                                ItemHoldResponse cancelRecallResponse = cancelRequest(activeRecallRequest, username);
-                                if (cancelRecallResponse.isSuccess()) {
-                                    barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                                } else {
-                                    deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRecallResponse.getScreenMessage(), null));
-                                }
-                            } else { // If retrieval order institution and recall order institution are different, cancel retrieval request and recall request.
-                                ItemInformationResponse itemInformationResponse = getItemInformation(activeRetrievalRequest);
-                                if (isAllowedToCancelRequest(itemInformationResponse, retrievalRequestingInstitution)) {
-                                    ItemHoldResponse cancelRetrievalResponse = cancelRequest(activeRetrievalRequest, username);
-                                    if (cancelRetrievalResponse.isSuccess()) {
-                                        ItemHoldResponse cancelRecallResponse = cancelRequest(activeRecallRequest, username);
-                                        if (cancelRecallResponse.isSuccess()) {
-                                            barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                                        } else {
-                                            deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRecallResponse.getScreenMessage(), null));
-                                        }
-                                    } else {
-                                        deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRetrievalResponse.getScreenMessage(), null));
-                                    }
-                                } else {
-                                    barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                                }
-                            }
-                        } else if (activeRetrievalRequest != null && activeRecallRequest == null) {
-                            ItemInformationResponse itemInformationResponse = getItemInformation(activeRetrievalRequest);
-                            if (isAllowedToCancelRequest(itemInformationResponse, activeRetrievalRequest.getInstitutionEntity().getInstitutionCode())) {
-                                ItemHoldResponse cancelRetrievalResponse = cancelRequest(activeRetrievalRequest, username);
-                                if (cancelRetrievalResponse.isSuccess()) {
-                                    barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                                } else {
-                                    deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRetrievalResponse.getScreenMessage(), null));
-                                }
-                            } else {
-                                barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                            }
-                        } else if (activeRetrievalRequest == null && activeRecallRequest != null) {
-                            barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
-                        } else if (activeRetrievalRequest == null && activeRecallRequest == null) {
-                            barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
+                        if (itemRequests.activeRetrievalRequest != null) {
+                            institutionItemRequestsMap.computeIfAbsent(itemRequests.activeRetrievalRequest.getInstitutionEntity().getInstitutionCode(), institutionCode -> new LinkedHashMap<>()).put(itemBarcode, itemRequests);
                         }
-                    } else {
-                        barcodeAndStopCodeMap.put(itemBarcode, deliveryLocation);
                     }
                 } catch (Exception e) {
-                    deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbCommonConstants.FAILURE + " - " + e, null));
+                    deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, barcodeAndStopCodeMap.get(itemBarcode), ScsbCommonConstants.FAILURE + " - " + e, null));
                     logger.error(EXCEPTION_CONSTANT, e);
                 }
             }
+            if (!institutionItemRequestsMap.isEmpty()) {
+                ExecutorService executorService = Executors.newFixedThreadPool(Math.min(institutionItemRequestsMap.size(), holdCancelThreadCount));
+                try {
+                    Map<Map<String, ItemRequests>, Future<List<DeAccessionDBResponseEntity>>> futures = new LinkedHashMap<>();
+                    for (Map<String, ItemRequests> itemRequestsMap : institutionItemRequestsMap.values()) {
+                        futures.put(itemRequestsMap, executorService.submit(() -> cancelHolds(itemRequestsMap, barcodeAndStopCodeMap, username, canceledRequests)));
+                    }
+                    // Each institution is awaited on its own, so that the failure of one does not drop the results of the others.
+                    for (Map.Entry<Map<String, ItemRequests>, Future<List<DeAccessionDBResponseEntity>>> futureEntry : futures.entrySet()) {
+                        try {
+                            deAccessionDBResponseEntities.addAll(futureEntry.getValue().get());
+                        } catch (InterruptedException e) {
+                            logger.error(EXCEPTION_CONSTANT, e);
+                            Thread.currentThread().interrupt();
+                            addCancelHoldsFailureResponses(futureEntry.getKey(), barcodeAndStopCodeMap, deAccessionDBResponseEntities, e);
+                        } catch (ExecutionException e) {
+                            logger.error(EXCEPTION_CONSTANT, e);
+                            addCancelHoldsFailureResponses(futureEntry.getKey(), barcodeAndStopCodeMap, deAccessionDBResponseEntities, e.getCause());
+                        }
+                    }
+                } finally {
+                    executorService.shutdown();
+                }
+            }
+            saveCanceledRequests(canceledRequests, username);
         }
     }
 
+    private void addCancelHoldsFailureResponses(Map<String, ItemRequests> itemRequestsMap, Map<String, String> barcodeAndStopCodeMap, List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities, Throwable throwable) {
+        for (String itemBarcode : itemRequestsMap.keySet()) {
+            deAccessionDBResponseEntities.add(prepareFailureResponse(itemBarcode, barcodeAndStopCodeMap.get(itemBarcode), ScsbCommonConstants.FAILURE + " - " + throwable, null));
+        }
+    }
+
+    /**
+     * Cancels the active holds of the items requested by one institution.
+     *
+     * @param itemRequestsMap       the active requests of each item barcode
+     * @param barcodeAndStopCodeMap the barcode and stop code map
+     * @param username              the username
+     * @param canceledRequests      collects the canceled requests
+     * @return the failure responses of the items whose holds could not be canceled
+     */
+    private List<DeAccessionDBResponseEntity> cancelHolds(Map<String, ItemRequests> itemRequestsMap, Map<String, String> barcodeAndStopCodeMap, String username, List<RequestItemEntity> canceledRequests) {
+        List<DeAccessionDBResponseEntity> failureResponses = new ArrayList<>();
+        for (Map.Entry<String, ItemRequests> itemRequestsEntry : itemRequestsMap.entrySet()) {
+            String itemBarcode = itemRequestsEntry.getKey();
+            String deliveryLocation = barcodeAndStopCodeMap.get(itemBarcode);
+            RequestItemEntity activeRetrievalRequest = itemRequestsEntry.getValue().activeRetrievalRequest;
+            RequestItemEntity activeRecallRequest = itemRequestsEntry.getValue().activeRecallRequest;
+            try {
+                String retrievalRequestingInstitution = activeRetrievalRequest.getInstitutionEntity().getInstitutionCode();
+                if (activeRecallRequest != null && retrievalRequestingInstitution.equals(activeRecallRequest.getInstitutionEntity().getInstitutionCode())) { // If retrieval order institution and recall order institution are same, cancel recall request.
+                    ItemHoldResponse cancelRecallResponse = cancelRequest(activeRecallRequest, username, canceledRequests);
+                    if (!cancelRecallResponse.isSuccess()) {
+                        failureResponses.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRecallResponse.getScreenMessage(), null));
+                    }
+                } else { // Otherwise cancel retrieval request, and recall request of the other institution if any.
+                    ItemInformationResponse itemInformationResponse = getItemInformation(activeRetrievalRequest);
+                    if (isAllowedToCancelRequest(itemInformationResponse, retrievalRequestingInstitution)) {
+                        ItemHoldResponse cancelRetrievalResponse = cancelRequest(activeRetrievalRequest, username, canceledRequests);
+                        if (!cancelRetrievalResponse.isSuccess()) {
+                            failureResponses.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRetrievalResponse.getScreenMessage(), null));
+                        } else if (activeRecallRequest != null) {
+                            ItemHoldResponse cancelRecallResponse = cancelRequest(activeRecallRequest, username, canceledRequests);
+                            if (!cancelRecallResponse.isSuccess()) {
+                                failureResponses.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbConstants.REASON_CANCEL_REQUEST_FAILED + " - " + cancelRecallResponse.getScreenMessage(), null));
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                failureResponses.add(prepareFailureResponse(itemBarcode, deliveryLocation, ScsbCommonConstants.FAILURE + " - " + e, null));
+                logger.error(EXCEPTION_CONSTANT, e);
+            }
+        }
+        return failureResponses;
+    }
+
+    /**
+     * Gets the active retrieval, active recall and initial load requests of an item.
+     *
+     * @param requestItemEntities the request item entities of the item
+     * @return the item requests
+     */
+    private ItemRequests getItemRequests(List<RequestItemEntity> requestItemEntities) {
+        ItemRequests itemRequests = new ItemRequests();
+        for (RequestItemEntity requestItemEntity : requestItemEntities) { // Get active retrieval and recall requests.
+            boolean isRequestTypeRetreivalAndFirstScan = ScsbCommonConstants.RETRIEVAL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbConstants.LAS_REFILE_REQUEST_PLACED.equalsIgnoreCase(requestItemEntity.getRequestStatusEntity().getRequestStatusCode());
+            boolean isRequestTypeRecallAndFirstScan = ScsbCommonConstants.REQUEST_TYPE_RECALL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbConstants.LAS_REFILE_REQUEST_PLACED.equalsIgnoreCase(requestItemEntity.getRequestStatusEntity().getRequestStatusCode());
+            if ((ScsbCommonConstants.RETRIEVAL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED.equals(requestItemEntity.getRequestStatusEntity().getRequestStatusCode())) || isRequestTypeRetreivalAndFirstScan) {
+                itemRequests.activeRetrievalRequest = requestItemEntity;
+            }
+            if ((ScsbCommonConstants.REQUEST_TYPE_RECALL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbCommonConstants.REQUEST_STATUS_RECALLED.equals(requestItemEntity.getRequestStatusEntity().getRequestStatusCode())) || isRequestTypeRecallAndFirstScan) {
+                itemRequests.activeRecallRequest = requestItemEntity;
+            }
+            if (ScsbCommonConstants.RETRIEVAL.equals(requestItemEntity.getRequestTypeEntity().getRequestTypeCode()) && ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD.equals(requestItemEntity.getRequestStatusEntity().getRequestStatusCode())) {
+                itemRequests.initialLoadRequest = requestItemEntity;
+            }
+        }
+        return itemRequests;
+    }
+
     private boolean isAllowedToCancelRequest(ItemInformationResponse itemInformationResponse, String requestingInstitution) {
         String checkedOutCirculationStatuses = propertyUtil.getPropertyByInstitutionAndKey(requestingInstitution, PropertyKeyConstants.ILS.ILS_CHECKEDOUT_CIRCULATION_STATUS);
         return getHoldQueueLength(itemInformationResponse) > 0 || (StringUtils.isNotBlank(checkedOutCirculationStatuses) && StringUtils.containsIgnoreCase(checkedOutCirculationStatuses, itemInformationResponse.getCirculationStatus()));
@@ -595,12 +652,19 @@ public class DeAccessionService {
      * @return the item hold response
      */
     public ItemHoldResponse cancelRequest(RequestItemEntity requestItemEntity, String username) {
+        List<RequestItemEntity> canceledRequests = new ArrayList<>();
+        ItemHoldResponse itemCancelHoldResponse = cancelRequest(requestItemEntity, username, canceledRequests);
+        saveCanceledRequests(canceledRequests, username);
+        return itemCancelHoldResponse;
+    }
+
+    private ItemHoldResponse cancelRequest(RequestItemEntity requestItemEntity, String username, List<RequestItemEntity> canceledRequests) {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation(requestItemEntity);
         itemRequestInformation.setUsername(username);
         ItemHoldResponse itemCancelHoldResponse = (ItemHoldResponse) requestItemController.cancelHoldItem(itemRequestInformation, itemRequestInformation.getRequestingInstitution());
         logger.info("Deaccession Item - Cancel request status : {}", itemCancelHoldResponse.getScreenMessage());
         if (itemCancelHoldResponse.isSuccess()) {
-            updateRequestAsCanceled(requestItemEntity, username);
+            updateRequestAsCanceled(requestItemEntity, canceledRequests);
             itemCancelHoldResponse.setSuccess(true);
             itemCancelHoldResponse.setScreenMessage(ScsbConstants.REQUEST_CANCELLATION_SUCCCESS);
         }
@@ -608,32 +672,38 @@ public class DeAccessionService {
     }
 
     /**
-     * Updates request status to canceled.
+     * Updates request status to canceled, the request is saved later with the other canceled requests.
      *
      * @param requestItemEntity
-     * @param username
+     * @param canceledRequests
      */
-    private void updateRequestAsCanceled(RequestItemEntity requestItemEntity, String username) {
-        RequestStatusEntity requestStatusEntity = requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED);
+    private void updateRequestAsCanceled(RequestItemEntity requestItemEntity, List<RequestItemEntity> canceledRequests) {
+        RequestStatusEntity requestStatusEntity = referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED);
         requestItemEntity.setRequestStatusId(requestStatusEntity.getId());
         requestItemEntity.setLastUpdatedDate(new Date());
         requestItemEntity.getItemEntity().setItemAvailabilityStatusId(2);
         String requestNotes = requestItemEntity.getNotes();
         requestNotes = requestNotes + "\n" + "SCSB : " + ScsbConstants.REQUEST_ITEM_CANCELED_FOR_DEACCESSION;
         requestItemEntity.setNotes(requestNotes);
-        RequestItemEntity savedRequestItemEntity = requestItemDetailsRepository.save(requestItemEntity);
-        saveDeAccessionItemChangeLogEntity(savedRequestItemEntity.getId(), username, ScsbConstants.REQUEST_ITEM_CANCEL_DEACCESSION_ITEM, ScsbConstants.REQUEST_ITEM_CANCELED_FOR_DEACCESSION + savedRequestItemEntity.getItemId());
-        itemRequestServiceUtil.updateSolrIndex(savedRequestItemEntity.getItemEntity());
+        canceledRequests.add(requestItemEntity);
     }
 
-    private void saveDeAccessionItemChangeLogEntity(Integer requestId, String deaccessionUser, String operationType, String notes) {
-        DeaccessionItemChangeLog itemChangeLogEntity = new DeaccessionItemChangeLog();
-        itemChangeLogEntity.setUpdatedBy(deaccessionUser);
-        itemChangeLogEntity.setCreatedDate(new Date());
-        itemChangeLogEntity.setOperationType(operationType);
-        itemChangeLogEntity.setRecordId(requestId);
-        itemChangeLogEntity.setNotes(notes);
-        deaccesionItemChangeLogDetailsRepository.save(itemChangeLogEntity);
+    /**
+     * Saves the canceled requests with their change logs in batches and updates the solr index of their items.
+     *
+     * @param canceledRequests
+     * @param username
+     */
+    private void saveCanceledRequests(List<RequestItemEntity> canceledRequests, String username) {
+        for (List<RequestItemEntity> requestItemEntities : partition(canceledRequests)) {
+            try {
+                for (RequestItemEntity savedRequestItemEntity : deAccessionDBService.saveCanceledRequests(requestItemEntities, username)) {
+                    itemRequestServiceUtil.updateSolrIndex(savedRequestItemEntity.getItemEntity());
+                }
+            } catch (Exception e) {
+                logger.error(EXCEPTION_CONSTANT, e);
+            }
+        }
     }
 
     private void saveDeAccessionItemChangeLogEntities(List<Integer> itemIds, String deaccessionUser, String operationType, Date updatedDate, String notes, Map<Integer, String> itemIdAndMessageMap) {
@@ -647,7 +717,29 @@ public class DeAccessionService {
             itemChangeLogEntity.setNotes(itemIdAndMessageMap.get(itemId) + notes);
             itemChangeLogEntities.add(itemChangeLogEntity);
         }
-        deaccesionItemChangeLogDetailsRepository.saveAll(itemChangeLogEntities);
+        saveDeAccessionItemChangeLogEntities(itemChangeLogEntities);
+    }
+
+    private void saveDeAccessionItemChangeLogEntities(List<DeaccessionItemChangeLog> itemChangeLogEntities) {
+        for (List<DeaccessionItemChangeLog> itemChangeLogs : partition(itemChangeLogEntities)) {
+            deaccesionItemChangeLogDetailsRepository.saveAll(itemChangeLogs);
+        }
+    }
+
+    private List<ItemEntity> findItemsByBarcodes(List<String> itemBarcodes) {
+        List<ItemEntity> itemEntities = new ArrayList<>();
+        for (List<String> barcodes : partition(itemBarcodes)) {
+            itemEntities.addAll(itemDetailsRepository.findByBarcodeIn(barcodes));
+        }
+        return itemEntities;
+    }
+
+    private <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> partitions = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < list.size(); fromIndex += deAccessionBatchSize) {
+            partitions.add(list.subList(fromIndex, Math.min(fromIndex + deAccessionBatchSize, list.size())));
+        }
+        return partitions;
     }
 
     private int getHoldQueueLength(ItemInformationResponse itemInformationResponse) {
@@ -659,36 +751,32 @@ public class DeAccessionService {
     }
 
     /**
-     * De accession items in db.
+     * De accession items in db, a batch of items at a time.
      *
      * @param barcodeAndStopCodeMap         the barcode and stop code map
      * @param deAccessionDBResponseEntities the de accession db response entities
      * @param username                      the username
      */
     public void deAccessionItemsInDB(Map<String, String> barcodeAndStopCodeMap, List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities, String username) {
-        DeAccessionDBResponseEntity deAccessionDBResponseEntity;
         Date currentDate = new Date();
-        Set<String> itemBarcodeList = barcodeAndStopCodeMap.keySet();
-        List<ItemEntity> itemEntityList = itemDetailsRepository.findByBarcodeIn(new ArrayList<>(itemBarcodeList));
         try {
-            String barcode = null;
-            String deliveryLocation = null;
-            for (ItemEntity itemEntity : itemEntityList) {
+            List<ItemEntity> itemEntityList = findItemsByBarcodes(new ArrayList<>(barcodeAndStopCodeMap.keySet()));
+            for (List<ItemEntity> itemEntities : partition(itemEntityList)) {
+                Set<Integer> deletedHoldingIds = new HashSet<>();
+                Set<Integer> deletedBibliographicIds = new HashSet<>();
                 try {
-                    barcode = itemEntity.getBarcode();
-                    deliveryLocation = barcodeAndStopCodeMap.get(barcode);
-                    List<HoldingsEntity> holdingsEntities = itemEntity.getHoldingsEntities();
-                    List<BibliographicEntity> bibliographicEntities = itemEntity.getBibliographicEntities();
-                    Integer itemId = itemEntity.getId();
-                    List<Integer> holdingsIds = processHoldings(holdingsEntities, username);
-                    List<Integer> bibliographicIds = processBibs(bibliographicEntities, username);
-                    itemDetailsRepository.markItemAsDeleted(itemId, username, currentDate);
-                    deAccessionDBResponseEntity = prepareSuccessResponse(barcode, deliveryLocation, itemEntity, holdingsIds, bibliographicIds);
-                    deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
+                    deAccessionDBService.deAccessionItems(itemEntities, username, currentDate, deletedHoldingIds, deletedBibliographicIds);
                 } catch (Exception ex) {
                     logger.error(ScsbCommonConstants.LOG_ERROR, ex);
-                    deAccessionDBResponseEntity = prepareFailureResponse(barcode, deliveryLocation, "Exception" + ex, null);
-                    deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
+                    for (ItemEntity itemEntity : itemEntities) {
+                        deAccessionDBResponseEntities.add(prepareFailureResponse(itemEntity.getBarcode(), barcodeAndStopCodeMap.get(itemEntity.getBarcode()), "Exception" + ex, null));
+                    }
+                    continue;
+                }
+                for (ItemEntity itemEntity : itemEntities) {
+                    List<Integer> holdingsIds = itemEntity.getHoldingsEntities().stream().map(HoldingsEntity::getId).filter(deletedHoldingIds::contains).collect(Collectors.toList());
+                    List<Integer> bibliographicIds = itemEntity.getBibliographicEntities().stream().map(BibliographicEntity::getId).filter(deletedBibliographicIds::contains).collect(Collectors.toList());
+                    deAccessionDBResponseEntities.add(prepareSuccessResponse(itemEntity.getBarcode(), barcodeAndStopCodeMap.get(itemEntity.getBarcode()), itemEntity, holdingsIds, bibliographicIds));
                 }
             }
         } catch (Exception ex) {
@@ -841,38 +929,6 @@ public class DeAccessionService {
         deAccessionDBResponseEntity.setOwningInstitutionBibIds(owningInstitutionBibIds);
     }
 
-    private List<Integer> processBibs(List<BibliographicEntity> bibliographicEntities, String username) throws JSONException {
-        List<Integer> bibliographicIds = new ArrayList<>();
-        for (BibliographicEntity bibliographicEntity : bibliographicEntities) {
-            Integer owningInstitutionId = bibliographicEntity.getOwningInstitutionId();
-            String owningInstitutionBibId = bibliographicEntity.getOwningInstitutionBibId();
-            Long nonDeletedItemsCount = bibliographicDetailsRepository.getNonDeletedItemsCount(owningInstitutionId, owningInstitutionBibId);
-            if (nonDeletedItemsCount == 1) {
-                bibliographicIds.add(bibliographicEntity.getId());
-            }
-        }
-        if (CollectionUtils.isNotEmpty(bibliographicIds)) {
-            bibliographicDetailsRepository.markBibsAsDeleted(bibliographicIds, username, new Date());
-        }
-        return bibliographicIds;
-    }
-
-    private List<Integer> processHoldings(List<HoldingsEntity> holdingsEntities, String username) throws JSONException {
-        List<Integer> holdingIds = new ArrayList<>();
-        for (HoldingsEntity holdingsEntity : holdingsEntities) {
-            Integer owningInstitutionId = holdingsEntity.getOwningInstitutionId();
-            String owningInstitutionHoldingsId = holdingsEntity.getOwningInstitutionHoldingsId();
-            Long nonDeletedItemsCount = holdingsDetailsRepository.getNonDeletedItemsCount(owningInstitutionId, owningInstitutionHoldingsId);
-            if (nonDeletedItemsCount == 1) {
-                holdingIds.add(holdingsEntity.getId());
-            }
-        }
-        if (CollectionUtils.isNotEmpty(holdingIds)) {
-            holdingsDetailsRepository.markHoldingsAsDeleted(holdingIds, username, new Date());
-        }
-        return holdingIds;
-    }
-
     /**
      * De accession items in solr
      * @param deAccessionDBResponseEntities
@@ -901,7 +957,6 @@ public class DeAccessionService {
                     deAccessionSolrRequest.setHoldingsIds(holdingsIds);
                     deAccessionSolrRequest.setItemIds(itemIds);
 
-                    RestTemplate restTemplate = new RestTemplate();
                     HttpEntity<DeAccessionSolrRequest> requestEntity = new HttpEntity<>(deAccessionSolrRequest, getRestHeaderService().getHttpHeaders());
                     ResponseEntity<String> responseEntity = restTemplate.exchange(deAccessionSolrClientUrl, HttpMethod.POST, requestEntity, String.class);
                     logger.info("Deaccession Item Solr update status : {}", responseEntity.getBody());
@@ -914,6 +969,7 @@ public class DeAccessionService {
 
     private void processAndSaveDeaccessionChangeLog(DeAccessionRequest deAccessionRequest, String userName, List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities) {
         if (CollectionUtils.isNotEmpty(deAccessionDBResponseEntities)) {
+            List<DeaccessionItemChangeLog> itemChangeLogEntities = new ArrayList<>();
             for (DeAccessionDBResponseEntity deAccessionItem : deAccessionDBResponseEntities) {
                 if (deAccessionItem.getStatus().contains(ScsbCommonConstants.SUCCESS)) {
                     DeaccessionItemChangeLog itemChangeLogEntity = new DeaccessionItemChangeLog();
@@ -923,10 +979,16 @@ public class DeAccessionService {
                     itemChangeLogEntity.setRecordId(deAccessionItem.getItemId());
                     String notes = deAccessionRequest.getNotes() != null ? deAccessionRequest.getNotes() : "";
                     itemChangeLogEntity.setNotes(notes);
-                    deaccesionItemChangeLogDetailsRepository.save(itemChangeLogEntity);
+                    itemChangeLogEntities.add(itemChangeLogEntity);
                 }
             }
+            saveDeAccessionItemChangeLogEntities(itemChangeLogEntities);
         }
     }
 
+    private static class ItemRequests {
+        private RequestItemEntity activeRetrievalRequest;
+        private RequestItemEntity activeRecallRequest;
+        private RequestItemEntity initialLoadRequest;
+    }
 }
@@ -4,15 +4,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.recap.ScsbConstants;
 import org.recap.ScsbCommonConstants;
 import org.recap.camel.requestinitialdataload.RequestDataLoadCSVRecord;
-import org.recap.model.jpa.ItemEntity;
 import org.recap.model.jpa.RequestItemEntity;
 import org.recap.model.jpa.RequestTypeEntity;
 import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.repository.jpa.RequestItemDetailsRepository;
-import org.recap.repository.jpa.RequestTypeDetailsRepository;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -20,12 +20,17 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Created by hemalathas on 4/5/17.
@@ -39,13 +44,20 @@ public class RequestDataLoadService {
     private ItemDetailsRepository itemDetailsRepository;
 
     @Autowired
-    private RequestTypeDetailsRepository requestTypeDetailsRepository;
+    private RequestItemDetailsRepository requestItemDetailsRepository;
 
     @Autowired
-    private RequestItemDetailsRepository requestItemDetailsRepository;
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Value("${request.data.load.lookup.batch.size:1000}")
+    private int lookupBatchSize;
+
+    @Value("${request.data.load.commit.size:1000}")
+    private int commitSize;
 
     /**
-     * To save the given requestDataLoadCSVRecords in scsb.
+     * To save the given requestDataLoadCSVRecords in scsb. The items and the requests already placed on them are looked up
+     * for lookup batch size barcodes at a time, and the request items are saved for commit size records at a time.
      *
      * @param requestDataLoadCSVRecords the request data load csv records
      * @param barcodeSet                the barcode set
@@ -56,27 +68,30 @@ public class RequestDataLoadService {
         List<RequestItemEntity> requestItemEntityList = new ArrayList<>();
         List<String> duplicateBarcodes = new ArrayList<>();
         Set<String> barcodesNotInScsb = new HashSet<>();
-        RequestItemEntity requestItemEntity = null;
+        List<RequestDataLoadCSVRecord> uniqueRecords = new ArrayList<>();
         for(RequestDataLoadCSVRecord requestDataLoadCSVRecord : requestDataLoadCSVRecords){
-            Integer itemId = 0;
-            Integer requestingInstitutionId = 0 ;
-            requestItemEntity = new RequestItemEntity();
             if(!barcodeSet.add(requestDataLoadCSVRecord.getBarcode())){
                 duplicateBarcodes.add(requestDataLoadCSVRecord.getBarcode());
                 logger.info("Barcodes duplicated in the incoming record {}",requestDataLoadCSVRecord.getBarcode());
                 continue;
             }
-            Map<String,Integer> itemInfo = getItemInfo(requestDataLoadCSVRecord.getBarcode());
-            if(itemInfo.get(ScsbConstants.REQUEST_DATA_LOAD_ITEM_ID) != null){
-                itemId = itemInfo.get(ScsbConstants.REQUEST_DATA_LOAD_ITEM_ID);
-            }
-            if(itemInfo.get(ScsbConstants.REQUEST_DATA_LOAD_REQUESTING_INST_ID) != null){
-                requestingInstitutionId = itemInfo.get(ScsbConstants.REQUEST_DATA_LOAD_REQUESTING_INST_ID);
-            }
-            if(itemId == 0 || requestingInstitutionId == 0){
-                barcodesNotInScsb.add(requestDataLoadCSVRecord.getBarcode());
-            }else{
-                prepareRequestItemEntities(requestItemEntityList, requestItemEntity, requestDataLoadCSVRecord, itemId, requestingInstitutionId);
+            uniqueRecords.add(requestDataLoadCSVRecord);
+        }
+        SimpleDateFormat formatter = new SimpleDateFormat(ScsbConstants.REQUEST_DATA_LOAD_DATE_FORMAT);
+        int batchSize = Math.max(lookupBatchSize, 1);
+        for (int from = 0; from < uniqueRecords.size(); from += batchSize) {
+            List<RequestDataLoadCSVRecord> recordsBatch = uniqueRecords.subList(from, Math.min(from + batchSize, uniqueRecords.size()));
+            Map<String, Map<String, Integer>> itemInfoByBarcode = getItemInfo(recordsBatch.stream().map(RequestDataLoadCSVRecord::getBarcode).collect(Collectors.toList()));
+            Set<Integer> itemIdsWithRequests = getItemIdsWithRequests(itemInfoByBarcode.values());
+            for (RequestDataLoadCSVRecord requestDataLoadCSVRecord : recordsBatch) {
+                Map<String, Integer> itemInfo = itemInfoByBarcode.getOrDefault(requestDataLoadCSVRecord.getBarcode(), Collections.emptyMap());
+                Integer itemId = itemInfo.getOrDefault(ScsbConstants.REQUEST_DATA_LOAD_ITEM_ID, 0);
+                Integer requestingInstitutionId = itemInfo.getOrDefault(ScsbConstants.REQUEST_DATA_LOAD_REQUESTING_INST_ID, 0);
+                if(itemId == 0 || requestingInstitutionId == 0){
+                    barcodesNotInScsb.add(requestDataLoadCSVRecord.getBarcode());
+                }else if (!itemIdsWithRequests.contains(itemId)) {
+                    requestItemEntityList.add(prepareRequestItemEntity(requestDataLoadCSVRecord, itemId, requestingInstitutionId, formatter));
+                }
             }
         }
         savingRequestItemEntities(requestItemEntityList);
@@ -85,40 +100,41 @@ public class RequestDataLoadService {
         return barcodesNotInScsb;
     }
 
-    private void prepareRequestItemEntities(List<RequestItemEntity> requestItemEntityList, RequestItemEntity requestItemEntity, RequestDataLoadCSVRecord requestDataLoadCSVRecord, Integer itemId, Integer requestingInstitutionId) throws ParseException {
-        List<RequestItemEntity> requestAlreadyPlacedList = requestItemDetailsRepository.findByitemId(itemId,Arrays.asList(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED, ScsbCommonConstants.REQUEST_STATUS_RECALLED, ScsbCommonConstants.REQUEST_STATUS_EDD, ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD));
-        if (CollectionUtils.isEmpty(requestAlreadyPlacedList)) {
-            requestItemEntity.setItemId(itemId);
-            requestItemEntity.setRequestingInstitutionId(requestingInstitutionId);
-            SimpleDateFormat formatter = new SimpleDateFormat(ScsbConstants.REQUEST_DATA_LOAD_DATE_FORMAT);
-            requestItemEntity.setCreatedBy(ScsbConstants.REQUEST_DATA_LOAD_CREATED_BY);
-            setValuesFromOutReportToRequestItemEntity(requestItemEntity, requestDataLoadCSVRecord, formatter);
-            requestItemEntity.setRequestStatusId(9);
-            requestItemEntity.setPatronId(ScsbConstants.REQUEST_DATA_LOAD_PATRON_ID);
-            requestItemEntityList.add(requestItemEntity);
-        }
+    private RequestItemEntity prepareRequestItemEntity(RequestDataLoadCSVRecord requestDataLoadCSVRecord, Integer itemId, Integer requestingInstitutionId, SimpleDateFormat formatter) throws ParseException {
+        RequestItemEntity requestItemEntity = new RequestItemEntity();
+        requestItemEntity.setItemId(itemId);
+        requestItemEntity.setRequestingInstitutionId(requestingInstitutionId);
+        requestItemEntity.setCreatedBy(ScsbConstants.REQUEST_DATA_LOAD_CREATED_BY);
+        setValuesFromOutReportToRequestItemEntity(requestItemEntity, requestDataLoadCSVRecord, formatter);
+        requestItemEntity.setRequestStatusId(9);
+        requestItemEntity.setPatronId(ScsbConstants.REQUEST_DATA_LOAD_PATRON_ID);
+        return requestItemEntity;
     }
 
     private void setValuesFromOutReportToRequestItemEntity(RequestItemEntity requestItemEntity, RequestDataLoadCSVRecord requestDataLoadCSVRecord, SimpleDateFormat formatter) throws ParseException {
         requestItemEntity.setRequestTypeId(getRequestTypeId(requestDataLoadCSVRecord.getDeliveryMethod()));
-        Date createdDate = getDateFormat(requestDataLoadCSVRecord.getCreatedDate());
+        Date createdDate = getDateFormat(requestDataLoadCSVRecord.getCreatedDate(), formatter);
         requestItemEntity.setCreatedDate(formatter.parse(formatter.format(createdDate)));
-        Date updatedDate = getDateFormat(requestDataLoadCSVRecord.getLastUpdatedDate());
+        Date updatedDate = getDateFormat(requestDataLoadCSVRecord.getLastUpdatedDate(), formatter);
         requestItemEntity.setLastUpdatedDate(formatter.parse(formatter.format(updatedDate)));
         String stopCode=requestDataLoadCSVRecord.getStopCode() != null ? requestDataLoadCSVRecord.getStopCode() : "Stop Code Not Found";
         requestItemEntity.setStopCode(stopCode);
     }
 
     private void savingRequestItemEntities(List<RequestItemEntity> requestItemEntityList) {
-        if (!CollectionUtils.isEmpty(requestItemEntityList)){
-            List<RequestItemEntity> savedRequestItemEntities = requestItemDetailsRepository.saveAll(requestItemEntityList);
+        // Each saveAll runs in its own transaction, so the request items are committed commit size at a time and the
+        // inserts within it are sent in jdbc batches.
+        int batchSize = Math.max(commitSize, 1);
+        int savedCount = 0;
+        for (int from = 0; from < requestItemEntityList.size(); from += batchSize) {
+            List<RequestItemEntity> savedRequestItemEntities = requestItemDetailsRepository.saveAll(requestItemEntityList.subList(from, Math.min(from + batchSize, requestItemEntityList.size())));
             requestItemDetailsRepository.flush();
-            logger.info("Total request item count saved in db {}", savedRequestItemEntities.size());
+            savedCount += savedRequestItemEntities.size();
         }
+        logger.info("Total request item count saved in db {}", savedCount);
     }
 
-    private Date getDateFormat(String date) throws ParseException {
-        SimpleDateFormat formatter=new SimpleDateFormat(ScsbConstants.REQUEST_DATA_LOAD_DATE_FORMAT);
+    private Date getDateFormat(String date, SimpleDateFormat formatter) throws ParseException {
         if (StringUtils.isNotBlank(date)){
             return formatter.parse(date);
         }
@@ -128,32 +144,42 @@ public class RequestDataLoadService {
         }
     }
 
-    private Map<String,Integer> getItemInfo(String barcode){
-        Integer itemId = 0;
-        Integer owningInstitutionId = 0;
-        Map<String,Integer> itemInfo = new HashMap<>();
-        List<ItemEntity> itemEntityList = itemDetailsRepository.findByBarcodeAndItemStatusEntity_StatusCode(barcode, ScsbCommonConstants.NOT_AVAILABLE);
-        if(org.apache.commons.collections.CollectionUtils.isNotEmpty(itemEntityList)){
-            Integer itemInstitutionId = itemEntityList.get(0).getOwningInstitutionId();
-            for(ItemEntity itemEntity : itemEntityList){
-                if(itemEntity.getOwningInstitutionId().equals(itemInstitutionId)){
-                    itemId = itemEntityList.get(0).getId();
-                    owningInstitutionId = itemEntityList.get(0).getOwningInstitutionId();
-                }else{
-                    logger.info("Barcodes duplicated in database with different institution {}",barcode);
-                    return itemInfo;
-                }
+    private Map<String, Map<String,Integer>> getItemInfo(List<String> barcodes){
+        Map<String, List<Object[]>> itemRowsByBarcode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Object[] itemRow : itemDetailsRepository.findItemInfoByBarcodesAndStatusCode(barcodes, ScsbCommonConstants.NOT_AVAILABLE)) {
+            itemRowsByBarcode.computeIfAbsent((String) itemRow[0], barcode -> new ArrayList<>()).add(itemRow);
+        }
+        Map<String, Map<String,Integer>> itemInfoByBarcode = new LinkedHashMap<>();
+        for (String barcode : barcodes) {
+            List<Object[]> itemRows = itemRowsByBarcode.get(barcode);
+            if (CollectionUtils.isEmpty(itemRows)) {
+                continue;
+            }
+            Integer owningInstitutionId = (Integer) itemRows.get(0)[2];
+            if (itemRows.stream().anyMatch(itemRow -> !owningInstitutionId.equals(itemRow[2]))) {
+                logger.info("Barcodes duplicated in database with different institution {}",barcode);
+                continue;
             }
-            itemInfo.put(ScsbConstants.REQUEST_DATA_LOAD_ITEM_ID , itemId);
+            Map<String,Integer> itemInfo = new HashMap<>();
+            itemInfo.put(ScsbConstants.REQUEST_DATA_LOAD_ITEM_ID , (Integer) itemRows.get(0)[1]);
             itemInfo.put(ScsbConstants.REQUEST_DATA_LOAD_REQUESTING_INST_ID , owningInstitutionId);
+            itemInfoByBarcode.put(barcode, itemInfo);
+        }
+        return itemInfoByBarcode;
+    }
+
+    private Set<Integer> getItemIdsWithRequests(Collection<Map<String, Integer>> itemInfos) {
+        List<Integer> itemIds = itemInfos.stream().map(itemInfo -> itemInfo.get(ScsbConstants.REQUEST_DATA_LOAD_ITEM_ID)).collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return Collections.emptySet();
         }
-        return itemInfo;
+        return new HashSet<>(requestItemDetailsRepository.findItemIdsByRequestStatusCodes(itemIds, Arrays.asList(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED, ScsbCommonConstants.REQUEST_STATUS_RECALLED, ScsbCommonConstants.REQUEST_STATUS_EDD, ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)));
     }
 
     private Integer getRequestTypeId(String deliveyMethod){
         Integer requestTypeId = 0;
         if(deliveyMethod.equalsIgnoreCase(ScsbConstants.REQUEST_DATA_LOAD_REQUEST_TYPE)){
-            RequestTypeEntity requestTypeEntity = requestTypeDetailsRepository.findByrequestTypeCode(ScsbCommonConstants.RETRIEVAL);
+            RequestTypeEntity requestTypeEntity = referenceDataCacheService.getRequestTypeByCode(ScsbCommonConstants.RETRIEVAL);
             requestTypeId = requestTypeEntity.getId();
         }
         return requestTypeId;
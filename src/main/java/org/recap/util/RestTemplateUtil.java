@@ -0,0 +1,57 @@
+package org.recap.util;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.recap.config.HttpClientConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out rest templates backed by the shared pooled http client, one per endpoint timeout.
+ */
+@Service
+public class RestTemplateUtil {
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private CloseableHttpClient httpClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${http.client.connection.request.timeout.millis:10000}")
+    private int connectionRequestTimeoutMillis;
+
+    private final Map<Integer, RestTemplate> restTemplatesByTimeout = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared rest template with the default timeouts.
+     *
+     * @return the rest template
+     */
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    /**
+     * Gets a rest template which uses the given connect and read timeout on the shared connection pool.
+     *
+     * @param timeoutMillis the connect and read timeout in milliseconds
+     * @return the rest template
+     */
+    public RestTemplate getRestTemplate(int timeoutMillis) {
+        return restTemplatesByTimeout.computeIfAbsent(timeoutMillis, timeout -> restTemplateBuilder
+                .requestFactory(() -> HttpClientConfig.getRequestFactory(httpClient, connectionRequestTimeoutMillis))
+                .setConnectTimeout(Duration.ofMillis(timeout))
+                .setReadTimeout(Duration.ofMillis(timeout))
+                .build());
+    }
+}
@@ -0,0 +1,120 @@
+package org.recap.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size bounded, least recently used read-through cache whose entries expire after a time to live chosen per value.
+ * The cache keeps its own copy of each value and hands a new copy to each caller, so that callers can neither see nor
+ * make changes to the values of other callers. Hits and misses are counted on the given metric with a result tag.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class TtlCache<K, V> {
+
+    private final IntSupplier maxSize;
+    private final UnaryOperator<V> copier;
+    private final String metricName;
+    private final Tags tags;
+
+    private final Map<K, CachedValue<V>> cache = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+            return size() > maxSize.getAsInt();
+        }
+    };
+
+    /**
+     * @param maxSize    the maximum number of entries, read on each use so that it follows config refreshes, 0 turns
+     *                   the cache off
+     * @param copier     copies a value, values which cannot be changed may be returned as they are
+     * @param metricName the name of the hit and miss counter
+     * @param tags       the tags of the hit and miss counter, as key value pairs
+     */
+    public TtlCache(IntSupplier maxSize, UnaryOperator<V> copier, String metricName, String... tags) {
+        this.maxSize = maxSize;
+        this.copier = copier;
+        this.metricName = metricName;
+        this.tags = Tags.of(tags);
+    }
+
+    /**
+     * Gets the value of the key from the cache, or from the loader if it is not cached or expired. The loaded value is
+     * cached for the time to live of the value, a time to live of 0 or less leaves it out of the cache.
+     *
+     * @param key       the key, a null key is not cached
+     * @param loader    loads the value
+     * @param ttlMillis the time to live of a loaded value in milliseconds
+     * @return the value
+     */
+    public V get(K key, Supplier<V> loader, ToLongFunction<V> ttlMillis) {
+        if (key == null || maxSize.getAsInt() <= 0) {
+            return loader.get();
+        }
+        CachedValue<V> cachedValue;
+        synchronized (cache) {
+            cachedValue = cache.get(key);
+        }
+        if (cachedValue != null && cachedValue.expiryTime > System.currentTimeMillis()) {
+            Metrics.counter(metricName, tags.and("result", "hit")).increment();
+            return copier.apply(cachedValue.value);
+        }
+        Metrics.counter(metricName, tags.and("result", "miss")).increment();
+        V value = loader.get();
+        put(key, value, ttlMillis.applyAsLong(value));
+        return value;
+    }
+
+    /**
+     * Caches the value of the key for the time to live.
+     *
+     * @param key       the key
+     * @param value     the value
+     * @param ttlMillis the time to live in milliseconds, 0 or less does not cache the value
+     */
+    public void put(K key, V value, long ttlMillis) {
+        if (key == null || value == null || ttlMillis <= 0 || maxSize.getAsInt() <= 0) {
+            return;
+        }
+        CachedValue<V> cachedValue = new CachedValue<>(copier.apply(value), System.currentTimeMillis() + ttlMillis);
+        synchronized (cache) {
+            cache.put(key, cachedValue);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static class CachedValue<V> {
+        private final V value;
+        private final long expiryTime;
+
+        private CachedValue(V value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
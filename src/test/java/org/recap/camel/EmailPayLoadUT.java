@@ -34,5 +34,11 @@ public class EmailPayLoadUT extends BaseTestCaseUT {
         emailPayLoad.setBulkRequestStatus("test");
         emailPayLoad.getBulkRequestCsvFileData();
         emailPayLoad.setBulkRequestCsvFileData("test");
+        emailPayLoad.getBulkRequestReportData();
+        emailPayLoad.setBulkRequestReportData("test".getBytes());
+        emailPayLoad.getBulkRequestReportFileName();
+        emailPayLoad.setBulkRequestReportFileName("test");
+        emailPayLoad.getBulkRequestReportContentType();
+        emailPayLoad.setBulkRequestReportContentType("text/csv");
     }
 }
@@ -0,0 +1,51 @@
+package org.recap.camel.requestinitialdataload;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.recap.BaseTestCaseUT;
+import org.recap.ScsbConstants;
+import org.recap.camel.requestinitialdataload.processor.RequestInitialDataLoadProcessor;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+public class RequestInitialLoadReportAggregationStrategyUT extends BaseTestCaseUT {
+
+    @Mock
+    RequestInitialDataLoadProcessor requestInitialDataLoadProcessor;
+
+    CamelContext camelContext = new DefaultCamelContext();
+
+    @Test
+    public void aggregateInChunkOrder() {
+        RequestInitialLoadReportAggregationStrategy aggregationStrategy = new RequestInitialLoadReportAggregationStrategy(requestInitialDataLoadProcessor);
+        Exchange reportExchange = aggregationStrategy.aggregate(null, getChunkExchange(1, Collections.singleton("2")));
+        Mockito.verify(requestInitialDataLoadProcessor, Mockito.never()).writeBarcodesNotInScsb(anyInt(), any());
+        assertSame(reportExchange, aggregationStrategy.aggregate(reportExchange, getChunkExchange(2, null)));
+        Mockito.verify(requestInitialDataLoadProcessor, Mockito.never()).writeBarcodesNotInScsb(anyInt(), any());
+        aggregationStrategy.aggregate(reportExchange, getChunkExchange(0, Collections.singleton("1")));
+        InOrder inOrder = Mockito.inOrder(requestInitialDataLoadProcessor);
+        inOrder.verify(requestInitialDataLoadProcessor).writeBarcodesNotInScsb(0, Collections.singleton("1"));
+        inOrder.verify(requestInitialDataLoadProcessor).writeBarcodesNotInScsb(1, Collections.singleton("2"));
+        inOrder.verify(requestInitialDataLoadProcessor).writeBarcodesNotInScsb(2, Collections.emptySet());
+        aggregationStrategy.aggregate(reportExchange, getChunkExchange(3, Collections.singleton("4")));
+        Mockito.verify(requestInitialDataLoadProcessor).writeBarcodesNotInScsb(3, Collections.singleton("4"));
+    }
+
+    private Exchange getChunkExchange(int index, Set<String> barcodesNotInScsb) {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.setProperty(ScsbConstants.CAMEL_SPLIT_INDEX, index);
+        exchange.getIn().setBody(barcodesNotInScsb);
+        return exchange;
+    }
+}
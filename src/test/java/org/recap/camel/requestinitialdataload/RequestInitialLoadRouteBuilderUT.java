@@ -1,17 +1,22 @@
 package org.recap.camel.requestinitialdataload;
 
+import org.apache.camel.impl.DefaultCamelContext;
 import org.junit.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.recap.BaseTestCaseUT;
+import org.recap.ScsbConstants;
 import org.recap.model.ILSConfigProperties;
 import org.recap.util.CommonUtil;
 import org.springframework.context.ApplicationContext;
 
-public class RequestInitialLoadRouteBuilderUT extends BaseTestCaseUT {
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
-    @InjectMocks
-    RequestInitialLoadRouteBuilder requestInitialLoadRouteBuilder;
+public class RequestInitialLoadRouteBuilderUT extends BaseTestCaseUT {
 
     @Mock
     ApplicationContext applicationContext;
@@ -26,6 +31,27 @@ public class RequestInitialLoadRouteBuilderUT extends BaseTestCaseUT {
 
     @Test
     public void configure() throws Exception {
+        RequestInitialLoadRouteBuilder requestInitialLoadRouteBuilder = new RequestInitialLoadRouteBuilder(new DefaultCamelContext(), applicationContext, commonUtil, institution, null, null, null, false, 1);
+        requestInitialLoadRouteBuilder.configure();
+        assertEquals(3, requestInitialLoadRouteBuilder.getRouteCollection().getRoutes().size());
+    }
+
+    @Test
+    public void configureStreaming() throws Exception {
+        RequestInitialLoadRouteBuilder requestInitialLoadRouteBuilder = new RequestInitialLoadRouteBuilder(new DefaultCamelContext(), applicationContext, commonUtil, "PUL", null, null, null, true, 2);
         requestInitialLoadRouteBuilder.configure();
+        assertEquals(3, requestInitialLoadRouteBuilder.getRouteCollection().getRoutes().size());
+    }
+
+    @Test
+    public void configureStreamingTwiceReusesThreadPool() throws Exception {
+        DefaultCamelContext camelContext = new DefaultCamelContext();
+        new RequestInitialLoadRouteBuilder(camelContext, applicationContext, commonUtil, "PUL", null, null, null, true, 2).configure();
+        ExecutorService executorService = camelContext.getRegistry().lookupByNameAndType(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE + "PULExecutorService", ExecutorService.class);
+        assertNotNull(executorService);
+        new RequestInitialLoadRouteBuilder(camelContext, applicationContext, commonUtil, "PUL", null, null, null, true, 2).configure();
+        assertSame(executorService, camelContext.getRegistry().lookupByNameAndType(ScsbConstants.REQUEST_INITIAL_LOAD_DIRECT_ROUTE + "PULExecutorService", ExecutorService.class));
+        camelContext.stop();
+        assertTrue(executorService.isShutdown());
     }
 }
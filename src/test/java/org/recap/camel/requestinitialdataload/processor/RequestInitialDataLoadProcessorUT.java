@@ -12,15 +12,20 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.recap.ScsbConstants;
 import org.recap.camel.requestinitialdataload.RequestDataLoadCSVRecord;
 import org.recap.service.requestdataload.RequestDataLoadService;
 
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RequestInitialDataLoadProcessorUT {
@@ -126,6 +131,38 @@ public class RequestInitialDataLoadProcessorUT {
 
     }
 
+    @Test
+    public void processChunk() throws ParseException {
+        Set<String> loadedBarcodes = ConcurrentHashMap.newKeySet();
+        List<RequestDataLoadCSVRecord> requestDataLoadCSVRecordList = Arrays.asList(getRequestDataLoadCSVRecord());
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setBody(requestDataLoadCSVRecordList);
+        exchange.setProperty(ScsbConstants.REQUEST_INITIAL_LOAD_BARCODES, loadedBarcodes);
+        exchange.setProperty("CamelSplitIndex", 1);
+        Mockito.when(requestDataLoadService.process(Mockito.eq(requestDataLoadCSVRecordList), Mockito.same(loadedBarcodes))).thenReturn(Collections.singleton("332456456456745"));
+        requestInitialDataLoadProcessor.processChunk(exchange);
+        assertEquals(Collections.singleton("332456456456745"), exchange.getIn().getBody());
+    }
+
+    @Test
+    public void completeInitialLoad() throws Exception {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setHeader("CamelAwsS3Key", "test/PUL/test.csv.gz");
+        exchange.getIn().setHeader("CamelAwsS3BucketName", "bucket");
+        exchange.setProperty("CamelSplitIndex", 3);
+        Mockito.when(camelContext.getRouteController()).thenReturn(routeController);
+        Mockito.when(awsS3Client.doesObjectExist("bucket", "test/PUL/test.csv.gz")).thenReturn(true);
+        requestInitialDataLoadProcessor.completeInitialLoad(exchange);
+        Mockito.verify(routeController).startRoute(any());
+        Mockito.verify(awsS3Client).deleteObject("bucket", "test/PUL/test.csv.gz");
+    }
+
+    @Test
+    public void completeInitialLoadWithoutRecords() {
+        requestInitialDataLoadProcessor.completeInitialLoad(new DefaultExchange(new DefaultCamelContext()));
+        Mockito.verifyNoInteractions(awsS3Client, camelContext);
+    }
+
     private RequestDataLoadCSVRecord getRequestDataLoadCSVRecord() {
         RequestDataLoadCSVRecord requestDataLoadCSVRecord = new RequestDataLoadCSVRecord();
         requestDataLoadCSVRecord.setBarcode("332456456456745");
@@ -0,0 +1,147 @@
+package org.recap.camel.route;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.recap.ScsbConstants;
+import org.recap.model.response.ItemInformationResponse;
+import org.recap.mqconsumer.RequestItemQueueConsumer;
+import org.recap.request.service.ItemRequestService;
+import org.recap.request.service.RequestItemBulkheadService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+public class RequestItemBulkheadProcessorUT {
+
+    private static final String REQUEST_BODY = "{\"itemOwningInstitution\":\"PUL\",\"itemBarcodes\":[\"123\"]}";
+
+    private RequestItemBulkheadService requestItemBulkheadService;
+    private ItemRequestService itemRequestService;
+    private CamelContext ctx;
+    private final AtomicReference<String> threadName = new AtomicReference<>();
+
+    @Before
+    public void createRoute() throws Exception {
+        requestItemBulkheadService = new RequestItemBulkheadService();
+        ReflectionTestUtils.setField(requestItemBulkheadService, "initialConcurrency", 2);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "minConcurrency", 1);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "latencyThresholdMillis", 10000L);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "overflowBackoffMillis", 10L);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "overflowMaxBackoffMillis", 50L);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "shutdownTimeoutSeconds", 5L);
+        itemRequestService = Mockito.mock(ItemRequestService.class);
+        ctx = new DefaultCamelContext();
+        ctx.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:requestItem")
+                        .process(new RequestItemBulkheadProcessor(requestItemBulkheadService))
+                        .process(exchange -> threadName.set(Thread.currentThread().getName()))
+                        .bean(new RequestItemQueueConsumer(itemRequestService), "requestItemOnMessage");
+            }
+        });
+        ctx.start();
+    }
+
+    @After
+    public void stopRoute() {
+        ctx.stop();
+        requestItemBulkheadService.shutdown();
+    }
+
+    @Test
+    public void process() throws Exception {
+        Mockito.when(itemRequestService.requestItem(any(), any())).thenReturn(getItemInformationResponse(true, ScsbConstants.SUCCESSFULLY_PROCESSED_REQUEST_ITEM));
+        ctx.createProducerTemplate().sendBody("direct:requestItem", REQUEST_BODY);
+        assertTrue(threadName.get().startsWith("RequestItemBulkhead-PUL-"));
+        assertEquals(2, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+    }
+
+    @Test
+    public void processIlsFailureDecreasesConcurrencyLimit() throws Exception {
+        Mockito.when(itemRequestService.requestItem(any(), any())).thenReturn(getItemInformationResponse(false, ScsbConstants.REQUEST_ILS_EXCEPTION + "Hold failed"));
+        ctx.createProducerTemplate().sendBody("direct:requestItem", REQUEST_BODY);
+        assertTrue(awaitConcurrencyLimit(1));
+    }
+
+    @Test
+    public void processScsbFailureKeepsConcurrencyLimit() throws Exception {
+        Mockito.when(itemRequestService.requestItem(any(), any())).thenReturn(getItemInformationResponse(false, ScsbConstants.REQUEST_SCSB_EXCEPTION + ScsbConstants.WRONG_ITEM_BARCODE));
+        ctx.createProducerTemplate().sendBody("direct:requestItem", REQUEST_BODY);
+        assertFalse(awaitConcurrencyLimit(1));
+        assertEquals(2, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+    }
+
+    @Test
+    public void processWaitsWhileBulkheadIsFull() throws Exception {
+        Mockito.when(itemRequestService.requestItem(any(), any())).thenReturn(getItemInformationResponse(true, ScsbConstants.SUCCESSFULLY_PROCESSED_REQUEST_ITEM));
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            requestItemBulkheadService.execute("PUL", () -> {
+                started.countDown();
+                return await(release);
+            });
+        }
+        ExecutorService consumerExecutorService = Executors.newSingleThreadExecutor();
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<?> consumer = consumerExecutorService.submit(() -> ctx.createProducerTemplate().sendBody("direct:requestItem", REQUEST_BODY));
+            Thread.sleep(200);
+            assertFalse(consumer.isDone());
+            assertNull(threadName.get());
+            release.countDown();
+            consumer.get(5, TimeUnit.SECONDS);
+            assertTrue(threadName.get().startsWith("RequestItemBulkhead-PUL-"));
+            Mockito.verify(itemRequestService).requestItem(any(), any());
+        } finally {
+            release.countDown();
+            consumerExecutorService.shutdownNow();
+        }
+    }
+
+    private ItemInformationResponse getItemInformationResponse(boolean success, String screenMessage) {
+        ItemInformationResponse itemInformationResponse = new ItemInformationResponse();
+        itemInformationResponse.setSuccess(success);
+        itemInformationResponse.setScreenMessage(screenMessage);
+        return itemInformationResponse;
+    }
+
+    private boolean awaitConcurrencyLimit(int limit) throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            if (requestItemBulkheadService.getConcurrencyLimit("PUL") == limit) {
+                return true;
+            }
+            Thread.sleep(25);
+        }
+        return false;
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.recap.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.recap.BaseTestCaseUT;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class HttpClientConfigUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    HttpClientConfig httpClientConfig;
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(httpClientConfig, "maxTotalConnections", 50);
+        ReflectionTestUtils.setField(httpClientConfig, "maxConnectionsPerRoute", 5);
+        ReflectionTestUtils.setField(httpClientConfig, "requestItemBulkheadMaxConcurrency", 30);
+        ReflectionTestUtils.setField(httpClientConfig, "bulkRequestConsumerCount", 20);
+        ReflectionTestUtils.setField(httpClientConfig, "connectTimeoutMillis", 1000);
+        ReflectionTestUtils.setField(httpClientConfig, "connectionRequestTimeoutMillis", 1000);
+        ReflectionTestUtils.setField(httpClientConfig, "socketTimeoutMillis", 1000);
+        ReflectionTestUtils.setField(httpClientConfig, "keepAliveMillis", 30000L);
+        ReflectionTestUtils.setField(httpClientConfig, "idleConnectionTimeoutMillis", 60000L);
+        ReflectionTestUtils.setField(httpClientConfig, "validateAfterInactivityMillis", 2000);
+    }
+
+    @Test
+    public void httpClientConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = httpClientConfig.httpClientConnectionManager();
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+        connectionManager.close();
+    }
+
+    @Test
+    public void httpClientConnectionManagerDerivedMaxPerRoute() {
+        ReflectionTestUtils.setField(httpClientConfig, "maxConnectionsPerRoute", 0);
+        PoolingHttpClientConnectionManager connectionManager = httpClientConfig.httpClientConnectionManager();
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(50, connectionManager.getDefaultMaxPerRoute());
+        connectionManager.close();
+    }
+
+    @Test
+    public void restTemplate() throws Exception {
+        PoolingHttpClientConnectionManager connectionManager = httpClientConfig.httpClientConnectionManager();
+        try (CloseableHttpClient httpClient = httpClientConfig.httpClient(connectionManager)) {
+            RestTemplate restTemplate = httpClientConfig.restTemplate(new RestTemplateBuilder(), httpClient);
+            assertTrue(restTemplate.getRequestFactory() instanceof HttpComponentsClientHttpRequestFactory);
+            RequestConfig requestConfig = (RequestConfig) ReflectionTestUtils.getField(restTemplate.getRequestFactory(), "requestConfig");
+            assertEquals(1000, requestConfig.getConnectionRequestTimeout());
+        }
+    }
+
+    @Test
+    public void httpClientConnectionPoolMetrics() {
+        PoolingHttpClientConnectionManager connectionManager = httpClientConfig.httpClientConnectionManager();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        httpClientConfig.httpClientConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge());
+        assertEquals(50, meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge().value(), 0);
+        connectionManager.close();
+    }
+}
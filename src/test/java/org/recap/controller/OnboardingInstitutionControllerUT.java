@@ -9,8 +9,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.recap.BaseTestCaseUT;
 import org.recap.PropertyKeyConstants;
+import org.recap.request.service.BulkRequestExecutionService;
 import org.recap.request.service.ItemEDDRequestService;
 import org.recap.request.service.ItemRequestService;
+import org.recap.service.common.ReferenceDataCacheService;
+import org.recap.service.common.SetupDataService;
 import org.recap.util.PropertyUtil;
 import org.springframework.context.ApplicationContext;
 
@@ -37,6 +40,15 @@ public class OnboardingInstitutionControllerUT extends BaseTestCaseUT {
     @Mock
     RouteBuilder routeBuilder;
 
+    @Mock
+    SetupDataService setupDataService;
+
+    @Mock
+    ReferenceDataCacheService referenceDataCacheService;
+
+    @Mock
+    BulkRequestExecutionService bulkRequestExecutionService;
+
     @Before
     public void setup(){
         String institutionCode = "PUL";
@@ -48,10 +60,20 @@ public class OnboardingInstitutionControllerUT extends BaseTestCaseUT {
     public void createTopicsForNewInstitution(){
         String institutionCode = "PUL";
         onboardingInstitutionController.createTopicsForNewInstitution(institutionCode);
+        Mockito.verify(referenceDataCacheService).invalidateAll();
     }
     @Test
-    public void createQueuesForNewImsLocation(){
+    public void createQueuesForNewImsLocation() throws Exception {
         String imsLocationCode = "PUL";
         onboardingInstitutionController.createQueuesForNewImsLocation(imsLocationCode);
+        Mockito.verify(camelContext, Mockito.times(2)).addRoutes(Mockito.any());
+        Mockito.verify(referenceDataCacheService).invalidateAll();
+    }
+    @Test
+    public void refreshSetupData(){
+        onboardingInstitutionController.refreshSetupData();
+        Mockito.verify(setupDataService).refresh();
+        Mockito.verify(referenceDataCacheService).invalidateAll();
+        Mockito.verify(bulkRequestExecutionService).invalidateAll();
     }
 }
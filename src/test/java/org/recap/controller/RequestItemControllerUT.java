@@ -5,6 +5,7 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.recap.BaseTestCaseUT;
 import org.recap.PropertyKeyConstants;
 import org.recap.ils.connector.AbstractProtocolConnector;
@@ -16,6 +17,7 @@ import org.recap.model.response.*;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.model.request.ReplaceRequest;
 import org.recap.request.service.ItemRequestService;
+import org.recap.service.common.PatronCacheService;
 import org.recap.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +51,9 @@ public class RequestItemControllerUT extends BaseTestCaseUT {
     @Mock
     private ILSProtocolConnectorFactory ilsProtocolConnectorFactory;
 
+    @Spy
+    PatronCacheService patronCacheService;
+
     @Test
     public void checkGetters() {
         mockedRequestItemController.getIlsProtocolConnectorFactory();
@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.recap.BaseTestCaseUT;
 import org.recap.ScsbCommonConstants;
 import org.recap.ils.connector.AbstractProtocolConnector;
@@ -14,6 +15,7 @@ import org.recap.repository.jpa.BibliographicDetailsRepository;
 import org.recap.repository.jpa.ImsLocationDetailsRepository;
 import org.recap.request.service.ItemValidatorService;
 import org.recap.request.service.RequestParamaterValidatorService;
+import org.recap.service.common.PatronCacheService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -53,6 +55,9 @@ public class RequestItemValidatorControllerUT extends BaseTestCaseUT {
     @Mock
     ImsLocationDetailsRepository imsLocationDetailsRepository;
 
+    @Spy
+    PatronCacheService patronCacheService;
+
     @Test
     public void testValidRequest() throws Exception {
         BibliographicEntity bibliographicEntity = saveBibSingleHoldingsMultipleItem();
@@ -2,14 +2,20 @@ package org.recap.ils.connector;
 
 import org.apache.http.*;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.extensiblecatalog.ncip.v2.common.Translator;
 import org.extensiblecatalog.ncip.v2.service.*;
+import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.recap.BaseTestCaseUT;
+import org.recap.ils.protocol.ncip.util.NCIPToolKitUtil;
+import org.recap.ils.protocol.ncip.util.NCIPTranslatorPool;
 import org.recap.ils.protocol.rest.model.BibLookupData;
 import org.recap.ils.protocol.rest.model.ItemLookupData;
 import org.recap.ils.protocol.rest.model.response.ItemLookupResponse;
@@ -85,6 +91,14 @@ public class NCIPProtocolConnectorUT extends BaseTestCaseUT {
     @Mock
     ItemDetailsRepository itemDetailsRepository;
 
+    @Mock
+    NCIPTranslatorPool ncipTranslatorPool;
+
+    @Before
+    public void mockTranslatorPool() throws Exception {
+        Mockito.lenient().when(ncipTranslatorPool.borrowTranslator()).thenReturn(NCIPToolKitUtil.getInstance().newTranslator());
+    }
+
     @Test
     public void checkGetters(){
         ncipProtocolConnector.getNcipScheme();
@@ -96,6 +110,30 @@ public class NCIPProtocolConnectorUT extends BaseTestCaseUT {
 //        Mockito.when(ilsConfigProperties.getIlsRestDataApi()).thenReturn("");
     }
 
+    @Test
+    public void getNcipResponseDataSendsSizedXmlEntity() throws Exception {
+        byte[] requestBody = "<NCIPMessage/>".getBytes(StandardCharsets.UTF_8);
+        Translator translator = Mockito.mock(Translator.class);
+        Mockito.doReturn(translator).when(ncipTranslatorPool).borrowTranslator();
+        Mockito.when(translator.createInitiationMessageStream(any(), any())).thenReturn(new ByteArrayInputStream(requestBody));
+        Mockito.when(ncipProtocolConnector.buildCloseableHttpClient()).thenReturn(client);
+        Mockito.when(client.execute(any())).thenThrow(new IOException("test"));
+        try {
+            ncipProtocolConnector.getNcipResponseData(new LookupUserInitiationData());
+            fail();
+        } catch (IOException e) {
+            assertEquals("test", e.getMessage());
+        }
+        ArgumentCaptor<HttpUriRequest> requestCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
+        Mockito.verify(client).execute(requestCaptor.capture());
+        HttpEntity requestEntity = ((HttpEntityEnclosingRequest) requestCaptor.getValue()).getEntity();
+        assertEquals("application/xml; charset=UTF-8", requestEntity.getContentType().getValue());
+        assertEquals(requestBody.length, requestEntity.getContentLength());
+        assertFalse(requestEntity.isChunked());
+        assertEquals("application/xml", requestCaptor.getValue().getFirstHeader("Content-Type").getValue());
+        Mockito.verify(ncipTranslatorPool).releaseTranslator(translator);
+    }
+
     @Test
     public void supports() {
         boolean result = ncipProtocolConnector.supports("NCIP");
@@ -26,11 +26,14 @@ import org.recap.model.request.ItemRequestInformation;
 import org.recap.ils.protocol.rest.processor.RestProtocolJobResponsePollingProcessor;
 import org.springframework.http.*;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -194,6 +197,116 @@ public class RestProtocolConnectorUT extends BaseTestCaseUT {
         restProtocolConnector.queryForJob(jobId);
     }
 
+    @Test
+    public void queryForJobRetriedWithNewAccessToken() throws Exception {
+        String jobId = "1";
+        when(restOauthTokenApiService.generateAccessTokenForRestApi(any(), any(), any())).thenReturn("expired", "renewed");
+        doThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED)).doReturn(new ResponseEntity<>(getJobResponse(), HttpStatus.OK)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobResponse.class));
+        JobResponse jobResponse = restProtocolConnector.queryForJob(jobId);
+        assertNotNull(jobResponse);
+        verify(restOauthTokenApiService).invalidateAccessToken(any(), any(), any(), ArgumentMatchers.eq("expired"));
+        verify(restTemplate, times(2)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.eq(JobResponse.class));
+    }
+
+    @Test(expected = HttpClientErrorException.class)
+    public void queryForJobUnauthorizedAfterRetry() throws Exception {
+        doThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobResponse.class));
+        restProtocolConnector.queryForJob("1");
+    }
+
+    @Test
+    public void queryForJobsInBulk() throws Exception {
+        JobsResponse jobsResponse = new JobsResponse();
+        jobsResponse.setData(Arrays.asList(getJobData("1"), getJobData("2")));
+        doReturn(new ResponseEntity<>(jobsResponse, HttpStatus.OK)).when(restTemplate).exchange(
+                ArgumentMatchers.contains("/jobs?id=1,2"),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobsResponse.class));
+        Map<String, CompletableFuture<JobResponse>> jobResponses = restProtocolConnector.queryForJobs(Arrays.asList("1", "2"), Runnable::run);
+        assertEquals(2, jobResponses.size());
+        assertEquals("2", jobResponses.get("2").get().getData().getId());
+        verify(restTemplate, never()).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.eq(JobResponse.class));
+    }
+
+    @Test
+    public void queryForJobsMissingFromBulkResponse() throws Exception {
+        JobsResponse jobsResponse = new JobsResponse();
+        jobsResponse.setData(Collections.singletonList(getJobData("1")));
+        doReturn(new ResponseEntity<>(jobsResponse, HttpStatus.OK)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobsResponse.class));
+        doReturn(new ResponseEntity<>(getJobResponse(), HttpStatus.OK)).when(restTemplate).exchange(
+                ArgumentMatchers.endsWith("/jobs/2"),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobResponse.class));
+        Map<String, CompletableFuture<JobResponse>> jobResponses = restProtocolConnector.queryForJobs(Arrays.asList("1", "2"), Runnable::run);
+        assertEquals("1", jobResponses.get("1").get().getData().getId());
+        assertNotNull(jobResponses.get("2").get());
+    }
+
+    @Test
+    public void queryForJobsBulkNotSupported() throws Exception {
+        doThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobsResponse.class));
+        doReturn(new ResponseEntity<>(getJobResponse(), HttpStatus.OK)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobResponse.class));
+        Map<String, CompletableFuture<JobResponse>> jobResponses = restProtocolConnector.queryForJobs(Arrays.asList("1", "2"), Runnable::run);
+        assertNotNull(jobResponses.get("1").get());
+        assertNotNull(jobResponses.get("2").get());
+        restProtocolConnector.queryForJobs(Arrays.asList("3", "4"), Runnable::run);
+        verify(restTemplate, times(1)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.eq(JobsResponse.class));
+        verify(restTemplate, times(4)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.eq(JobResponse.class));
+    }
+
+    @Test
+    public void queryForJobsBulkFailure() throws Exception {
+        doThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobsResponse.class));
+        doReturn(new ResponseEntity<>(getJobResponse(), HttpStatus.OK)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobResponse.class));
+        Map<String, CompletableFuture<JobResponse>> jobResponses = restProtocolConnector.queryForJobs(Arrays.asList("1", "2"), Runnable::run);
+        assertNotNull(jobResponses.get("1").get());
+        assertNotNull(jobResponses.get("2").get());
+        restProtocolConnector.queryForJobs(Arrays.asList("3", "4"), Runnable::run);
+        verify(restTemplate, times(2)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.eq(JobsResponse.class));
+        verify(restTemplate, times(4)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.eq(JobResponse.class));
+    }
+
+    @Test
+    public void queryForJobsIndividualFailure() throws Exception {
+        doThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.eq(JobResponse.class));
+        Map<String, CompletableFuture<JobResponse>> jobResponses = restProtocolConnector.queryForJobs(Collections.singletonList("1"), Runnable::run);
+        assertTrue(jobResponses.get("1").isCompletedExceptionally());
+    }
+
     @Test
     public void checkOutItem() throws Exception {
         String itemIdentifier = "236784";
@@ -835,4 +948,10 @@ public class RestProtocolConnectorUT extends BaseTestCaseUT {
         return itemRequestInformation;
     }
 
+    private JobData getJobData(String jobId) {
+        JobData jobData = new JobData();
+        jobData.setId(jobId);
+        jobData.setFinished(true);
+        return jobData;
+    }
 }
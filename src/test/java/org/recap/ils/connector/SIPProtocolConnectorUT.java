@@ -74,12 +74,13 @@ public class SIPProtocolConnectorUT {
         sipProtocolConnector.setIlsConfigProperties(ilsConfigProperties);
         SIP2ACSStatusResponse sip2ACSStatusResponse = getSIP2ACSStatusResponse();
         SIP2CheckoutResponse sip2CheckoutResponse = getSIP2CheckoutResponse();
+        SIP2PatronInformationResponse sip2PatronInformationResponse = getSIP2PatronInformationResponse();
         SIP2LoginResponse loginResponse = new SIP2LoginResponse("940");
         loginResponse.setOk(true);
         PowerMockito.doReturn(sip2SocketConnection).when(sipProtocolConnector, "getSocketConnection");
-        Mockito.doReturn(Boolean.TRUE).when(sipProtocolConnector).jSIPLogin(any(), any());
         Mockito.when(sip2SocketConnection.connect()).thenReturn(true);
         Mockito.when(sip2SocketConnection.send(any(SIP2LoginRequest.class))).thenReturn(loginResponse);
+        Mockito.when(sip2SocketConnection.send(any(SIP2PatronInformationRequest.class))).thenReturn(sip2PatronInformationResponse);
         Mockito.when(sip2SocketConnection.send(any(SIP2SCStatusRequest.class))).thenReturn(sip2ACSStatusResponse);
         Mockito.when(sip2SocketConnection.send(any(SIP2CheckoutRequest.class))).thenReturn(sip2CheckoutResponse);
         sipProtocolConnector.checkOutItem(itemIdentifier, requestId, patronIdentifier);
@@ -9,10 +9,12 @@ import org.recap.ils.connector.AbstractProtocolConnector;
 import org.recap.ils.connector.factory.ILSProtocolConnectorFactory;
 import org.recap.model.ILSConfigProperties;
 import org.recap.util.PropertyUtil;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 
 import java.util.Arrays;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 
 public class ILSProtocolConnectorFactoryUT extends BaseTestCaseUT {
@@ -23,9 +25,15 @@ public class ILSProtocolConnectorFactoryUT extends BaseTestCaseUT {
     @Mock
     AbstractProtocolConnector abstractProtocolConnector;
 
+    @Mock
+    AbstractProtocolConnector institutionProtocolConnector;
+
     @Mock
     PropertyUtil propertyUtil;
 
+    @Mock
+    AutowireCapableBeanFactory beanFactory;
+
     @Mock
     ILSConfigProperties ilsConfigProperties;
 
@@ -34,12 +42,63 @@ public class ILSProtocolConnectorFactoryUT extends BaseTestCaseUT {
         String institution = "PUL";
         ILSConfigProperties ilsConfigProperties = new ILSConfigProperties();
         ilsConfigProperties.setProtocol("NCIP");
-        ILSProtocolConnectorFactory ilsProtocolConnectorFactory = new ILSProtocolConnectorFactory(Arrays.asList(abstractProtocolConnector),propertyUtil);
+        ILSProtocolConnectorFactory ilsProtocolConnectorFactory = new ILSProtocolConnectorFactory(Arrays.asList(abstractProtocolConnector),propertyUtil,beanFactory);
         Mockito.when(propertyUtil.getILSConfigProperties(any())).thenReturn(ilsConfigProperties);
         Mockito.when(abstractProtocolConnector.supports("NCIP")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(institutionProtocolConnector);
         AbstractProtocolConnector abstractProtocolConnector = ilsProtocolConnectorFactory.getIlsProtocolConnector(institution);
         assertNotNull(abstractProtocolConnector);
+        assertSame(institutionProtocolConnector, abstractProtocolConnector);
+        Mockito.verify(institutionProtocolConnector).setInstitution(institution);
+        Mockito.verify(institutionProtocolConnector).setIlsConfigProperties(ilsConfigProperties);
+        Mockito.verify(this.abstractProtocolConnector, Mockito.never()).setInstitution(any());
+    }
+
+    @Test
+    public void getIlsProtocolConnectorCached(){
+        String institution = "PUL";
+        ILSConfigProperties ilsConfigProperties = new ILSConfigProperties();
+        ilsConfigProperties.setProtocol("NCIP");
+        ILSProtocolConnectorFactory ilsProtocolConnectorFactory = new ILSProtocolConnectorFactory(Arrays.asList(abstractProtocolConnector),propertyUtil,beanFactory);
+        Mockito.when(propertyUtil.getILSConfigProperties(any())).thenReturn(ilsConfigProperties);
+        Mockito.when(abstractProtocolConnector.supports("NCIP")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(institutionProtocolConnector);
+        AbstractProtocolConnector connector = ilsProtocolConnectorFactory.getIlsProtocolConnector(institution);
+        assertSame(connector, ilsProtocolConnectorFactory.getIlsProtocolConnector(institution));
+        Mockito.verify(beanFactory, Mockito.times(1)).createBean(any(Class.class));
+    }
+
+    @Test
+    public void getIlsProtocolConnectorConfigChanged(){
+        String institution = "PUL";
+        ILSConfigProperties ilsConfigProperties = new ILSConfigProperties();
+        ilsConfigProperties.setProtocol("NCIP");
+        ILSConfigProperties changedIlsConfigProperties = new ILSConfigProperties();
+        changedIlsConfigProperties.setProtocol("NCIP");
+        changedIlsConfigProperties.setHost("changed-host");
+        ILSProtocolConnectorFactory ilsProtocolConnectorFactory = new ILSProtocolConnectorFactory(Arrays.asList(abstractProtocolConnector),propertyUtil,beanFactory);
+        Mockito.when(propertyUtil.getILSConfigProperties(any())).thenReturn(ilsConfigProperties, changedIlsConfigProperties);
+        Mockito.when(abstractProtocolConnector.supports("NCIP")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(institutionProtocolConnector);
+        ilsProtocolConnectorFactory.getIlsProtocolConnector(institution);
+        ilsProtocolConnectorFactory.getIlsProtocolConnector(institution);
+        Mockito.verify(beanFactory, Mockito.times(2)).createBean(any(Class.class));
+        Mockito.verify(institutionProtocolConnector).setIlsConfigProperties(changedIlsConfigProperties);
     }
 
+    @Test
+    public void refresh(){
+        String institution = "PUL";
+        ILSConfigProperties ilsConfigProperties = new ILSConfigProperties();
+        ilsConfigProperties.setProtocol("NCIP");
+        ILSProtocolConnectorFactory ilsProtocolConnectorFactory = new ILSProtocolConnectorFactory(Arrays.asList(abstractProtocolConnector),propertyUtil,beanFactory);
+        Mockito.when(propertyUtil.getILSConfigProperties(any())).thenReturn(ilsConfigProperties);
+        Mockito.when(abstractProtocolConnector.supports("NCIP")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(institutionProtocolConnector);
+        ilsProtocolConnectorFactory.getIlsProtocolConnector(institution);
+        ilsProtocolConnectorFactory.refresh();
+        ilsProtocolConnectorFactory.getIlsProtocolConnector(institution);
+        Mockito.verify(beanFactory, Mockito.times(2)).createBean(any(Class.class));
+    }
 
 }
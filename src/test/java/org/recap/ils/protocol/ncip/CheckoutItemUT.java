@@ -11,6 +11,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.GregorianCalendar;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 public class CheckoutItemUT extends BaseTestCaseUT {
@@ -33,6 +34,14 @@ public class CheckoutItemUT extends BaseTestCaseUT {
         assertNotNull(returnJson);
     }
 
+    @Test
+    public void getDueDate() {
+        CheckOutItemResponseData checkOutItemResponseData = getCheckOutItemResponseData();
+        assertEquals(10, checkoutItem.getDueDate(checkOutItemResponseData).indexOf(' '));
+        checkOutItemResponseData.setDateDue(null);
+        assertEquals("", checkoutItem.getDueDate(checkOutItemResponseData));
+    }
+
     @Test
     public void getCheckOutItemInitiationDataWithoutRequestId() {
         CheckOutItemInitiationData data = checkoutItem.getCheckOutItemInitiationData(null,null,null,null);
@@ -29,6 +29,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.util.Arrays;
 import java.util.Collections;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 public class LookupUserUT extends BaseTestCaseUT {
@@ -49,6 +50,14 @@ public class LookupUserUT extends BaseTestCaseUT {
         assertNotNull(returnJson);
     }
 
+    @Test
+    public void getName() {
+        LookupUserResponseData lookupUserResponseData = getLookupUserResponseData();
+        assertEquals("test name", lookupUser.getName(lookupUserResponseData));
+        lookupUserResponseData.setUserOptionalFields(null);
+        assertEquals(" ", lookupUser.getName(lookupUserResponseData));
+    }
+
     @Test
     public void gatherPhysicalAddress() {
         LookupUserResponseData lookupUserResponseData = getLookupUserResponseData();
@@ -0,0 +1,69 @@
+package org.recap.ils.protocol.ncip.util;
+
+import org.extensiblecatalog.ncip.v2.common.Translator;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.recap.BaseTestCaseUT;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class NCIPTranslatorPoolUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    NCIPTranslatorPool ncipTranslatorPool;
+
+    @Test
+    public void borrowAndRelease() throws Exception {
+        ReflectionTestUtils.setField(ncipTranslatorPool, "poolSize", 2);
+        ReflectionTestUtils.setField(ncipTranslatorPool, "borrowTimeoutMillis", 0L);
+        ncipTranslatorPool.init();
+        assertEquals(2, getTranslators().size());
+        Translator translator = ncipTranslatorPool.borrowTranslator();
+        Translator otherTranslator = ncipTranslatorPool.borrowTranslator();
+        assertNotSame(translator, otherTranslator);
+        assertEquals(0, getTranslators().size());
+        Translator extraTranslator = ncipTranslatorPool.borrowTranslator();
+        assertNotNull(extraTranslator);
+        ncipTranslatorPool.releaseTranslator(translator);
+        ncipTranslatorPool.releaseTranslator(otherTranslator);
+        ncipTranslatorPool.releaseTranslator(extraTranslator);
+        assertEquals(2, getTranslators().size());
+    }
+
+    @Test
+    public void borrowBuildsTranslatorsNotBuiltOnStartup() throws Exception {
+        ReflectionTestUtils.setField(ncipTranslatorPool, "poolSize", 1);
+        ncipTranslatorPool.init();
+        getTranslators().clear();
+        ReflectionTestUtils.setField(ncipTranslatorPool, "translatorCount", new AtomicInteger());
+        Translator translator = ncipTranslatorPool.borrowTranslator();
+        assertNotNull(translator);
+        ncipTranslatorPool.releaseTranslator(translator);
+        assertEquals(1, getTranslators().size());
+    }
+
+    @Test
+    public void initWithInvalidPoolSize() throws Exception {
+        ReflectionTestUtils.setField(ncipTranslatorPool, "poolSize", 0);
+        ReflectionTestUtils.setField(ncipTranslatorPool, "borrowTimeoutMillis", 5000L);
+        ncipTranslatorPool.init();
+        assertEquals(1, getTranslators().size());
+        long start = System.currentTimeMillis();
+        Translator translator = ncipTranslatorPool.borrowTranslator();
+        assertNotNull(translator);
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        ncipTranslatorPool.releaseTranslator(translator);
+        assertEquals(1, getTranslators().size());
+    }
+
+    private BlockingQueue<Translator> getTranslators() {
+        return (BlockingQueue<Translator>) ReflectionTestUtils.getField(ncipTranslatorPool, "translators");
+    }
+}
@@ -1,10 +1,13 @@
 package org.recap.ils.protocol.rest.processor;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
 import org.recap.BaseTestCaseUT;
 import org.recap.PropertyKeyConstants;
 import org.recap.ils.connector.RestProtocolConnector;
@@ -13,13 +16,22 @@ import org.recap.ils.protocol.rest.model.response.JobResponse;
 import org.recap.ils.protocol.rest.processor.RestProtocolJobResponsePollingProcessor;
 import org.recap.ils.protocol.rest.util.RestApiResponseUtil;
 import org.recap.util.PropertyUtil;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
 
-import java.util.concurrent.TimeoutException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
+@RunWith(MockitoJUnitRunner.Silent.class)
 public class RestProtocolJobResponsePollingProcessorUT extends BaseTestCaseUT {
 
     @InjectMocks
@@ -35,72 +47,133 @@ public class RestProtocolJobResponsePollingProcessorUT extends BaseTestCaseUT {
     PropertyUtil propertyUtil;
 
     @Before
-    public void setup(){
-        ReflectionTestUtils.setField(restProtocolJobResponsePollingProcessor, "pollingMaxTimeOut", 30);
-        ReflectionTestUtils.setField(restProtocolJobResponsePollingProcessor, "pollingTimeInterval", 1000);
+    public void startPolling() throws Exception {
+        ReflectionTestUtils.setField(restProtocolJobResponsePollingProcessor, "pollingTickInterval", 10L);
+        ReflectionTestUtils.setField(restProtocolJobResponsePollingProcessor, "pollingThreadCount", 2);
+        ReflectionTestUtils.setField(restProtocolJobResponsePollingProcessor, "maxBackoffMultiplier", 4);
+        restProtocolJobResponsePollingProcessor.startPolling();
+        Mockito.when(restProtocolConnector.getInstitutionCode()).thenReturn("NYPL");
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("NYPL", PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("30");
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("NYPL", PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL)).thenReturn("10");
+        Mockito.when(restProtocolConnector.queryForJobs(any(), any())).thenAnswer(invocation -> {
+            Map<String, CompletableFuture<JobResponse>> jobResponses = new HashMap<>();
+            for (String jobId : (List<String>) invocation.getArgument(0)) {
+                CompletableFuture<JobResponse> jobResponse = new CompletableFuture<>();
+                try {
+                    jobResponse.complete(restProtocolConnector.queryForJob(jobId));
+                } catch (Exception e) {
+                    jobResponse.completeExceptionally(e);
+                }
+                jobResponses.put(jobId, jobResponse);
+            }
+            return jobResponses;
+        });
+    }
+
+    @After
+    public void stopPolling(){
+        restProtocolJobResponsePollingProcessor.shutdown();
     }
 
     @Test
     public void pollRestApiRequestItemJobResponse() throws Exception {
         String jobId = "1";
-        String institution ="NYPL";
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("30");
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL)).thenReturn("1000");
-        JobResponse jobResponse = getJobResponse();
-        Mockito.when(restProtocolConnector.queryForJob(any())).thenReturn(jobResponse);
+        JobResponse jobResponse = getJobResponse(true);
+        Mockito.when(restProtocolConnector.queryForJob(jobId)).thenReturn(jobResponse);
         Mockito.when(restApiResponseUtil.getJobStatusMessage(any())).thenReturn("Success");
-        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,institution);
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,restProtocolConnector);
         assertNotNull(response);
+        assertEquals("Success", response.getStatusMessage());
+        assertEquals(0, restProtocolJobResponsePollingProcessor.getPendingJobCount());
+    }
+
+    @Test
+    public void pollRestApiRequestItemJobResponseUntilFinished() throws Exception {
+        String jobId = "1";
+        Mockito.when(restProtocolConnector.queryForJob(jobId)).thenReturn(getJobResponse(false), getJobResponse(false), getJobResponse(true));
+        Mockito.when(restApiResponseUtil.getJobStatusMessage(any())).thenReturn("Success");
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,restProtocolConnector);
+        assertEquals("Success", response.getStatusMessage());
+        assertTrue(response.getData().getFinished());
+        Mockito.verify(restProtocolConnector, Mockito.times(3)).queryForJob(jobId);
     }
+
     @Test
     public void pollRestApiRequestItemJobResponseNullPointerException() throws Exception {
         String jobId = "1";
-        String institution ="NYPL";
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("30");
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL)).thenReturn("1000");
-        JobResponse jobResponse = getJobResponse();
+        JobResponse jobResponse = getJobResponse(true);
         Mockito.when(restProtocolConnector.queryForJob(any())).thenReturn(jobResponse);
         Mockito.doThrow(new NullPointerException()).when(restApiResponseUtil).getJobStatusMessage(any());
-        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,institution);
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,restProtocolConnector);
         assertNotNull(response);
+        assertTrue(response.getStatusMessage().startsWith("NYPL job response execution failed"));
     }
+
     @Test
     public void pollRestApiRequestItemJobResponseTimeoutException() throws Exception {
         String jobId = "1";
-        String institution ="NYPL";
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("30");
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL)).thenReturn("1000");
-        JobResponse jobResponse = getJobResponse();
-        Mockito.when(restProtocolConnector.queryForJob(any())).thenReturn(jobResponse);
-        Mockito.doThrow(new TimeoutException()).when(restApiResponseUtil).getJobStatusMessage(any());
-        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,institution);
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("NYPL", PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("1");
+        Mockito.when(restProtocolConnector.queryForJob(any())).thenReturn(getJobResponse(false));
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,restProtocolConnector);
         assertNotNull(response);
+        assertEquals("NYPL job response polling timed out", response.getStatusMessage());
     }
+
     @Test
-    public void pollRestApiRequestItemJobResponseInterruptedException() throws Exception {
+    public void pollRestApiRequestItemJobResponseServerErrorBackoff() throws Exception {
         String jobId = "1";
-        String institution ="NYPL";
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("30");
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL)).thenReturn("1000");
-        JobResponse jobResponse = getJobResponse();
-        Mockito.when(restProtocolConnector.queryForJob(any())).thenReturn(jobResponse);
-        Mockito.doThrow(new InterruptedException()).when(restApiResponseUtil).getJobStatusMessage(any());
-        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,institution);
-        assertNotNull(response);
+        Mockito.when(restProtocolConnector.queryForJob(jobId)).thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)).thenReturn(getJobResponse(true));
+        Mockito.when(restApiResponseUtil.getJobStatusMessage(any())).thenReturn("Success");
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,restProtocolConnector);
+        assertEquals("Success", response.getStatusMessage());
+        Mockito.verify(restProtocolConnector, Mockito.times(2)).queryForJob(jobId);
     }
+
     @Test
     public void pollRestApiRequestItemJobResponseExecutionException() throws Exception {
         String jobId = "1";
-        String institution ="NYPL";
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn("30");
-        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(institution, PropertyKeyConstants.ILS.ILS_REST_POLLING_TIME_INTERVAL)).thenReturn("1000");
-        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,institution);
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollRestApiRequestItemJobResponse(jobId,restProtocolConnector);
         assertNotNull(response);
+        assertTrue(response.getStatusMessage().startsWith("NYPL job response execution failed"));
+    }
+
+    @Test
+    public void pollJobResponseSharedForSameJob() throws Exception {
+        String jobId = "1";
+        Mockito.when(restProtocolConnector.queryForJob(jobId)).thenReturn(getJobResponse(false));
+        CompletableFuture<JobResponse> future = restProtocolJobResponsePollingProcessor.pollJobResponse(jobId, restProtocolConnector);
+        assertSame(future, restProtocolJobResponsePollingProcessor.pollJobResponse(jobId, restProtocolConnector));
+        assertEquals(1, restProtocolJobResponsePollingProcessor.getPendingJobCount());
+        restProtocolJobResponsePollingProcessor.shutdown();
+        assertEquals("NYPL job response polling stopped", future.get().getStatusMessage());
+    }
+
+    @Test
+    public void pollPendingJobsInOneBatch() throws Exception {
+        restProtocolJobResponsePollingProcessor.shutdown();
+        ReflectionTestUtils.setField(restProtocolJobResponsePollingProcessor, "pollingTickInterval", 60000L);
+        restProtocolJobResponsePollingProcessor.startPolling();
+        Mockito.when(restProtocolConnector.queryForJob(any())).thenReturn(getJobResponse(true));
+        Mockito.when(restApiResponseUtil.getJobStatusMessage(any())).thenReturn("Success");
+        CompletableFuture<JobResponse> future1 = restProtocolJobResponsePollingProcessor.pollJobResponse("1", restProtocolConnector);
+        CompletableFuture<JobResponse> future2 = restProtocolJobResponsePollingProcessor.pollJobResponse("2", restProtocolConnector);
+        restProtocolJobResponsePollingProcessor.pollPendingJobs();
+        assertEquals("Success", future1.get().getStatusMessage());
+        assertEquals("Success", future2.get().getStatusMessage());
+        Mockito.verify(restProtocolConnector, Mockito.times(1)).queryForJobs(any(), any());
     }
-    private JobResponse getJobResponse() {
+
+    @Test
+    public void pollJobResponseInvalidProperties() throws Exception {
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("NYPL", PropertyKeyConstants.ILS.ILS_REST_POLLING_MAX_TIMEOUT)).thenReturn(null);
+        JobResponse response = restProtocolJobResponsePollingProcessor.pollJobResponse("1", restProtocolConnector).get();
+        assertTrue(response.getStatusMessage().startsWith("NYPL job response polling failed"));
+    }
+
+    private JobResponse getJobResponse(boolean finished) {
         JobResponse jobResponse = new JobResponse();
         JobData jobData = new JobData();
-        jobData.setFinished(true);
+        jobData.setFinished(finished);
         jobResponse.setData(jobData);
         return jobResponse;
     }
@@ -1,5 +1,6 @@
 package org.recap.ils.protocol.rest.service;
 
+import org.junit.After;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
@@ -10,10 +11,26 @@ import org.recap.ils.protocol.rest.service.RestOauthTokenApiService;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class RestOauthTokenApiServiceUT extends BaseTestCaseUT {
 
@@ -23,6 +40,11 @@ public class RestOauthTokenApiServiceUT extends BaseTestCaseUT {
     @Mock
     RestTemplate restTemplate;
 
+    @After
+    public void shutdown() {
+        restOauthTokenApiService.shutdown();
+    }
+
     @Test
     public void generateAccessTokenForRestApi() throws Exception {
         String oauthTokenApiUrl = "test";
@@ -38,4 +60,106 @@ public class RestOauthTokenApiServiceUT extends BaseTestCaseUT {
         String response = restOauthTokenApiService.generateAccessTokenForRestApi(oauthTokenApiUrl, operatorUserId, operatorPassword);
         assertNotNull(response);
     }
+
+    @Test
+    public void generateAccessTokenForRestApiCached() throws Exception {
+        mockTokenResponses("{ \"access_token\":\"John\", \"expires_in\":3600 }");
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        verifyTokenRequests(1);
+    }
+
+    @Test
+    public void generateAccessTokenForRestApiPerOperator() throws Exception {
+        mockTokenResponses("{ \"access_token\":\"John\", \"expires_in\":3600 }", "{ \"access_token\":\"Jane\", \"expires_in\":3600 }");
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "john", "test"));
+        assertEquals("Jane", restOauthTokenApiService.generateAccessTokenForRestApi("test", "jane", "test"));
+        verifyTokenRequests(2);
+    }
+
+    @Test
+    public void generateAccessTokenForRestApiExpired() throws Exception {
+        mockTokenResponses("{ \"access_token\":\"John\", \"expires_in\":0 }", "{ \"access_token\":\"Jane\", \"expires_in\":3600 }");
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        assertEquals("Jane", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        verifyTokenRequests(2);
+    }
+
+    @Test
+    public void generateAccessTokenForRestApiRefreshedBeforeExpiry() throws Exception {
+        ReflectionTestUtils.setField(restOauthTokenApiService, "refreshBeforeExpirySeconds", 60L);
+        mockTokenResponses("{ \"access_token\":\"John\", \"expires_in\":30 }", "{ \"access_token\":\"Jane\", \"expires_in\":3600 }");
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        verify(restTemplate, timeout(5000).times(2)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.<Class<String>>any());
+        for (int i = 0; i < 50 && !"Jane".equals(restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test")); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        assertEquals("Jane", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+    }
+
+    @Test
+    public void generateAccessTokenForRestApiSingleFlight() throws Exception {
+        CountDownLatch tokenRequested = new CountDownLatch(1);
+        CountDownLatch releaseToken = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            tokenRequested.countDown();
+            releaseToken.await(5, TimeUnit.SECONDS);
+            return new ResponseEntity<>("{ \"access_token\":\"John\", \"expires_in\":3600 }", HttpStatus.OK);
+        }).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<String>>any());
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        List<Future<String>> accessTokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            accessTokens.add(executorService.submit(() -> restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test")));
+        }
+        tokenRequested.await(5, TimeUnit.SECONDS);
+        TimeUnit.MILLISECONDS.sleep(200);
+        releaseToken.countDown();
+        for (Future<String> accessToken : accessTokens) {
+            assertEquals("John", accessToken.get(5, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+        verifyTokenRequests(1);
+    }
+
+    @Test
+    public void invalidateAccessToken() throws Exception {
+        mockTokenResponses("{ \"access_token\":\"John\", \"expires_in\":3600 }", "{ \"access_token\":\"Jane\", \"expires_in\":3600 }");
+        assertEquals("John", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        restOauthTokenApiService.invalidateAccessToken("test", "test", "test", "John");
+        assertEquals("Jane", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        restOauthTokenApiService.invalidateAccessToken("test", "test", "test", "John");
+        assertEquals("Jane", restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test"));
+        verifyTokenRequests(2);
+    }
+
+    @Test(expected = HttpClientErrorException.class)
+    public void generateAccessTokenForRestApiFailure() throws Exception {
+        doThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED)).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<String>>any());
+        restOauthTokenApiService.generateAccessTokenForRestApi("test", "test", "test");
+    }
+
+    private void mockTokenResponses(String tokenResponse, String... tokenResponses) {
+        List<ResponseEntity<String>> responseEntities = new ArrayList<>();
+        for (String response : tokenResponses) {
+            responseEntities.add(new ResponseEntity<>(response, HttpStatus.OK));
+        }
+        doReturn(new ResponseEntity<>(tokenResponse, HttpStatus.OK), responseEntities.toArray()).when(restTemplate).exchange(
+                ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<String>>any());
+    }
+
+    private void verifyTokenRequests(int count) {
+        verify(restTemplate, times(count)).exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class), ArgumentMatchers.any(), ArgumentMatchers.<Class<String>>any());
+    }
 }
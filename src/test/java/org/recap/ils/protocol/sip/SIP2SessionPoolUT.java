@@ -0,0 +1,148 @@
+package org.recap.ils.protocol.sip;
+
+import com.pkrete.jsip2.connection.SIP2SocketConnection;
+import com.pkrete.jsip2.messages.requests.SIP2LoginRequest;
+import com.pkrete.jsip2.messages.requests.SIP2SCStatusRequest;
+import com.pkrete.jsip2.messages.responses.SIP2ACSStatusResponse;
+import com.pkrete.jsip2.messages.responses.SIP2LoginResponse;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.recap.BaseTestCaseUT;
+import org.recap.model.ILSConfigProperties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SIP2SessionPoolUT extends BaseTestCaseUT {
+
+    @Mock
+    SIP2SocketConnection sip2SocketConnection;
+
+    @Test
+    public void borrowSessionReusesReleasedSession() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(2, 300000);
+        mockLogin(true);
+        SIP2SocketConnection connection = sessionPool.borrowSession();
+        assertSame(sip2SocketConnection, connection);
+        sessionPool.releaseSession(connection, true);
+        assertEquals(1, sessionPool.getIdleSessionCount());
+        assertSame(sip2SocketConnection, sessionPool.borrowSession());
+        Mockito.verify(sessionPool, Mockito.times(1)).createConnection();
+        Mockito.verify(sip2SocketConnection, Mockito.times(1)).send(any(SIP2LoginRequest.class));
+    }
+
+    @Test
+    public void borrowSessionLoginFailed() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(1, 300000);
+        mockLogin(false);
+        assertNull(sessionPool.borrowSession());
+        Mockito.verify(sip2SocketConnection).close();
+        mockLogin(true);
+        assertSame(sip2SocketConnection, sessionPool.borrowSession());
+    }
+
+    @Test
+    public void borrowSessionTimeout() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(1, 300000);
+        mockLogin(true);
+        assertSame(sip2SocketConnection, sessionPool.borrowSession());
+        assertNull(sessionPool.borrowSession());
+    }
+
+    @Test
+    public void releaseSessionNotReusable() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(1, 300000);
+        mockLogin(true);
+        sessionPool.releaseSession(sessionPool.borrowSession(), false);
+        assertEquals(0, sessionPool.getIdleSessionCount());
+        Mockito.verify(sip2SocketConnection).close();
+    }
+
+    @Test
+    public void keepAlive() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(1, 300000);
+        mockLogin(true);
+        sessionPool.releaseSession(sessionPool.borrowSession(), true);
+        sessionPool.keepAlive();
+        assertEquals(1, sessionPool.getIdleSessionCount());
+        Mockito.verify(sip2SocketConnection, Mockito.times(2)).send(any(SIP2SCStatusRequest.class));
+    }
+
+    @Test
+    public void keepAliveSendsScStatusOnEachIdleSession() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(3, 300000);
+        SIP2SocketConnection[] connections = {Mockito.mock(SIP2SocketConnection.class), Mockito.mock(SIP2SocketConnection.class), Mockito.mock(SIP2SocketConnection.class)};
+        Mockito.doReturn(connections[0], connections[1], connections[2]).when(sessionPool).createConnection();
+        SIP2LoginResponse loginResponse = new SIP2LoginResponse("940");
+        loginResponse.setOk(true);
+        for (SIP2SocketConnection connection : connections) {
+            Mockito.when(connection.connect()).thenReturn(true);
+            Mockito.when(connection.connected()).thenReturn(true);
+            Mockito.when(connection.send(any(SIP2LoginRequest.class))).thenReturn(loginResponse);
+            Mockito.when(connection.send(any(SIP2SCStatusRequest.class))).thenReturn(new SIP2ACSStatusResponse("98"));
+            assertSame(connection, sessionPool.borrowSession());
+        }
+        for (SIP2SocketConnection connection : connections) {
+            sessionPool.releaseSession(connection, true);
+        }
+        sessionPool.keepAlive();
+        assertEquals(3, sessionPool.getIdleSessionCount());
+        for (SIP2SocketConnection connection : connections) {
+            // One SC status at login and one keep alive.
+            Mockito.verify(connection, Mockito.times(2)).send(any(SIP2SCStatusRequest.class));
+        }
+        assertSame(connections[2], sessionPool.borrowSession());
+    }
+
+    @Test
+    public void keepAliveEvictsIdleSession() throws Exception {
+        SIP2SessionPool sessionPool = getSessionPool(1, -1);
+        mockLogin(true);
+        sessionPool.releaseSession(sessionPool.borrowSession(), true);
+        sessionPool.keepAlive();
+        assertEquals(0, sessionPool.getIdleSessionCount());
+        Mockito.verify(sip2SocketConnection).close();
+    }
+
+    @Test
+    public void matches() {
+        SIP2SessionPool sessionPool = getSessionPool(1, 300000);
+        assertTrue(sessionPool.matches(getIlsConfigProperties()));
+        ILSConfigProperties ilsConfigProperties = getIlsConfigProperties();
+        ilsConfigProperties.setHost("127.0.0.2");
+        assertFalse(sessionPool.matches(ilsConfigProperties));
+    }
+
+    private SIP2SessionPool getSessionPool(int maxSize, long idleTimeoutMillis) {
+        SIP2SessionPool sessionPool = Mockito.spy(new SIP2SessionPool("PUL", getIlsConfigProperties(), maxSize, 10, idleTimeoutMillis));
+        Mockito.doReturn(sip2SocketConnection).when(sessionPool).createConnection();
+        return sessionPool;
+    }
+
+    private void mockLogin(boolean loginOk) throws Exception {
+        SIP2LoginResponse loginResponse = new SIP2LoginResponse("940");
+        loginResponse.setOk(loginOk);
+        Mockito.when(sip2SocketConnection.connect()).thenReturn(true);
+        Mockito.when(sip2SocketConnection.connected()).thenReturn(true);
+        Mockito.when(sip2SocketConnection.send(any(SIP2LoginRequest.class))).thenReturn(loginResponse);
+        Mockito.when(sip2SocketConnection.send(any(SIP2SCStatusRequest.class))).thenReturn(new SIP2ACSStatusResponse("98"));
+    }
+
+    private ILSConfigProperties getIlsConfigProperties() {
+        ILSConfigProperties ilsConfigProperties = new ILSConfigProperties();
+        ilsConfigProperties.setHost("127.0.0.1");
+        ilsConfigProperties.setPort(7031);
+        ilsConfigProperties.setOperatorUserId("recap");
+        ilsConfigProperties.setOperatorPassword("recap");
+        ilsConfigProperties.setOperatorLocation("location");
+        return ilsConfigProperties;
+    }
+}
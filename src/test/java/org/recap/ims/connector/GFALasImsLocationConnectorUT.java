@@ -16,8 +16,8 @@ import org.recap.model.IMSConfigProperties;
 import org.recap.model.gfa.Dsitem;
 import org.recap.model.gfa.GFAItemStatusCheckResponse;
 import org.recap.model.gfa.Ttitem;
+import org.recap.util.RestTemplateUtil;
 import org.springframework.http.*;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -25,6 +25,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.util.Arrays;
 import java.util.Date;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,7 +46,7 @@ public class GFALasImsLocationConnectorUT extends BaseTestCaseUT {
     RestTemplate restTemplate = new RestTemplate();
 
     @Mock
-    SimpleClientHttpRequestFactory simpleClientHttpRequestFactory;
+    RestTemplateUtil restTemplateUtil;
 
 
     private String gfaLasStatus = "http://test:9092/lasapi/rest/lasapiSvc/lasStatus";
@@ -67,7 +68,10 @@ public class GFALasImsLocationConnectorUT extends BaseTestCaseUT {
     public void checkGetters() {
         gfaLasImsLocationConnector.setImsLocationCode("HD");
         gfaLasImsLocationConnector.setImsConfigProperties(imsConfigProperties);
-        gfaLasImsLocationConnector.getRestTemplate();
+        Mockito.when(restTemplateUtil.getRestTemplate()).thenReturn(restTemplate);
+        Mockito.when(restTemplateUtil.getRestTemplate(1000)).thenReturn(restTemplate);
+        assertEquals(restTemplate, gfaLasImsLocationConnector.getRestTemplate());
+        assertEquals(restTemplate, gfaLasImsLocationConnector.getRestTemplate(1000));
     }
 
     @Test
@@ -83,10 +87,7 @@ public class GFALasImsLocationConnectorUT extends BaseTestCaseUT {
         String filterParamValue = objectMapper.writeValueAsString(gfaLasStatusCheckRequest);
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl("http://test:9092/lasapi/rest/lasapiSvc/lasStatus").queryParam(ScsbConstants.GFA_SERVICE_PARAM, filterParamValue);
         HttpEntity requestEntity = new HttpEntity<>(new HttpHeaders());
-        Mockito.when(gfaLasImsLocationConnector.getRestTemplate()).thenReturn(restTemplate);
-        Mockito.when(restTemplate.getRequestFactory()).thenReturn(simpleClientHttpRequestFactory);
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setConnectTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setReadTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
+        Mockito.when(gfaLasImsLocationConnector.getRestTemplate(1000)).thenReturn(restTemplate);
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, GFALasStatusCheckResponse.class)).thenReturn(responseEntity);
         GFALasStatusCheckResponse response = gfaLasImsLocationConnector.heartBeatCheck(gfaLasStatusCheckRequest);
         assertNotNull(response);
@@ -113,10 +114,7 @@ public class GFALasImsLocationConnectorUT extends BaseTestCaseUT {
         String filterParamValue = objectMapper.writeValueAsString(gfaItemStatusCheckRequest);
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl("http://test:9092/lasapi/rest/lasapiSvc/lasItemStatus").queryParam(ScsbConstants.GFA_SERVICE_PARAM, filterParamValue);
         HttpEntity requestEntity = new HttpEntity<>(new HttpHeaders());
-        Mockito.when(gfaLasImsLocationConnector.getRestTemplate()).thenReturn(restTemplate);
-        Mockito.when(restTemplate.getRequestFactory()).thenReturn(simpleClientHttpRequestFactory);
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setConnectTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setReadTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
+        Mockito.when(gfaLasImsLocationConnector.getRestTemplate(1000)).thenReturn(restTemplate);
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, GFAItemStatusCheckResponse.class)).thenReturn(responseEntity);
         GFAItemStatusCheckResponse response = gfaLasImsLocationConnector.itemStatusCheck(gfaItemStatusCheckRequest);
         assertNotNull(response);
@@ -352,11 +350,8 @@ public class GFALasImsLocationConnectorUT extends BaseTestCaseUT {
         gfaLasImsLocationConnector.setImsConfigProperties(imsConfigProperties);
         ResponseEntity<GFAPwdResponse> responseEntity = new ResponseEntity<>(gfaPwdResponse, HttpStatus.OK);
         HttpEntity<GFAPwdRequest> requestEntity = new HttpEntity<>(gfaPwdRequest, getHttpHeaders());
-        Mockito.when(gfaLasImsLocationConnector.getRestTemplate()).thenReturn(restTemplate);
+        Mockito.when(gfaLasImsLocationConnector.getRestTemplate(1000)).thenReturn(restTemplate);
         Mockito.when(gfaLasServiceUtil.convertJsonToString(requestEntity.getBody())).thenReturn("");
-        Mockito.when(restTemplate.getRequestFactory()).thenReturn(simpleClientHttpRequestFactory);
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setConnectTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setReadTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
         Mockito.when(restTemplate.exchange(gfaItemPermanentWithdrawlDirect, HttpMethod.POST, requestEntity, GFAPwdResponse.class)).thenReturn(responseEntity);
         GFAPwdResponse response = gfaLasImsLocationConnector.gfaPermanentWithdrawalDirect(gfaPwdRequest);
         assertNotNull(response);
@@ -378,10 +373,7 @@ public class GFALasImsLocationConnectorUT extends BaseTestCaseUT {
         gfaLasImsLocationConnector.setImsConfigProperties(imsConfigProperties);
         ResponseEntity<GFAPwiResponse> responseEntity = new ResponseEntity<>(gfaPwiResponse, HttpStatus.OK);
         HttpEntity<GFAPwiRequest> requestEntity = new HttpEntity<>(gfaPwiRequest, getHttpHeaders());
-        Mockito.when(gfaLasImsLocationConnector.getRestTemplate()).thenReturn(restTemplate);
-        Mockito.when(restTemplate.getRequestFactory()).thenReturn(simpleClientHttpRequestFactory);
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setConnectTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
-        Mockito.doNothing().when(simpleClientHttpRequestFactory).setReadTimeout(Integer.parseInt(imsConfigProperties.getImsServerResponseTimeoutMillis()));
+        Mockito.when(gfaLasImsLocationConnector.getRestTemplate(1000)).thenReturn(restTemplate);
         Mockito.when(restTemplate.exchange(gfaItemPermanentWithdrawlInDirect, HttpMethod.POST, requestEntity, GFAPwiResponse.class)).thenReturn(responseEntity);
         GFAPwiResponse response = gfaLasImsLocationConnector.gfaPermanentWithdrawalInDirect(gfaPwiRequest);
         assertNotNull(response);
@@ -9,10 +9,12 @@ import org.recap.ims.connector.AbstractLASImsLocationConnector;
 import org.recap.ims.connector.factory.LASImsLocationConnectorFactory;
 import org.recap.model.IMSConfigProperties;
 import org.recap.util.PropertyUtil;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 
 
@@ -29,15 +31,66 @@ public class LASImsLocationConnectorFactoryUT extends BaseTestCaseUT {
 
     @Mock
     AbstractLASImsLocationConnector abstractLASImsLocationConnector;
+
+    @Mock
+    AbstractLASImsLocationConnector imsLocationConnector;
+
+    @Mock
+    AutowireCapableBeanFactory beanFactory;
+
     private final List<AbstractLASImsLocationConnector> imsLocationConnectors = new ArrayList<>();
 
 
     @Test
     public void getLasImsLocationConnector(){
         imsLocationConnectors.add(abstractLASImsLocationConnector);
-        lasImsLocationConnectorFactory = new LASImsLocationConnectorFactory(imsLocationConnectors,propertyUtil);
+        lasImsLocationConnectorFactory = new LASImsLocationConnectorFactory(imsLocationConnectors,propertyUtil,beanFactory);
         Mockito.when(propertyUtil.getIMSConfigProperties(any())).thenReturn(imsConfigProperties);
         Mockito.when(abstractLASImsLocationConnector.supports("HD")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(imsLocationConnector);
+        assertSame(imsLocationConnector, lasImsLocationConnectorFactory.getLasImsLocationConnector("HD"));
+        Mockito.verify(imsLocationConnector).setImsLocationCode("HD");
+        Mockito.verify(imsLocationConnector).setImsConfigProperties(imsConfigProperties);
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.never()).setImsLocationCode(any());
+    }
+
+    @Test
+    public void getLasImsLocationConnectorCached(){
+        imsLocationConnectors.add(abstractLASImsLocationConnector);
+        lasImsLocationConnectorFactory = new LASImsLocationConnectorFactory(imsLocationConnectors,propertyUtil,beanFactory);
+        Mockito.when(propertyUtil.getIMSConfigProperties(any())).thenReturn(imsConfigProperties);
+        Mockito.when(abstractLASImsLocationConnector.supports("HD")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(imsLocationConnector);
+        AbstractLASImsLocationConnector connector = lasImsLocationConnectorFactory.getLasImsLocationConnector("HD");
+        assertSame(connector, lasImsLocationConnectorFactory.getLasImsLocationConnector("HD"));
+        Mockito.verify(beanFactory, Mockito.times(1)).createBean(any(Class.class));
+    }
+
+    @Test
+    public void getLasImsLocationConnectorConfigChanged(){
+        IMSConfigProperties changedImsConfigProperties = new IMSConfigProperties();
+        changedImsConfigProperties.setImsServerResponseTimeoutMillis("1000");
+        imsLocationConnectors.add(abstractLASImsLocationConnector);
+        lasImsLocationConnectorFactory = new LASImsLocationConnectorFactory(imsLocationConnectors,propertyUtil,beanFactory);
+        Mockito.when(propertyUtil.getIMSConfigProperties(any())).thenReturn(new IMSConfigProperties(), changedImsConfigProperties);
+        Mockito.when(abstractLASImsLocationConnector.supports("HD")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(imsLocationConnector);
+        lasImsLocationConnectorFactory.getLasImsLocationConnector("HD");
+        lasImsLocationConnectorFactory.getLasImsLocationConnector("HD");
+        Mockito.verify(beanFactory, Mockito.times(2)).createBean(any(Class.class));
+        Mockito.verify(imsLocationConnector).setImsConfigProperties(changedImsConfigProperties);
+    }
+
+    @Test
+    public void refresh(){
+        imsLocationConnectors.add(abstractLASImsLocationConnector);
+        lasImsLocationConnectorFactory = new LASImsLocationConnectorFactory(imsLocationConnectors,propertyUtil,beanFactory);
+        Mockito.when(propertyUtil.getIMSConfigProperties(any())).thenReturn(imsConfigProperties);
+        Mockito.when(abstractLASImsLocationConnector.supports("HD")).thenReturn(true);
+        Mockito.when(beanFactory.createBean(any(Class.class))).thenReturn(imsLocationConnector);
+        lasImsLocationConnectorFactory.getLasImsLocationConnector("HD");
+        lasImsLocationConnectorFactory.refresh();
         lasImsLocationConnectorFactory.getLasImsLocationConnector("HD");
+        Mockito.verify(beanFactory, Mockito.times(2)).createBean(any(Class.class));
     }
 }
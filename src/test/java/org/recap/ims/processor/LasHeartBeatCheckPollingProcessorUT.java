@@ -1,46 +1,63 @@
 package org.recap.ims.processor;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.RouteController;
 import org.apache.camel.support.DefaultExchange;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
 import org.recap.BaseTestCaseUT;
 import org.recap.ScsbCommonConstants;
 import org.recap.ScsbConstants;
 import org.recap.ims.connector.AbstractLASImsLocationConnector;
-import org.recap.ims.service.GFALasService;
 import org.recap.ims.connector.factory.LASImsLocationConnectorFactory;
 import org.recap.ims.model.GFALasStatusCheckRequest;
 import org.recap.ims.model.GFALasStatusCheckResponse;
 import org.recap.ims.model.GFALasStatusDsItem;
 import org.recap.ims.model.GFALasStatusTtItem;
 import org.recap.model.request.ItemRequestInformation;
-import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
+@RunWith(MockitoJUnitRunner.Silent.class)
 public class LasHeartBeatCheckPollingProcessorUT extends BaseTestCaseUT {
 
+    private static final String PARKED_QUEUE = ScsbConstants.SCSB_LAS_OUTGOING_QUEUE_PREFIX + "PA" + ScsbConstants.PARKED_QUEUE_SUFFIX;
+
     @InjectMocks
     LasHeartBeatCheckPollingProcessor lasHeartBeatCheckPollingProcessor;
 
     @Mock
-    private GFALasService gfaLasService;
+    ProducerTemplate producerTemplate;
 
     @Mock
-    ItemRequestServiceUtil itemRequestServiceUtil;
+    CamelContext camelContext;
 
     @Mock
-    ProducerTemplate producerTemplate;
+    RouteController routeController;
+
+    @Mock
+    ConsumerTemplate consumerTemplate;
 
     @Mock
     PropertyUtil propertyUtil;
@@ -52,56 +69,100 @@ public class LasHeartBeatCheckPollingProcessorUT extends BaseTestCaseUT {
     AbstractLASImsLocationConnector abstractLASImsLocationConnector;
 
     @Before
-    public void setup() {
-        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn("1000");
+    public void startPolling() {
+        ReflectionTestUtils.setField(lasHeartBeatCheckPollingProcessor, "pollingTickInterval", 60000L);
+        ReflectionTestUtils.setField(lasHeartBeatCheckPollingProcessor, "healthyCheckInterval", 60000L);
+        ReflectionTestUtils.setField(lasHeartBeatCheckPollingProcessor, "pollingThreadCount", 2);
+        ReflectionTestUtils.setField(lasHeartBeatCheckPollingProcessor, "routeStopTimeoutSeconds", 10L);
+        lasHeartBeatCheckPollingProcessor.startPolling();
+        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn("60000");
+        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
+        Mockito.when(producerTemplate.getCamelContext()).thenReturn(camelContext);
+        Mockito.when(camelContext.getRouteController()).thenReturn(routeController);
+        Mockito.when(camelContext.createConsumerTemplate()).thenReturn(consumerTemplate);
+    }
+
+    @After
+    public void stopPolling() {
+        lasHeartBeatCheckPollingProcessor.shutdown();
     }
 
     @Test
     public void pollLasHeartBeatResponse() {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation();
-        CamelContext ctx = new DefaultCamelContext();
-        Exchange exchange = new DefaultExchange(ctx);
-        exchange.getIn().setHeader("John", "PUL");
-        exchange.getIn().setBody(itemRequestInformation);
-        GFALasStatusCheckResponse gfaLasStatusCheckResponse = getGFALasStatusCheckResponse();
-        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
-        Mockito.when(abstractLASImsLocationConnector.heartBeatCheck(any(GFALasStatusCheckRequest.class))).thenReturn(gfaLasStatusCheckResponse);
-        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(exchange);
+        Mockito.when(abstractLASImsLocationConnector.heartBeatCheck(any(GFALasStatusCheckRequest.class))).thenReturn(getGFALasStatusCheckResponse(true));
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.times(1)).heartBeatCheck(any(GFALasStatusCheckRequest.class));
+        Mockito.verify(producerTemplate, Mockito.times(2)).sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + "PA" + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        assertEquals(0, lasHeartBeatCheckPollingProcessor.getDownLocationCount());
     }
 
     @Test
     public void pollLasHeartBeatResponseWithoutImsLocation() {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation();
         itemRequestInformation.setImsLocationCode(null);
-        CamelContext ctx = new DefaultCamelContext();
-        Exchange exchange = new DefaultExchange(ctx);
-        exchange.getIn().setHeader("John", "PUL");
-        exchange.getIn().setBody(itemRequestInformation);
-        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(exchange);
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.never()).heartBeatCheck(any(GFALasStatusCheckRequest.class));
+        Mockito.verify(producerTemplate).sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + null + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
     }
 
     @Test
-    public void pollLasHeartBeatResponseException() {
+    public void pollLasHeartBeatResponseParkedWhileLasDown() throws Exception {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation();
-        CamelContext ctx = new DefaultCamelContext();
-        Exchange exchange = new DefaultExchange(ctx);
-        exchange.getIn().setHeader("John", "PUL");
-        exchange.getIn().setBody(itemRequestInformation);
-        GFALasStatusCheckResponse gfaLasStatusCheckResponse = getGFALasStatusCheckResponse();
-        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
-        Mockito.when(abstractLASImsLocationConnector.heartBeatCheck(any(GFALasStatusCheckRequest.class))).thenReturn(gfaLasStatusCheckResponse);
-        Mockito.doThrow(new NullPointerException()).when(producerTemplate).sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + itemRequestInformation.getImsLocationCode() + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
-        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(exchange);
+        Mockito.when(abstractLASImsLocationConnector.heartBeatCheck(any(GFALasStatusCheckRequest.class))).thenReturn(getGFALasStatusCheckResponse(false), getGFALasStatusCheckResponse(true));
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        Mockito.verify(producerTemplate, Mockito.times(2)).sendBodyAndHeader(PARKED_QUEUE, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        Mockito.verify(producerTemplate, Mockito.never()).sendBodyAndHeader(ScsbConstants.SCSB_LAS_OUTGOING_QUEUE_PREFIX + "PA" + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        Mockito.verify(routeController, Mockito.timeout(5000).times(1)).stopRoute("PA" + ScsbConstants.SCSB_OUTGOING_ROUTE_ID, 10L, TimeUnit.SECONDS);
+        assertFalse(lasHeartBeatCheckPollingProcessor.isLasAvailable("PA"));
+        assertEquals(1, lasHeartBeatCheckPollingProcessor.getDownLocationCount());
+
+        ItemRequestInformation firstParked = getItemRequestInformation();
+        ItemRequestInformation secondParked = getItemRequestInformation();
+        secondParked.setTrackingId("236");
+        Mockito.when(consumerTemplate.receiveNoWait(PARKED_QUEUE)).thenReturn(getExchange(firstParked), getExchange(secondParked), null);
+        Object locationHeartBeat = getLocationHeartBeat("PA");
+        ReflectionTestUtils.setField(locationHeartBeat, "nextCheckTime", 0L);
+        lasHeartBeatCheckPollingProcessor.pollLocations();
+        Mockito.verify(routeController, Mockito.timeout(5000)).startRoute("PA" + ScsbConstants.SCSB_OUTGOING_ROUTE_ID);
+        InOrder inOrder = Mockito.inOrder(producerTemplate, routeController);
+        inOrder.verify(producerTemplate).sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + "PA" + ScsbConstants.OUTGOING_QUEUE_SUFFIX, firstParked, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, firstParked.getRequestType());
+        inOrder.verify(producerTemplate).sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + "PA" + ScsbConstants.OUTGOING_QUEUE_SUFFIX, secondParked, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, secondParked.getRequestType());
+        inOrder.verify(routeController).startRoute("PA" + ScsbConstants.SCSB_OUTGOING_ROUTE_ID);
+        Mockito.verify(consumerTemplate, Mockito.times(2)).doneUoW(any());
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        Mockito.verify(producerTemplate, Mockito.times(2)).sendBodyAndHeader(PARKED_QUEUE, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+        waitUntilChecked(locationHeartBeat);
+        assertTrue(lasHeartBeatCheckPollingProcessor.isLasAvailable("PA"));
+        assertEquals(0, lasHeartBeatCheckPollingProcessor.getDownLocationCount());
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.times(2)).heartBeatCheck(any(GFALasStatusCheckRequest.class));
     }
 
     @Test
-    public void pollLasHeartBeatResponseInterruptedException() throws Exception {
+    public void pollLasHeartBeatResponseException() {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation();
-        CamelContext ctx = new DefaultCamelContext();
-        Exchange exchange = new DefaultExchange(ctx);
-        exchange.getIn().setHeader("John", "PUL");
+        Mockito.when(abstractLASImsLocationConnector.heartBeatCheck(any(GFALasStatusCheckRequest.class))).thenThrow(new NullPointerException());
+        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(getExchange(itemRequestInformation));
+        assertFalse(lasHeartBeatCheckPollingProcessor.isLasAvailable("PA"));
+        Mockito.verify(producerTemplate, Mockito.never()).sendBodyAndHeader(ScsbConstants.LAS_OUTGOING_QUEUE_PREFIX + "PA" + ScsbConstants.OUTGOING_QUEUE_SUFFIX, itemRequestInformation, ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER, itemRequestInformation.getRequestType());
+    }
+
+    private Object getLocationHeartBeat(String imsLocationCode) {
+        return ((Map<?, ?>) ReflectionTestUtils.getField(lasHeartBeatCheckPollingProcessor, "locationHeartBeats")).get(imsLocationCode);
+    }
+
+    private void waitUntilChecked(Object locationHeartBeat) throws InterruptedException {
+        for (int i = 0; i < 50 && ((AtomicBoolean) ReflectionTestUtils.getField(locationHeartBeat, "checking")).get(); i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    private Exchange getExchange(ItemRequestInformation itemRequestInformation) {
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
         exchange.getIn().setBody(itemRequestInformation);
-        lasHeartBeatCheckPollingProcessor.pollLasHeartBeatResponse(exchange);
+        return exchange;
     }
 
     private ItemRequestInformation getItemRequestInformation() {
@@ -125,12 +186,12 @@ public class LasHeartBeatCheckPollingProcessorUT extends BaseTestCaseUT {
         return itemRequestInformation;
     }
 
-    private GFALasStatusCheckResponse getGFALasStatusCheckResponse() {
+    private GFALasStatusCheckResponse getGFALasStatusCheckResponse(boolean success) {
         GFALasStatusCheckResponse gfaLasStatusCheckResponse = new GFALasStatusCheckResponse();
         GFALasStatusDsItem gfaLasStatusDsItem = new GFALasStatusDsItem();
         GFALasStatusTtItem gfaLasStatusTtItem = new GFALasStatusTtItem();
         gfaLasStatusTtItem.setImsLocationCode("1");
-        gfaLasStatusTtItem.setSuccess(Boolean.TRUE.toString());
+        gfaLasStatusTtItem.setSuccess(Boolean.toString(success));
         gfaLasStatusTtItem.setScreenMessage("SUCCESS");
         gfaLasStatusDsItem.setTtitem(Arrays.asList(gfaLasStatusTtItem));
         gfaLasStatusCheckResponse.setDsitem(gfaLasStatusDsItem);
@@ -1,46 +1,47 @@
 package org.recap.ims.processor;
 
 import org.apache.camel.CamelContext;
-import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.spi.RouteController;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
 import org.recap.BaseTestCaseUT;
+import org.recap.ScsbConstants;
 import org.recap.ims.connector.AbstractLASImsLocationConnector;
 import org.recap.ims.connector.factory.LASImsLocationConnectorFactory;
+import org.recap.ims.model.GFAItemStatus;
 import org.recap.ims.model.GFAItemStatusCheckRequest;
 import org.recap.model.gfa.Dsitem;
 import org.recap.model.gfa.GFAItemStatusCheckResponse;
 import org.recap.model.gfa.Ttitem;
-import org.recap.repository.jpa.RequestItemDetailsRepository;
-import org.recap.repository.jpa.RequestItemStatusDetailsRepository;
-import org.recap.ims.service.GFALasService;
-import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
+@RunWith(MockitoJUnitRunner.Silent.class)
 public class LasItemStatusCheckPollingProcessorUT extends BaseTestCaseUT {
 
     @InjectMocks
     LasItemStatusCheckPollingProcessor lasItemStatusCheckPollingProcessor;
 
     @Mock
-    private GFALasService gfaLasService;
-
-    @Mock
-    RequestItemDetailsRepository requestItemDetailsRepository;
-
-    @Mock
-    RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
-
-    @Mock
-    ItemRequestServiceUtil itemRequestServiceUtil;
+    ProducerTemplate producerTemplate;
 
     @Mock
     CamelContext camelContext;
@@ -58,51 +59,94 @@ public class LasItemStatusCheckPollingProcessorUT extends BaseTestCaseUT {
     AbstractLASImsLocationConnector abstractLASImsLocationConnector;
 
     @Before
-    public void setup(){
-        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn("1000");
+    public void startPolling() {
+        ReflectionTestUtils.setField(lasItemStatusCheckPollingProcessor, "pollingTickInterval", 60000L);
+        ReflectionTestUtils.setField(lasItemStatusCheckPollingProcessor, "pollingThreadCount", 2);
+        ReflectionTestUtils.setField(lasItemStatusCheckPollingProcessor, "pollingBatchSize", 50);
+        ReflectionTestUtils.setField(lasItemStatusCheckPollingProcessor, "maxBackoffMultiplier", 8);
+        lasItemStatusCheckPollingProcessor.startPolling();
+        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn("0");
+        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
+    }
+
+    @After
+    public void stopPolling() {
+        lasItemStatusCheckPollingProcessor.shutdown();
     }
 
     @Test
-    public void pollLasItemStatusJobResponse(){
-        String barcode ="123456";
-        CamelContext ctx = new DefaultCamelContext();
-        String imsLocationCode = "test";
-        ctx.setRouteController(routeController);
-        GFAItemStatusCheckResponse gfaItemStatusCheckResponse = getGFAItemStatusCheckResponse();
-        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
-        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenReturn(gfaItemStatusCheckResponse);
-        lasItemStatusCheckPollingProcessor.pollLasItemStatusJobResponse(barcode,imsLocationCode,ctx);
+    public void pollLasItemStatusBatchedPerLocation() throws Exception {
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenReturn(getGFAItemStatusCheckResponse());
+        Mockito.when(producerTemplate.getCamelContext()).thenReturn(camelContext);
+        Mockito.when(camelContext.getRouteController()).thenReturn(routeController);
+        lasItemStatusCheckPollingProcessor.pollLasItemStatus("123", "HD");
+        lasItemStatusCheckPollingProcessor.pollLasItemStatus("456", "HD");
+        lasItemStatusCheckPollingProcessor.pollLasItemStatus("789", "PA");
+        assertEquals(3, lasItemStatusCheckPollingProcessor.getPendingBarcodeCount());
+        lasItemStatusCheckPollingProcessor.pollPendingLocations();
+        Mockito.verify(routeController, Mockito.timeout(5000).times(2)).startRoute(ScsbConstants.REQUEST_ITEM_LAS_STATUS_CHECK_QUEUE_ROUTEID);
+        ArgumentCaptor<GFAItemStatusCheckRequest> requestCaptor = ArgumentCaptor.forClass(GFAItemStatusCheckRequest.class);
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.times(2)).itemStatusCheck(requestCaptor.capture());
+        assertTrue(requestCaptor.getAllValues().stream().anyMatch(request -> getBarcodes(request).equals("123,456") || getBarcodes(request).equals("456,123")));
+        assertTrue(requestCaptor.getAllValues().stream().anyMatch(request -> getBarcodes(request).equals("789")));
+        assertEquals(0, lasItemStatusCheckPollingProcessor.getPendingBarcodeCount());
+        assertFalse(lasItemStatusCheckPollingProcessor.isPolling());
     }
+
     @Test
-    public void pollLasItemStatusJobResponseException() throws Exception {
-        String barcode ="123456";
-        String imsLocationCode = "test";
-        CamelContext ctx = new DefaultCamelContext();
-        ctx.setRouteController(routeController);
-        GFAItemStatusCheckResponse gfaItemStatusCheckResponse = getGFAItemStatusCheckResponse();
-        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
-        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenReturn(gfaItemStatusCheckResponse);
-        Mockito.doThrow(new NullPointerException()).when(routeController).startRoute(any());
-        lasItemStatusCheckPollingProcessor.pollLasItemStatusJobResponse(barcode,imsLocationCode,ctx);
+    public void pollLasItemStatusBackoffWhileLasUnavailable() throws Exception {
+        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn("60000");
+        lasItemStatusCheckPollingProcessor.pollLasItemStatus("123", "HD");
+        Object pendingLocation = getPendingLocation("HD");
+        ReflectionTestUtils.setField(pendingLocation, "nextPollTime", 0L);
+        lasItemStatusCheckPollingProcessor.pollPendingLocations();
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.timeout(5000)).itemStatusCheck(any(GFAItemStatusCheckRequest.class));
+        waitUntilPolled(pendingLocation);
+        lasItemStatusCheckPollingProcessor.pollPendingLocations();
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.times(1)).itemStatusCheck(any(GFAItemStatusCheckRequest.class));
+        assertEquals(2, ReflectionTestUtils.getField(pendingLocation, "backoffMultiplier"));
+        assertTrue(lasItemStatusCheckPollingProcessor.isPolling());
+        Mockito.verify(producerTemplate, Mockito.never()).getCamelContext();
     }
+
     @Test
-    public void pollLasItemStatusJobResponseInterruptedException() throws Exception {
-        String barcode ="123456";
-        String imsLocationCode = "test";
-        CamelContext ctx = new DefaultCamelContext();
-        ctx.setRouteController(routeController);
-        GFAItemStatusCheckResponse gfaItemStatusCheckResponse = getGFAItemStatusCheckResponse();
-        Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
-        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenReturn(gfaItemStatusCheckResponse);
-        Mockito.doThrow(new InterruptedException()).when(routeController).startRoute(any());
-        lasItemStatusCheckPollingProcessor.pollLasItemStatusJobResponse(barcode,imsLocationCode,ctx);
+    public void pollLasItemStatusException() throws Exception {
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenThrow(new NullPointerException());
+        lasItemStatusCheckPollingProcessor.pollLasItemStatus("123", "HD");
+        Object pendingLocation = getPendingLocation("HD");
+        lasItemStatusCheckPollingProcessor.pollPendingLocations();
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.timeout(5000)).itemStatusCheck(any(GFAItemStatusCheckRequest.class));
+        waitUntilPolled(pendingLocation);
+        assertEquals(1, lasItemStatusCheckPollingProcessor.getPendingBarcodeCount());
+        assertTrue(lasItemStatusCheckPollingProcessor.isPolling());
     }
+
     @Test
-    public void pollLasItemStatusJobResponseExecutionException(){
-        String barcode ="123456";
-        String imsLocationCode = "test";
-        lasItemStatusCheckPollingProcessor.pollLasItemStatusJobResponse(barcode,imsLocationCode,camelContext);
+    public void pollLasItemStatusStartRouteException() throws Exception {
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenReturn(getGFAItemStatusCheckResponse());
+        Mockito.when(producerTemplate.getCamelContext()).thenReturn(camelContext);
+        Mockito.when(camelContext.getRouteController()).thenReturn(routeController);
+        Mockito.doThrow(new NullPointerException()).when(routeController).startRoute(any());
+        lasItemStatusCheckPollingProcessor.pollLasItemStatus("123", "HD");
+        lasItemStatusCheckPollingProcessor.pollPendingLocations();
+        Mockito.verify(routeController, Mockito.timeout(5000)).startRoute(ScsbConstants.REQUEST_ITEM_LAS_STATUS_CHECK_QUEUE_ROUTEID);
+        assertFalse(lasItemStatusCheckPollingProcessor.isPolling());
+    }
+
+    private Object getPendingLocation(String imsLocationCode) {
+        return ((Map<?, ?>) ReflectionTestUtils.getField(lasItemStatusCheckPollingProcessor, "pendingLocations")).get(imsLocationCode);
+    }
+
+    private void waitUntilPolled(Object pendingLocation) throws InterruptedException {
+        for (int i = 0; i < 50 && ((AtomicBoolean) ReflectionTestUtils.getField(pendingLocation, "polling")).get(); i++) {
+            Thread.sleep(100);
+        }
     }
+
+    private String getBarcodes(GFAItemStatusCheckRequest gfaItemStatusCheckRequest) {
+        return gfaItemStatusCheckRequest.getItemStatus().stream().map(GFAItemStatus::getItemBarCode).collect(Collectors.joining(","));
+    }
+
     private GFAItemStatusCheckResponse getGFAItemStatusCheckResponse() {
         GFAItemStatusCheckResponse gfaItemStatusCheckResponse = new GFAItemStatusCheckResponse();
         Dsitem dsitem = new Dsitem();
@@ -9,6 +9,7 @@ import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.spi.RouteController;
 import org.apache.camel.support.DefaultExchange;
 import org.json.JSONObject;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.*;
@@ -43,10 +44,14 @@ import org.springframework.web.client.RestTemplate;
 import java.sql.Time;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 
@@ -118,6 +123,15 @@ public class GFALasServiceUT extends BaseTestCaseUT{
         MockitoAnnotations.initMocks(this);
         Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
         Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn(Boolean.TRUE.toString());
+        ReflectionTestUtils.setField(gfaLasService, "itemStatusCheckBatchSize", 2);
+        ReflectionTestUtils.setField(gfaLasService, "itemStatusCheckThreadCount", 2);
+        ReflectionTestUtils.setField(gfaLasService, "itemStatusCheckTimeoutMillis", 5000L);
+        gfaLasService.startItemStatusCheckExecutor();
+    }
+
+    @After
+    public void shutdown() {
+        gfaLasService.shutdown();
     }
 
     @Test
@@ -321,6 +335,60 @@ public class GFALasServiceUT extends BaseTestCaseUT{
         assertNotNull(response);
     }
 
+    @Test
+    public void gfaItemRequestBatchProcessorForRetrieval() {
+        ItemRequestInformation itemRequestInfo = getItemRequestInformation();
+        itemRequestInfo.setRequestType(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL);
+        ItemRequestInformation itemRequestInfo2 = getItemRequestInformation();
+        itemRequestInfo2.setRequestType(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL);
+        itemRequestInfo2.setRequestId(2);
+        Exchange ex = new DefaultExchange(new DefaultCamelContext());
+        ex.getIn().setBody(Arrays.asList(itemRequestInfo, itemRequestInfo2));
+        Mockito.when(abstractLASImsLocationConnector.itemRetrieval(any(GFARetrieveItemRequest.class))).thenReturn(getGfaRetrieveItemResponse());
+        gfaLasService.gfaItemRequestBatchProcessor(ex);
+        Mockito.verify(abstractLASImsLocationConnector).itemRetrieval(Mockito.argThat(gfaRetrieveItemRequest -> gfaRetrieveItemRequest.getDsitem().getTtitem().size() == 2));
+        ArgumentCaptor<String> lasResponses = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(producer, Mockito.times(2)).sendBodyAndHeader(Mockito.eq(ScsbConstants.LAS_INCOMING_QUEUE), lasResponses.capture(), Mockito.eq(ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER), Mockito.eq(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL));
+        assertEquals(1, new JSONObject(lasResponses.getAllValues().get(0)).getJSONObject("dsitem").getJSONArray("ttitem").getJSONObject(0).getInt("requestId"));
+        assertEquals(2, new JSONObject(lasResponses.getAllValues().get(1)).getJSONObject("dsitem").getJSONArray("ttitem").getJSONObject(0).getInt("requestId"));
+    }
+
+    @Test
+    public void gfaItemRequestBatchProcessorForEDDWithFailureResponse() {
+        ItemRequestInformation itemRequestInfo = getItemRequestInformation();
+        itemRequestInfo.setRequestType(ScsbCommonConstants.REQUEST_TYPE_EDD);
+        ItemRequestInformation itemRequestInfo2 = getItemRequestInformation();
+        itemRequestInfo2.setRequestType(ScsbCommonConstants.REQUEST_TYPE_EDD);
+        itemRequestInfo2.setRequestId(2);
+        Exchange ex = new DefaultExchange(new DefaultCamelContext());
+        ex.getIn().setBody(Arrays.asList(itemRequestInfo, itemRequestInfo2));
+        GFAEddItemResponse gfaEddItemResponse = new GFAEddItemResponse();
+        gfaEddItemResponse.setSuccess(false);
+        gfaEddItemResponse.setScreenMessage("LAS server not reachable");
+        Mockito.when(abstractLASImsLocationConnector.itemEDDRetrieval(any(GFARetrieveEDDItemRequest.class))).thenReturn(gfaEddItemResponse);
+        gfaLasService.gfaItemRequestBatchProcessor(ex);
+        Mockito.verify(abstractLASImsLocationConnector).itemEDDRetrieval(any(GFARetrieveEDDItemRequest.class));
+        ArgumentCaptor<String> lasResponses = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(producer, Mockito.times(2)).sendBodyAndHeader(Mockito.eq(ScsbConstants.LAS_INCOMING_QUEUE), lasResponses.capture(), Mockito.eq(ScsbCommonConstants.REQUEST_TYPE_QUEUE_HEADER), Mockito.eq(ScsbCommonConstants.REQUEST_TYPE_EDD));
+        for (String lasResponse : lasResponses.getAllValues()) {
+            JSONObject ttitem = new JSONObject(lasResponse).getJSONObject("dsitem").getJSONArray("ttitem").getJSONObject(0);
+            assertEquals(ScsbCommonConstants.FAILURE, ttitem.getString("errorCode"));
+            assertEquals("LAS server not reachable", ttitem.getString("errorNote"));
+        }
+    }
+
+    @Test
+    public void gfaItemRequestBatchProcessorForSingleRetrieval() {
+        ItemRequestInformation itemRequestInfo = getItemRequestInformation();
+        itemRequestInfo.setRequestType(ScsbCommonConstants.REQUEST_TYPE_RETRIEVAL);
+        Exchange ex = new DefaultExchange(new DefaultCamelContext());
+        ex.getIn().setBody(Arrays.asList(itemRequestInfo));
+        Mockito.when(abstractLASImsLocationConnector.itemRetrieval(any(GFARetrieveItemRequest.class))).thenReturn(getGfaRetrieveItemResponse());
+        gfaLasService.gfaItemRequestBatchProcessor(ex);
+        Mockito.verify(abstractLASImsLocationConnector).itemRetrieval(any(GFARetrieveItemRequest.class));
+        Mockito.verify(producer).sendBodyAndHeader(Mockito.eq(ScsbConstants.LAS_INCOMING_QUEUE), any(), any(), any());
+    }
+
     @Test
     public void gfaItemRequestProcessorForEDD() throws JsonProcessingException {
         ItemRequestInformation itemRequestInfo = getItemRequestInformation();
@@ -423,16 +491,14 @@ public class GFALasServiceUT extends BaseTestCaseUT{
     public void startPolling() {
         String barcode = "135621";
         String imsLocationCode = "PUL";
-        CamelContext ctx = new DefaultCamelContext();
-        GFAItemStatusCheckResponse gfaItemStatusCheckResponse = getGfaItemStatusCheckResponse();
-        Mockito.when(lasItemStatusCheckPollingProcessor.pollLasItemStatusJobResponse(any(), any(), any())).thenReturn(gfaItemStatusCheckResponse);
         gfaLasService.startPolling(barcode, imsLocationCode);
+        Mockito.verify(lasItemStatusCheckPollingProcessor).pollLasItemStatus(barcode, imsLocationCode);
     }
     @Test
     public void startPollingException(){
         String barcode = "135621";
         String imsLocationCode = "PUL";
-        Mockito.doThrow(new NullPointerException()).when(lasItemStatusCheckPollingProcessor).pollLasItemStatusJobResponse(any(),any(),any());
+        Mockito.doThrow(new NullPointerException()).when(lasItemStatusCheckPollingProcessor).pollLasItemStatus(any(),any());
         gfaLasService.startPolling(barcode,imsLocationCode);
     }
     @Test
@@ -484,6 +550,82 @@ public class GFALasServiceUT extends BaseTestCaseUT{
         gfaLasService.getGFAItemStatusCheckResponseByBarcodesAndImsLocationList(itemsStatusCheckModel);
     }
 
+    @Test
+    public void getGFAItemStatusCheckResponseByBarcodesAndImsLocationListChunked(){
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModel = Arrays.asList(
+                getScsbLasItemStatusCheckModel("1", "HD"), getScsbLasItemStatusCheckModel("2", "PA"),
+                getScsbLasItemStatusCheckModel("3", "HD"), getScsbLasItemStatusCheckModel("4", "HD"));
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenAnswer(invocation -> {
+            GFAItemStatusCheckRequest gfaItemStatusCheckRequest = invocation.getArgument(0);
+            List<Ttitem> ttitems = new ArrayList<>();
+            for (GFAItemStatus gfaItemStatus : gfaItemStatusCheckRequest.getItemStatus()) {
+                Ttitem ttitem = new Ttitem();
+                ttitem.setItemBarcode(gfaItemStatus.getItemBarCode());
+                ttitem.setItemStatus("IN");
+                ttitems.add(ttitem);
+            }
+            Collections.reverse(ttitems);
+            Dsitem dsitem = new Dsitem();
+            dsitem.setTtitem(ttitems);
+            GFAItemStatusCheckResponse gfaItemStatusCheckResponse = new GFAItemStatusCheckResponse();
+            gfaItemStatusCheckResponse.setDsitem(dsitem);
+            return gfaItemStatusCheckResponse;
+        });
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModelResponse = gfaLasService.getGFAItemStatusCheckResponseByBarcodesAndImsLocationList(itemsStatusCheckModel);
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.times(3)).itemStatusCheck(any(GFAItemStatusCheckRequest.class));
+        assertEquals(Arrays.asList("1", "2", "3", "4"), itemsStatusCheckModelResponse.stream().map(ScsbLasItemStatusCheckModel::getItemBarcode).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("HD", "PA", "HD", "HD"), itemsStatusCheckModelResponse.stream().map(ScsbLasItemStatusCheckModel::getImsLocation).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void getGFAItemStatusCheckResponseByBarcodesAndImsLocationListInvalidBatchSize(){
+        ReflectionTestUtils.setField(gfaLasService, "itemStatusCheckBatchSize", 0);
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModel = Arrays.asList(getScsbLasItemStatusCheckModel("1", "HD"), getScsbLasItemStatusCheckModel("2", "HD"));
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenReturn(getGfaItemStatusCheckResponse());
+        gfaLasService.getGFAItemStatusCheckResponseByBarcodesAndImsLocationList(itemsStatusCheckModel);
+        Mockito.verify(abstractLASImsLocationConnector, Mockito.times(2)).itemStatusCheck(any(GFAItemStatusCheckRequest.class));
+    }
+
+    @Test
+    public void getGFAItemStatusCheckResponseByBarcodesAndImsLocationListChunkFailed(){
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModel = Arrays.asList(
+                getScsbLasItemStatusCheckModel("1", "HD"), getScsbLasItemStatusCheckModel("2", "HD"), getScsbLasItemStatusCheckModel("7020", "HD"));
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class)))
+                .thenAnswer(invocation -> {
+                    GFAItemStatusCheckRequest gfaItemStatusCheckRequest = invocation.getArgument(0);
+                    if (gfaItemStatusCheckRequest.getItemStatus().size() > 1) {
+                        throw new RestClientException("LAS not reachable");
+                    }
+                    return getGfaItemStatusCheckResponse();
+                });
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModelResponse = gfaLasService.getGFAItemStatusCheckResponseByBarcodesAndImsLocationList(itemsStatusCheckModel);
+        assertEquals(1, itemsStatusCheckModelResponse.size());
+        assertEquals("7020", itemsStatusCheckModelResponse.get(0).getItemBarcode());
+    }
+
+    @Test
+    public void getGFAItemStatusCheckResponseByBarcodesAndImsLocationListChunksTimedOut(){
+        ReflectionTestUtils.setField(gfaLasService, "itemStatusCheckTimeoutMillis", 500L);
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModel = Arrays.asList(
+                getScsbLasItemStatusCheckModel("1", "HD"), getScsbLasItemStatusCheckModel("2", "HD"),
+                getScsbLasItemStatusCheckModel("3", "HD"), getScsbLasItemStatusCheckModel("4", "HD"));
+        Mockito.when(abstractLASImsLocationConnector.itemStatusCheck(any(GFAItemStatusCheckRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return getGfaItemStatusCheckResponse();
+        });
+        long startTime = System.currentTimeMillis();
+        List<ScsbLasItemStatusCheckModel> itemsStatusCheckModelResponse = gfaLasService.getGFAItemStatusCheckResponseByBarcodesAndImsLocationList(itemsStatusCheckModel);
+        assertTrue(System.currentTimeMillis() - startTime < 900);
+        assertTrue(itemsStatusCheckModelResponse.isEmpty());
+    }
+
+    private ScsbLasItemStatusCheckModel getScsbLasItemStatusCheckModel(String itemBarcode, String imsLocation) {
+        ScsbLasItemStatusCheckModel scsbLasItemStatusCheckModel = new ScsbLasItemStatusCheckModel();
+        scsbLasItemStatusCheckModel.setItemBarcode(itemBarcode);
+        scsbLasItemStatusCheckModel.setImsLocation(imsLocation);
+        return scsbLasItemStatusCheckModel;
+    }
+
     @Test
     public void buildGFAEddItemRequest(){
         RequestItemEntity requestItemEntity = getRequestItemEntity();
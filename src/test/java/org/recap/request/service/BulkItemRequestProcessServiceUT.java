@@ -18,10 +18,18 @@ import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.util.CommonUtil;
 import org.recap.request.util.ItemRequestServiceUtil;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 
 
@@ -50,8 +58,25 @@ public class BulkItemRequestProcessServiceUT extends BaseTestCaseUT {
     @Mock
     private CommonUtil commonUtil;
 
+    @Mock
+    private BulkRequestProgressService bulkRequestProgressService;
+
+    @Mock
+    private BulkRequestExecutionService bulkRequestExecutionService;
+
+    @Mock
+    private BulkRequestReportService bulkRequestReportService;
+
     @Before
     public void setup() {
+        try {
+            Mockito.lenient().doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(2).run();
+                return null;
+            }).when(bulkRequestExecutionService).execute(any(), any(), any());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Test
@@ -74,32 +99,70 @@ public class BulkItemRequestProcessServiceUT extends BaseTestCaseUT {
     }
 
     @Test
-    public void processBulkRequestItem() {
-        String itemBarcode = "Complete";
+    public void completeBulkRequest() throws Exception {
         int bulkRequestId = 1;
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
         Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
-        Mockito.when(bulkRequestItemDetailsRepository.save(bulkRequestItemEntity)).thenReturn(bulkRequestItemEntity);
-        bulkItemRequestProcessService.processBulkRequestItem(itemBarcode, bulkRequestId);
+        bulkItemRequestProcessService.completeBulkRequest(bulkRequestId);
+        assertEquals(ScsbConstants.PROCESSED, bulkRequestItemEntity.getBulkRequestStatus());
+        Mockito.verify(bulkRequestReportService).writeRequestStatusToReport(bulkRequestItemEntity);
+        Mockito.verify(bulkRequestItemDetailsRepository, Mockito.never()).save(any());
+        Mockito.verify(itemRequestServiceUtil).generateReportAndSendEmail(bulkRequestId, null);
     }
 
     @Test
-    public void processBulkRequestItemINcomplete() {
-        String itemBarcode = "Complete";
+    public void completeBulkRequestGzippedReport() throws Exception {
         int bulkRequestId = 1;
+        byte[] gzippedReport = new byte[]{1, 2};
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
-        bulkRequestItemEntity.getRequestItemEntities().get(0).getRequestStatusEntity().setRequestStatusCode("INCOMPLETE");
         Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
-        Mockito.when(bulkRequestItemDetailsRepository.save(bulkRequestItemEntity)).thenReturn(bulkRequestItemEntity);
-        bulkItemRequestProcessService.processBulkRequestItem(itemBarcode, bulkRequestId);
+        Mockito.when(bulkRequestReportService.writeRequestStatusToReport(bulkRequestItemEntity)).thenReturn(gzippedReport);
+        bulkItemRequestProcessService.completeBulkRequest(bulkRequestId);
+        Mockito.verify(itemRequestServiceUtil).generateReportAndSendEmail(bulkRequestId, gzippedReport);
+    }
+
+    @Test
+    public void completeBulkRequestReportException() throws Exception {
+        int bulkRequestId = 1;
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        Mockito.when(bulkRequestReportService.writeRequestStatusToReport(bulkRequestItemEntity)).thenThrow(new IOException());
+        bulkItemRequestProcessService.completeBulkRequest(bulkRequestId);
+        assertEquals(ScsbConstants.PROCESSED, bulkRequestItemEntity.getBulkRequestStatus());
+        Mockito.verify(bulkRequestItemDetailsRepository).save(bulkRequestItemEntity);
+        Mockito.verify(itemRequestServiceUtil).generateReportAndSendEmail(bulkRequestId, null);
     }
 
     @Test
-    public void processBulkRequestItemForException() {
-        String itemBarcode = "Complete";
+    public void completeBulkRequestNotFound() {
+        int bulkRequestId = 1;
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.empty());
+        bulkItemRequestProcessService.completeBulkRequest(bulkRequestId);
+        Mockito.verify(itemRequestServiceUtil, Mockito.never()).generateReportAndSendEmail(any(), any());
+    }
+
+    @Test
+    public void processBulkRequestItemComplete() {
         int bulkRequestId = 1;
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        bulkItemRequestProcessService.processBulkRequestItem(ScsbConstants.COMPLETE, bulkRequestId);
+        assertEquals(ScsbConstants.PROCESSED, bulkRequestItemEntity.getBulkRequestStatus());
+        Mockito.verify(itemRequestServiceUtil).generateReportAndSendEmail(bulkRequestId, null);
+        Mockito.verify(bulkRequestProgressService, Mockito.never()).itemCompleted(any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void processBulkRequestItemLastItem() {
+        String itemBarcode = "123456";
+        int bulkRequestId = 1;
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcode(itemBarcode)).thenThrow(new NullPointerException());
+        Mockito.when(bulkRequestProgressService.itemCompleted(bulkRequestId, false)).thenReturn(true);
         bulkItemRequestProcessService.processBulkRequestItem(itemBarcode, bulkRequestId);
+        Mockito.verify(bulkRequestProgressService).itemCompleted(bulkRequestId, false);
+        Mockito.verify(itemRequestServiceUtil).generateReportAndSendEmail(bulkRequestId, null);
     }
 
     @Test
@@ -153,7 +216,7 @@ public class BulkItemRequestProcessServiceUT extends BaseTestCaseUT {
     }
 
     @Test
-    public void processBulkRequestItemForBarcodeFailure() {
+    public void processBulkRequestItemForBarcodeFailure() throws Exception {
         String itemBarcode = "123456";
         int bulkRequestId = 1;
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
@@ -167,7 +230,42 @@ public class BulkItemRequestProcessServiceUT extends BaseTestCaseUT {
         Mockito.doNothing().when(itemRequestDBService).updateItemAvailabilityStatus(Arrays.asList(itemEntity), bulkRequestItemEntity.getCreatedBy());
         Mockito.when(requestItemController.checkoutItem(any(), any())).thenReturn(itemCheckoutResponse);
         bulkItemRequestProcessService.processBulkRequestItem(itemBarcode, bulkRequestId);
+        Mockito.verify(bulkRequestExecutionService).execute(Mockito.eq("1"), Mockito.eq("PUL"), any());
+        Mockito.verify(bulkRequestProgressService).itemCompleted(bulkRequestId, false);
+        Mockito.verify(itemRequestServiceUtil, Mockito.never()).generateReportAndSendEmail(any(), any());
+    }
 
+    @Test
+    public void processBulkRequestItemRejected() throws Exception {
+        String itemBarcode = "123456";
+        int bulkRequestId = 1;
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(getBulkRequestItemEntity()));
+        Mockito.when(itemDetailsRepository.findByBarcode(itemBarcode)).thenReturn(Arrays.asList(getItemEntity()));
+        Mockito.doThrow(new RejectedExecutionException()).when(bulkRequestExecutionService).execute(any(), any(), any());
+        bulkItemRequestProcessService.processBulkRequestItem(itemBarcode, bulkRequestId);
+        Mockito.verify(bulkRequestProgressService).itemCompleted(bulkRequestId, false);
+        Mockito.verify(itemRequestDBService, Mockito.never()).updateItemAvailabilityStatus(any(), any());
+    }
+
+    @Test
+    public void processBulkRequestItemCompleteAwaitsPendingItems() throws Exception {
+        String itemBarcode = "123456";
+        int bulkRequestId = 1;
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcode(itemBarcode)).thenReturn(Arrays.asList(getItemEntity()));
+        List<Runnable> handedOverItems = new ArrayList<>();
+        Mockito.doAnswer(invocation -> handedOverItems.add(invocation.getArgument(2))).when(bulkRequestExecutionService).execute(any(), any(), any());
+        bulkItemRequestProcessService.processBulkRequestItem(itemBarcode, bulkRequestId);
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executorService.schedule(() -> handedOverItems.get(0).run(), 6, TimeUnit.SECONDS);
+            bulkItemRequestProcessService.processBulkRequestItem(ScsbConstants.COMPLETE, bulkRequestId);
+            Mockito.verify(bulkRequestProgressService).itemCompleted(bulkRequestId, false);
+            Mockito.verify(itemRequestServiceUtil).generateReportAndSendEmail(bulkRequestId, null);
+        } finally {
+            executorService.shutdownNow();
+        }
     }
 
     private ItemRequestInformation getItemRequestInformation() {
@@ -4,6 +4,8 @@ import org.apache.camel.ProducerTemplate;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -17,11 +19,15 @@ import org.recap.request.util.ItemRequestServiceUtil;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
@@ -42,10 +48,18 @@ public class BulkItemRequestServiceUT {
     @Mock
     private ProducerTemplate producerTemplate;
 
+    @Mock
+    private BulkRequestProgressService bulkRequestProgressService;
+
+    @Mock
+    private BulkItemRequestProcessService bulkItemRequestProcessService;
+
 
     @Before
     public void setUp() throws Exception {
         ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemCountLimit", 5000);
+        ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemLookupBatchSize", 2);
+        ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemProcessingBatchSize", 2);
     }
 
     @Test
@@ -72,7 +86,7 @@ public class BulkItemRequestServiceUT {
         int bulkRequestId = 1;
         ItemEntity itemEntity = getItemEntity();
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
         bulkItemRequestService.bulkRequestItems(bulkRequestId);
         ItemStatusEntity itemStatusEntity = new ItemStatusEntity();
@@ -95,7 +109,7 @@ public class BulkItemRequestServiceUT {
         itemStatusEntity.setStatusDescription(ScsbCommonConstants.AVAILABLE);
         itemEntity.setItemStatusEntity(itemStatusEntity);
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
         bulkItemRequestService.bulkRequestItems(bulkRequestId);
         itemEntity.setOwningInstitutionId(1);
@@ -114,7 +128,7 @@ public class BulkItemRequestServiceUT {
         itemStatusEntity.setStatusDescription(ScsbCommonConstants.AVAILABLE);
         itemEntity.setItemStatusEntity(itemStatusEntity);
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
         bulkItemRequestService.bulkRequestItems(bulkRequestId);
         ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemCountLimit", 0);
@@ -132,13 +146,118 @@ public class BulkItemRequestServiceUT {
         itemStatusEntity.setStatusDescription(ScsbCommonConstants.AVAILABLE);
         itemEntity.setItemStatusEntity(itemStatusEntity);
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Collections.EMPTY_LIST);
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Collections.EMPTY_LIST);
         Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
         bulkItemRequestService.bulkRequestItems(bulkRequestId);
         ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemCountLimit", 0);
         bulkItemRequestService.bulkRequestItems(bulkRequestId);
     }
 
+    @Test
+    public void bulkRequestItemsStartsProgressBeforeQueueing() {
+        Mockito.when(bulkRequestProgressService.isEnabled()).thenReturn(true);
+        int bulkRequestId = 1;
+        ItemEntity itemEntity = getItemEntity();
+        ItemStatusEntity itemStatusEntity = new ItemStatusEntity();
+        itemStatusEntity.setStatusCode(ScsbCommonConstants.AVAILABLE);
+        itemEntity.setItemStatusEntity(itemStatusEntity);
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        bulkItemRequestService.bulkRequestItems(bulkRequestId);
+        InOrder inOrder = Mockito.inOrder(bulkRequestProgressService, producerTemplate);
+        inOrder.verify(bulkRequestProgressService).startProgress(bulkRequestId, 1);
+        inOrder.verify(producerTemplate).sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, "123456", ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+        Mockito.verify(bulkItemRequestProcessService, Mockito.never()).completeBulkRequest(bulkRequestId);
+        Mockito.verify(producerTemplate, Mockito.never()).sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, ScsbConstants.COMPLETE, ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+    }
+
+    @Test
+    public void bulkRequestItemsQueuesCompleteWithoutCounters() {
+        int bulkRequestId = 1;
+        ItemEntity itemEntity = getItemEntity();
+        ItemStatusEntity itemStatusEntity = new ItemStatusEntity();
+        itemStatusEntity.setStatusCode(ScsbCommonConstants.AVAILABLE);
+        itemEntity.setItemStatusEntity(itemStatusEntity);
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        bulkItemRequestService.bulkRequestItems(bulkRequestId);
+        InOrder inOrder = Mockito.inOrder(producerTemplate);
+        inOrder.verify(producerTemplate).sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, "123456", ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+        inOrder.verify(producerTemplate).sendBodyAndHeader(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE, ScsbConstants.COMPLETE, ScsbCommonConstants.BULK_REQUEST_ID, bulkRequestId);
+        Mockito.verify(bulkRequestProgressService, Mockito.never()).startProgress(any(), Mockito.anyInt());
+        Mockito.verify(bulkItemRequestProcessService, Mockito.never()).completeBulkRequest(bulkRequestId);
+    }
+
+    @Test
+    public void bulkRequestItemsInChunks() {
+        Mockito.when(bulkRequestProgressService.isEnabled()).thenReturn(true);
+        int bulkRequestId = 1;
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        bulkRequestItemEntity.setBulkRequestFileData("BARCODE,CUSTOMER_CODE\n1,PA\n2,PA\n3,PA\n4,PA\n5,PA".getBytes());
+        ItemStatusEntity itemStatusEntity = new ItemStatusEntity();
+        itemStatusEntity.setStatusCode(ScsbCommonConstants.AVAILABLE);
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenAnswer(invocation -> {
+            List<ItemEntity> itemEntities = new ArrayList<>();
+            for (String barcode : invocation.<List<String>>getArgument(0)) {
+                if (!"3".equals(barcode)) {
+                    ItemEntity itemEntity = getItemEntity();
+                    itemEntity.setBarcode(barcode);
+                    itemEntity.setItemStatusEntity(itemStatusEntity);
+                    itemEntities.add(itemEntity);
+                }
+            }
+            return itemEntities;
+        });
+        bulkItemRequestService.bulkRequestItems(bulkRequestId);
+        Mockito.verify(itemDetailsRepository, Mockito.times(3)).findByBarcodeIn(any());
+        Mockito.verify(itemDetailsRepository, Mockito.never()).findByBarcode(any());
+        Mockito.verify(bulkRequestProgressService).startProgress(bulkRequestId, 4);
+        ArgumentCaptor<Object> bodyCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(producerTemplate, Mockito.times(2)).sendBodyAndHeader(Mockito.eq(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE), bodyCaptor.capture(), Mockito.eq(ScsbCommonConstants.BULK_REQUEST_ID), Mockito.eq(bulkRequestId));
+        List<String> queuedBarcodes = new ArrayList<>();
+        bodyCaptor.getAllValues().forEach(body -> queuedBarcodes.addAll(Arrays.asList(((String) body).split("\n"))));
+        assertEquals(4, queuedBarcodes.size());
+        assertFalse(queuedBarcodes.contains("3"));
+    }
+
+    @Test
+    public void bulkRequestItemsInvalidBatchSizes() {
+        Mockito.when(bulkRequestProgressService.isEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemLookupBatchSize", 0);
+        ReflectionTestUtils.setField(bulkItemRequestService, "bulkRequestItemProcessingBatchSize", 0);
+        int bulkRequestId = 1;
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        bulkRequestItemEntity.setBulkRequestFileData("BARCODE,CUSTOMER_CODE\n1,PA\n2,PA".getBytes());
+        ItemStatusEntity itemStatusEntity = new ItemStatusEntity();
+        itemStatusEntity.setStatusCode(ScsbCommonConstants.AVAILABLE);
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenAnswer(invocation -> {
+            ItemEntity itemEntity = getItemEntity();
+            itemEntity.setBarcode(invocation.<List<String>>getArgument(0).get(0));
+            itemEntity.setItemStatusEntity(itemStatusEntity);
+            return Arrays.asList(itemEntity);
+        });
+        bulkItemRequestService.bulkRequestItems(bulkRequestId);
+        Mockito.verify(itemDetailsRepository, Mockito.times(2)).findByBarcodeIn(any());
+        Mockito.verify(producerTemplate, Mockito.times(2)).sendBodyAndHeader(Mockito.eq(ScsbConstants.BULK_REQUEST_ITEM_PROCESSING_QUEUE), any(), Mockito.eq(ScsbCommonConstants.BULK_REQUEST_ID), Mockito.eq(bulkRequestId));
+    }
+
+    @Test
+    public void bulkRequestItemsWithoutValidItems() {
+        Mockito.when(bulkRequestProgressService.isEnabled()).thenReturn(true);
+        int bulkRequestId = 1;
+        BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Collections.emptyList());
+        Mockito.when(bulkRequestItemDetailsRepository.findById(bulkRequestId)).thenReturn(Optional.of(bulkRequestItemEntity));
+        bulkItemRequestService.bulkRequestItems(bulkRequestId);
+        Mockito.verify(bulkRequestProgressService).startProgress(bulkRequestId, 0);
+        Mockito.verify(bulkItemRequestProcessService).completeBulkRequest(bulkRequestId);
+        Mockito.verify(producerTemplate, Mockito.never()).sendBodyAndHeader(any(String.class), any(), any(String.class), any());
+    }
+
     @Test
     public void bulkRequestItemsForbulkRequestItemBarcodeExcessList() {
         int bulkRequestId = 1;
@@ -170,7 +289,7 @@ public class BulkItemRequestServiceUT {
         bulkRequestItemEntity.setPatronId("123456");
         bulkRequestItemEntity.setStopCode("PA");
         bulkRequestItemEntity.setRequestingInstitutionId(1);
-        bulkRequestItemEntity.setBulkRequestFileData("BARCODE\tCUSTOMER_CODE\n32101075852275\tPK".getBytes());
+        bulkRequestItemEntity.setBulkRequestFileData("BARCODE,CUSTOMER_CODE\n123456,PA".getBytes());
         bulkRequestItemEntity.setNotes("test");
         bulkRequestItemEntity.setEmailId("test@gmail.com");
         bulkRequestItemEntity.setCreatedBy("test");
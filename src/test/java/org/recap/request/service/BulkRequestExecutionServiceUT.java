@@ -0,0 +1,188 @@
+package org.recap.request.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.recap.BaseTestCaseUT;
+import org.recap.ScsbConstants;
+import org.recap.util.PropertyUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+public class BulkRequestExecutionServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    BulkRequestExecutionService bulkRequestExecutionService;
+
+    @Mock
+    PropertyUtil propertyUtil;
+
+    @Before
+    public void setLimits() {
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "defaultConcurrencyLimit", 4);
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "defaultRateLimit", 0d);
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "shutdownTimeoutSeconds", 10L);
+    }
+
+    @After
+    public void shutdownPartitions() {
+        bulkRequestExecutionService.shutdown();
+    }
+
+    @Test
+    public void execute() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        bulkRequestExecutionService.execute("RECAP", "PUL", () -> {
+            threadNames.add(Thread.currentThread().getName());
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, threadNames.size());
+        assertTrue(threadNames.get(0).startsWith("BulkRequestPartition-RECAP-PUL-"));
+    }
+
+    @Test
+    public void executeWithinConcurrencyLimit() throws Exception {
+        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey("RECAP", ScsbConstants.BULK_REQUEST_CONCURRENCY_LIMIT)).thenReturn("3");
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("PUL", ScsbConstants.BULK_REQUEST_CONCURRENCY_LIMIT)).thenReturn("2");
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger startedCount = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            bulkRequestExecutionService.execute("RECAP", "PUL", () -> {
+                startedCount.incrementAndGet();
+                running.countDown();
+                await(release);
+            });
+        }
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        CountDownLatch otherPartition = new CountDownLatch(1);
+        bulkRequestExecutionService.execute("RECAP", "CUL", otherPartition::countDown);
+        assertTrue(otherPartition.await(10, TimeUnit.SECONDS));
+        assertEquals(2, startedCount.get());
+        release.countDown();
+    }
+
+    @Test
+    public void executeWaitsWhileQueueIsFull() throws Exception {
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "defaultConcurrencyLimit", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            bulkRequestExecutionService.execute("RECAP", "PUL", () -> await(release));
+        }
+        ExecutorService callerExecutorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blockedCaller = callerExecutorService.submit(() -> {
+                bulkRequestExecutionService.execute("RECAP", "PUL", () -> {});
+                return null;
+            });
+            Thread.sleep(200);
+            assertFalse(blockedCaller.isDone());
+            release.countDown();
+            blockedCaller.get(10, TimeUnit.SECONDS);
+        } finally {
+            callerExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void executeAtRateLimit() throws Exception {
+        Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn(null);
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("CUL", ScsbConstants.BULK_REQUEST_RATE_LIMIT)).thenReturn("20");
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "queueCapacity", 30);
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(30);
+        for (int i = 0; i < 30; i++) {
+            bulkRequestExecutionService.execute("RECAP", "CUL", () -> {
+                executed.incrementAndGet();
+                done.countDown();
+            });
+        }
+        Thread.sleep(200);
+        // 20 tokens are available up front, the other items wait for tokens refilled at 20 per second
+        assertTrue(executed.get() >= 20 && executed.get() < 30);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void invalidateAll() throws Exception {
+        Mockito.when(propertyUtil.getPropertyByInstitutionAndKey("PUL", ScsbConstants.BULK_REQUEST_CONCURRENCY_LIMIT)).thenReturn("1", "2");
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(3);
+        bulkRequestExecutionService.execute("RECAP", "PUL", () -> {
+            threads.add(Thread.currentThread());
+            running.countDown();
+            await(release);
+        });
+        bulkRequestExecutionService.invalidateAll();
+        for (int i = 0; i < 2; i++) {
+            bulkRequestExecutionService.execute("RECAP", "PUL", () -> {
+                threads.add(Thread.currentThread());
+                running.countDown();
+                await(release);
+            });
+        }
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        assertEquals(3, threads.size());
+        release.countDown();
+    }
+
+    @Test
+    public void shutdownRunsQueuedItems() throws Exception {
+        ReflectionTestUtils.setField(bulkRequestExecutionService, "defaultConcurrencyLimit", 1);
+        AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            bulkRequestExecutionService.execute("RECAP", "PUL", () -> {
+                sleep(50);
+                executed.incrementAndGet();
+            });
+        }
+        bulkRequestExecutionService.shutdown();
+        assertEquals(3, executed.get());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void executeAfterShutdown() throws Exception {
+        bulkRequestExecutionService.shutdown();
+        bulkRequestExecutionService.execute("RECAP", "PUL", () -> {});
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.recap.request.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.recap.BaseTestCaseUT;
+import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkRequestProgressServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    BulkRequestProgressService bulkRequestProgressService;
+
+    @Mock
+    BulkRequestItemDetailsRepository bulkRequestItemDetailsRepository;
+
+    @Before
+    public void enableCounters() {
+        ReflectionTestUtils.setField(bulkRequestProgressService, "enabled", true);
+    }
+
+    @Test
+    public void startProgress() {
+        bulkRequestProgressService.startProgress(1, 3);
+        Mockito.verify(bulkRequestItemDetailsRepository).startItemProgress(1, 3);
+    }
+
+    @Test
+    public void itemCompleted() {
+        Mockito.when(bulkRequestItemDetailsRepository.countCompletedBulkRequest(1)).thenReturn(0L);
+        assertFalse(bulkRequestProgressService.itemCompleted(1, true));
+        Mockito.verify(bulkRequestItemDetailsRepository).incrementProcessedItemCount(1);
+        Mockito.verify(bulkRequestItemDetailsRepository, Mockito.never()).incrementFailedItemCount(1);
+    }
+
+    @Test
+    public void lastItemFailed() {
+        Mockito.when(bulkRequestItemDetailsRepository.countCompletedBulkRequest(1)).thenReturn(1L);
+        assertTrue(bulkRequestProgressService.itemCompleted(1, false));
+        Mockito.verify(bulkRequestItemDetailsRepository).incrementFailedItemCount(1);
+        Mockito.verify(bulkRequestItemDetailsRepository, Mockito.never()).incrementProcessedItemCount(1);
+    }
+
+    @Test
+    public void countersDisabled() {
+        ReflectionTestUtils.setField(bulkRequestProgressService, "enabled", false);
+        bulkRequestProgressService.startProgress(1, 3);
+        assertFalse(bulkRequestProgressService.itemCompleted(1, true));
+        Mockito.verifyNoInteractions(bulkRequestItemDetailsRepository);
+    }
+}
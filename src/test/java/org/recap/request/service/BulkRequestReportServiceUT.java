@@ -0,0 +1,86 @@
+package org.recap.request.service;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.recap.BaseTestCaseUT;
+import org.recap.ScsbCommonConstants;
+import org.recap.model.jpa.BulkRequestItemEntity;
+import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
+import org.recap.repository.jpa.RequestItemDetailsRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BulkRequestReportServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    BulkRequestReportService bulkRequestReportService;
+
+    @Mock
+    BulkRequestItemDetailsRepository bulkRequestItemDetailsRepository;
+
+    @Mock
+    RequestItemDetailsRepository requestItemDetailsRepository;
+
+    @Test
+    public void writeRequestStatusToReport() throws Exception {
+        ReflectionTestUtils.setField(bulkRequestReportService, "reportPageSize", 2);
+        BulkRequestItemEntity bulkRequestItemEntity = new BulkRequestItemEntity();
+        bulkRequestItemEntity.setId(1);
+        bulkRequestItemEntity.setBulkRequestFileData("BARCODE,CUSTOMER_CODE,REQUEST_ID,REQUEST_STATUS,STATUS".getBytes());
+        Mockito.when(requestItemDetailsRepository.findBulkRequestReportRows(1, PageRequest.of(0, 2))).thenReturn(Arrays.asList(
+                new Object[]{"123", "PA", 1, ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED, "Retrieval order placed", null},
+                new Object[]{"456", "PA", 2, "EXCEPTION", "Exception", "Item Barcode(s) : 456\nException : Item not available, check later"}));
+        Mockito.when(requestItemDetailsRepository.findBulkRequestReportRows(1, PageRequest.of(1, 2))).thenReturn(Collections.singletonList(
+                new Object[]{"789", "PA", 3, "PENDING", "Pending", null}));
+        Mockito.when(bulkRequestItemDetailsRepository.save(bulkRequestItemEntity)).thenReturn(bulkRequestItemEntity);
+        bulkRequestReportService.writeRequestStatusToReport(bulkRequestItemEntity);
+        assertEquals("BARCODE,CUSTOMER_CODE,REQUEST_ID,REQUEST_STATUS,STATUS"
+                + "\n123,PA,1,Retrieval order placed," + ScsbCommonConstants.SUCCESS
+                + "\n456,PA,2,Exception,\"Item not available, check later\""
+                + "\n789,PA,3,Pending," + ScsbCommonConstants.SUCCESS, new String(bulkRequestItemEntity.getBulkRequestFileData()));
+        Mockito.verify(requestItemDetailsRepository, Mockito.times(2)).findBulkRequestReportRows(Mockito.eq(1), Mockito.any());
+    }
+
+    @Test
+    public void writeRequestStatusToReportFullLastPage() throws Exception {
+        ReflectionTestUtils.setField(bulkRequestReportService, "reportPageSize", 1);
+        BulkRequestItemEntity bulkRequestItemEntity = new BulkRequestItemEntity();
+        bulkRequestItemEntity.setId(1);
+        bulkRequestItemEntity.setBulkRequestFileData("BARCODE".getBytes());
+        Mockito.when(requestItemDetailsRepository.findBulkRequestReportRows(1, PageRequest.of(0, 1))).thenReturn(Collections.singletonList(
+                new Object[]{"123", "PA", 1, ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED, "Retrieval order placed", null}));
+        Mockito.when(requestItemDetailsRepository.findBulkRequestReportRows(1, PageRequest.of(1, 1))).thenReturn(Collections.emptyList());
+        assertNull(bulkRequestReportService.writeRequestStatusToReport(bulkRequestItemEntity));
+        assertEquals("BARCODE\n123,PA,1,Retrieval order placed," + ScsbCommonConstants.SUCCESS, new String(bulkRequestItemEntity.getBulkRequestFileData()));
+        Mockito.verify(bulkRequestItemDetailsRepository).save(bulkRequestItemEntity);
+    }
+
+    @Test
+    public void writeRequestStatusToReportGzipped() throws Exception {
+        ReflectionTestUtils.setField(bulkRequestReportService, "reportPageSize", 2);
+        ReflectionTestUtils.setField(bulkRequestReportService, "gzipReport", true);
+        BulkRequestItemEntity bulkRequestItemEntity = new BulkRequestItemEntity();
+        bulkRequestItemEntity.setId(1);
+        bulkRequestItemEntity.setBulkRequestFileData("BARCODE".getBytes());
+        Mockito.when(requestItemDetailsRepository.findBulkRequestReportRows(1, PageRequest.of(0, 2))).thenReturn(Collections.singletonList(
+                new Object[]{"123", "PA", 1, ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED, "Retrieval order placed", null}));
+        byte[] gzippedReport = bulkRequestReportService.writeRequestStatusToReport(bulkRequestItemEntity);
+        String report = "BARCODE\n123,PA,1,Retrieval order placed," + ScsbCommonConstants.SUCCESS;
+        assertEquals(report, new String(bulkRequestItemEntity.getBulkRequestFileData()));
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedReport))) {
+            assertEquals(report, new String(IOUtils.toByteArray(gzipInputStream)));
+        }
+        Mockito.verify(bulkRequestItemDetailsRepository).save(bulkRequestItemEntity);
+    }
+}
@@ -36,6 +36,7 @@ public class EmailServiceUT {
         emailService.sendEmail(ScsbCommonConstants.PRINCETON, "PULTST54323", "RECAP","Message", "45678912", ScsbConstants.GFA,"");
         emailService.sendEmail("", "PULTST54323", "RECAP","Message", "45678912", ScsbConstants.DELETED_MAIL_TO,"");
         emailService.sendEmail("", "PULTST54323", "RECAP","Message", "45678912", "","");
-        emailService.sendBulkRequestEmail("12","TestFirstBulkRequest","TestFirstBulkRequest","PROCESSED","Test","");
+        emailService.sendBulkRequestEmail("12","TestFirstBulkRequest","TestFirstBulkRequest","PROCESSED","Test".getBytes(),false,"");
+        emailService.sendBulkRequestEmail("12","TestFirstBulkRequest","TestFirstBulkRequest","PROCESSED","Test".getBytes(),true,"");
     }
 }
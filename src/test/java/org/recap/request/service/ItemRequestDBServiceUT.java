@@ -16,6 +16,7 @@ import org.recap.model.jpa.*;
 import org.recap.model.response.ItemInformationResponse;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.repository.jpa.*;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.recap.util.CommonUtil;
 import org.recap.util.SecurityUtil;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -49,19 +50,11 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
     ItemStatusDetailsRepository itemStatusDetailsRepository;
 
     @Mock
-    RequestTypeDetailsRepository requestTypeDetailsRepository;
+    ReferenceDataCacheService referenceDataCacheService;
 
     @Mock
     RequestItemDetailsRepository requestItemDetailsRepository;
 
-    @Mock
-    RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
-
-    @Mock
-    DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
-    @Mock
-    InstitutionDetailsRepository institutionDetailsRepository;
     @Mock
     CommonUtil commonUtil;
 
@@ -81,9 +74,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0);
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity() ;
         Mockito.when(commonUtil.getUser(itemRequestInformation.getUsername())).thenReturn("userName");
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(requestStatusCode)).thenReturn(requestStatusEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(requestStatusCode)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
         Mockito.when(requestItemDetailsRepository.findById(itemRequestInformation.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         int requestId = itemRequestDBService.updateRecapRequestItem(itemRequestInformation, itemEntity, requestStatusCode, bulkRequestItemEntity);
@@ -107,8 +100,8 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         String requestStatusCode = "REFILED";
         RequestTypeEntity requestTypeEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestTypeEntity();
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
         //Mockito.doThrow(new ParseException("Unparseable date:",1)).when(requestItemDetailsRepository).saveAndFlush(any());
         itemRequestDBService.updateRecapRequestItem(itemRequestInformation, itemEntity, requestStatusCode, bulkRequestItemEntity);
     }
@@ -123,9 +116,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getRequestItemEntity();
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
         Mockito.when(commonUtil.getUser(itemRequestInformation.getUsername())).thenReturn("userName");
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(requestStatusCode)).thenReturn(requestStatusEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(requestStatusCode)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         itemRequestDBService.updateRecapRequestItem(itemRequestInformation, itemEntity, requestStatusCode, bulkRequestItemEntity);
     }
@@ -141,9 +134,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getRequestItemEntity();
         BulkRequestItemEntity bulkRequestItemEntity = getBulkRequestItemEntity();
         Mockito.when(commonUtil.getUser(itemRequestInformation.getUsername())).thenReturn("userName");
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(requestStatusCode)).thenReturn(requestStatusEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(requestStatusCode)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution())).thenReturn(itemEntity.getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemRequestInformation.getRequestType())).thenReturn(requestTypeEntity);
         Mockito.when(securityUtil.getEncryptedValue(any())).thenReturn("test@gmail.com");
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         itemRequestDBService.updateRecapRequestItem(itemRequestInformation, itemEntity, requestStatusCode, null);
@@ -156,7 +149,7 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0);
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
         Mockito.when(requestItemDetailsRepository.findById(itemInformationResponse.getRequestId())).thenReturn(Optional.of(requestItemEntity));
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.REQUEST_STATUS_EXCEPTION)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbConstants.REQUEST_STATUS_EXCEPTION)).thenReturn(requestStatusEntity);
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestItem(itemInformationResponse);
         assertNotNull(itemInformationResponse1);
@@ -170,9 +163,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getRequestItemEntity();
         RequestTypeEntity requestTypeEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestTypeEntity();
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestStatusEntity);
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
         Mockito.when(securityUtil.getEncryptedValue(itemInformationResponse.getEmailAddress())).thenReturn("test@gmail.com");
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestItem(itemInformationResponse);
@@ -187,9 +180,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getRequestItemEntity();
         RequestTypeEntity requestTypeEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestTypeEntity();
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_EDD)).thenReturn(requestStatusEntity);
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_EDD)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
         Mockito.when(securityUtil.getEncryptedValue(itemInformationResponse.getEmailAddress())).thenReturn("test@gmail.com");
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestItem(itemInformationResponse);
@@ -204,9 +197,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getRequestItemEntity();
         RequestTypeEntity requestTypeEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestTypeEntity();
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
         Mockito.when(securityUtil.getEncryptedValue(itemInformationResponse.getEmailAddress())).thenReturn("test@gmail.com");
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestItem(itemInformationResponse);
@@ -222,9 +215,9 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getRequestItemEntity();
         RequestTypeEntity requestTypeEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestTypeEntity();
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(itemInformationResponse.getRequestType())).thenReturn(requestTypeEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemInformationResponse.getRequestingInstitution())).thenReturn(getBulkRequestItemEntity().getInstitutionEntity());
         Mockito.when(requestItemDetailsRepository.saveAndFlush(requestItemEntity)).thenReturn(requestItemEntity);
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestItem(itemInformationResponse);
         assertNotNull(itemInformationResponse1);
@@ -248,7 +241,7 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         requestTypeEntity.setRequestTypeCode("RETRIEVAL");
         requestItemEntity.setRequestTypeEntity(requestTypeEntity);
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
         Mockito.when(requestItemDetailsRepository.findById(itemInformationResponse.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestStatus(itemInformationResponse);
         assertNotNull(itemInformationResponse1);
@@ -261,7 +254,7 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         requestTypeEntity.setRequestTypeCode("RECALL");
         requestItemEntity.setRequestTypeEntity(requestTypeEntity);
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_RETRIEVAL_ORDER_PLACED)).thenReturn(requestStatusEntity);
         Mockito.when(requestItemDetailsRepository.findById(itemInformationResponse.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestStatus(itemInformationResponse);
         assertNotNull(itemInformationResponse1);
@@ -271,7 +264,7 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         ItemInformationResponse itemInformationResponse = getItemInformationResponse();
         RequestItemEntity requestItemEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0);
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_EDD)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_EDD)).thenReturn(requestStatusEntity);
         Mockito.when(requestItemDetailsRepository.findById(itemInformationResponse.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestStatus(itemInformationResponse);
         assertNotNull(itemInformationResponse1);
@@ -284,7 +277,7 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0);
         requestItemEntity.setBulkRequestItemEntity(null);
         RequestStatusEntity requestStatusEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0).getRequestStatusEntity();
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.REQUEST_STATUS_EXCEPTION)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbConstants.REQUEST_STATUS_EXCEPTION)).thenReturn(requestStatusEntity);
         Mockito.when(requestItemDetailsRepository.findById(itemInformationResponse.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         ItemInformationResponse itemInformationResponse1 = itemRequestDBService.updateRecapRequestStatus(itemInformationResponse);
         assertNotNull(itemInformationResponse1);
@@ -320,7 +313,7 @@ public class ItemRequestDBServiceUT extends BaseTestCaseUT {
     public void rollbackAfterGFA() {
         ItemInformationResponse itemInformationResponse = getItemInformationResponse();
         RequestItemEntity requestItemEntity = getBulkRequestItemEntity().getRequestItemEntities().get(0);
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(),any(),anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(),any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(requestItemDetailsRepository.findById(itemInformationResponse.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         ItemRequestInformation itemRequestInformation = itemRequestDBService.rollbackAfterGFA(itemInformationResponse);
         assertNotNull(itemRequestInformation);
@@ -10,6 +10,7 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.recap.BaseTestCaseUT;
 import org.recap.PropertyKeyConstants;
 import org.recap.ScsbCommonConstants;
@@ -31,6 +32,8 @@ import org.recap.model.request.ReplaceRequest;
 import org.recap.model.search.SearchResultRow;
 import org.recap.repository.jpa.*;
 import org.recap.service.RestHeaderService;
+import org.recap.service.common.ReferenceDataCacheService;
+import org.recap.service.common.SearchResultRowCacheService;
 import org.recap.util.CommonUtil;
 import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
@@ -48,12 +51,14 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
 import java.text.Normalizer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.*;
 
 public class ItemRequestServiceUT extends BaseTestCaseUT {
@@ -72,6 +77,9 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
     @Mock
     RestTemplate restTemplate;
 
+    @Spy
+    SearchResultRowCacheService searchResultRowCacheService;
+
     @Mock
     AbstractProtocolConnector abstractProtocolConnector;
 
@@ -103,17 +111,11 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
     private InstitutionDetailsRepository institutionDetailsRepository;
     
     @Mock
-    private DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
-    @Mock
-    DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
+    ReferenceDataCacheService referenceDataCacheService;
 
     @Mock
     private EmailService mockedEmailService;
 
-    @Mock
-    private RequestItemStatusDetailsRepository mockedRequestItemStatusDetailsRepository;
-
     @Mock
     private GFALasService mockedGfaLasService;
 
@@ -156,6 +158,17 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         ReflectionTestUtils.setField(mockedItemRequestService, "scsbSolrClientUrl", scsbSolrClientUrl);
     }
 
+    @Test
+    public void searchRecordsFromLocalRecord() {
+        ReflectionTestUtils.setField(mockedItemRequestService, "searchRecordsLocalFallbackEnabled", true);
+        ItemEntity itemEntity = new ItemEntity();
+        itemEntity.setBarcode("123");
+        SearchResultRow searchResultRow = new SearchResultRow();
+        Mockito.when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(), any(ParameterizedTypeReference.class))).thenThrow(new NullPointerException());
+        Mockito.doReturn(searchResultRow).when(searchResultRowCacheService).getFromLocalRecord(itemEntity);
+        assertSame(searchResultRow, mockedItemRequestService.searchRecords(itemEntity));
+    }
+
     @Test
     public void checkGetters() {
         mockedItemRequestService.getEmailService();
@@ -187,9 +200,9 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {
         })).thenReturn(responseEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId(), 'Y')).thenReturn(deliveryCodeEntity);
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId())).thenReturn(deliveryCodeEntity);
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
         Mockito.when(mockedRequestItemController.holdItem(any(), any())).thenReturn(itemHoldResponse);
         Mockito.when(mockedItemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
       //  Mockito.when(mockedOwnerCodeDetailsRepository.findByOwnerCode(itemRequestInfo.getDeliveryLocation())).thenReturn(ownerCodeEntity);
@@ -231,9 +244,9 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {
         })).thenReturn(responseEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId(), 'Y')).thenReturn(deliveryCodeEntity);
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId())).thenReturn(deliveryCodeEntity);
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
         Mockito.when(mockedRequestItemController.holdItem(any(), any())).thenReturn(itemHoldResponse);
         Mockito.when(mockedItemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
 //        Mockito.when(mockedOwnerCodeDetailsRepository.findByOwnerCode(itemRequestInfo.getDeliveryLocation())).thenReturn(ownerCodeEntity);
@@ -269,9 +282,9 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         itemHoldResponse.setSuccess(true);
         DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = getDeliveryCodeTranslationEntity();
         DeliveryCodeEntity deliveryCodeEntity = getDeliveryCodeEntity();
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId(), 'Y')).thenReturn(deliveryCodeEntity);
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId())).thenReturn(deliveryCodeEntity);
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
         HttpEntity requestEntity = new HttpEntity<>(restHeaderService.getHttpHeaders());
         ResponseEntity<List<SearchResultRow>> responseEntity = new ResponseEntity<List<SearchResultRow>>(Arrays.asList(searchResultRow), HttpStatus.OK);
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(scsbSolrClientUrl + ScsbConstants.SEARCH_RECORDS_SOLR)
@@ -328,9 +341,9 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         itemHoldResponse.setSuccess(true);
         DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = getDeliveryCodeTranslationEntity();
         DeliveryCodeEntity deliveryCodeEntity = getDeliveryCodeEntity();
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId(), 'Y')).thenReturn(deliveryCodeEntity);
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId())).thenReturn(deliveryCodeEntity);
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
         HttpEntity requestEntity = new HttpEntity<>(restHeaderService.getHttpHeaders());
         ResponseEntity<List<SearchResultRow>> responseEntity = new ResponseEntity<List<SearchResultRow>>(Arrays.asList(searchResultRow), HttpStatus.OK);
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(scsbSolrClientUrl + ScsbConstants.SEARCH_RECORDS_SOLR)
@@ -378,9 +391,9 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
         DeliveryCodeTranslationEntity deliveryCodeTranslationEntity = getDeliveryCodeTranslationEntity();
         DeliveryCodeEntity deliveryCodeEntity = getDeliveryCodeEntity();
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId(), 'Y')).thenReturn(deliveryCodeEntity);
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(itemRequestInfo.getDeliveryLocation(), createRequestItem().getInstitutionEntity().getId())).thenReturn(deliveryCodeEntity);
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(),any(), any())).thenReturn(deliveryCodeTranslationEntity);
         Mockito.when(mockedRequestItemController.holdItem(any(), any())).thenReturn(itemHoldResponse);
         Mockito.when(mockedItemRequestDBService.updateRecapRequestItem(itemRequestInfo, itemEntity, ScsbConstants.REQUEST_STATUS_PROCESSING, null)).thenReturn(1);
         Mockito.when(mockedItemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
@@ -419,7 +432,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(any(), anyString())).thenReturn("FALSE");
         Mockito.when(mockedRequestItemDetailsRepository.findByIdsAndStatusCodes(itemRefileRequest.getRequestIds(), requestItemStatusList)).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodes(itemRefileRequest.getItemBarcodes())).thenReturn(Arrays.asList(requestItemEntity));
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         Mockito.when(mockedGfaLasService.callGfaItemStatus(itemEntity.getBarcode())).thenReturn("REFILED SUCCESSFULLY");
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemBarcode, ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestItemEntity);
         Mockito.doNothing().when(mockedItemRequestServiceUtil).updateSolrIndex(itemEntity);
@@ -443,7 +456,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(any(), anyString())).thenReturn("FALSE");
         Mockito.when(mockedRequestItemDetailsRepository.findByIdsAndStatusCodes(itemRefileRequest.getRequestIds(), requestItemStatusList)).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodes(itemRefileRequest.getItemBarcodes())).thenReturn(Arrays.asList(requestItemEntity));
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemBarcode, ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestItemEntity);
         Mockito.doNothing().when(mockedItemRequestServiceUtil).updateSolrIndex(itemEntity);
         ItemRefileResponse response = mockedItemRequestService.reFileItem(itemRefileRequest, itemRefileResponse);
@@ -470,7 +483,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(anyString(), anyString())).thenReturn("FALSE");
         Mockito.when(mockedRequestItemDetailsRepository.findByIdsAndStatusCodes(itemRefileRequest.getRequestIds(), requestItemStatusList)).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodes(itemRefileRequest.getItemBarcodes())).thenReturn(Arrays.asList(requestItemEntity));
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         Mockito.when(mockedGfaLasService.callGfaItemStatus(itemEntity.getBarcode())).thenReturn("REFILED SUCCESSFULLY");
         requestItemEntityRecalled.setRequestingInstitutionId(3);
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemBarcode, ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestItemEntityRecalled);
@@ -499,7 +512,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(anyString(), anyString())).thenReturn("FALSE");
         Mockito.when(mockedRequestItemDetailsRepository.findByIdsAndStatusCodes(itemRefileRequest.getRequestIds(), requestItemStatusList)).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodes(itemRefileRequest.getItemBarcodes())).thenReturn(Arrays.asList(requestItemEntity));
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         requestItemEntityRecalled.setRequestingInstitutionId(3);
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemBarcode, ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestItemEntityRecalled);
         Mockito.when(mockedGfaLasService.executeRetrieveOrder(any(), any())).thenReturn(itemResponseInformation);
@@ -534,7 +547,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(any(), any())).thenReturn(Boolean.TRUE.toString());
         Mockito.when(mockedRequestItemDetailsRepository.findByIdsAndStatusCodes(itemRefileRequest.getRequestIds(), requestItemStatusList)).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodes(itemRefileRequest.getItemBarcodes())).thenReturn(Arrays.asList(requestItemEntity));
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_REFILED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         Mockito.when(mockedGfaLasService.callGfaItemStatus(itemEntity.getBarcode())).thenReturn("REFILED SUCCESSFULLY");
         Mockito.when(genericPatronDetailsRepository.findByRequestingInstitutionCodeAndItemOwningInstitutionCode(any(), any())).thenReturn(genericPatronEntity);
         Mockito.when(mockedRequestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemBarcode, ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(null);
@@ -795,7 +808,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation();
         RequestItemEntity requestItemEntity = createRequestItem();
         Mockito.when(mockedGfaLasService.callGfaItemStatus(requestItemEntity.getItemEntity().getBarcode())).thenReturn("Available");
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.LAS_REFILE_REQUEST_PLACED)).thenThrow(new NullPointerException());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbConstants.LAS_REFILE_REQUEST_PLACED)).thenThrow(new NullPointerException());
         ReflectionTestUtils.invokeMethod(mockedItemRequestService, "setRequestItemEntity", itemRequestInformation, requestItemEntity);
     }
 
@@ -1023,8 +1036,8 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {
         })).thenReturn(responseEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(any(), any())).thenReturn(itemInformationResponse.getCirculationStatus());
         Mockito.when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn(Boolean.TRUE.toString());
         Mockito.when(mockedItemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
@@ -1100,8 +1113,8 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {
         })).thenReturn(responseEntity);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(propertyUtil.getPropertyByInstitutionAndKey(any(), any())).thenReturn(Boolean.TRUE.toString());
 //        Mockito.when(mockedRequestItemController.createBibliogrphicItem(any(), any())).thenReturn(itemCreateBibResponse);
         Mockito.when(mockedItemRequestDBService.updateRecapRequestItem(any(), any(), any(), any())).thenReturn(1);
@@ -1149,8 +1162,8 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(scsbSolrClientUrl + ScsbConstants.SEARCH_RECORDS_SOLR)
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_NAME, ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_NAME_VALUE)
                 .queryParam(ScsbConstants.SEARCH_RECORDS_SOLR_PARAM_FIELD_VALUE, itemEntity.getBarcode());
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(anyString())).thenReturn(createRequestItem().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(restTemplate.exchange(builder.build().encode().toUri(), HttpMethod.GET, requestEntity, new ParameterizedTypeReference<List<SearchResultRow>>() {
         })).thenReturn(responseEntity);
         Mockito.when(mockedItemRequestDBService.updateRecapRequestItem(any(), any(), any(), any())).thenReturn(1);
@@ -1284,7 +1297,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         Mockito.when(mockedRequestItemDetailsRepository.findByIdsAndStatusCodes(requestIds, Collections.singletonList(ScsbConstants.REQUEST_STATUS_EXCEPTION))).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(mockedGfaLasService.callGfaItemStatus(any())).thenReturn("OUT");
         Mockito.when(mockedRequestItemDetailsRepository.save(any())).thenReturn(requestItemEntity);
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.LAS_REFILE_REQUEST_PLACED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbConstants.LAS_REFILE_REQUEST_PLACED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         Map<String, String> result1 = mockedItemRequestService.replaceRequestsToLASQueue(replaceRequest);
         assertNotNull(result1);
     }
@@ -1536,7 +1549,7 @@ public class ItemRequestServiceUT extends BaseTestCaseUT {
         RequestItemEntity requestItemEntity = new RequestItemEntity();
         Mockito.when(mockedRequestItemDetailsRepository.findById(itemRequestInfo.getRequestId())).thenReturn(Optional.of(requestItemEntity));
         Mockito.when(mockedGfaLasService.executeRetrieveOrder(itemRequestInfo, itemResponseInformation)).thenReturn(itemResponseInformation);
-        Mockito.when(mockedRequestItemStatusDetailsRepository.findByRequestStatusCode(ScsbConstants.REQUEST_STATUS_PENDING)).thenReturn(requestStatusEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbConstants.REQUEST_STATUS_PENDING)).thenReturn(requestStatusEntity);
         mockedItemRequestService.executeLasitemCheck(itemRequestInfo, itemResponseInformation);
     }
 
@@ -15,6 +15,7 @@ import org.recap.controller.ItemController;
 import org.recap.model.jpa.*;
 import org.recap.model.request.ItemRequestInformation;
 import org.recap.repository.jpa.*;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.recap.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -45,7 +46,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
     private ItemStatusDetailsRepository itemStatusDetailsRepository;
 
     @Mock
-    private InstitutionDetailsRepository institutionDetailsRepository;
+    ReferenceDataCacheService referenceDataCacheService;
 
     @Mock
     private ItemController itemController;
@@ -53,12 +54,6 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
     @Mock
     OwnerCodeDetailsRepository ownerCodeDetailsRepository;
 
-    @Mock
-    private DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
-    @Mock
-    DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
-
     @Mock
     private RequestItemDetailsRepository requestItemDetailsRepository;
 
@@ -85,7 +80,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)).thenReturn(requestItemEntity);
         ResponseEntity responseEntity = itemValidatorService.itemValidation(itemRequestInformation);
@@ -107,7 +102,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"{1}");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)).thenReturn(requestItemEntity);
         ResponseEntity responseEntity = itemValidatorService.itemValidation(itemRequestInformation);
@@ -128,7 +123,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         requestItemEntity.setId(0);
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(any(), anyString())).thenReturn(requestItemEntity);
@@ -153,7 +148,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         itemRequestInformation.setRequestType(ScsbCommonConstants.REQUEST_TYPE_RECALL);
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(any(), anyString())).thenReturn(requestItemEntity);
@@ -177,7 +172,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         itemRequestInformation.setRequestType(ScsbCommonConstants.REQUEST_TYPE_RECALL);
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(any(), anyString())).thenReturn(requestItemEntity);
@@ -201,7 +196,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(any(), anyString())).thenReturn(requestItemEntity);
         Mockito.when(itemStatusDetailsRepository.findById(itemEntity.getItemAvailabilityStatusId())).thenReturn(Optional.of(itemStatusEntity));
@@ -223,7 +218,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)).thenReturn(requestItemEntity);
         itemStatusEntity.setId(1);
@@ -248,7 +243,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         itemRequestInformation.setRequestType(ScsbCommonConstants.REQUEST_STATUS_RECALLED);
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(any(),anyString())).thenReturn(requestItemEntity1);
@@ -270,7 +265,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(any(),anyString())).thenReturn(requestItemEntity);
         itemRequestInformation.setRequestType(ScsbCommonConstants.REQUEST_TYPE_EDD);
@@ -292,7 +287,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         frozenInstitutionMessagesPropertyMap.put(itemEntity.getInstitutionEntity().getInstitutionCode(),"Test");
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)).thenReturn(requestItemEntity);
         ResponseEntity responseEntity7 = itemValidatorService.itemValidation(itemRequestInformation);
@@ -316,11 +311,11 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_ENABLE_CIRCULATION_FREEZE)).thenReturn(frozenInstitutionPropertyMap);
         Mockito.when(propertyUtil.getPropertyByKeyForAllInstitutions(PropertyKeyConstants.ILS.ILS_CIRCULATION_FREEZE_MESSAGE)).thenReturn(frozenInstitutionMessagesPropertyMap);
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
-        Mockito.when(ownerCodeDetailsRepository.findByOwnerCodeAndOwningInstitutionCode(any(),any())).thenReturn(ownerCodeEntity);
-        Mockito.when(ownerCodeDetailsRepository.findByOwnerCodeAndRequestingInstitution(any(),any(),anyString())).thenReturn(Collections.EMPTY_LIST);
+        Mockito.when(referenceDataCacheService.getOwnerCode(any(),any())).thenReturn(ownerCodeEntity);
+        Mockito.when(referenceDataCacheService.getOwnerCodeDeliveryCodes(any(),any(),anyString())).thenReturn(Collections.EMPTY_LIST);
         itemValidatorService.itemValidation(itemRequestInformation);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(imsLocationDetailsRepository.findById(any())).thenReturn(Optional.of(imsLocationEntity));
         itemValidatorService.itemValidation(itemRequestInformation);
         ItemRequestInformation itemRequestInformation1 = getItemRequestInformation(itemBarcodes);
@@ -335,7 +330,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation(Arrays.asList("2456744"));
         OwnerCodeEntity ownerCodeEntity = getOwnerCodeEntity();
 //        Mockito.when(ownerCodeDetailsRepository.findByOwnerCode(any())).thenReturn(ownerCodeEntity);
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         itemValidatorService.checkDeliveryLocation(ownerCode,institution, itemRequestInformation);
         itemValidatorService.checkDeliveryLocation(ownerCode,institution, itemRequestInformation);
         itemValidatorService.checkDeliveryLocation(ownerCode,institution, itemRequestInformation);
@@ -347,7 +342,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation(Arrays.asList("2456744"));
         itemRequestInformation.setRequestingInstitution("3");
         OwnerCodeEntity ownerCodeEntity = getOwnerCodeEntity();
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
 //        Mockito.when(ownerCodeDetailsRepository.findByOwnerCode(any())).thenReturn(ownerCodeEntity);
         itemValidatorService.checkDeliveryLocation(ownerCode, institution, itemRequestInformation);
     }
@@ -358,9 +353,9 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         ItemRequestInformation itemRequestInformation = getItemRequestInformation(Arrays.asList("2456744"));
         itemRequestInformation.setRequestingInstitution("PUL");
         OwnerCodeEntity ownerCodeEntity = getOwnerCodeEntity();
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getItemOwningInstitution())).thenReturn(getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
-        Mockito.when(ownerCodeDetailsRepository.findByOwnerCodeAndOwningInstitutionCode(anyString(),anyString())).thenReturn(ownerCodeEntity);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getItemOwningInstitution())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getOwnerCode(anyString(),anyString())).thenReturn(ownerCodeEntity);
         itemValidatorService.checkDeliveryLocation(ownerCode, institution, itemRequestInformation);
         itemRequestInformation.setDeliveryLocation("PA");
         itemValidatorService.checkDeliveryLocation(ownerCode, institution, itemRequestInformation);
@@ -370,9 +365,9 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
     public void checkDeliveryLocationTranslationCode(){
         ItemEntity itemEntity = getItemEntity();
         ItemRequestInformation itemRequestInformation = getItemRequestInformation(Arrays.asList("135787"));
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(), any(), any())).thenReturn(getDeliveryCodeTranslationEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(), any(), any())).thenReturn(getDeliveryCodeTranslationEntity());
         int bSuccess =  itemValidatorService.checkDeliveryLocationTranslationCode(itemEntity,itemRequestInformation);
         assertNotNull(bSuccess);
         assertEquals(1,bSuccess);
@@ -381,9 +376,9 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
     public void checkDeliveryLocationTranslationCodeNull(){
         ItemEntity itemEntity = getItemEntity();
         ItemRequestInformation itemRequestInformation = getItemRequestInformation(Arrays.asList("135787"));
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(), any(), any())).thenReturn(null);
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(), any(), any())).thenReturn(null);
         int bSuccess =  itemValidatorService.checkDeliveryLocationTranslationCode(itemEntity,itemRequestInformation);
         assertNotNull(bSuccess);
         assertEquals(-1,bSuccess);
@@ -423,7 +418,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         itemBarcodes.add("1355321");
         OwnerCodeEntity ownerCodeEntity = getOwnerCodeEntity();
         Mockito.when(itemController.findByBarcodeIn(itemBarcodes.toString())).thenReturn(Arrays.asList(itemEntity));
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         itemRequestInformation.setRequestType(ScsbCommonConstants.RECALL);
         ResponseEntity responseEntity = itemValidatorService.itemValidation(itemRequestInformation);
         assertNotNull(responseEntity);
@@ -446,7 +441,7 @@ public class ItemValidatorServiceUT extends BaseTestCaseUT {
         itemRequestInformation.setRequestType(ScsbCommonConstants.REQUEST_STATUS_RECALLED);
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_INITIAL_LOAD)).thenReturn(requestItemEntity1);
         Mockito.when(requestItemDetailsRepository.findByItemBarcodeAndRequestStaCode(itemEntity.getBarcode(), ScsbCommonConstants.REQUEST_STATUS_RECALLED)).thenReturn(requestItemEntity1);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(itemRequestInformation.getRequestingInstitution())).thenReturn(getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(itemRequestInformation.getRequestingInstitution())).thenReturn(getInstitutionEntity());
         ResponseEntity responseEntity4 = itemValidatorService.itemValidation(itemRequestInformation);
         assertNotNull(responseEntity4);
 //        Mockito.when(ownerCodeDetailsRepository.findByOwnerCode(any())).thenReturn(ownerCodeEntity);
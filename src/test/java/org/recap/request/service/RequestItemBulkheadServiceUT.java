@@ -0,0 +1,189 @@
+package org.recap.request.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.recap.BaseTestCaseUT;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestItemBulkheadServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    RequestItemBulkheadService requestItemBulkheadService;
+
+    @Before
+    public void setLimits() {
+        ReflectionTestUtils.setField(requestItemBulkheadService, "initialConcurrency", 4);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "minConcurrency", 1);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "maxConcurrency", 6);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "latencyThresholdMillis", 10000L);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "overflowBackoffMillis", 10L);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "overflowMaxBackoffMillis", 50L);
+        ReflectionTestUtils.setField(requestItemBulkheadService, "shutdownTimeoutSeconds", 5L);
+    }
+
+    @After
+    public void shutdownBulkheads() {
+        requestItemBulkheadService.shutdown();
+    }
+
+    @Test
+    public void executeOnBulkheadThread() throws Exception {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        requestItemBulkheadService.execute("PUL", () -> {
+            thread.set(Thread.currentThread());
+            done.countDown();
+            return true;
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread(), thread.get());
+        assertTrue(thread.get().getName().startsWith("RequestItemBulkhead-PUL-"));
+    }
+
+    @Test
+    public void concurrencyLimitAdapts() throws Exception {
+        runAndWait("PUL", true);
+        assertEquals(4, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+        for (int i = 0; i < 3; i++) {
+            runAndWait("PUL", true);
+        }
+        assertEquals(5, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+        runAndWait("PUL", false);
+        assertEquals(2, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+        runAndWait("PUL", false);
+        assertEquals(1, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+        runAndWait("PUL", false);
+        assertEquals(1, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+        assertEquals(0, requestItemBulkheadService.getConcurrencyLimit("CUL"));
+    }
+
+    @Test
+    public void failuresOfSameBurstDecreaseOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            requestItemBulkheadService.execute("PUL", () -> {
+                started.countDown();
+                await(release);
+                done.countDown();
+                return false;
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(2, requestItemBulkheadService.getConcurrencyLimit("PUL"));
+    }
+
+    @Test
+    public void tryExecuteNotAcceptedWhenQueueIsFull() throws Exception {
+        ReflectionTestUtils.setField(requestItemBulkheadService, "initialConcurrency", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(requestItemBulkheadService.tryExecute("PUL", () -> {
+            started.countDown();
+            return await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(requestItemBulkheadService.tryExecute("PUL", () -> await(release)));
+        AtomicBoolean run = new AtomicBoolean();
+        assertFalse(requestItemBulkheadService.tryExecute("PUL", () -> {
+            run.set(true);
+            return true;
+        }));
+        assertFalse(run.get());
+        release.countDown();
+    }
+
+    @Test
+    public void executeBacksOffWhileQueueIsFull() throws Exception {
+        ReflectionTestUtils.setField(requestItemBulkheadService, "initialConcurrency", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        requestItemBulkheadService.execute("PUL", () -> {
+            started.countDown();
+            return await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        requestItemBulkheadService.execute("PUL", () -> await(release));
+        CountDownLatch run = new CountDownLatch(1);
+        new Thread(() -> {
+            sleep(200);
+            release.countDown();
+        }).start();
+        long startTime = System.nanoTime();
+        requestItemBulkheadService.execute("PUL", () -> {
+            run.countDown();
+            return true;
+        });
+        assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(150));
+        assertTrue(run.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shutdownRunsQueuedRequestItems() throws Exception {
+        ReflectionTestUtils.setField(requestItemBulkheadService, "initialConcurrency", 1);
+        AtomicInteger runCount = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            requestItemBulkheadService.execute("PUL", () -> {
+                sleep(50);
+                runCount.incrementAndGet();
+                return true;
+            });
+        }
+        requestItemBulkheadService.shutdown();
+        assertEquals(2, runCount.get());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void executeAfterShutdown() throws Exception {
+        requestItemBulkheadService.execute("PUL", () -> true);
+        requestItemBulkheadService.shutdown();
+        requestItemBulkheadService.execute("PUL", () -> true);
+    }
+
+    private void runAndWait(String institutionCode, boolean success) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        requestItemBulkheadService.execute(institutionCode, () -> {
+            done.countDown();
+            return success;
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
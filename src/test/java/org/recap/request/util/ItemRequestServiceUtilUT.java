@@ -1,6 +1,5 @@
 package org.recap.request.util;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -15,7 +14,7 @@ import org.recap.repository.jpa.BulkRequestItemDetailsRepository;
 import org.recap.repository.jpa.GenericPatronDetailsRepository;
 import org.recap.request.service.EmailService;
 import org.recap.service.RestHeaderService;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.recap.service.common.SearchResultRowCacheService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,20 +35,25 @@ public class ItemRequestServiceUtilUT {
     @Mock
     private RestHeaderService restHeaderService;
 
+    @Mock
+    private SolrIndexUpdateQueue solrIndexUpdateQueue;
+
+    @Mock
+    private SearchResultRowCacheService searchResultRowCacheService;
+
     @Mock
     private EmailService emailService;
 
     @Mock
     private BulkRequestItemDetailsRepository bulkRequestItemDetailsRepository;
 
-    @Before
-    public void setUp() throws Exception {
-        ReflectionTestUtils.setField(itemRequestServiceUtil, "scsbSolrClientUrl", "http://localhost:9090/");
-    }
     @Test
     public void testupdateSolrIndex(){
         ItemEntity itemEntity=new ItemEntity();
+        itemEntity.setBarcode("123");
         itemRequestServiceUtil.updateSolrIndex(itemEntity);
+        Mockito.verify(solrIndexUpdateQueue, Mockito.times(1)).enqueue("123");
+        Mockito.verify(searchResultRowCacheService, Mockito.times(1)).invalidate("123");
     }
     @Test
     public void testupdateStatusToBarcodes(){
@@ -79,7 +83,7 @@ public class ItemRequestServiceUtilUT {
                 bulkRequestItemEntity.get().getBulkRequestName(), bulkRequestItemEntity.get().getBulkRequestFileName(),
                 bulkRequestItemEntity.get().getBulkRequestStatus(), new String(bulkRequestItemEntity.get().getBulkRequestFileData()),
                 "Bulk Request Process Report"));*/
-        itemRequestServiceUtil.generateReportAndSendEmail(bulkRequestId);
+        itemRequestServiceUtil.generateReportAndSendEmail(bulkRequestId, null);
 
     }
     @Test
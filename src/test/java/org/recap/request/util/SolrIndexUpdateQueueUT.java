@@ -0,0 +1,100 @@
+package org.recap.request.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.recap.BaseTestCaseUT;
+import org.recap.service.RestHeaderService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SolrIndexUpdateQueueUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    SolrIndexUpdateQueue solrIndexUpdateQueue;
+
+    @Mock
+    RestTemplate restTemplate;
+
+    @Mock
+    RestHeaderService restHeaderService;
+
+    @Before
+    public void startFlushing() {
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "scsbSolrClientUrl", "http://localhost:9090/");
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "coalesceWindow", 0L);
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "flushInterval", 60000L);
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "batchSize", 2);
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "threadCount", 2);
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "maxAttempts", 2);
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "retryBackoff", 0L);
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "maxRetryBackoff", 0L);
+        solrIndexUpdateQueue.startFlushing();
+        Mockito.when(restHeaderService.getHttpHeaders()).thenReturn(new HttpHeaders());
+    }
+
+    @After
+    public void stopFlushing() {
+        solrIndexUpdateQueue.shutdown();
+    }
+
+    @Test
+    public void flush() {
+        Mockito.when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class))).thenReturn(new ResponseEntity<>("Success", HttpStatus.OK));
+        solrIndexUpdateQueue.enqueue("123");
+        solrIndexUpdateQueue.enqueue("123");
+        solrIndexUpdateQueue.enqueue("456");
+        solrIndexUpdateQueue.enqueue("789");
+        solrIndexUpdateQueue.enqueue(null);
+        assertEquals(3, solrIndexUpdateQueue.getPendingUpdateCount());
+        solrIndexUpdateQueue.flush();
+        Mockito.verify(restTemplate, Mockito.times(3)).exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class));
+        assertEquals(0, solrIndexUpdateQueue.getPendingUpdateCount());
+        assertEquals(0, solrIndexUpdateQueue.getLagMillis());
+    }
+
+    @Test
+    public void flushWithinCoalesceWindow() {
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "coalesceWindow", 60000L);
+        solrIndexUpdateQueue.enqueue("123");
+        solrIndexUpdateQueue.flush();
+        Mockito.verify(restTemplate, Mockito.never()).exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class));
+        assertEquals(1, solrIndexUpdateQueue.getPendingUpdateCount());
+    }
+
+    @Test
+    public void flushRetryAndDrop() {
+        Mockito.when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class))).thenThrow(new NullPointerException());
+        solrIndexUpdateQueue.enqueue("123");
+        solrIndexUpdateQueue.flush();
+        assertEquals(1, solrIndexUpdateQueue.getPendingUpdateCount());
+        solrIndexUpdateQueue.flush();
+        assertEquals(0, solrIndexUpdateQueue.getPendingUpdateCount());
+        Mockito.verify(restTemplate, Mockito.times(2)).exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class));
+    }
+
+    @Test
+    public void shutdownSendsPendingUpdates() {
+        ReflectionTestUtils.setField(solrIndexUpdateQueue, "coalesceWindow", 60000L);
+        Mockito.when(restTemplate.exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class))).thenReturn(new ResponseEntity<>("Success", HttpStatus.OK));
+        solrIndexUpdateQueue.enqueue("123");
+        solrIndexUpdateQueue.shutdown();
+        Mockito.verify(restTemplate).exchange(any(URI.class), any(HttpMethod.class), any(), Mockito.eq(String.class));
+        assertEquals(0, solrIndexUpdateQueue.getPendingUpdateCount());
+    }
+}
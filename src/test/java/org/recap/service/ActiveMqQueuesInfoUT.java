@@ -2,9 +2,14 @@ package org.recap.service;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.recap.BaseTestCaseUT;
+import org.springframework.http.HttpMethod;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
 
 import static org.junit.Assert.assertNotNull;
 
@@ -12,6 +17,9 @@ public class ActiveMqQueuesInfoUT extends BaseTestCaseUT {
     @InjectMocks
     ActiveMqQueuesInfo activeMqQueuesInfo;
 
+    @Mock
+    RestTemplate restTemplate;
+
     String activeMqApiUrl = "test/api/jolokia/read/org.apache.activemq:type=Broker,brokerName=localhost,destinationType=Queue,destinationName=";
     String searchAttribute = "/QueueSize";
     String serviceUrl = "http://test:8161";
@@ -29,6 +37,7 @@ public class ActiveMqQueuesInfoUT extends BaseTestCaseUT {
     public void testActiveMqQueuesInfo() {
         Integer value = activeMqQueuesInfo.getActivemqQueuesInfo("scsb");
         String res = activeMqQueuesInfo.getEncodedActivemqCredentials();
+        Mockito.verify(restTemplate).exchange(ArgumentMatchers.startsWith(serviceUrl), ArgumentMatchers.eq(HttpMethod.GET), ArgumentMatchers.any(), ArgumentMatchers.eq(String.class));
         assertNotNull(res);
     }
 }
@@ -0,0 +1,125 @@
+package org.recap.service.common;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.recap.BaseTestCaseUT;
+import org.recap.model.AbstractResponseItem;
+import org.recap.model.response.PatronInformationResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PatronCacheServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    PatronCacheService patronCacheService;
+
+    @Before
+    public void setCacheSize() {
+        ReflectionTestUtils.setField(patronCacheService, "cacheTtlMillis", 60000L);
+        ReflectionTestUtils.setField(patronCacheService, "invalidPatronTtlMillis", 60000L);
+        ReflectionTestUtils.setField(patronCacheService, "cacheMaxSize", 10);
+    }
+
+    @Test
+    public void patronValidation() {
+        AtomicInteger validations = new AtomicInteger();
+        assertTrue(patronCacheService.patronValidation("PUL", "123", () -> validate(validations, true)));
+        assertTrue(patronCacheService.patronValidation("PUL", "123", () -> validate(validations, true)));
+        assertEquals(1, validations.get());
+        assertFalse(patronCacheService.patronValidation("CUL", "123", () -> validate(validations, false)));
+        assertFalse(patronCacheService.patronValidation("CUL", "123", () -> validate(validations, true)));
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    public void patronValidationInvalidPatronNotCached() {
+        ReflectionTestUtils.setField(patronCacheService, "invalidPatronTtlMillis", 0L);
+        AtomicInteger validations = new AtomicInteger();
+        assertFalse(patronCacheService.patronValidation("PUL", "123", () -> validate(validations, false)));
+        assertTrue(patronCacheService.patronValidation("PUL", "123", () -> validate(validations, true)));
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    public void lookupPatron() {
+        AtomicInteger lookups = new AtomicInteger();
+        PatronInformationResponse patronInformationResponse = new PatronInformationResponse();
+        patronInformationResponse.setSuccess(true);
+        patronInformationResponse.setPatronName("John");
+        assertSame(patronInformationResponse, patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse)));
+        PatronInformationResponse cachedPatronInformationResponse = (PatronInformationResponse) patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse));
+        assertTrue(cachedPatronInformationResponse.isSuccess());
+        assertEquals("John", cachedPatronInformationResponse.getPatronName());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void lookupPatronReturnsCopies() {
+        AtomicInteger lookups = new AtomicInteger();
+        PatronInformationResponse patronInformationResponse = new PatronInformationResponse();
+        patronInformationResponse.setSuccess(true);
+        patronInformationResponse.setScreenMessage("Patron found");
+        patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse));
+        patronInformationResponse.setScreenMessage("Changed by the first caller");
+        AbstractResponseItem firstCopy = patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse));
+        firstCopy.setScreenMessage("Changed by the second caller");
+        AbstractResponseItem secondCopy = patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse));
+        assertNotSame(firstCopy, secondCopy);
+        assertEquals("Patron found", secondCopy.getScreenMessage());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void lookupPatronFailureNotCached() {
+        AtomicInteger lookups = new AtomicInteger();
+        PatronInformationResponse patronInformationResponse = new PatronInformationResponse();
+        patronInformationResponse.setSuccess(false);
+        patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse));
+        patronCacheService.lookupPatron("PUL", "123", () -> lookup(lookups, patronInformationResponse));
+        assertEquals(2, lookups.get());
+        assertEquals(0, patronCacheService.size());
+    }
+
+    @Test
+    public void invalidate() {
+        AtomicInteger calls = new AtomicInteger();
+        PatronInformationResponse patronInformationResponse = new PatronInformationResponse();
+        patronInformationResponse.setSuccess(true);
+        patronCacheService.patronValidation("PUL", "123", () -> validate(calls, true));
+        patronCacheService.lookupPatron("PUL", "123", () -> lookup(calls, patronInformationResponse));
+        patronCacheService.patronValidation("PUL", "456", () -> validate(calls, true));
+        assertEquals(3, patronCacheService.size());
+        patronCacheService.invalidate("PUL", "123");
+        assertEquals(1, patronCacheService.size());
+        patronCacheService.invalidateAll();
+        assertEquals(0, patronCacheService.size());
+    }
+
+    @Test
+    public void patronValidationCacheDisabled() {
+        ReflectionTestUtils.setField(patronCacheService, "cacheMaxSize", 0);
+        AtomicInteger validations = new AtomicInteger();
+        patronCacheService.patronValidation("PUL", "123", () -> validate(validations, true));
+        patronCacheService.patronValidation("PUL", "123", () -> validate(validations, true));
+        assertEquals(2, validations.get());
+        assertEquals(0, patronCacheService.size());
+    }
+
+    private boolean validate(AtomicInteger validations, boolean valid) {
+        validations.incrementAndGet();
+        return valid;
+    }
+
+    private AbstractResponseItem lookup(AtomicInteger lookups, AbstractResponseItem patronInformationResponse) {
+        lookups.incrementAndGet();
+        return patronInformationResponse;
+    }
+}
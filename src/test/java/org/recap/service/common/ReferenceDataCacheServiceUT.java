@@ -0,0 +1,157 @@
+package org.recap.service.common;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.recap.BaseTestCaseUT;
+import org.recap.model.jpa.DeliveryCodeEntity;
+import org.recap.model.jpa.DeliveryCodeTranslationEntity;
+import org.recap.model.jpa.InstitutionEntity;
+import org.recap.model.jpa.RequestStatusEntity;
+import org.recap.model.jpa.RequestTypeEntity;
+import org.recap.repository.jpa.DeliveryCodeDetailsRepository;
+import org.recap.repository.jpa.DeliveryCodeTranslationDetailsRepository;
+import org.recap.repository.jpa.InstitutionDetailsRepository;
+import org.recap.repository.jpa.OwnerCodeDetailsRepository;
+import org.recap.repository.jpa.RequestItemStatusDetailsRepository;
+import org.recap.repository.jpa.RequestTypeDetailsRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReferenceDataCacheServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    ReferenceDataCacheService referenceDataCacheService;
+
+    @Mock
+    InstitutionDetailsRepository institutionDetailsRepository;
+
+    @Mock
+    RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
+
+    @Mock
+    RequestTypeDetailsRepository requestTypeDetailsRepository;
+
+    @Mock
+    DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
+
+    @Mock
+    DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
+
+    @Mock
+    OwnerCodeDetailsRepository ownerCodeDetailsRepository;
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(referenceDataCacheService, "cacheTtlMillis", 60000L);
+    }
+
+    @Test
+    public void preload() {
+        InstitutionEntity institutionEntity = new InstitutionEntity();
+        institutionEntity.setInstitutionCode("PUL");
+        RequestStatusEntity requestStatusEntity = new RequestStatusEntity();
+        requestStatusEntity.setRequestStatusCode("RETRIEVAL_ORDER_PLACED");
+        RequestTypeEntity requestTypeEntity = new RequestTypeEntity();
+        requestTypeEntity.setRequestTypeCode("RETRIEVAL");
+        Mockito.when(institutionDetailsRepository.findAll()).thenReturn(Arrays.asList(institutionEntity));
+        Mockito.when(requestItemStatusDetailsRepository.findAll()).thenReturn(Arrays.asList(requestStatusEntity));
+        Mockito.when(requestTypeDetailsRepository.findAll()).thenReturn(Arrays.asList(requestTypeEntity));
+        referenceDataCacheService.preload();
+        assertEquals("PUL", referenceDataCacheService.getInstitutionByCode("PUL").getInstitutionCode());
+        assertEquals("RETRIEVAL_ORDER_PLACED", referenceDataCacheService.getRequestStatusByCode("RETRIEVAL_ORDER_PLACED").getRequestStatusCode());
+        assertEquals("RETRIEVAL", referenceDataCacheService.getRequestTypeByCode("RETRIEVAL").getRequestTypeCode());
+        Mockito.verify(institutionDetailsRepository, Mockito.never()).findByInstitutionCode(Mockito.any());
+        Mockito.verify(requestItemStatusDetailsRepository, Mockito.never()).findByRequestStatusCode(Mockito.any());
+        Mockito.verify(requestTypeDetailsRepository, Mockito.never()).findByrequestTypeCode(Mockito.any());
+    }
+
+    @Test
+    public void preloadException() {
+        Mockito.when(institutionDetailsRepository.findAll()).thenThrow(new NullPointerException());
+        referenceDataCacheService.preload();
+        Mockito.verify(requestItemStatusDetailsRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    public void getActiveDeliveryCodeReadThrough() {
+        DeliveryCodeEntity deliveryCodeEntity = new DeliveryCodeEntity();
+        deliveryCodeEntity.setId(1);
+        deliveryCodeEntity.setDeliveryCode("PA");
+        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive("PA", 1, 'Y')).thenReturn(deliveryCodeEntity);
+        assertSame(deliveryCodeEntity, referenceDataCacheService.getActiveDeliveryCode("PA", 1));
+        DeliveryCodeEntity cachedDeliveryCodeEntity = referenceDataCacheService.getActiveDeliveryCode("PA", 1);
+        assertEquals(Integer.valueOf(1), cachedDeliveryCodeEntity.getId());
+        assertEquals("PA", cachedDeliveryCodeEntity.getDeliveryCode());
+        assertNull(referenceDataCacheService.getActiveDeliveryCode("PA", 2));
+        assertNull(referenceDataCacheService.getActiveDeliveryCode("PA", 2));
+        Mockito.verify(deliveryCodeDetailsRepository, Mockito.times(1)).findByDeliveryCodeAndOwningInstitutionIdAndActive("PA", 1, 'Y');
+        Mockito.verify(deliveryCodeDetailsRepository, Mockito.times(2)).findByDeliveryCodeAndOwningInstitutionIdAndActive("PA", 2, 'Y');
+    }
+
+    @Test
+    public void getInstitutionByCodeMissNotCached() {
+        InstitutionEntity institutionEntity = new InstitutionEntity();
+        Mockito.when(institutionDetailsRepository.findByInstitutionCode("HL")).thenReturn(null, institutionEntity);
+        assertNull(referenceDataCacheService.getInstitutionByCode("HL"));
+        assertSame(institutionEntity, referenceDataCacheService.getInstitutionByCode("HL"));
+        assertNotNull(referenceDataCacheService.getInstitutionByCode("HL"));
+        Mockito.verify(institutionDetailsRepository, Mockito.times(2)).findByInstitutionCode("HL");
+    }
+
+    @Test
+    public void getInstitutionByCodeExpired() {
+        ReflectionTestUtils.setField(referenceDataCacheService, "cacheTtlMillis", -1L);
+        InstitutionEntity institutionEntity = new InstitutionEntity();
+        Mockito.when(institutionDetailsRepository.findByInstitutionCode("PUL")).thenReturn(institutionEntity);
+        referenceDataCacheService.getInstitutionByCode("PUL");
+        referenceDataCacheService.getInstitutionByCode("PUL");
+        Mockito.verify(institutionDetailsRepository, Mockito.times(2)).findByInstitutionCode("PUL");
+    }
+
+    @Test
+    public void getInstitutionByCodeReturnsCopies() {
+        InstitutionEntity institutionEntity = new InstitutionEntity();
+        institutionEntity.setId(1);
+        institutionEntity.setInstitutionCode("PUL");
+        Mockito.when(institutionDetailsRepository.findByInstitutionCode("PUL")).thenReturn(institutionEntity);
+        referenceDataCacheService.getInstitutionByCode("PUL").setInstitutionCode("CUL");
+        institutionEntity.setInstitutionCode("NYPL");
+        InstitutionEntity firstCopy = referenceDataCacheService.getInstitutionByCode("PUL");
+        InstitutionEntity secondCopy = referenceDataCacheService.getInstitutionByCode("PUL");
+        assertNotSame(firstCopy, secondCopy);
+        assertEquals("PUL", firstCopy.getInstitutionCode());
+        firstCopy.setInstitutionCode("CUL");
+        assertEquals("PUL", secondCopy.getInstitutionCode());
+        assertEquals(Integer.valueOf(1), secondCopy.getId());
+    }
+
+    @Test
+    public void getOwnerCodeDeliveryCodes() {
+        Mockito.when(ownerCodeDetailsRepository.findByOwnerCodeAndRequestingInstitution(1, 2, "PA")).thenReturn(null);
+        assertTrue(referenceDataCacheService.getOwnerCodeDeliveryCodes(1, 2, "PA").isEmpty());
+        Mockito.when(ownerCodeDetailsRepository.findByOwnerCodeAndRequestingInstitution(1, 3, "PA")).thenReturn(Collections.singletonList(new Object[]{1}));
+        assertTrue(referenceDataCacheService.getOwnerCodeDeliveryCodes(1, 3, "PA").size() == 1);
+    }
+
+    @Test
+    public void invalidateAll() {
+        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(1, 2, 3)).thenReturn(new DeliveryCodeTranslationEntity());
+        referenceDataCacheService.getDeliveryCodeTranslation(1, 2, 3);
+        referenceDataCacheService.getDeliveryCodeTranslation(1, 2, 3);
+        referenceDataCacheService.invalidateAll();
+        referenceDataCacheService.getDeliveryCodeTranslation(1, 2, 3);
+        Mockito.verify(deliveryCodeTranslationDetailsRepository, Mockito.times(2)).findByRequestingInstitutionandImsLocation(1, 2, 3);
+    }
+}
@@ -0,0 +1,106 @@
+package org.recap.service.common;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.recap.BaseTestCaseUT;
+import org.recap.model.jpa.BibliographicEntity;
+import org.recap.model.jpa.ItemEntity;
+import org.recap.model.search.SearchResultRow;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SearchResultRowCacheServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    SearchResultRowCacheService searchResultRowCacheService;
+
+    @Before
+    public void setCacheSize() {
+        ReflectionTestUtils.setField(searchResultRowCacheService, "cacheTtlMillis", 60000L);
+        ReflectionTestUtils.setField(searchResultRowCacheService, "cacheMaxSize", 2);
+    }
+
+    @Test
+    public void getReadThrough() {
+        SearchResultRow searchResultRow = new SearchResultRow();
+        searchResultRow.setTitle("Title");
+        AtomicInteger loads = new AtomicInteger();
+        assertSame(searchResultRow, searchResultRowCacheService.get("123", () -> load(loads, searchResultRow)));
+        SearchResultRow cachedSearchResultRow = searchResultRowCacheService.get("123", () -> load(loads, searchResultRow));
+        assertNotSame(searchResultRow, cachedSearchResultRow);
+        assertEquals("Title", cachedSearchResultRow.getTitle());
+        assertEquals(1, loads.get());
+        searchResultRowCacheService.invalidate("123");
+        searchResultRowCacheService.get("123", () -> load(loads, searchResultRow));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getNotFoundIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        assertNull(searchResultRowCacheService.get("123", () -> load(loads, null)));
+        assertNull(searchResultRowCacheService.get("123", () -> load(loads, null)));
+        assertEquals(2, loads.get());
+        assertEquals(0, searchResultRowCacheService.size());
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        searchResultRowCacheService.get("1", () -> load(loads, new SearchResultRow()));
+        searchResultRowCacheService.get("2", () -> load(loads, new SearchResultRow()));
+        searchResultRowCacheService.get("1", () -> load(loads, new SearchResultRow()));
+        searchResultRowCacheService.get("3", () -> load(loads, new SearchResultRow()));
+        assertEquals(2, searchResultRowCacheService.size());
+        searchResultRowCacheService.get("1", () -> load(loads, new SearchResultRow()));
+        assertEquals(3, loads.get());
+        searchResultRowCacheService.get("2", () -> load(loads, new SearchResultRow()));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void getCacheDisabled() {
+        ReflectionTestUtils.setField(searchResultRowCacheService, "cacheTtlMillis", 0L);
+        AtomicInteger loads = new AtomicInteger();
+        searchResultRowCacheService.get("123", () -> load(loads, new SearchResultRow()));
+        searchResultRowCacheService.get("123", () -> load(loads, new SearchResultRow()));
+        assertEquals(2, loads.get());
+        assertEquals(0, searchResultRowCacheService.size());
+    }
+
+    @Test
+    public void getFromLocalRecord() {
+        String content = "<collection xmlns=\"http://www.loc.gov/MARC21/slim\"><record><leader>01302cam a2200301 a 4500</leader>"
+                + "<datafield ind1=\"1\" ind2=\" \" tag=\"100\"><subfield code=\"a\">Smith, John.</subfield></datafield>"
+                + "<datafield ind1=\"1\" ind2=\"0\" tag=\"245\"><subfield code=\"a\">Title :</subfield><subfield code=\"b\">subtitle /</subfield><subfield code=\"c\">John Smith.</subfield></datafield>"
+                + "</record></collection>";
+        BibliographicEntity bibliographicEntity = new BibliographicEntity();
+        bibliographicEntity.setContent(content.getBytes());
+        ItemEntity itemEntity = new ItemEntity();
+        itemEntity.setBarcode("123");
+        itemEntity.setBibliographicEntities(Arrays.asList(bibliographicEntity));
+        SearchResultRow searchResultRow = searchResultRowCacheService.getFromLocalRecord(itemEntity);
+        assertEquals("Title : subtitle /", searchResultRow.getTitle());
+        assertEquals("Smith, John.", searchResultRow.getAuthor());
+        assertEquals("123", searchResultRow.getBarcode());
+    }
+
+    @Test
+    public void getFromLocalRecordWithoutBib() {
+        assertNull(searchResultRowCacheService.getFromLocalRecord(new ItemEntity()));
+        assertNull(searchResultRowCacheService.getFromLocalRecord(null));
+    }
+
+    private SearchResultRow load(AtomicInteger loads, SearchResultRow searchResultRow) {
+        loads.incrementAndGet();
+        return searchResultRow;
+    }
+}
@@ -122,6 +122,28 @@ public class SetupDataServiceUT {
         assertNotNull(collectionGroupMap);
     }
 
+    @Test
+    public void refresh(){
+        InstitutionEntity institutionEntity = getInstitutionEntity();
+        Mockito.when(repositoryService.getItemStatusDetailsRepository()).thenReturn(itemStatusDetailsRepository);
+        Mockito.when(itemStatusDetailsRepository.findAll()).thenReturn(Arrays.asList(getItemStatusEntity()));
+        Mockito.when(repositoryService.getInstitutionDetailsRepository()).thenReturn(mockInstitutionDetailsRepository);
+        Mockito.when(mockInstitutionDetailsRepository.findAll()).thenReturn(Arrays.asList(institutionEntity));
+        setupDataService.refresh();
+        assertEquals("PUL", setupDataService.getInstitutionCode(1));
+        InstitutionEntity newInstitutionEntity = getInstitutionEntity();
+        newInstitutionEntity.setId(2);
+        newInstitutionEntity.setInstitutionCode("NYPL");
+        Mockito.when(mockInstitutionDetailsRepository.findAll()).thenReturn(Arrays.asList(institutionEntity, newInstitutionEntity));
+        Mockito.when(itemStatusDetailsRepository.findAll()).thenThrow(new NullPointerException());
+        setupDataService.refresh();
+        assertEquals(Integer.valueOf(2), setupDataService.getInstitutionId("NYPL"));
+        assertEquals("NYPL", setupDataService.getInstitutionCode(2));
+        assertEquals("Available", setupDataService.getItemStatusCode(1));
+        assertEquals(Integer.valueOf(1), setupDataService.getItemStatusId("Available"));
+        assertNull(setupDataService.getCollectionGroupId("GA"));
+    }
+
     private CollectionGroupEntity getCollectionGroupEntity() {
         CollectionGroupEntity collectionGroupEntity = new CollectionGroupEntity();
         collectionGroupEntity.setCollectionGroupCode("GA");
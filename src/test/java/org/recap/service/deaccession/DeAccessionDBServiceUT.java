@@ -0,0 +1,91 @@
+package org.recap.service.deaccession;
+
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.recap.BaseTestCaseUT;
+import org.recap.ScsbConstants;
+import org.recap.model.jpa.BibliographicEntity;
+import org.recap.model.jpa.DeaccessionItemChangeLog;
+import org.recap.model.jpa.HoldingsEntity;
+import org.recap.model.jpa.ItemEntity;
+import org.recap.model.jpa.RequestItemEntity;
+import org.recap.repository.jpa.BibliographicDetailsRepository;
+import org.recap.repository.jpa.DeaccesionItemChangeLogDetailsRepository;
+import org.recap.repository.jpa.HoldingsDetailsRepository;
+import org.recap.repository.jpa.ItemDetailsRepository;
+import org.recap.repository.jpa.RequestItemDetailsRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+public class DeAccessionDBServiceUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    DeAccessionDBService deAccessionDBService;
+
+    @Mock
+    ItemDetailsRepository itemDetailsRepository;
+
+    @Mock
+    HoldingsDetailsRepository holdingsDetailsRepository;
+
+    @Mock
+    BibliographicDetailsRepository bibliographicDetailsRepository;
+
+    @Mock
+    RequestItemDetailsRepository requestItemDetailsRepository;
+
+    @Mock
+    DeaccesionItemChangeLogDetailsRepository deaccesionItemChangeLogDetailsRepository;
+
+    @Test
+    public void deAccessionItems() {
+        Date currentDate = new Date();
+        Set<Integer> deletedHoldingIds = new HashSet<>();
+        Set<Integer> deletedBibliographicIds = new HashSet<>();
+        Mockito.when(holdingsDetailsRepository.findHoldingIdsWithoutNonDeletedItems(Arrays.asList(11, 12))).thenReturn(Arrays.asList(11));
+        Mockito.when(bibliographicDetailsRepository.findBibIdsWithoutNonDeletedItems(Arrays.asList(21))).thenReturn(Collections.emptyList());
+        deAccessionDBService.deAccessionItems(Arrays.asList(getItemEntity(1, 11, 21), getItemEntity(2, 12, 21)), "test", currentDate, deletedHoldingIds, deletedBibliographicIds);
+        Mockito.verify(itemDetailsRepository).markItemsAsDeleted(Arrays.asList(1, 2), "test", currentDate);
+        Mockito.verify(holdingsDetailsRepository).markHoldingsAsDeleted(Arrays.asList(11), "test", currentDate);
+        Mockito.verify(bibliographicDetailsRepository, Mockito.never()).markBibsAsDeleted(any(), any(), any());
+        assertEquals(Collections.singleton(11), deletedHoldingIds);
+        assertTrue(deletedBibliographicIds.isEmpty());
+    }
+
+    @Test
+    public void saveCanceledRequests() {
+        RequestItemEntity requestItemEntity = new RequestItemEntity();
+        requestItemEntity.setId(5);
+        requestItemEntity.setItemId(1);
+        List<RequestItemEntity> requestItemEntities = Arrays.asList(requestItemEntity);
+        Mockito.when(requestItemDetailsRepository.saveAll(requestItemEntities)).thenReturn(requestItemEntities);
+        List<RequestItemEntity> savedRequestItemEntities = deAccessionDBService.saveCanceledRequests(requestItemEntities, "test");
+        assertEquals(requestItemEntities, savedRequestItemEntities);
+        Mockito.verify(deaccesionItemChangeLogDetailsRepository).saveAll(Mockito.<List<DeaccessionItemChangeLog>>argThat(itemChangeLogs -> itemChangeLogs.size() == 1
+                && Integer.valueOf(5).equals(itemChangeLogs.get(0).getRecordId())
+                && ScsbConstants.REQUEST_ITEM_CANCEL_DEACCESSION_ITEM.equals(itemChangeLogs.get(0).getOperationType())));
+    }
+
+    private ItemEntity getItemEntity(Integer itemId, Integer holdingsId, Integer bibliographicId) {
+        HoldingsEntity holdingsEntity = new HoldingsEntity();
+        holdingsEntity.setId(holdingsId);
+        BibliographicEntity bibliographicEntity = new BibliographicEntity();
+        bibliographicEntity.setId(bibliographicId);
+        ItemEntity itemEntity = new ItemEntity();
+        itemEntity.setId(itemId);
+        itemEntity.setHoldingsEntities(Arrays.asList(holdingsEntity));
+        itemEntity.setBibliographicEntities(Arrays.asList(bibliographicEntity));
+        return itemEntity;
+    }
+}
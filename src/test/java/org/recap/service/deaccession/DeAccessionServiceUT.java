@@ -24,6 +24,7 @@ import org.recap.model.deaccession.DeAccessionRequest;
 import org.recap.model.jpa.*;
 import org.recap.repository.jpa.*;
 import org.recap.service.RestHeaderService;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.recap.util.CommonUtil;
 import org.recap.request.util.ItemRequestServiceUtil;
 import org.recap.util.PropertyUtil;
@@ -33,6 +34,7 @@ import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -68,15 +70,6 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
     @Mock
     LASImsLocationConnectorFactory lasImsLocationConnectorFactory;
 
-    @Mock
-    InstitutionDetailsRepository institutionDetailsRepository;
-
-    @Mock
-    DeliveryCodeDetailsRepository deliveryCodeDetailsRepository;
-
-    @Mock
-    DeliveryCodeTranslationDetailsRepository deliveryCodeTranslationDetailsRepository;
-
     @Mock
     ImsLocationDetailsRepository imsLocationDetailsRepository;
 
@@ -86,9 +79,6 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
     @Mock
     RequestItemDetailsRepository requestItemDetailsRepository;
 
-    @Mock
-    RequestItemStatusDetailsRepository requestItemStatusDetailsRepository;
-
     @Mock
     ItemChangeLogDetailsRepository itemChangeLogDetailsRepository;
 
@@ -116,8 +106,16 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
     @Mock
     UserDetailRepository userDetailRepository;
 
+    @Mock
+    DeAccessionDBService deAccessionDBService;
+
+    @Mock
+    ReferenceDataCacheService referenceDataCacheService;
+
     @Before
     public void setup() {
+        ReflectionTestUtils.setField(deAccessionService, "deAccessionBatchSize", 500);
+        ReflectionTestUtils.setField(deAccessionService, "holdCancelThreadCount", 2);
         Mockito.when(commonUtil.checkIfImsItemStatusIsAvailableOrNotAvailable(any(), any(), anyBoolean())).thenReturn(Boolean.TRUE);
     }
 
@@ -146,24 +144,23 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         itemHoldResponse.setSuccess(true);
         itemHoldResponse.setScreenMessage("Success");
         when(gfaLasService.callGfaItemStatus(itemBarcode)).thenReturn("INC ON WO:");
-        when(itemDetailsRepository.findByBarcode(itemBarcode)).thenReturn(Arrays.asList(itemEntity));
         when(itemDetailsRepository.findByBarcodeIn(new ArrayList<>(itemBarcodeList))).thenReturn(Arrays.asList(itemEntity));
-        when(requestItemDetailsRepository.findByItemBarcode(itemBarcode)).thenReturn(Arrays.asList(requestItemEntity));
+        when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity));
         when(propertyUtil.getPropertyByImsLocationAndKey(any(), any())).thenReturn(Boolean.TRUE.toString());
         when(requestItemController.itemInformation(any(), any())).thenReturn(itemInformationResponse);
         Mockito.when(commonUtil.findAllInstitutionsExceptSupportInstitution()).thenReturn(Arrays.asList(itemEntity.getInstitutionEntity()));
         Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(getRequestItem().getRequestStatusEntity());
-        Mockito.when(requestItemDetailsRepository.save(any())).thenReturn(requestItemEntity);
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(getRequestItem().getRequestStatusEntity());
+        Mockito.when(deAccessionDBService.saveCanceledRequests(any(), any())).thenReturn(Arrays.asList(requestItemEntity));
         Mockito.when(deaccesionItemChangeLogDetailsRepository.saveAll(itemChangeLogEntities)).thenReturn(Arrays.asList(deaccessionItemChangeLog));
         Mockito.when(userDetailRepository.findInstitutionCodeByUserName(any())).thenReturn("PUL");
         Mockito.when(userDetailRepository.getUserRoles(any())).thenReturn(Arrays.asList("test"));
         Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
         Mockito.when(abstractLASImsLocationConnector.gfaPermanentWithdrawalDirect(any())).thenReturn(gfaPwdResponse);
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(any())).thenReturn(getItemEntity().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(any())).thenReturn(getItemEntity().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(imsLocationDetailsRepository.findByImsLocationCode(any())).thenReturn(getImsLocationEntity());
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(), any(), any())).thenReturn(getDeliveryCodeTranslationEntity());
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(), any(), any())).thenReturn(getDeliveryCodeTranslationEntity());
         Map<String, String> result = deAccessionService.deAccession(deAccessionRequest);
         assertNotNull(result);
         getGFAPwdTtItemResponse(gfaPwdResponse);
@@ -222,12 +219,12 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         ItemHoldResponse itemHoldResponse = new ItemHoldResponse();
         itemHoldResponse.setSuccess(true);
         RequestStatusEntity requestStatusEntity = getRequestItem().getRequestStatusEntity();
-        Mockito.when(requestItemDetailsRepository.save(any())).thenReturn(getRequestItem());
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(requestStatusEntity);
+        Mockito.when(deAccessionDBService.saveCanceledRequests(any(), any())).thenReturn(Arrays.asList(getRequestItem()));
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(requestStatusEntity);
         Mockito.doNothing().when(itemRequestServiceUtil).updateSolrIndex(any());
         Mockito.when(requestItemController.itemInformation(any(), any())).thenReturn(itemInformationResponse);
         Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenReturn(Arrays.asList(getRequestItem()));
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(getRequestItem()));
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
         assertEquals(deAccessionItem.getItemBarcode(), barcodeAndStopCodeMap.keySet().toArray()[1]);
@@ -247,9 +244,34 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         barcodeAndStopCodeMap.put("123456", "PB");
         barcodeAndStopCodeMap.put("123", "AB");
         List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenThrow(new NullPointerException());
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenThrow(new NullPointerException());
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
+        assertEquals(2, deAccessionDBResponseEntities.size());
+    }
+
+    @Test
+    public void checkAndCancelHoldsInstitutionFailure() throws Exception {
+        RequestItemEntity requestItemEntity = getRequestItem();
+        RequestItemEntity requestItemEntity1 = getRequestItem();
+        requestItemEntity1.getItemEntity().setBarcode("123");
+        requestItemEntity1.getInstitutionEntity().setInstitutionCode("CUL");
+        ItemHoldResponse itemHoldResponse = new ItemHoldResponse();
+        itemHoldResponse.setSuccess(false);
+        itemHoldResponse.setScreenMessage("Bad Request");
+        Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
+        barcodeAndStopCodeMap.put("123456", "PB");
+        barcodeAndStopCodeMap.put("123", "AB");
+        List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity, requestItemEntity1));
+        Mockito.when(requestItemController.itemInformation(any(), eq("CUL"))).thenThrow(new NoClassDefFoundError("CUL"));
+        Mockito.when(requestItemController.itemInformation(any(), eq("PUL"))).thenReturn(getItemInformationResponse());
+        Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
+        deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
+        assertEquals(2, deAccessionDBResponseEntities.size());
+        Map<String, String> reasonForFailureMap = deAccessionDBResponseEntities.stream().collect(Collectors.toMap(DeAccessionDBResponseEntity::getBarcode, DeAccessionDBResponseEntity::getReasonForFailure));
+        assertTrue(reasonForFailureMap.get("123").contains("NoClassDefFoundError"));
+        assertTrue(reasonForFailureMap.get("123456").contains("Bad Request"));
     }
 
     @Test
@@ -262,9 +284,10 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenReturn(Arrays.asList(requestItemEntity));
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity));
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
+        Mockito.verify(requestItemController, Mockito.never()).cancelHoldItem(any(), any());
     }
 
     @Test
@@ -285,11 +308,12 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenReturn(Arrays.asList(requestItemEntity, requestItemEntity1));
-        Mockito.when(requestItemDetailsRepository.save(any())).thenReturn(getRequestItem());
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(getRequestItem().getRequestStatusEntity());
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity, requestItemEntity1));
+        Mockito.when(deAccessionDBService.saveCanceledRequests(any(), any())).thenReturn(Arrays.asList(getRequestItem()));
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(getRequestItem().getRequestStatusEntity());
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
+        Mockito.verify(requestItemController, Mockito.never()).itemInformation(any(), any());
         itemHoldResponse.setSuccess(false);
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
@@ -315,12 +339,14 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenReturn(Arrays.asList(requestItemEntity, requestItemEntity1));
-        Mockito.when(requestItemDetailsRepository.save(any())).thenReturn(getRequestItem());
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity, requestItemEntity1));
+        Mockito.when(deAccessionDBService.saveCanceledRequests(any(), any())).thenReturn(Arrays.asList(getRequestItem()));
         Mockito.when(requestItemController.itemInformation(any(), any())).thenReturn(itemInformationResponse);
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(getRequestItem().getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(getRequestItem().getRequestStatusEntity());
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
+        Mockito.verify(requestItemController, Mockito.times(2)).cancelHoldItem(any(), any());
+        Mockito.verify(deAccessionDBService).saveCanceledRequests(Arrays.asList(requestItemEntity, requestItemEntity1), "Test");
     }
 
     @Test
@@ -334,12 +360,38 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         RequestStatusEntity requestStatusEntity = getRequestItem().getRequestStatusEntity();
-        Mockito.when(requestItemDetailsRepository.save(any())).thenReturn(getRequestItem());
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(requestStatusEntity);
+        Mockito.when(deAccessionDBService.saveCanceledRequests(any(), any())).thenReturn(Arrays.asList(getRequestItem()));
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(requestStatusEntity);
         Mockito.doNothing().when(itemRequestServiceUtil).updateSolrIndex(any());
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenReturn(Arrays.asList(requestItemEntity));
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity));
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
+        Mockito.verify(requestItemController, Mockito.never()).cancelHoldItem(any(), any());
+        Mockito.verify(deAccessionDBService).saveCanceledRequests(Arrays.asList(requestItemEntity), "Test");
+    }
+
+    @Test
+    public void checkAndCancelHoldsForEachRequestingInstitution() throws Exception {
+        RequestItemEntity requestItemEntity = getRequestItem();
+        RequestItemEntity requestItemEntity1 = getRequestItem();
+        requestItemEntity1.getItemEntity().setBarcode("123");
+        requestItemEntity1.getInstitutionEntity().setInstitutionCode("CUL");
+        Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
+        barcodeAndStopCodeMap.put("123456", "PB");
+        barcodeAndStopCodeMap.put("123", "AB");
+        List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
+        ItemHoldResponse itemHoldResponse = new ItemHoldResponse();
+        itemHoldResponse.setSuccess(false);
+        itemHoldResponse.setScreenMessage("Hold not found");
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity, requestItemEntity1));
+        Mockito.when(requestItemController.itemInformation(any(), any())).thenReturn(getItemInformationResponse());
+        Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
+        deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
+        Mockito.verify(requestItemController).cancelHoldItem(any(), Mockito.eq("PUL"));
+        Mockito.verify(requestItemController).cancelHoldItem(any(), Mockito.eq("CUL"));
+        assertEquals(2, deAccessionDBResponseEntities.size());
+        assertEquals(ScsbCommonConstants.FAILURE, deAccessionDBResponseEntities.get(0).getStatus());
+        Mockito.verify(deAccessionDBService, Mockito.never()).saveCanceledRequests(any(), any());
     }
 
     @Test
@@ -353,9 +405,10 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
-        Mockito.when(requestItemDetailsRepository.findByItemBarcode("123")).thenReturn(Arrays.asList(requestItemEntity));
+        Mockito.when(requestItemDetailsRepository.findByItemBarcodes(any())).thenReturn(Arrays.asList(requestItemEntity));
         deAccessionService.checkAndCancelHolds(barcodeAndStopCodeMap, deAccessionDBResponseEntities, "Test");
         assertNotNull(barcodeAndStopCodeMap);
+        Mockito.verify(requestItemController, Mockito.never()).cancelHoldItem(any(), any());
     }
 
     @Test
@@ -409,7 +462,7 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         ReflectionTestUtils.invokeMethod(deAccessionService, "checkGfaItemStatus", deAccessionItems, deAccessionDBResponseEntities, barcodeAndStopCodeMap);
     }
 
@@ -424,7 +477,7 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         ReflectionTestUtils.invokeMethod(deAccessionService, "checkGfaItemStatus", deAccessionItems, deAccessionDBResponseEntities, barcodeAndStopCodeMap);
     }
 
@@ -440,7 +493,7 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
         Mockito.when(gfaLasService.callGfaItemStatus(any())).thenReturn(ScsbConstants.GFA_STATUS_SCH_ON_REFILE_WORK_ORDER);
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         ReflectionTestUtils.invokeMethod(deAccessionService, "checkGfaItemStatus", deAccessionItems, deAccessionDBResponseEntities, barcodeAndStopCodeMap);
     }
 
@@ -457,7 +510,7 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
         Mockito.when(gfaLasService.callGfaItemStatus(any())).thenReturn(ScsbConstants.ILS_CONNECTION_FAILED);
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         ReflectionTestUtils.invokeMethod(deAccessionService, "checkGfaItemStatus", deAccessionItems, deAccessionDBResponseEntities, barcodeAndStopCodeMap);
     }
 
@@ -473,7 +526,7 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
         Mockito.when(gfaLasService.callGfaItemStatus(any())).thenReturn("");
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Arrays.asList(itemEntity));
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Arrays.asList(itemEntity));
         ReflectionTestUtils.invokeMethod(deAccessionService, "checkGfaItemStatus", deAccessionItems, deAccessionDBResponseEntities, barcodeAndStopCodeMap);
     }
 
@@ -486,7 +539,7 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         DeAccessionDBResponseEntity deAccessionDBResponseEntity = getDeAccessionDBResponseEntity();
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
-        Mockito.when(itemDetailsRepository.findByBarcode(any())).thenReturn(Collections.EMPTY_LIST);
+        Mockito.when(itemDetailsRepository.findByBarcodeIn(any())).thenReturn(Collections.EMPTY_LIST);
         ReflectionTestUtils.invokeMethod(deAccessionService, "checkGfaItemStatus", deAccessionItems, deAccessionDBResponseEntities, barcodeAndStopCodeMap);
     }
 
@@ -515,12 +568,12 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         deAccessionDBResponseEntity.setItemStatus(ScsbCommonConstants.AVAILABLE);
         deAccessionDBResponseEntities.add(deAccessionDBResponseEntity);
         String username = "test";
-        Mockito.when(institutionDetailsRepository.findByInstitutionCode(deAccessionDBResponseEntity.getInstitutionCode())).thenReturn(getItemEntity().getInstitutionEntity());
-        Mockito.when(deliveryCodeDetailsRepository.findByDeliveryCodeAndOwningInstitutionIdAndActive(any(), any(), anyChar())).thenReturn(getDeliveryCodeEntity());
+        Mockito.when(referenceDataCacheService.getInstitutionByCode(deAccessionDBResponseEntity.getInstitutionCode())).thenReturn(getItemEntity().getInstitutionEntity());
+        Mockito.when(referenceDataCacheService.getActiveDeliveryCode(any(), any())).thenReturn(getDeliveryCodeEntity());
         Mockito.when(imsLocationDetailsRepository.findByImsLocationCode(deAccessionDBResponseEntity.getImsLocationCode())).thenReturn(getImsLocationEntity());
         Mockito.when(lasImsLocationConnectorFactory.getLasImsLocationConnector(any())).thenReturn(abstractLASImsLocationConnector);
         Mockito.when(abstractLASImsLocationConnector.gfaPermanentWithdrawalDirect(any())).thenReturn(null);
-        Mockito.when(deliveryCodeTranslationDetailsRepository.findByRequestingInstitutionandImsLocation(any(), any(), any())).thenReturn(getDeliveryCodeTranslationEntity());
+        Mockito.when(referenceDataCacheService.getDeliveryCodeTranslation(any(), any(), any())).thenReturn(getDeliveryCodeTranslationEntity());
         ReflectionTestUtils.invokeMethod(deAccessionService, "callGfaDeaccessionService", deAccessionDBResponseEntities, username);
     }
 
@@ -552,11 +605,13 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         itemHoldResponse.setAvailable(true);
         itemHoldResponse.setSuccess(true);
         Mockito.when(requestItemController.cancelHoldItem(any(), any())).thenReturn(itemHoldResponse);
-        Mockito.when(requestItemStatusDetailsRepository.findByRequestStatusCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(requestItemEntity.getRequestStatusEntity());
+        Mockito.when(referenceDataCacheService.getRequestStatusByCode(ScsbCommonConstants.REQUEST_STATUS_CANCELED)).thenReturn(requestItemEntity.getRequestStatusEntity());
         Mockito.doNothing().when(itemRequestServiceUtil).updateSolrIndex(requestItemEntity.getItemEntity());
-        Mockito.when(requestItemDetailsRepository.save(requestItemEntity)).thenReturn(requestItemEntity);
+        Mockito.when(deAccessionDBService.saveCanceledRequests(Arrays.asList(requestItemEntity), username)).thenReturn(Arrays.asList(requestItemEntity));
         ItemHoldResponse itemHoldResponse = deAccessionService.cancelRequest(requestItemEntity, username);
         assertNotNull(itemHoldResponse);
+        assertTrue(requestItemEntity.getNotes().endsWith(ScsbConstants.REQUEST_ITEM_CANCELED_FOR_DEACCESSION));
+        Mockito.verify(itemRequestServiceUtil).updateSolrIndex(requestItemEntity.getItemEntity());
     }
 
     @Test
@@ -567,9 +622,16 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
         String username = "username";
         Mockito.when(itemDetailsRepository.findByBarcodeIn(new ArrayList<>(itemBarcodeList))).thenReturn(Arrays.asList(getItemEntity()));
-        Mockito.when(holdingsDetailsRepository.getNonDeletedItemsCount(1, "1")).thenReturn(1l);
-        Mockito.when(bibliographicDetailsRepository.getNonDeletedItemsCount(1, "1234")).thenReturn(1l);
+        Mockito.doAnswer(invocation -> {
+            invocation.<Set<Integer>>getArgument(3).add(123456);
+            invocation.<Set<Integer>>getArgument(4).add(1);
+            return null;
+        }).when(deAccessionDBService).deAccessionItems(any(), any(), any(), any(), any());
         deAccessionService.deAccessionItemsInDB(barcodeAndStopCodeMap, deAccessionDBResponseEntities, username);
+        assertEquals(1, deAccessionDBResponseEntities.size());
+        assertEquals(ScsbCommonConstants.SUCCESS, deAccessionDBResponseEntities.get(0).getStatus());
+        assertEquals(Arrays.asList(123456), deAccessionDBResponseEntities.get(0).getHoldingIds());
+        assertEquals(Arrays.asList(1), deAccessionDBResponseEntities.get(0).getBibliographicIds());
     }
 
     @Test
@@ -580,18 +642,22 @@ public class DeAccessionServiceUT extends BaseTestCaseUT {
         List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
         String username = "username";
         Mockito.when(itemDetailsRepository.findByBarcodeIn(new ArrayList<>(itemBarcodeList))).thenReturn(Arrays.asList(getItemEntity()));
-        Mockito.when(holdingsDetailsRepository.getNonDeletedItemsCount(1, "1")).thenReturn(null);
+        Mockito.doThrow(new NullPointerException()).when(deAccessionDBService).deAccessionItems(any(), any(), any(), any(), any());
         deAccessionService.deAccessionItemsInDB(barcodeAndStopCodeMap, deAccessionDBResponseEntities, username);
+        assertEquals(1, deAccessionDBResponseEntities.size());
+        assertEquals(ScsbCommonConstants.FAILURE, deAccessionDBResponseEntities.get(0).getStatus());
     }
 
     @Test
     public void deAccessionItemsInDBException() {
         Map<String, String> barcodeAndStopCodeMap = new HashMap<>();
+        barcodeAndStopCodeMap.put("1", "345890");
         Set<String> itemBarcodeList = barcodeAndStopCodeMap.keySet();
         List<DeAccessionDBResponseEntity> deAccessionDBResponseEntities = new ArrayList<>();
         String username = "username";
         Mockito.when(itemDetailsRepository.findByBarcodeIn(new ArrayList<>(itemBarcodeList))).thenReturn(null);
         deAccessionService.deAccessionItemsInDB(barcodeAndStopCodeMap, deAccessionDBResponseEntities, username);
+        Mockito.verify(deAccessionDBService, Mockito.never()).deAccessionItems(any(), any(), any(), any(), any());
     }
 
     @Test
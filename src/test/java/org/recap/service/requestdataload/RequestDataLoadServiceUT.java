@@ -11,11 +11,13 @@ import org.recap.camel.requestinitialdataload.RequestDataLoadCSVRecord;
 import org.recap.model.jpa.*;
 import org.recap.repository.jpa.ItemDetailsRepository;
 import org.recap.repository.jpa.RequestItemDetailsRepository;
-import org.recap.repository.jpa.RequestTypeDetailsRepository;
+import org.recap.service.common.ReferenceDataCacheService;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.text.SimpleDateFormat;
 import java.util.*;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,7 +34,7 @@ public class RequestDataLoadServiceUT extends BaseTestCaseUT {
     private ItemDetailsRepository itemDetailsRepository;
 
     @Mock
-    private RequestTypeDetailsRepository requestTypeDetailsRepository;
+    private ReferenceDataCacheService referenceDataCacheService;
 
     @Mock
     private RequestItemDetailsRepository requestItemDetailsRepository;
@@ -43,10 +45,37 @@ public class RequestDataLoadServiceUT extends BaseTestCaseUT {
         RequestDataLoadCSVRecord requestDataLoadCSVRecord = getRequestDataLoadCSVRecord(bibliographicEntity);
         Set<String> barcodeSet = new HashSet<>();
         RequestTypeEntity requestTypeEntity = getRequestTypeEntity();
-        Mockito.when(itemDetailsRepository.findByBarcodeAndItemStatusEntity_StatusCode(requestDataLoadCSVRecord.getBarcode(), ScsbCommonConstants.NOT_AVAILABLE)).thenReturn(bibliographicEntity.getItemEntities());
-        Mockito.when(requestTypeDetailsRepository.findByrequestTypeCode(ScsbCommonConstants.RETRIEVAL)).thenReturn(requestTypeEntity);
+        Mockito.when(itemDetailsRepository.findItemInfoByBarcodesAndStatusCode(Arrays.asList(requestDataLoadCSVRecord.getBarcode()), ScsbCommonConstants.NOT_AVAILABLE)).thenReturn(Collections.singletonList(new Object[]{"41234213", 1, 1}));
+        Mockito.when(requestItemDetailsRepository.findItemIdsByRequestStatusCodes(any(), any())).thenReturn(Collections.emptyList());
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(ScsbCommonConstants.RETRIEVAL)).thenReturn(requestTypeEntity);
+        Mockito.when(requestItemDetailsRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
         Set<String> response = requestDataLoadService.process(Arrays.asList(requestDataLoadCSVRecord), barcodeSet);
         assertNotNull(response);
+        Mockito.verify(requestItemDetailsRepository).saveAll(Mockito.<List<RequestItemEntity>>argThat(requestItemEntities -> requestItemEntities.size() == 1
+                && Integer.valueOf(1).equals(requestItemEntities.get(0).getItemId()) && Integer.valueOf(1).equals(requestItemEntities.get(0).getRequestTypeId())));
+    }
+
+    @Test
+    public void testRequestDataServiceInBatches() throws Exception {
+        ReflectionTestUtils.setField(requestDataLoadService, "lookupBatchSize", 2);
+        ReflectionTestUtils.setField(requestDataLoadService, "commitSize", 2);
+        BibliographicEntity bibliographicEntity = saveBibSingleHoldingsSingleItem();
+        List<RequestDataLoadCSVRecord> requestDataLoadCSVRecords = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            RequestDataLoadCSVRecord requestDataLoadCSVRecord = getRequestDataLoadCSVRecord(bibliographicEntity);
+            requestDataLoadCSVRecord.setBarcode("B" + i);
+            requestDataLoadCSVRecords.add(requestDataLoadCSVRecord);
+        }
+        Mockito.when(itemDetailsRepository.findItemInfoByBarcodesAndStatusCode(Arrays.asList("B1", "B2"), ScsbCommonConstants.NOT_AVAILABLE)).thenReturn(Arrays.asList(new Object[]{"b1", 1, 1}, new Object[]{"B2", 2, 1}));
+        Mockito.when(itemDetailsRepository.findItemInfoByBarcodesAndStatusCode(Arrays.asList("B3", "B4"), ScsbCommonConstants.NOT_AVAILABLE)).thenReturn(Arrays.asList(new Object[]{"B3", 3, 1}, new Object[]{"B3", 4, 2}));
+        Mockito.when(requestItemDetailsRepository.findItemIdsByRequestStatusCodes(Mockito.eq(Arrays.asList(1, 2)), any())).thenReturn(Arrays.asList(2));
+        Mockito.when(referenceDataCacheService.getRequestTypeByCode(ScsbCommonConstants.RETRIEVAL)).thenReturn(getRequestTypeEntity());
+        Mockito.when(requestItemDetailsRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Set<String> response = requestDataLoadService.process(requestDataLoadCSVRecords, new HashSet<>());
+        assertEquals(new HashSet<>(Arrays.asList("B3", "B4")), response);
+        Mockito.verify(itemDetailsRepository, Mockito.times(2)).findItemInfoByBarcodesAndStatusCode(any(), any());
+        Mockito.verify(requestItemDetailsRepository, Mockito.times(1)).findItemIdsByRequestStatusCodes(any(), any());
+        Mockito.verify(requestItemDetailsRepository).saveAll(Mockito.<List<RequestItemEntity>>argThat(requestItemEntities -> requestItemEntities.size() == 1 && Integer.valueOf(1).equals(requestItemEntities.get(0).getItemId())));
     }
 
     @Test
@@ -54,7 +83,7 @@ public class RequestDataLoadServiceUT extends BaseTestCaseUT {
         BibliographicEntity bibliographicEntity = saveBibSingleHoldingsSingleItem();
         RequestDataLoadCSVRecord requestDataLoadCSVRecord = getRequestDataLoadCSVRecord(bibliographicEntity);
         Set<String> barcodeSet = new HashSet<>();
-        Mockito.when(itemDetailsRepository.findByBarcodeAndItemStatusEntity_StatusCode(requestDataLoadCSVRecord.getBarcode(), ScsbCommonConstants.NOT_AVAILABLE)).thenReturn(null);
+        Mockito.when(itemDetailsRepository.findItemInfoByBarcodesAndStatusCode(any(), any())).thenReturn(Collections.emptyList());
         Set<String> response = requestDataLoadService.process(Arrays.asList(requestDataLoadCSVRecord), barcodeSet);
         assertTrue(response.size() == 1);
     }
@@ -72,22 +101,18 @@ public class RequestDataLoadServiceUT extends BaseTestCaseUT {
     @Test
     public void getDateFormat() {
         String date = "";
-        ReflectionTestUtils.invokeMethod(requestDataLoadService, "getDateFormat", date);
+        ReflectionTestUtils.invokeMethod(requestDataLoadService, "getDateFormat", date, new SimpleDateFormat(ScsbConstants.REQUEST_DATA_LOAD_DATE_FORMAT));
     }
 
     @Test
     public void getItemInfo() {
         String barcode = "23465634";
-        BibliographicEntity bibliographicEntity = saveBibSingleHoldingsSingleItem();
-        ItemEntity itemEntity = bibliographicEntity.getItemEntities().get(0);
-        itemEntity.setOwningInstitutionId(5);
-        ItemEntity itemEntity2 = new ItemEntity();
-        itemEntity2.setOwningInstitutionId(4);
-        List<ItemEntity> itemEntityList = new ArrayList<>();
-        itemEntityList.add(itemEntity2);
-        itemEntityList.add(itemEntity);
-        Mockito.when(itemDetailsRepository.findByBarcodeAndItemStatusEntity_StatusCode(any(), any())).thenReturn(itemEntityList);
-        ReflectionTestUtils.invokeMethod(requestDataLoadService, "getItemInfo", barcode);
+        List<Object[]> itemRows = new ArrayList<>();
+        itemRows.add(new Object[]{barcode, 2, 4});
+        itemRows.add(new Object[]{barcode, 1, 5});
+        Mockito.when(itemDetailsRepository.findItemInfoByBarcodesAndStatusCode(any(), any())).thenReturn(itemRows);
+        Map<String, Map<String, Integer>> itemInfo = ReflectionTestUtils.invokeMethod(requestDataLoadService, "getItemInfo", Arrays.asList(barcode));
+        assertTrue(itemInfo.isEmpty());
     }
 
     private RequestDataLoadCSVRecord getRequestDataLoadCSVRecord(BibliographicEntity bibliographicEntity) {
@@ -0,0 +1,51 @@
+package org.recap.util;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.recap.BaseTestCaseUT;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RestTemplateUtilUT extends BaseTestCaseUT {
+
+    @InjectMocks
+    RestTemplateUtil restTemplateUtil;
+
+    @Mock
+    CloseableHttpClient httpClient;
+
+    @Mock
+    RestTemplate restTemplate;
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(restTemplateUtil, "restTemplateBuilder", new RestTemplateBuilder());
+        ReflectionTestUtils.setField(restTemplateUtil, "connectionRequestTimeoutMillis", 1000);
+    }
+
+    @Test
+    public void getRestTemplate() {
+        assertSame(restTemplate, restTemplateUtil.getRestTemplate());
+    }
+
+    @Test
+    public void getRestTemplateWithTimeout() {
+        RestTemplate restTemplate = restTemplateUtil.getRestTemplate(1000);
+        assertSame(restTemplate, restTemplateUtil.getRestTemplate(1000));
+        assertNotSame(restTemplate, restTemplateUtil.getRestTemplate(2000));
+        assertTrue(restTemplate.getRequestFactory() instanceof HttpComponentsClientHttpRequestFactory);
+        assertEquals(httpClient, ((HttpComponentsClientHttpRequestFactory) restTemplate.getRequestFactory()).getHttpClient());
+        assertEquals(1000, ((RequestConfig) ReflectionTestUtils.getField(restTemplate.getRequestFactory(), "requestConfig")).getConnectionRequestTimeout());
+    }
+}
@@ -0,0 +1,97 @@
+package org.recap.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TtlCacheUT {
+
+    private final AtomicInteger maxSize = new AtomicInteger(2);
+
+    private final TtlCache<String, StringBuilder> ttlCache = new TtlCache<>(maxSize::get, StringBuilder::new, "ttl.cache.requests", "cache", "test");
+
+    @Test
+    public void getReadThrough() {
+        AtomicInteger loads = new AtomicInteger();
+        StringBuilder value = new StringBuilder("value");
+        assertSame(value, ttlCache.get("1", () -> load(loads, value), cached -> 60000));
+        assertEquals("value", ttlCache.get("1", () -> load(loads, value), cached -> 60000).toString());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getReturnsCopies() {
+        AtomicInteger loads = new AtomicInteger();
+        StringBuilder value = new StringBuilder("value");
+        ttlCache.get("1", () -> load(loads, value), cached -> 60000);
+        value.append(" changed by the loader caller");
+        StringBuilder firstCopy = ttlCache.get("1", () -> load(loads, value), cached -> 60000);
+        firstCopy.append(" changed by the first caller");
+        StringBuilder secondCopy = ttlCache.get("1", () -> load(loads, value), cached -> 60000);
+        assertNotSame(firstCopy, secondCopy);
+        assertEquals("value", secondCopy.toString());
+    }
+
+    @Test
+    public void getExpired() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 1);
+        Thread.sleep(10);
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 1);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getNotCachedWithoutTtl() {
+        AtomicInteger loads = new AtomicInteger();
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 0);
+        ttlCache.get("1", () -> load(loads, null), cached -> 60000);
+        ttlCache.get(null, () -> load(loads, new StringBuilder()), cached -> 60000);
+        assertEquals(3, loads.get());
+        assertEquals(0, ttlCache.size());
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 60000);
+        ttlCache.get("2", () -> load(loads, new StringBuilder()), cached -> 60000);
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 60000);
+        ttlCache.get("3", () -> load(loads, new StringBuilder()), cached -> 60000);
+        assertEquals(2, ttlCache.size());
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 60000);
+        assertEquals(3, loads.get());
+        ttlCache.get("2", () -> load(loads, new StringBuilder()), cached -> 60000);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void getCacheDisabled() {
+        maxSize.set(0);
+        AtomicInteger loads = new AtomicInteger();
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 60000);
+        ttlCache.put("2", new StringBuilder(), 60000);
+        ttlCache.get("1", () -> load(loads, new StringBuilder()), cached -> 60000);
+        assertEquals(2, loads.get());
+        assertEquals(0, ttlCache.size());
+    }
+
+    @Test
+    public void invalidate() {
+        ttlCache.put("1", new StringBuilder(), 60000);
+        ttlCache.put("2", new StringBuilder(), 60000);
+        ttlCache.invalidate("1");
+        assertEquals(1, ttlCache.size());
+        ttlCache.invalidateAll();
+        assertEquals(0, ttlCache.size());
+    }
+
+    private StringBuilder load(AtomicInteger loads, StringBuilder value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}